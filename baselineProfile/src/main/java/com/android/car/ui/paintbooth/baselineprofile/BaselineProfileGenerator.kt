@@ -0,0 +1,56 @@
+package com.android.car.ui.paintbooth.baselineprofile
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.android.car.ui.paintbooth.benchmark.BenchmarkApp
+import com.android.car.ui.paintbooth.benchmark.clickToolbarItems
+import com.android.car.ui.paintbooth.benchmark.scrollList
+import com.android.car.ui.paintbooth.benchmark.showDialogs
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Collects the profiles of the Compose app. [startup] covers what runs before the first frame of
+ * MainActivity and also goes into the startup profile used for dex layout; [journeys] drives the
+ * same samples as MemoryUsageBenchmark so their composables are compiled ahead of time.
+ */
+@RunWith(AndroidJUnit4::class)
+class BaselineProfileGenerator {
+
+    @get:Rule
+    val baselineProfileRule = BaselineProfileRule()
+    private val app = BenchmarkApp.COMPOSE
+
+    @Test
+    fun startup() = baselineProfileRule.collect(
+        packageName = app.packageName,
+        includeInStartupProfile = true
+    ) {
+        pressHome()
+        startActivityAndWait(app.launchIntent("MainActivity"))
+    }
+
+    @Test
+    fun journeys() = baselineProfileRule.collect(
+        packageName = app.packageName,
+        includeInStartupProfile = false
+    ) {
+        pressHome()
+
+        startActivityAndWait(app.launchIntent("caruirecyclerview.CarUiListItemActivity"))
+        scrollList(app, 8)
+
+        startActivityAndWait(app.launchIntent("dialogs.DialogsActivity"))
+        showDialogs(app)
+
+        startActivityAndWait(app.launchIntent("caruirecyclerview.GridCarUiRecyclerViewActivity"))
+        scrollList(app, 19)
+
+        startActivityAndWait(app.launchIntent("toolbar.ToolbarActivity"))
+        clickToolbarItems(app, scrollPercent = 0.25f)
+
+        startActivityAndWait(app.launchIntent("preferences.PreferenceActivity"))
+        scrollList(app, 4)
+    }
+}
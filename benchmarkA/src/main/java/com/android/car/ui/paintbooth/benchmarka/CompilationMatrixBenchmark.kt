@@ -0,0 +1,19 @@
+package com.android.car.ui.paintbooth.benchmarka
+
+import com.android.car.ui.paintbooth.benchmark.BenchmarkApp
+import com.android.car.ui.paintbooth.benchmark.CompilationVariant
+import com.android.car.ui.paintbooth.benchmark.Journey
+import com.android.car.ui.paintbooth.benchmark.JourneyCompilationBenchmark
+import org.junit.runner.RunWith
+import org.junit.runners.Parameterized
+
+@RunWith(Parameterized::class)
+class CompilationMatrixBenchmark(journey: Journey, compilation: CompilationVariant) :
+    JourneyCompilationBenchmark(BenchmarkApp.XML, journey, compilation) {
+
+    companion object {
+        @JvmStatic
+        @Parameterized.Parameters(name = JourneyCompilationBenchmark.NAME)
+        fun parameters(): List<Array<Any>> = JourneyCompilationBenchmark.parameters()
+    }
+}
@@ -0,0 +1,21 @@
+package com.android.car.ui.paintbooth.benchmarka
+
+import com.android.car.ui.paintbooth.benchmark.BenchmarkApp
+import com.android.car.ui.paintbooth.benchmark.ScrollMatrixBenchmark
+import org.junit.runner.RunWith
+import org.junit.runners.Parameterized
+
+@RunWith(Parameterized::class)
+class RecyclerViewScrollMatrixBenchmark(
+    itemCount: Int,
+    rowMix: String,
+    icons: Boolean,
+    columns: Int
+) : ScrollMatrixBenchmark(BenchmarkApp.XML, itemCount, rowMix, icons, columns) {
+
+    companion object {
+        @JvmStatic
+        @Parameterized.Parameters(name = ScrollMatrixBenchmark.NAME)
+        fun parameters(): List<Array<Any>> = ScrollMatrixBenchmark.parameters()
+    }
+}
@@ -0,0 +1,25 @@
+package com.android.car.ui.paintbooth.benchmarka
+
+import com.android.car.ui.paintbooth.benchmark.BenchmarkApp
+import com.android.car.ui.paintbooth.benchmark.MenuItemsBenchmark
+import org.junit.runner.RunWith
+import org.junit.runners.Parameterized
+
+/**
+ * The XML toolbar has no IfRoom behavior, so its items keep growing the row; see benchmarkB for
+ * the Compose toolbar, which moves them into the overflow menu.
+ */
+@RunWith(Parameterized::class)
+class ToolbarMenuItemsBenchmark(itemCount: Int) : MenuItemsBenchmark(
+    BenchmarkApp.XML,
+    // Trace sections emitted by the view system when inflating and laying out the menu items.
+    toolbarSections = arrayOf("inflate", "measure", "layout"),
+    itemCount
+) {
+
+    companion object {
+        @JvmStatic
+        @Parameterized.Parameters(name = MenuItemsBenchmark.NAME)
+        fun parameters(): List<Int> = MenuItemsBenchmark.parameters()
+    }
+}
@@ -0,0 +1,36 @@
+package com.android.car.ui.paintbooth.analysis
+
+import kotlin.system.exitProcess
+
+/** `--name value` command line options of the analysis tools. */
+internal class Arguments(args: Array<String>, private val usage: String) {
+    private val values = HashMap<String, String>()
+
+    init {
+        var i = 0
+        while (i < args.size) {
+            val name = args[i]
+            if (name == "--help" || !name.startsWith("--") || i + 1 >= args.size) fail()
+            values[name.removePrefix("--")] = args[i + 1]
+            i += 2
+        }
+    }
+
+    fun optional(name: String): String? = values[name]
+
+    fun required(name: String): String = values[name] ?: fail()
+
+    fun double(name: String, default: Double): Double =
+        values[name]?.let { it.toDoubleOrNull() ?: fail() } ?: default
+
+    fun int(name: String, default: Int): Int =
+        values[name]?.let { it.toIntOrNull() ?: fail() } ?: default
+
+    fun long(name: String, default: Long): Long =
+        values[name]?.let { it.toLongOrNull() ?: fail() } ?: default
+
+    private fun fail(): Nothing {
+        System.err.println("Usage: $usage")
+        exitProcess(2)
+    }
+}
@@ -0,0 +1,294 @@
+package com.android.car.ui.paintbooth.analysis
+
+import kotlin.random.Random
+
+/**
+ * Outcome of comparing a candidate with a baseline. Lower is better for every metric the
+ * benchmarks report today, but the verdict only states the direction of a significant difference.
+ */
+enum class Verdict {
+    CANDIDATE_LOWER,
+    CANDIDATE_HIGHER,
+    NO_SIGNIFICANT_DIFFERENCE,
+    INSUFFICIENT_DATA,
+
+    /** A benchmark with significantly lower and significantly higher metrics. */
+    MIXED
+}
+
+/** Descriptive statistics of one sample, with a bootstrap interval of its median. */
+class SampleSummary(values: DoubleArray, val medianInterval: ConfidenceInterval?) {
+    val count = values.size
+    val min = values.minOrNull() ?: Double.NaN
+    val median = if (values.isEmpty()) Double.NaN else Statistics.median(values)
+    val p90 = if (values.isEmpty()) Double.NaN else Statistics.percentile(values, 90.0)
+    val max = values.maxOrNull() ?: Double.NaN
+    val mean = if (values.isEmpty()) Double.NaN else Statistics.mean(values)
+    val standardDeviation = Statistics.standardDeviation(values)
+
+    fun toJson(): Map<String, Any?> = linkedMapOf(
+        "count" to count,
+        "min" to min,
+        "median" to median,
+        "medianInterval" to medianInterval?.toJson(),
+        "p90" to p90,
+        "max" to max,
+        "mean" to mean,
+        "standardDeviation" to standardDeviation
+    )
+}
+
+/**
+ * Comparison of one metric series, e.g. `timeToInitialDisplayMs` or the per-iteration P90 of
+ * `frameDurationCpuMs` (`frameDurationCpuMsP90`).
+ */
+class MetricComparison(
+    val metric: String,
+    val baseline: SampleSummary,
+    val candidate: SampleSummary,
+    val medianDifference: Double,
+    val differenceInterval: ConfidenceInterval?,
+    val mannWhitney: MannWhitneyResult?,
+    val adjustedPValue: Double?,
+    val verdict: Verdict
+) {
+    /** [medianDifference] relative to the baseline median. */
+    val relativeChange: Double
+        get() = if (baseline.median != 0.0) medianDifference / baseline.median else Double.NaN
+
+    val effectSize: EffectSize?
+        get() = mannWhitney?.let { Statistics.effectSize(it.cliffsDelta) }
+
+    fun toJson(): Map<String, Any?> = linkedMapOf(
+        "metric" to metric,
+        "verdict" to verdict,
+        "baseline" to baseline.toJson(),
+        "candidate" to candidate.toJson(),
+        "medianDifference" to medianDifference,
+        "differenceInterval" to differenceInterval?.toJson(),
+        "relativeChange" to relativeChange,
+        "mannWhitneyU" to mannWhitney?.u,
+        "z" to mannWhitney?.z,
+        "pValue" to mannWhitney?.pValue,
+        "adjustedPValue" to adjustedPValue,
+        "cliffsDelta" to mannWhitney?.cliffsDelta,
+        "effectSize" to effectSize
+    )
+}
+
+class BenchmarkComparison(
+    val id: String,
+    val baseline: BenchmarkResult,
+    val candidate: BenchmarkResult,
+    val metrics: List<MetricComparison>
+) {
+    val verdict: Verdict
+        get() {
+            val verdicts = metrics.map { it.verdict }.toSet()
+            val lower = Verdict.CANDIDATE_LOWER in verdicts
+            val higher = Verdict.CANDIDATE_HIGHER in verdicts
+            return when {
+                lower && higher -> Verdict.MIXED
+                lower -> Verdict.CANDIDATE_LOWER
+                higher -> Verdict.CANDIDATE_HIGHER
+                Verdict.NO_SIGNIFICANT_DIFFERENCE in verdicts -> Verdict.NO_SIGNIFICANT_DIFFERENCE
+                else -> Verdict.INSUFFICIENT_DATA
+            }
+        }
+
+    fun toJson(): Map<String, Any?> = linkedMapOf(
+        "id" to id,
+        "verdict" to verdict,
+        "baselineFile" to baseline.file.path,
+        "candidateFile" to candidate.file.path,
+        "device" to candidate.device,
+        "compilationMode" to candidate.compilationMode,
+        "metrics" to metrics.map { it.toJson() },
+        "pooledPercentiles" to pooledPercentiles()
+    )
+
+    /** Percentiles over the frames of all iterations, as in the androidx benchmark output. */
+    private fun pooledPercentiles(): Map<String, Any?> =
+        baseline.metrics.values
+            .filter { it.sampled && candidate.metrics[it.name]?.sampled == true }
+            .associate { metric ->
+                metric.name to linkedMapOf(
+                    "baseline" to percentiles(metric.pooled()),
+                    "candidate" to percentiles(candidate.metrics.getValue(metric.name).pooled())
+                )
+            }
+
+    private fun percentiles(values: DoubleArray): Map<String, Double> =
+        if (values.isEmpty()) {
+            emptyMap()
+        } else {
+            listOf(50, 90, 95, 99).associate { percentile ->
+                "P$percentile" to Statistics.percentile(values, percentile.toDouble())
+            }
+        }
+}
+
+class ComparisonReport(
+    val baselineLabel: String,
+    val candidateLabel: String,
+    val comparator: BenchmarkComparator,
+    val benchmarks: List<BenchmarkComparison>,
+    val baselineOnly: List<String>,
+    val candidateOnly: List<String>
+) {
+    fun toJson(): Map<String, Any?> = linkedMapOf(
+        "baseline" to baselineLabel,
+        "candidate" to candidateLabel,
+        "alpha" to comparator.alpha,
+        "confidence" to comparator.confidence,
+        "resamples" to comparator.resamples,
+        "seed" to comparator.seed,
+        "summary" to Verdict.values().associate { verdict ->
+            verdict.name to benchmarks.count { it.verdict == verdict }
+        },
+        "benchmarks" to benchmarks.map { it.toJson() },
+        "baselineOnly" to baselineOnly,
+        "candidateOnly" to candidateOnly
+    )
+}
+
+/**
+ * Compares benchmark results of a baseline, e.g. the XML app, with a candidate, e.g. the Compose
+ * app, benchmark by benchmark and metric by metric.
+ *
+ * Every iteration contributes one value per metric series, see [BenchmarkResult.series]. A
+ * difference is significant when the Mann-Whitney p-value, adjusted over all
+ * series of the report, is below [alpha] and the bootstrap interval of the median difference
+ * excludes zero.
+ */
+class BenchmarkComparator(
+    val alpha: Double = 0.05,
+    val confidence: Double = 0.95,
+    val resamples: Int = 10_000,
+    val seed: Long = 1L
+) {
+    fun compare(
+        baseline: List<BenchmarkResult>,
+        candidate: List<BenchmarkResult>,
+        baselineLabel: String,
+        candidateLabel: String
+    ): ComparisonReport {
+        val baselineById = BenchmarkResults.latestById(baseline)
+        val candidateById = BenchmarkResults.latestById(candidate)
+        val ids = baselineById.keys.intersect(candidateById.keys).sorted()
+
+        val allSeries = ids.flatMap { id ->
+            val baselineSeries = baselineById.getValue(id).series()
+            val candidateSeries = candidateById.getValue(id).series()
+            baselineSeries.keys.intersect(candidateSeries.keys).map { metric ->
+                series(
+                    id,
+                    metric,
+                    baselineSeries.getValue(metric),
+                    candidateSeries.getValue(metric)
+                )
+            }
+        }
+        val tested = allSeries.filter { it.mannWhitney != null }
+        val adjusted = Statistics.adjustFalseDiscoveryRate(
+            tested.map { it.mannWhitney!!.pValue }.toDoubleArray()
+        )
+        val adjustedBySeries = tested.zip(adjusted.asList()).toMap()
+
+        val benchmarks = ids.map { id ->
+            BenchmarkComparison(
+                id = id,
+                baseline = baselineById.getValue(id),
+                candidate = candidateById.getValue(id),
+                metrics = allSeries.filter { it.benchmarkId == id }
+                    .map { it.toComparison(adjustedBySeries[it]) }
+            )
+        }
+        return ComparisonReport(
+            baselineLabel = baselineLabel,
+            candidateLabel = candidateLabel,
+            comparator = this,
+            benchmarks = benchmarks,
+            baselineOnly = (baselineById.keys - candidateById.keys).sorted(),
+            candidateOnly = (candidateById.keys - baselineById.keys).sorted()
+        )
+    }
+
+    private fun series(
+        id: String,
+        metric: String,
+        baseline: DoubleArray,
+        candidate: DoubleArray
+    ): Series {
+        // Seeded per series, so a series' intervals do not depend on what else is in the report.
+        val random = Random(seed xor "$id/$metric".hashCode().toLong())
+        val enoughData = baseline.size >= MIN_ITERATIONS && candidate.size >= MIN_ITERATIONS
+        if (!enoughData) {
+            return Series(
+                benchmarkId = id,
+                metric = metric,
+                baseline = SampleSummary(baseline, medianInterval = null),
+                candidate = SampleSummary(candidate, medianInterval = null),
+                differenceInterval = null,
+                mannWhitney = null
+            )
+        }
+        return Series(
+            benchmarkId = id,
+            metric = metric,
+            baseline = SampleSummary(
+                baseline,
+                Statistics.bootstrapMedian(baseline, resamples, confidence, random)
+            ),
+            candidate = SampleSummary(
+                candidate,
+                Statistics.bootstrapMedian(candidate, resamples, confidence, random)
+            ),
+            differenceInterval = Statistics.bootstrapMedianDifference(
+                baseline, candidate, resamples, confidence, random
+            ),
+            mannWhitney = Statistics.mannWhitney(baseline, candidate)
+        )
+    }
+
+    private inner class Series(
+        val benchmarkId: String,
+        val metric: String,
+        val baseline: SampleSummary,
+        val candidate: SampleSummary,
+        val differenceInterval: ConfidenceInterval?,
+        val mannWhitney: MannWhitneyResult?
+    ) {
+        fun toComparison(adjustedPValue: Double?): MetricComparison {
+            val medianDifference = candidate.median - baseline.median
+            val significant = adjustedPValue != null && adjustedPValue < alpha &&
+                differenceInterval != null && 0.0 !in differenceInterval
+            val verdict = when {
+                mannWhitney == null -> Verdict.INSUFFICIENT_DATA
+                !significant -> Verdict.NO_SIGNIFICANT_DIFFERENCE
+                medianDifference > 0.0 -> Verdict.CANDIDATE_HIGHER
+                else -> Verdict.CANDIDATE_LOWER
+            }
+            return MetricComparison(
+                metric = metric,
+                baseline = baseline,
+                candidate = candidate,
+                medianDifference = medianDifference,
+                differenceInterval = differenceInterval,
+                mannWhitney = mannWhitney,
+                adjustedPValue = adjustedPValue,
+                verdict = verdict
+            )
+        }
+    }
+
+    private companion object {
+        const val MIN_ITERATIONS = 3
+    }
+}
+
+internal fun ConfidenceInterval.toJson(): Map<String, Any?> = linkedMapOf(
+    "lower" to lower,
+    "upper" to upper,
+    "confidence" to confidence
+)
@@ -0,0 +1,145 @@
+package com.android.car.ui.paintbooth.analysis
+
+import java.io.File
+import java.util.concurrent.TimeUnit
+import kotlin.system.exitProcess
+
+private const val USAGE =
+    "benchmarkHistory import --store <file> --results <dir> [--commit <sha>]\n" +
+        "       benchmarkHistory report --store <file> [--threshold 0.05] [--alpha 0.01] " +
+        "[--out <file>]"
+
+/**
+ * `import` adds the benchmark JSON below `--results` to the history store. `report` searches
+ * every metric's history for change points and flags shifts above `--threshold` as regressions.
+ */
+object BenchmarkHistory {
+
+    @JvmStatic
+    fun main(args: Array<String>) {
+        val command = args.firstOrNull()
+        val arguments = Arguments(args.drop(1).toTypedArray(), USAGE)
+        val store = ResultStore(File(arguments.required("store")))
+        when (command) {
+            "import" -> {
+                val results = File(arguments.required("results"))
+                val commit = arguments.optional("commit") ?: currentCommit()
+                val added = store.import(BenchmarkResults.loadAll(results), commit)
+                println("Imported $added series at $commit from ${results.path} into ${store.file}")
+            }
+            "report" -> {
+                val report = HistoryReport.create(
+                    store.read(),
+                    ChangePointDetector(alpha = arguments.double("alpha", 0.01)),
+                    threshold = arguments.double("threshold", 0.05)
+                )
+                report.printSummary()
+                arguments.optional("out")?.let { path ->
+                    val out = File(path)
+                    out.absoluteFile.parentFile?.mkdirs()
+                    out.writeText(Json.write(report.toJson()) + "\n")
+                    println("Report written to ${out.path}")
+                }
+            }
+            else -> {
+                System.err.println("Usage: $USAGE")
+                exitProcess(2)
+            }
+        }
+    }
+}
+
+private fun currentCommit(): String = try {
+    val process = ProcessBuilder("git", "rev-parse", "--short", "HEAD")
+        .redirectError(ProcessBuilder.Redirect.DISCARD)
+        .start()
+    val commit = process.inputStream.bufferedReader().readText().trim()
+    if (process.waitFor(10, TimeUnit.SECONDS) && process.exitValue() == 0 && commit.isNotEmpty()) {
+        commit
+    } else {
+        "unknown"
+    }
+} catch (e: java.io.IOException) {
+    "unknown"
+}
+
+/**
+ * Change points of every time series in a [ResultStore]. A change point whose median moved up by
+ * more than [threshold] is a regression, since lower is better for every metric recorded.
+ */
+class HistoryReport(
+    val threshold: Double,
+    val alpha: Double,
+    val series: Map<String, List<StoredSeries>>,
+    val changePoints: Map<String, List<ChangePoint>>
+) {
+    val regressions: List<Pair<String, ChangePoint>>
+        get() = changePoints.flatMap { (key, points) ->
+            points.filter { it.relativeChange > threshold }.map { key to it }
+        }
+
+    val improvements: List<Pair<String, ChangePoint>>
+        get() = changePoints.flatMap { (key, points) ->
+            points.filter { it.relativeChange < -threshold }.map { key to it }
+        }
+
+    fun printSummary() {
+        println("${series.size} series, ${regressions.size} regressions and " +
+            "${improvements.size} improvements beyond ${"%.1f".format(threshold * 100)}%")
+        val sections = listOf("Regressions" to regressions, "Improvements" to improvements)
+        for ((title, entries) in sections) {
+            if (entries.isEmpty()) continue
+            println()
+            println(title)
+            for ((key, point) in entries) {
+                println(
+                    "  %-80s %s -> %s  %10.1f -> %10.1f  %+7.1f%%".format(
+                        key,
+                        point.before.commit,
+                        point.after.commit,
+                        point.medianBefore,
+                        point.medianAfter,
+                        point.relativeChange * 100
+                    )
+                )
+            }
+        }
+    }
+
+    fun toJson(): Map<String, Any?> = linkedMapOf(
+        "threshold" to threshold,
+        "alpha" to alpha,
+        "regressions" to regressions.map { (key, point) -> entryJson(key, point) },
+        "improvements" to improvements.map { (key, point) -> entryJson(key, point) },
+        "series" to series.map { (key, runs) ->
+            linkedMapOf(
+                "series" to key,
+                "runs" to runs.size,
+                "latestCommit" to runs.last().commit,
+                "latestMedian" to runs.last().median,
+                "changePoints" to changePoints[key].orEmpty().map { it.toJson() }
+            )
+        }
+    )
+
+    private fun entryJson(key: String, point: ChangePoint): Map<String, Any?> =
+        linkedMapOf<String, Any?>("series" to key) + point.toJson()
+
+    companion object {
+        fun create(
+            history: List<StoredSeries>,
+            detector: ChangePointDetector,
+            threshold: Double
+        ): HistoryReport {
+            val series = history.groupBy { it.seriesKey }
+                .mapValues { (_, runs) -> runs.sortedBy { it.recordedAt } }
+                .toSortedMap()
+            return HistoryReport(
+                threshold = threshold,
+                alpha = detector.alpha,
+                series = series,
+                changePoints = series.mapValues { (_, runs) -> detector.detect(runs) }
+            )
+        }
+    }
+}
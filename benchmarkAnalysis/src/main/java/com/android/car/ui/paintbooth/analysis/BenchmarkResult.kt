@@ -0,0 +1,152 @@
+package com.android.car.ui.paintbooth.analysis
+
+import java.io.File
+
+/**
+ * One benchmark method from an androidx benchmark JSON file, with the values of every iteration.
+ */
+class BenchmarkResult(
+    val className: String,
+    val name: String,
+    val device: String,
+    val sdk: Int,
+    val compilationMode: String,
+    /** Start of the run as `yyyy-MM-dd-HH-mm-ss`, taken from the trace file names if present. */
+    val startedAt: String?,
+    val file: File,
+    val metrics: Map<String, MetricRuns>
+) {
+    /**
+     * Class simple name and method, e.g. `RecyclerViewScrollBenchmark.scrollPreferencesActivity`,
+     * which is the same for the benchmarkA and benchmarkB version of a benchmark.
+     */
+    val id: String
+        get() = "${className.substringAfterLast('.')}.$name"
+
+    /** Package of the benchmark class, e.g. `benchmarka`, which names the app measured. */
+    val app: String
+        get() = className.substringBeforeLast('.').substringAfterLast('.')
+
+    /** Per-iteration series of every metric, see [MetricRuns.series]. */
+    fun series(): Map<String, DoubleArray> {
+        val result = LinkedHashMap<String, DoubleArray>()
+        for (metric in metrics.values) result.putAll(metric.series())
+        return result
+    }
+}
+
+/**
+ * Values of one metric for each iteration. A single metric such as `timeToInitialDisplayMs` has
+ * one value per iteration, a sampled metric such as `frameDurationCpuMs` has one value per frame.
+ */
+class MetricRuns(val name: String, val sampled: Boolean, val runs: List<DoubleArray>) {
+
+    /** The single value of each iteration, or the [percentile] of each iteration's samples. */
+    fun perIteration(percentile: Double = 50.0): DoubleArray =
+        if (sampled) {
+            runs.filter { it.isNotEmpty() }
+                .map { Statistics.percentile(it, percentile) }
+                .toDoubleArray()
+        } else {
+            runs.mapNotNull { it.firstOrNull() }.toDoubleArray()
+        }
+
+    /**
+     * Series with one value per iteration, named after the metric. A sampled metric is reduced to
+     * the P50, P90, P95 and P99 of each iteration, e.g. `frameDurationCpuMsP90`, because the frames
+     * of one iteration are not independent of each other.
+     */
+    fun series(): Map<String, DoubleArray> =
+        if (sampled) {
+            SAMPLED_PERCENTILES.associate { percentile ->
+                "${name}P$percentile" to perIteration(percentile.toDouble())
+            }
+        } else {
+            mapOf(name to perIteration())
+        }
+
+    /** Every value of every iteration. */
+    fun pooled(): DoubleArray {
+        val result = DoubleArray(runs.sumOf { it.size })
+        var offset = 0
+        for (run in runs) {
+            run.copyInto(result, offset)
+            offset += run.size
+        }
+        return result
+    }
+
+    private companion object {
+        val SAMPLED_PERCENTILES = listOf(50, 90, 95, 99)
+    }
+}
+
+object BenchmarkResults {
+
+    private val traceTimestamp =
+        Regex("""_(\d{4}-\d{2}-\d{2}-\d{2}-\d{2}-\d{2})\.perfetto-trace$""")
+
+    /** Reads every benchmark in [file], which is one `*-benchmarkData*.json` output file. */
+    fun load(file: File): List<BenchmarkResult> {
+        val root = Json.parse(file.readText()).jsonObject()
+        val context = root["context"].jsonObject()
+        val build = context["build"].jsonObject()
+        val device = build["device"] as? String ?: "unknown"
+        val sdk = (build["version"].jsonObject()["sdk"] as? Number)?.toInt() ?: 0
+        val compilationMode = context["compilationMode"] as? String ?: "unknown"
+
+        return root["benchmarks"].jsonList().map { element ->
+            val benchmark = element.jsonObject()
+            val metrics = LinkedHashMap<String, MetricRuns>()
+            for ((name, metric) in benchmark["metrics"].jsonObject()) {
+                val runs = metric.jsonObject()["runs"].jsonDoubles().map { doubleArrayOf(it) }
+                metrics[name] = MetricRuns(name, sampled = false, runs = runs)
+            }
+            for ((name, metric) in benchmark["sampledMetrics"].jsonObject()) {
+                val runs = metric.jsonObject()["runs"].jsonList().map { it.jsonDoubles() }
+                metrics[name] = MetricRuns(name, sampled = true, runs = runs)
+            }
+            val startedAt = benchmark["profilerOutputs"].jsonList()
+                .firstNotNullOfOrNull { output ->
+                    (output.jsonObject()["filename"] as? String)
+                        ?.let { traceTimestamp.find(it)?.groupValues?.get(1) }
+                }
+            BenchmarkResult(
+                className = benchmark["className"] as? String ?: "",
+                name = benchmark["name"] as? String ?: file.nameWithoutExtension,
+                device = device,
+                sdk = sdk,
+                compilationMode = compilationMode,
+                startedAt = startedAt,
+                file = file,
+                metrics = metrics
+            )
+        }
+    }
+
+    /** Reads every JSON file below [dir]. Files that are not benchmark output are skipped. */
+    fun loadAll(dir: File): List<BenchmarkResult> =
+        dir.walkTopDown()
+            .filter { it.isFile && it.extension == "json" }
+            .sortedBy { it.path }
+            .flatMap { file ->
+                try {
+                    load(file)
+                } catch (e: IllegalArgumentException) {
+                    System.err.println("Skipping ${file.path}: ${e.message}")
+                    emptyList()
+                }
+            }
+            .toList()
+
+    /**
+     * Keeps one result per [BenchmarkResult.id]. When a directory holds several runs of the same
+     * benchmark, the most recent one by [BenchmarkResult.startedAt] is kept.
+     */
+    fun latestById(results: List<BenchmarkResult>): Map<String, BenchmarkResult> =
+        results.groupBy { it.id }
+            .mapValues { (_, runs) ->
+                runs.maxWith(compareBy(nullsFirst<String>()) { it.startedAt })
+            }
+            .toSortedMap()
+}
@@ -0,0 +1,82 @@
+package com.android.car.ui.paintbooth.analysis
+
+/** A shift in a metric's time series between the run before [after] and [after]. */
+class ChangePoint(
+    val before: StoredSeries,
+    val after: StoredSeries,
+    /** Median of the iterations of every run between the previous change point and this one. */
+    val medianBefore: Double,
+    /** Median of the iterations of every run between this change point and the next one. */
+    val medianAfter: Double,
+    /** Mann-Whitney p-value of the split, corrected for the number of splits that were tried. */
+    val pValue: Double
+) {
+    val relativeChange: Double
+        get() = if (medianBefore != 0.0) medianAfter / medianBefore - 1.0 else Double.NaN
+
+    fun toJson(): Map<String, Any?> = linkedMapOf(
+        "commitBefore" to before.commit,
+        "recordedBefore" to before.recordedAt,
+        "commitAfter" to after.commit,
+        "recordedAfter" to after.recordedAt,
+        "medianBefore" to medianBefore,
+        "medianAfter" to medianAfter,
+        "relativeChange" to relativeChange,
+        "pValue" to pValue
+    )
+}
+
+/**
+ * Finds the runs at which a metric's time series shifts, by binary segmentation: the series is
+ * split where the iterations before and after differ most according to a Mann-Whitney U test,
+ * and both halves are searched again until no split is significant at [alpha].
+ */
+class ChangePointDetector(val alpha: Double = 0.01) {
+
+    /** Change points of [runs], which must be the runs of one series in time order. */
+    fun detect(runs: List<StoredSeries>): List<ChangePoint> {
+        val splits = ArrayList<Pair<Int, Double>>()
+        split(runs, 0, runs.size, splits)
+        splits.sortBy { it.first }
+
+        val bounds = listOf(0) + splits.map { it.first } + runs.size
+        return splits.mapIndexed { i, (index, pValue) ->
+            ChangePoint(
+                before = runs[index - 1],
+                after = runs[index],
+                medianBefore = Statistics.median(pool(runs, bounds[i], index)),
+                medianAfter = Statistics.median(pool(runs, index, bounds[i + 2])),
+                pValue = pValue
+            )
+        }
+    }
+
+    private fun split(
+        runs: List<StoredSeries>,
+        from: Int,
+        to: Int,
+        splits: MutableList<Pair<Int, Double>>
+    ) {
+        val best = bestSplit(runs, from, to) ?: return
+        if (best.second >= alpha) return
+        splits.add(best)
+        split(runs, from, best.first, splits)
+        split(runs, best.first, to, splits)
+    }
+
+    /** Split of `runs[from, to)` with the lowest Bonferroni-corrected p-value. */
+    private fun bestSplit(runs: List<StoredSeries>, from: Int, to: Int): Pair<Int, Double>? {
+        val candidates = to - from - 1
+        if (candidates < 1) return null
+        var best: Pair<Int, Double>? = null
+        for (index in from + 1 until to) {
+            val test = Statistics.mannWhitney(pool(runs, from, index), pool(runs, index, to))
+            val pValue = minOf(test.pValue * candidates, 1.0)
+            if (best == null || pValue < best.second) best = index to pValue
+        }
+        return best
+    }
+
+    private fun pool(runs: List<StoredSeries>, from: Int, to: Int): DoubleArray =
+        runs.subList(from, to).flatMap { it.values.asList() }.toDoubleArray()
+}
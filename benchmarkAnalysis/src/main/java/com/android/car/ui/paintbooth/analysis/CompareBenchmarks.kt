@@ -0,0 +1,74 @@
+package com.android.car.ui.paintbooth.analysis
+
+import java.io.File
+import kotlin.system.exitProcess
+
+private const val USAGE = "compareBenchmarks --baseline <dir> --candidate <dir> [--out <file>] " +
+    "[--baseline-label XML] [--candidate-label Compose] [--alpha 0.05] [--confidence 0.95] " +
+    "[--resamples 10000] [--seed 1]"
+
+/**
+ * Compares the benchmark JSON below `--baseline` with the one below `--candidate`, prints the
+ * median, change and verdict of every metric and writes the full report as JSON to `--out`.
+ */
+fun main(args: Array<String>) {
+    val arguments = Arguments(args, USAGE)
+    val baselineDir = File(arguments.required("baseline"))
+    val candidateDir = File(arguments.required("candidate"))
+    for (dir in listOf(baselineDir, candidateDir)) {
+        if (!dir.isDirectory) {
+            System.err.println("Not a directory: $dir")
+            exitProcess(2)
+        }
+    }
+
+    val comparator = BenchmarkComparator(
+        alpha = arguments.double("alpha", 0.05),
+        confidence = arguments.double("confidence", 0.95),
+        resamples = arguments.int("resamples", 10_000),
+        seed = arguments.long("seed", 1L)
+    )
+    val report = comparator.compare(
+        baseline = BenchmarkResults.loadAll(baselineDir),
+        candidate = BenchmarkResults.loadAll(candidateDir),
+        baselineLabel = arguments.optional("baseline-label") ?: baselineDir.name,
+        candidateLabel = arguments.optional("candidate-label") ?: candidateDir.name
+    )
+
+    printReport(report)
+    arguments.optional("out")?.let { path ->
+        val out = File(path)
+        out.absoluteFile.parentFile?.mkdirs()
+        out.writeText(Json.write(report.toJson()) + "\n")
+        println("Report written to ${out.path}")
+    }
+}
+
+private fun printReport(report: ComparisonReport) {
+    println("${report.candidateLabel} vs ${report.baselineLabel}")
+    for (benchmark in report.benchmarks) {
+        println()
+        println("${benchmark.id}: ${benchmark.verdict}")
+        for (metric in benchmark.metrics) {
+            println(
+                "  %-28s %10.1f %10.1f %+8.1f%%  p=%-8.2g %-10s %s".format(
+                    metric.metric,
+                    metric.baseline.median,
+                    metric.candidate.median,
+                    metric.relativeChange * 100,
+                    metric.adjustedPValue ?: Double.NaN,
+                    metric.effectSize ?: "",
+                    metric.verdict
+                )
+            )
+        }
+    }
+    if (report.baselineOnly.isNotEmpty()) {
+        println()
+        println("Only in ${report.baselineLabel}: ${report.baselineOnly.joinToString()}")
+    }
+    if (report.candidateOnly.isNotEmpty()) {
+        println()
+        println("Only in ${report.candidateLabel}: ${report.candidateOnly.joinToString()}")
+    }
+}
@@ -0,0 +1,198 @@
+package com.android.car.ui.paintbooth.analysis
+
+import java.io.File
+import kotlin.random.Random
+import kotlin.system.exitProcess
+
+private const val USAGE =
+    "compilationGap --baseline <dir> --candidate <dir> [--baseline-label XML] " +
+        "[--candidate-label Compose] [--confidence 0.95] [--resamples 10000] [--seed 1] " +
+        "[--out <file>]"
+
+/**
+ * Gap between the candidate and the baseline app in one metric of one journey, measured in every
+ * compilation variant of `CompilationMatrixBenchmark`.
+ *
+ * The gap under `FULL` compilation is the steady-state cost, which remains without interpretation
+ * and JIT. What the gap under `NONE` adds on top of it is the interpretation cost.
+ */
+class CompilationGap(
+    val journey: String,
+    val metric: String,
+    /** `median(candidate) - median(baseline)` by compilation variant. */
+    val gaps: Map<String, Double>,
+    val intervals: Map<String, ConfidenceInterval>
+) {
+    val steadyStateCost: Double
+        get() = gaps[FULL] ?: Double.NaN
+
+    val interpretationCost: Double
+        get() = (gaps[NONE] ?: Double.NaN) - steadyStateCost
+
+    /** Share of the uncompiled gap that full compilation removes. */
+    val interpretationShare: Double
+        get() = gaps[NONE]?.takeIf { it != 0.0 }?.let { interpretationCost / it } ?: Double.NaN
+
+    /** Share of the interpretation cost that the baseline profile (`PARTIAL`) recovers. */
+    val profileRecovery: Double
+        get() {
+            val partial = gaps[PARTIAL] ?: return Double.NaN
+            if (interpretationCost == 0.0) return Double.NaN
+            return ((gaps[NONE] ?: Double.NaN) - partial) / interpretationCost
+        }
+
+    fun toJson(): Map<String, Any?> = linkedMapOf(
+        "journey" to journey,
+        "metric" to metric,
+        "gaps" to gaps,
+        "gapIntervals" to intervals.mapValues { it.value.toJson() },
+        "steadyStateCost" to steadyStateCost,
+        "interpretationCost" to interpretationCost,
+        "interpretationShare" to interpretationShare,
+        "profileRecovery" to profileRecovery
+    )
+
+    companion object {
+        const val NONE = "NONE"
+        const val PARTIAL = "PARTIAL"
+        const val FULL = "FULL"
+
+        private val matrixName = Regex("""^\w+\[(\w+),(\w+)]$""")
+
+        /**
+         * Gaps of every journey and metric measured by `CompilationMatrixBenchmark` in both
+         * [baseline] and [candidate]. Each series is seeded separately, as in
+         * [BenchmarkComparator].
+         */
+        fun compute(
+            baseline: List<BenchmarkResult>,
+            candidate: List<BenchmarkResult>,
+            confidence: Double,
+            resamples: Int,
+            seed: Long
+        ): List<CompilationGap> {
+            val baselineRuns = matrixRuns(baseline)
+            val candidateRuns = matrixRuns(candidate)
+            val journeys = baselineRuns.keys.map { it.first }
+                .intersect(candidateRuns.keys.map { it.first })
+                .sorted()
+
+            return journeys.flatMap { journey ->
+                val variants = listOf(NONE, PARTIAL, FULL).filter { variant ->
+                    (journey to variant) in baselineRuns && (journey to variant) in candidateRuns
+                }
+                val metrics = variants.flatMap { variant ->
+                    baselineRuns.getValue(journey to variant).series().keys
+                }.distinct()
+                metrics.mapNotNull { metric ->
+                    val gaps = LinkedHashMap<String, Double>()
+                    val intervals = LinkedHashMap<String, ConfidenceInterval>()
+                    for (variant in variants) {
+                        val base = baselineRuns.getValue(journey to variant).series()[metric]
+                        val cand = candidateRuns.getValue(journey to variant).series()[metric]
+                        if (base == null || cand == null || base.isEmpty() || cand.isEmpty()) {
+                            continue
+                        }
+                        gaps[variant] = Statistics.median(cand) - Statistics.median(base)
+                        intervals[variant] = gapInterval(
+                            base, cand, resamples, confidence, seed, "$journey/$variant/$metric"
+                        )
+                    }
+                    if (gaps.isEmpty()) null else CompilationGap(journey, metric, gaps, intervals)
+                }
+            }
+        }
+
+        private fun gapInterval(
+            baseline: DoubleArray,
+            candidate: DoubleArray,
+            resamples: Int,
+            confidence: Double,
+            seed: Long,
+            key: String
+        ): ConfidenceInterval {
+            val random = Random(seed xor key.hashCode().toLong())
+            return Statistics.bootstrapMedianDifference(
+                baseline, candidate, resamples, confidence, random
+            )
+        }
+
+        /** Latest result per `(journey, variant)` of the compilation matrix. */
+        private fun matrixRuns(
+            results: List<BenchmarkResult>
+        ): Map<Pair<String, String>, BenchmarkResult> =
+            BenchmarkResults.latestById(
+                results.filter { it.className.endsWith(".CompilationMatrixBenchmark") }
+            ).values.mapNotNull { result ->
+                matrixName.find(result.name)?.let { match ->
+                    (match.groupValues[1] to match.groupValues[2]) to result
+                }
+            }.toMap()
+    }
+}
+
+/**
+ * Prints how much of the gap between the apps in each journey of `CompilationMatrixBenchmark` is
+ * interpretation cost and how much is steady-state cost, and writes the gaps as JSON to `--out`.
+ */
+object CompilationGapReport {
+
+    @JvmStatic
+    fun main(args: Array<String>) {
+        val arguments = Arguments(args, USAGE)
+        val baselineDir = File(arguments.required("baseline"))
+        val candidateDir = File(arguments.required("candidate"))
+        for (dir in listOf(baselineDir, candidateDir)) {
+            if (!dir.isDirectory) {
+                System.err.println("Not a directory: $dir")
+                exitProcess(2)
+            }
+        }
+        val baselineLabel = arguments.optional("baseline-label") ?: baselineDir.name
+        val candidateLabel = arguments.optional("candidate-label") ?: candidateDir.name
+        val gaps = CompilationGap.compute(
+            baseline = BenchmarkResults.loadAll(baselineDir),
+            candidate = BenchmarkResults.loadAll(candidateDir),
+            confidence = arguments.double("confidence", 0.95),
+            resamples = arguments.int("resamples", 10_000),
+            seed = arguments.long("seed", 1L)
+        )
+
+        println("$candidateLabel - $baselineLabel by compilation variant")
+        if (gaps.isEmpty()) println("No CompilationMatrixBenchmark results in both directories")
+        for ((journey, journeyGaps) in gaps.groupBy { it.journey }) {
+            println()
+            println(journey)
+            println(
+                "  %-28s %10s %10s %10s %14s %12s %8s".format(
+                    "", "NONE", "PARTIAL", "FULL", "interpretation", "steadyState", "share"
+                )
+            )
+            for (gap in journeyGaps) {
+                println(
+                    "  %-28s %10.1f %10.1f %10.1f %14.1f %12.1f %7.0f%%".format(
+                        gap.metric,
+                        gap.gaps[CompilationGap.NONE] ?: Double.NaN,
+                        gap.gaps[CompilationGap.PARTIAL] ?: Double.NaN,
+                        gap.gaps[CompilationGap.FULL] ?: Double.NaN,
+                        gap.interpretationCost,
+                        gap.steadyStateCost,
+                        gap.interpretationShare * 100
+                    )
+                )
+            }
+        }
+
+        arguments.optional("out")?.let { path ->
+            val out = File(path)
+            out.absoluteFile.parentFile?.mkdirs()
+            val json = linkedMapOf(
+                "baseline" to baselineLabel,
+                "candidate" to candidateLabel,
+                "gaps" to gaps.map { it.toJson() }
+            )
+            out.writeText(Json.write(json) + "\n")
+            println("Report written to ${out.path}")
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.android.car.ui.paintbooth.analysis
+
+/**
+ * Minimal JSON reader and writer for benchmark output, so the analysis needs no dependencies.
+ *
+ * Objects are read as [Map], arrays as [List] and numbers as [Double].
+ */
+object Json {
+
+    fun parse(text: String): Any? {
+        val parser = Parser(text)
+        val value = parser.readValue()
+        parser.skipWhitespace()
+        if (parser.pos != text.length) parser.fail("Unexpected trailing content")
+        return value
+    }
+
+    /**
+     * Writes maps, iterables, arrays, numbers, strings, booleans, enums and null, indented by two
+     * spaces. Non-finite numbers are written as null.
+     */
+    fun write(value: Any?): String = StringBuilder().also { write(it, value, 0) }.toString()
+
+    private fun write(out: StringBuilder, value: Any?, depth: Int) {
+        when (value) {
+            null -> out.append("null")
+            is String -> writeString(out, value)
+            is Boolean -> out.append(value)
+            is Enum<*> -> writeString(out, value.name)
+            is Double -> writeNumber(out, value)
+            is Float -> writeNumber(out, value.toDouble())
+            is Number -> out.append(value.toLong())
+            is Map<*, *> -> writeContainer(out, '{', '}', value.entries, depth) { entry ->
+                writeString(out, entry.key.toString())
+                out.append(": ")
+                write(out, entry.value, depth + 1)
+            }
+            is DoubleArray -> write(out, value.asList(), depth)
+            is IntArray -> write(out, value.asList(), depth)
+            is LongArray -> write(out, value.asList(), depth)
+            is Array<*> -> write(out, value.asList(), depth)
+            is Iterable<*> -> writeContainer(out, '[', ']', value, depth) { item ->
+                write(out, item, depth + 1)
+            }
+            else -> writeString(out, value.toString())
+        }
+    }
+
+    private inline fun <T> writeContainer(
+        out: StringBuilder,
+        open: Char,
+        close: Char,
+        items: Iterable<T>,
+        depth: Int,
+        writeItem: (T) -> Unit
+    ) {
+        out.append(open)
+        var first = true
+        for (item in items) {
+            out.append(if (first) "\n" else ",\n")
+            repeat(depth + 1) { out.append("  ") }
+            writeItem(item)
+            first = false
+        }
+        if (!first) {
+            out.append('\n')
+            repeat(depth) { out.append("  ") }
+        }
+        out.append(close)
+    }
+
+    private fun writeNumber(out: StringBuilder, value: Double) {
+        when {
+            !value.isFinite() -> out.append("null")
+            value == Math.rint(value) && Math.abs(value) < 1e15 -> out.append(value.toLong())
+            else -> out.append(value)
+        }
+    }
+
+    private fun writeString(out: StringBuilder, value: String) {
+        out.append('"')
+        for (c in value) {
+            when (c) {
+                '"' -> out.append("\\\"")
+                '\\' -> out.append("\\\\")
+                '\n' -> out.append("\\n")
+                '\r' -> out.append("\\r")
+                '\t' -> out.append("\\t")
+                else -> if (c < ' ') out.append("\\u%04x".format(c.code)) else out.append(c)
+            }
+        }
+        out.append('"')
+    }
+
+    private class Parser(private val text: String) {
+        var pos = 0
+
+        fun readValue(): Any? {
+            skipWhitespace()
+            if (pos >= text.length) fail("Unexpected end of input")
+            return when (val c = text[pos]) {
+                '{' -> readObject()
+                '[' -> readArray()
+                '"' -> readString()
+                't' -> readLiteral("true", true)
+                'f' -> readLiteral("false", false)
+                'n' -> readLiteral("null", null)
+                else -> if (c == '-' || c in '0'..'9') readNumber() else fail("Unexpected '$c'")
+            }
+        }
+
+        private fun readObject(): Map<String, Any?> {
+            val result = LinkedHashMap<String, Any?>()
+            pos++
+            skipWhitespace()
+            if (peek() == '}') {
+                pos++
+                return result
+            }
+            while (true) {
+                skipWhitespace()
+                if (peek() != '"') fail("Expected an object key")
+                val key = readString()
+                skipWhitespace()
+                if (next() != ':') fail("Expected ':'")
+                result[key] = readValue()
+                skipWhitespace()
+                when (next()) {
+                    ',' -> continue
+                    '}' -> return result
+                    else -> fail("Expected ',' or '}'")
+                }
+            }
+        }
+
+        private fun readArray(): List<Any?> {
+            val result = ArrayList<Any?>()
+            pos++
+            skipWhitespace()
+            if (peek() == ']') {
+                pos++
+                return result
+            }
+            while (true) {
+                result.add(readValue())
+                skipWhitespace()
+                when (next()) {
+                    ',' -> continue
+                    ']' -> return result
+                    else -> fail("Expected ',' or ']'")
+                }
+            }
+        }
+
+        private fun readString(): String {
+            pos++
+            val result = StringBuilder()
+            while (true) {
+                when (val c = next()) {
+                    '"' -> return result.toString()
+                    '\\' -> when (val escaped = next()) {
+                        '"', '\\', '/' -> result.append(escaped)
+                        'b' -> result.append('\b')
+                        'f' -> result.append('\u000C')
+                        'n' -> result.append('\n')
+                        'r' -> result.append('\r')
+                        't' -> result.append('\t')
+                        'u' -> {
+                            if (pos + 4 > text.length) fail("Invalid unicode escape")
+                            val code = text.substring(pos, pos + 4).toIntOrNull(16)
+                                ?: fail("Invalid unicode escape")
+                            result.append(code.toChar())
+                            pos += 4
+                        }
+                        else -> fail("Invalid escape '\\$escaped'")
+                    }
+                    else -> result.append(c)
+                }
+            }
+        }
+
+        private fun readNumber(): Double {
+            val start = pos
+            while (pos < text.length && text[pos] in NUMBER_CHARS) pos++
+            return text.substring(start, pos).toDoubleOrNull() ?: fail("Invalid number")
+        }
+
+        private fun readLiteral(literal: String, value: Any?): Any? {
+            if (!text.startsWith(literal, pos)) fail("Unexpected token")
+            pos += literal.length
+            return value
+        }
+
+        fun skipWhitespace() {
+            while (pos < text.length && text[pos].isWhitespace()) pos++
+        }
+
+        private fun peek(): Char =
+            if (pos < text.length) text[pos] else fail("Unexpected end of input")
+
+        private fun next(): Char = peek().also { pos++ }
+
+        fun fail(message: String): Nothing =
+            throw IllegalArgumentException("$message at offset $pos")
+    }
+
+    private const val NUMBER_CHARS = "+-0123456789.eE"
+}
+
+@Suppress("UNCHECKED_CAST")
+internal fun Any?.jsonObject(): Map<String, Any?> = this as? Map<String, Any?> ?: emptyMap()
+
+internal fun Any?.jsonList(): List<Any?> = this as? List<Any?> ?: emptyList()
+
+internal fun Any?.jsonDoubles(): DoubleArray =
+    jsonList().mapNotNull { (it as? Number)?.toDouble() }.toDoubleArray()
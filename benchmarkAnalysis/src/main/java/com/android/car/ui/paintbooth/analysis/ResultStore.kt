@@ -0,0 +1,117 @@
+package com.android.car.ui.paintbooth.analysis
+
+import java.io.File
+import java.time.Instant
+import java.time.LocalDateTime
+import java.time.ZoneId
+import java.time.format.DateTimeFormatter
+
+/** One metric series of one benchmark run, as kept in a [ResultStore]. */
+class StoredSeries(
+    /** Start of the run as `yyyy-MM-dd-HH-mm-ss`, which orders the runs of a series. */
+    val recordedAt: String,
+    val commit: String,
+    val device: String,
+    val app: String,
+    val benchmark: String,
+    val metric: String,
+    /** One value per iteration, see [BenchmarkResult.series]. */
+    val values: DoubleArray
+) {
+    /** Identifies the time series this run belongs to. */
+    val seriesKey: String
+        get() = "$app/$device/$benchmark/$metric"
+
+    val median: Double
+        get() = Statistics.median(values)
+
+    internal val runKey: String
+        get() = "$seriesKey@$recordedAt@$commit"
+}
+
+/**
+ * Append-only history of benchmark results keyed by commit, device, app, benchmark and metric.
+ *
+ * The store is a tab-separated text file with one line per metric series of a run, holding the
+ * value of every iteration, so that it can be diffed, merged and read without any tooling.
+ */
+class ResultStore(val file: File) {
+
+    fun read(): List<StoredSeries> {
+        if (!file.exists()) return emptyList()
+        return file.readLines()
+            .filter { it.isNotBlank() && !it.startsWith(HEADER) }
+            .map { line ->
+                val fields = line.split('\t')
+                require(fields.size == COLUMNS) { "Malformed line in ${file.path}: $line" }
+                StoredSeries(
+                    recordedAt = fields[0],
+                    commit = fields[1],
+                    device = fields[2],
+                    app = fields[3],
+                    benchmark = fields[4],
+                    metric = fields[5],
+                    values = fields[6].split(',').filter { it.isNotEmpty() }
+                        .map { it.toDouble() }
+                        .toDoubleArray()
+                )
+            }
+    }
+
+    /**
+     * Appends every metric series of [results] as measured at [commit]. Runs already in the store
+     * are skipped, so importing the same output twice is harmless.
+     *
+     * A result without a start time is recorded at the modification time of its file, which stays
+     * the same when the file is imported again.
+     *
+     * @return the number of series added
+     */
+    fun import(results: List<BenchmarkResult>, commit: String): Int {
+        val known = read().mapTo(HashSet()) { it.runKey }
+        val added = results.flatMap { result ->
+            val recordedAt = result.startedAt ?: LocalDateTime
+                .ofInstant(Instant.ofEpochMilli(result.file.lastModified()), ZoneId.systemDefault())
+                .format(TIMESTAMP)
+            result.series().map { (metric, values) ->
+                // Fields are stored as written by format(), so the keys match those read back.
+                StoredSeries(
+                    recordedAt = field(recordedAt),
+                    commit = field(commit),
+                    device = field(result.device),
+                    app = field(result.app),
+                    benchmark = field(result.id),
+                    metric = field(metric),
+                    values = values
+                )
+            }
+        }.filter { it.values.isNotEmpty() && known.add(it.runKey) }
+
+        if (added.isNotEmpty()) {
+            file.absoluteFile.parentFile?.mkdirs()
+            if (!file.exists()) file.writeText(HEADER + "\n")
+            file.appendText(added.joinToString(separator = "") { format(it) + "\n" })
+        }
+        return added.size
+    }
+
+    private fun format(series: StoredSeries): String = listOf(
+        series.recordedAt,
+        series.commit,
+        series.device,
+        series.app,
+        series.benchmark,
+        series.metric,
+        series.values.joinToString(",")
+    ).joinToString("\t")
+
+    /** Replaces whitespace, which would break the tab-separated columns, with `_`. */
+    private fun field(value: String): String = value.replace(WHITESPACE, "_")
+
+    private companion object {
+        const val HEADER = "recordedAt\tcommit\tdevice\tapp\tbenchmark\tmetric\tvalues"
+        const val COLUMNS = 7
+        val WHITESPACE = Regex("\\s")
+        val TIMESTAMP: DateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd-HH-mm-ss")
+    }
+}
@@ -0,0 +1,193 @@
+package com.android.car.ui.paintbooth.analysis
+
+import kotlin.math.abs
+import kotlin.math.exp
+import kotlin.math.floor
+import kotlin.math.sqrt
+import kotlin.random.Random
+
+/** Closed interval estimated at [confidence], e.g. 0.95. */
+data class ConfidenceInterval(val lower: Double, val upper: Double, val confidence: Double) {
+    operator fun contains(value: Double): Boolean = value in lower..upper
+}
+
+/**
+ * Result of a two-sided Mann-Whitney U test of a baseline sample against a candidate sample.
+ *
+ * [u] counts the pairs in which the candidate value is higher, ties counting one half, so
+ * [cliffsDelta] is positive when the candidate tends to be higher.
+ */
+data class MannWhitneyResult(
+    val u: Double,
+    val z: Double,
+    val pValue: Double,
+    val cliffsDelta: Double
+)
+
+object Statistics {
+
+    /** [percentile] in 0..100 of [values], interpolating linearly between the closest ranks. */
+    fun percentile(values: DoubleArray, percentile: Double): Double {
+        require(values.isNotEmpty()) { "No values" }
+        val sorted = values.sortedArray()
+        return sortedPercentile(sorted, percentile)
+    }
+
+    private fun sortedPercentile(sorted: DoubleArray, percentile: Double): Double {
+        val rank = percentile.coerceIn(0.0, 100.0) / 100.0 * (sorted.size - 1)
+        val lower = floor(rank).toInt()
+        val upper = minOf(lower + 1, sorted.size - 1)
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * (rank - lower)
+    }
+
+    fun median(values: DoubleArray): Double = percentile(values, 50.0)
+
+    fun mean(values: DoubleArray): Double = values.average()
+
+    /** Sample standard deviation. */
+    fun standardDeviation(values: DoubleArray): Double {
+        if (values.size < 2) return 0.0
+        val mean = values.average()
+        return sqrt(values.sumOf { (it - mean) * (it - mean) } / (values.size - 1))
+    }
+
+    /** Percentile bootstrap interval of the median of [values]. */
+    fun bootstrapMedian(
+        values: DoubleArray,
+        resamples: Int,
+        confidence: Double,
+        random: Random
+    ): ConfidenceInterval {
+        val medians = DoubleArray(resamples)
+        val resample = DoubleArray(values.size)
+        for (i in 0 until resamples) {
+            resampleInto(values, resample, random)
+            medians[i] = median(resample)
+        }
+        return interval(medians, confidence)
+    }
+
+    /**
+     * Percentile bootstrap interval of `median(candidate) - median(baseline)`, resampling both
+     * samples independently.
+     */
+    fun bootstrapMedianDifference(
+        baseline: DoubleArray,
+        candidate: DoubleArray,
+        resamples: Int,
+        confidence: Double,
+        random: Random
+    ): ConfidenceInterval {
+        val differences = DoubleArray(resamples)
+        val baselineResample = DoubleArray(baseline.size)
+        val candidateResample = DoubleArray(candidate.size)
+        for (i in 0 until resamples) {
+            resampleInto(baseline, baselineResample, random)
+            resampleInto(candidate, candidateResample, random)
+            differences[i] = median(candidateResample) - median(baselineResample)
+        }
+        return interval(differences, confidence)
+    }
+
+    private fun resampleInto(values: DoubleArray, into: DoubleArray, random: Random) {
+        for (i in into.indices) into[i] = values[random.nextInt(values.size)]
+    }
+
+    private fun interval(estimates: DoubleArray, confidence: Double): ConfidenceInterval {
+        estimates.sort()
+        val tail = (1.0 - confidence) / 2.0 * 100.0
+        return ConfidenceInterval(
+            lower = sortedPercentile(estimates, tail),
+            upper = sortedPercentile(estimates, 100.0 - tail),
+            confidence = confidence
+        )
+    }
+
+    /**
+     * Two-sided Mann-Whitney U test with the normal approximation, corrected for ties and for
+     * continuity.
+     */
+    fun mannWhitney(baseline: DoubleArray, candidate: DoubleArray): MannWhitneyResult {
+        val n1 = baseline.size
+        val n2 = candidate.size
+        require(n1 > 0 && n2 > 0) { "Both samples need values" }
+        val n = n1 + n2
+
+        // Rank the pooled values, giving tied values the mean of their ranks.
+        val pooled = Array(n) { i ->
+            if (i < n1) baseline[i] to true else candidate[i - n1] to false
+        }
+        pooled.sortBy { it.first }
+        var candidateRankSum = 0.0
+        var tieTerm = 0.0
+        var i = 0
+        while (i < n) {
+            var j = i
+            while (j + 1 < n && pooled[j + 1].first == pooled[i].first) j++
+            val rank = (i + j) / 2.0 + 1.0
+            for (k in i..j) if (!pooled[k].second) candidateRankSum += rank
+            val ties = (j - i + 1).toDouble()
+            tieTerm += ties * ties * ties - ties
+            i = j + 1
+        }
+
+        val pairs = n1.toDouble() * n2
+        val u = candidateRankSum - n2 * (n2 + 1) / 2.0
+        val meanU = pairs / 2.0
+        val variance = pairs / 12.0 * ((n + 1) - tieTerm / (n.toDouble() * (n - 1)))
+        val z = if (variance > 0.0) {
+            val distance = abs(u - meanU)
+            val corrected = maxOf(distance - 0.5, 0.0)
+            (if (u >= meanU) corrected else -corrected) / sqrt(variance)
+        } else {
+            0.0
+        }
+        val pValue = (2.0 * normalUpperTail(abs(z))).coerceAtMost(1.0)
+        val cliffsDelta = 2.0 * u / pairs - 1.0
+        return MannWhitneyResult(u = u, z = z, pValue = pValue, cliffsDelta = cliffsDelta)
+    }
+
+    /** `P(Z > z)` for a standard normal `Z`. */
+    fun normalUpperTail(z: Double): Double = erfc(z / sqrt(2.0)) / 2.0
+
+    // Complementary error function with a relative error below 1.2e-7 (Numerical Recipes erfcc).
+    private fun erfc(x: Double): Double {
+        val t = 1.0 / (1.0 + 0.5 * abs(x))
+        val y = t * exp(
+            -x * x - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418 +
+                t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587 +
+                t * (-0.82215223 + t * 0.17087277))))))))
+        )
+        return if (x >= 0) y else 2.0 - y
+    }
+
+    /**
+     * Benjamini-Hochberg adjusted p-values, which keep the expected share of false discoveries
+     * among all comparisons of a report below the significance level.
+     */
+    fun adjustFalseDiscoveryRate(pValues: DoubleArray): DoubleArray {
+        val m = pValues.size
+        val order = pValues.indices.sortedByDescending { pValues[it] }
+        val adjusted = DoubleArray(m)
+        var running = 1.0
+        for ((position, index) in order.withIndex()) {
+            val rank = m - position
+            running = minOf(running, pValues[index] * m / rank)
+            adjusted[index] = running
+        }
+        return adjusted
+    }
+
+    /** Magnitude of Cliff's delta with the thresholds of Romano et al. (2006). */
+    fun effectSize(cliffsDelta: Double): EffectSize {
+        val magnitude = abs(cliffsDelta)
+        return when {
+            magnitude < 0.147 -> EffectSize.NEGLIGIBLE
+            magnitude < 0.33 -> EffectSize.SMALL
+            magnitude < 0.474 -> EffectSize.MEDIUM
+            else -> EffectSize.LARGE
+        }
+    }
+}
+
+enum class EffectSize { NEGLIGIBLE, SMALL, MEDIUM, LARGE }
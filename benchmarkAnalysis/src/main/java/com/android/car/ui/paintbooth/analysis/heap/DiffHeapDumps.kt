@@ -0,0 +1,72 @@
+package com.android.car.ui.paintbooth.analysis.heap
+
+import com.android.car.ui.paintbooth.analysis.Arguments
+import com.android.car.ui.paintbooth.analysis.Json
+import java.io.File
+import java.io.IOException
+
+private const val USAGE =
+    "diffHeapDumps --baseline <dir> --candidate <dir> [--baseline-label XML] " +
+        "[--candidate-label Compose] [--top 15] [--out <file>]"
+
+/**
+ * Reads the `heap_<screen>.hprof` dumps below `--baseline` and `--candidate`, as written by
+ * `MemoryUsageBenchmark.memoryHeapDumps`, and prints per screen where the heaps of the two apps
+ * differ.
+ *
+ * Dumps are read one at a time and only their summaries are kept, so the JVM needs memory for the
+ * object graph of the largest dump only, about 2 GB for a 250 MB dump.
+ */
+object DiffHeapDumps {
+
+    @JvmStatic
+    fun main(args: Array<String>) {
+        val arguments = Arguments(args, USAGE)
+        val report = HeapReport(
+            baselineLabel = arguments.optional("baseline-label") ?: "baseline",
+            candidateLabel = arguments.optional("candidate-label") ?: "candidate",
+            baseline = summarize(File(arguments.required("baseline"))),
+            candidate = summarize(File(arguments.required("candidate"))),
+            top = arguments.int("top", 15)
+        )
+        report.printSummary()
+        arguments.optional("out")?.let { path ->
+            val out = File(path)
+            out.absoluteFile.parentFile?.mkdirs()
+            out.writeText(Json.write(report.toJson()) + "\n")
+            println("Report written to ${out.path}")
+        }
+    }
+
+    private fun summarize(dir: File): Map<String, HeapSummary> {
+        val files = dir.walkTopDown()
+            .filter { it.isFile && it.name.endsWith(HPROF_EXTENSION) }
+            .sortedBy { it.path }
+            .toList()
+        val summaries = sortedMapOf<String, HeapSummary>()
+        for (file in files) {
+            val screen = file.name.removeSuffix(HPROF_EXTENSION).removePrefix(HEAP_DUMP_PREFIX)
+            if (screen in summaries) {
+                System.err.println("Skipping ${file.path}: another dump of $screen was read")
+                continue
+            }
+            val start = System.nanoTime()
+            try {
+                summaries[screen] = HeapSummary.read(file)
+            } catch (e: IOException) {
+                System.err.println("Skipping ${file.path}: ${e.message}")
+                continue
+            }
+            println(
+                "Read %s (%,d MB) in %.1f s".format(
+                    file.path, file.length() shr 20, (System.nanoTime() - start) / 1e9
+                )
+            )
+        }
+        println("Read ${summaries.size} of ${files.size} heap dumps in ${dir.path}")
+        return summaries
+    }
+
+    private const val HPROF_EXTENSION = ".hprof"
+    private const val HEAP_DUMP_PREFIX = "heap_"
+}
@@ -0,0 +1,131 @@
+package com.android.car.ui.paintbooth.analysis.heap
+
+/**
+ * Immediate dominators and retained sizes of the objects of a [HeapGraph] reachable from its
+ * roots, computed with the iterative algorithm of Cooper, Harvey and Kennedy.
+ *
+ * A virtual node, [root], references every GC root. An object's retained size is the app heap
+ * memory that would be freed with it: its own and that of every object it dominates.
+ */
+internal class DominatorTree(private val graph: HeapGraph) {
+    val root = graph.nodeCount
+
+    /** Reachable nodes in depth-first postorder; [root] is last. */
+    val postorder: IntArray
+
+    /** Immediate dominator of each node, -1 for unreachable nodes. */
+    val idom: IntArray
+
+    val retained: LongArray
+
+    init {
+        val nodes = graph.nodeCount + 1
+        val postIndex = IntArray(nodes) { -1 }
+        postorder = depthFirstPostorder(postIndex)
+
+        val (predStart, preds) = predecessors(postIndex)
+        idom = IntArray(nodes) { -1 }
+        idom[root] = root
+        do {
+            var changed = false
+            for (i in postorder.size - 2 downTo 0) {
+                val node = postorder[i]
+                var dominator = -1
+                for (p in predStart[node] until predStart[node + 1]) {
+                    val pred = preds[p]
+                    if (idom[pred] == -1) continue
+                    dominator = if (dominator == -1) pred else intersect(pred, dominator, postIndex)
+                }
+                if (idom[node] != dominator) {
+                    idom[node] = dominator
+                    changed = true
+                }
+            }
+        } while (changed)
+
+        // Dominators come after the nodes they dominate in postorder.
+        retained = LongArray(nodes)
+        for (i in 0 until postorder.size - 1) {
+            val node = postorder[i]
+            retained[node] += graph.appSize(node).toLong()
+            retained[idom[node]] += retained[node]
+        }
+    }
+
+    /** Children of each node in the dominator tree, as `children[start[n] until start[n + 1]]`. */
+    fun children(): Pair<IntArray, IntArray> {
+        val start = IntArray(root + 2)
+        for (i in 0 until postorder.size - 1) start[idom[postorder[i]] + 1]++
+        for (n in 1 until start.size) start[n] += start[n - 1]
+        val fill = start.copyOf(root + 1)
+        val children = IntArray(postorder.size - 1)
+        for (i in 0 until postorder.size - 1) {
+            val node = postorder[i]
+            children[fill[idom[node]]++] = node
+        }
+        return start to children
+    }
+
+    private fun successorCount(node: Int): Int =
+        if (node == root) graph.roots.size else graph.edgeStart[node + 1] - graph.edgeStart[node]
+
+    private fun successor(node: Int, i: Int): Int =
+        if (node == root) graph.roots[i] else graph.edges[graph.edgeStart[node] + i]
+
+    private fun depthFirstPostorder(postIndex: IntArray): IntArray {
+        val visited = BooleanArray(postIndex.size)
+        val stack = IntArray(postIndex.size)
+        val cursor = IntArray(postIndex.size)
+        val order = IntList()
+        var depth = 0
+        stack[depth++] = root
+        visited[root] = true
+        while (depth > 0) {
+            val node = stack[depth - 1]
+            val next = cursor[depth - 1]
+            if (next < successorCount(node)) {
+                cursor[depth - 1]++
+                val child = successor(node, next)
+                if (!visited[child]) {
+                    visited[child] = true
+                    stack[depth] = child
+                    cursor[depth] = 0
+                    depth++
+                }
+            } else {
+                depth--
+                postIndex[node] = order.size
+                order.add(node)
+            }
+        }
+        return order.toArray()
+    }
+
+    /** Predecessors of each node among the reachable nodes, in the same layout as [children]. */
+    private fun predecessors(postIndex: IntArray): Pair<IntArray, IntArray> {
+        val start = IntArray(postIndex.size + 1)
+        for (node in postorder) {
+            for (i in 0 until successorCount(node)) start[successor(node, i) + 1]++
+        }
+        for (n in 1 until start.size) start[n] += start[n - 1]
+        val fill = start.copyOf(postIndex.size)
+        val preds = IntArray(start[postIndex.size])
+        for (node in postorder) {
+            for (i in 0 until successorCount(node)) {
+                val child = successor(node, i)
+                preds[fill[child]++] = node
+            }
+        }
+        return start to preds
+    }
+
+    private fun intersect(a: Int, b: Int, postIndex: IntArray): Int {
+        var x = a
+        var y = b
+        while (x != y) {
+            while (postIndex[x] < postIndex[y]) x = idom[x]
+            while (postIndex[y] < postIndex[x]) y = idom[y]
+        }
+        return x
+    }
+}
@@ -0,0 +1,526 @@
+package com.android.car.ui.paintbooth.analysis.heap
+
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.CLASS_DUMP
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.HEAP_DUMP
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.HEAP_DUMP_INFO
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.HEAP_DUMP_SEGMENT
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.INSTANCE_DUMP
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.LOAD_CLASS
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.OBJECT_ARRAY_DUMP
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.PRIMITIVE_ARRAY_DUMP
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.PRIMITIVE_ARRAY_NODATA
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.ROOT_DEBUGGER
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.ROOT_FINALIZING
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.ROOT_INTERNED_STRING
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.ROOT_JAVA_FRAME
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.ROOT_JNI_GLOBAL
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.ROOT_JNI_LOCAL
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.ROOT_JNI_MONITOR
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.ROOT_MONITOR_USED
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.ROOT_NATIVE_STACK
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.ROOT_REFERENCE_CLEANUP
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.ROOT_STICKY_CLASS
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.ROOT_THREAD_BLOCK
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.ROOT_THREAD_OBJECT
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.ROOT_UNKNOWN
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.ROOT_VM_INTERNAL
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.STRING
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.TYPE_INT
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.TYPE_OBJECT
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.UNREACHABLE
+import java.io.File
+import java.io.IOException
+import java.util.BitSet
+
+/** A class in a heap dump. [superIndex] is the index of its superclass, or -1. */
+internal class HeapClass(val name: String, val superIndex: Int, val instanceSize: Int) {
+    /** The package, or the element's package for arrays. Primitive arrays have none. */
+    val packageName: String = name.removeSuffix("[]").let { element ->
+        if ('.' in element) element.substringBeforeLast('.') else NO_PACKAGE
+    }
+
+    companion object {
+        const val NO_PACKAGE = "(primitive)"
+    }
+}
+
+/**
+ * The objects of a heap dump and the references between them, as indices into primitive arrays so
+ * that dumps of a few hundred MB fit in memory.
+ *
+ * The outgoing references of node `n` are `edges[edgeStart[n] until edgeStart[n + 1]]`. Objects in
+ * the zygote and image heaps are [shared] with every app process; they stay in the graph so paths
+ * through them count, but analyses only count the app heap.
+ */
+internal class HeapGraph(
+    val classes: List<HeapClass>,
+    val nodeClass: IntArray,
+    val shallowSize: IntArray,
+    val shared: BitSet,
+    val roots: IntArray,
+    val edgeStart: IntArray,
+    val edges: IntArray,
+    /** Pixel bytes of the app's bitmaps, from their width and height at 4 bytes per pixel. */
+    val bitmapPixelBytes: Long
+) {
+    val nodeCount: Int
+        get() = nodeClass.size
+
+    /** Shallow size of node [n] counted for the app, 0 for shared objects. */
+    fun appSize(n: Int): Int = if (shared[n]) 0 else shallowSize[n]
+
+    companion object {
+        /** Reads [file] twice: first to number the objects and classes, then for references. */
+        fun read(file: File): HeapGraph {
+            val index = HprofReader.open(file).use { ObjectIndex.read(it) }
+            return HprofReader.open(file).use { ReferenceReader(index, it).read() }
+        }
+    }
+}
+
+private class ClassDump(
+    val id: Long,
+    val superId: Long,
+    val instanceSize: Int,
+    val fieldTypes: ByteArray,
+    val fieldNameIds: LongArray
+)
+
+/** First pass: numbers every object in file order and collects classes, names and roots. */
+private class ObjectIndex(val idSize: Int) {
+    val strings = HashMap<Long, String>()
+    val classNameIds = HashMap<Long, Long>()
+    val classDumps = ArrayList<ClassDump>()
+    val ids = LongIntMap(1 shl 20)
+    val rootIds = LongList()
+    val shared = BitSet()
+
+    // Raw class id of each node, or CLASS_OBJECT, or -type for primitive arrays.
+    val nodeClassIds = LongList()
+    // Shallow size of each node, or -1 for instances until their class is known.
+    val nodeSizes = IntList()
+
+    private var sharedHeap = false
+
+    private fun readHeapDump(reader: HprofReader, end: Long) {
+        while (reader.position < end) {
+            when (val tag = reader.u1()) {
+                ROOT_UNKNOWN, ROOT_STICKY_CLASS, ROOT_MONITOR_USED, ROOT_INTERNED_STRING,
+                ROOT_FINALIZING, ROOT_DEBUGGER, ROOT_REFERENCE_CLEANUP, ROOT_VM_INTERNAL ->
+                    rootIds.add(reader.id())
+                ROOT_JNI_GLOBAL -> {
+                    rootIds.add(reader.id())
+                    reader.id()
+                }
+                ROOT_JNI_LOCAL, ROOT_JAVA_FRAME, ROOT_JNI_MONITOR, ROOT_THREAD_OBJECT -> {
+                    rootIds.add(reader.id())
+                    reader.skip(8)
+                }
+                ROOT_NATIVE_STACK, ROOT_THREAD_BLOCK -> {
+                    rootIds.add(reader.id())
+                    reader.skip(4)
+                }
+                UNREACHABLE -> reader.id()
+                HEAP_DUMP_INFO -> {
+                    val heap = reader.u4()
+                    reader.id()
+                    sharedHeap = heap == HEAP_ZYGOTE || heap == HEAP_IMAGE
+                }
+                CLASS_DUMP -> readClass(reader)
+                INSTANCE_DUMP -> {
+                    val id = reader.id()
+                    reader.skip(4)
+                    val classId = reader.id()
+                    reader.skip(reader.u4().toLong() and 0xFFFFFFFFL)
+                    addNode(id, classId, -1)
+                }
+                OBJECT_ARRAY_DUMP -> {
+                    val id = reader.id()
+                    reader.skip(4)
+                    val length = reader.u4()
+                    val classId = reader.id()
+                    reader.skip(length.toLong() * idSize)
+                    addNode(id, classId, arraySize(length, idSize))
+                }
+                PRIMITIVE_ARRAY_DUMP, PRIMITIVE_ARRAY_NODATA -> {
+                    val id = reader.id()
+                    reader.skip(4)
+                    val length = reader.u4()
+                    val type = reader.u1()
+                    val elementSize = reader.sizeOf(type)
+                    if (tag == PRIMITIVE_ARRAY_DUMP) reader.skip(length.toLong() * elementSize)
+                    addNode(id, -type.toLong(), arraySize(length, elementSize))
+                }
+                else -> throw IOException(
+                    "Unknown heap dump record 0x%x at %d".format(tag, reader.position - 1)
+                )
+            }
+        }
+    }
+
+    private fun readClass(reader: HprofReader) {
+        val id = reader.id()
+        reader.skip(4)
+        val superId = reader.id()
+        reader.skip(5L * idSize) // Class loader, signers, protection domain and two reserved ids.
+        val instanceSize = reader.u4()
+        repeat(reader.u2()) {
+            reader.skip(2)
+            reader.skip(reader.sizeOf(reader.u1()).toLong())
+        }
+        var staticBytes = 0
+        repeat(reader.u2()) {
+            reader.id()
+            val size = reader.sizeOf(reader.u1())
+            reader.skip(size.toLong())
+            staticBytes += size
+        }
+        val fieldCount = reader.u2()
+        val fieldNameIds = LongArray(fieldCount)
+        val fieldTypes = ByteArray(fieldCount)
+        for (i in 0 until fieldCount) {
+            fieldNameIds[i] = reader.id()
+            fieldTypes[i] = reader.u1().toByte()
+        }
+        classDumps.add(ClassDump(id, superId, instanceSize, fieldTypes, fieldNameIds))
+        addNode(id, CLASS_OBJECT, staticBytes)
+    }
+
+    private fun addNode(id: Long, classId: Long, size: Int) {
+        val node = nodeSizes.size
+        ids[id] = node
+        nodeClassIds.add(classId)
+        nodeSizes.add(size)
+        if (sharedHeap) shared.set(node)
+    }
+
+    companion object {
+        /** Class id of class objects, which are instances of `java.lang.Class`. */
+        const val CLASS_OBJECT = Long.MIN_VALUE
+
+        private const val HEAP_ZYGOTE = 'Z'.code
+        private const val HEAP_IMAGE = 'I'.code
+
+        // Object header plus length, rounded up to ART's 8-byte object alignment.
+        private fun arraySize(length: Int, elementSize: Int): Int {
+            val bytes = (12L + length.toLong() * elementSize + 7) and 7L.inv()
+            return minOf(bytes, Int.MAX_VALUE.toLong()).toInt()
+        }
+
+        fun read(reader: HprofReader): ObjectIndex {
+            val index = ObjectIndex(reader.idSize)
+            while (reader.hasMore) {
+                val tag = reader.u1()
+                reader.skip(4)
+                val length = reader.u4().toLong() and 0xFFFFFFFFL
+                when (tag) {
+                    STRING -> {
+                        val id = reader.id()
+                        val bytes = ByteArray((length - reader.idSize).toInt())
+                        reader.bytes(bytes, bytes.size)
+                        index.strings[id] = String(bytes, Charsets.UTF_8)
+                    }
+                    LOAD_CLASS -> {
+                        reader.skip(4)
+                        val classId = reader.id()
+                        reader.skip(4)
+                        index.classNameIds[classId] = reader.id()
+                    }
+                    HEAP_DUMP, HEAP_DUMP_SEGMENT ->
+                        index.readHeapDump(reader, reader.position + length)
+                    else -> reader.skip(length)
+                }
+            }
+            return index
+        }
+    }
+}
+
+/**
+ * Second pass: reads the references of every node, which needs the field layouts of all classes
+ * from the first pass, and builds the [HeapGraph].
+ */
+private class ReferenceReader(private val index: ObjectIndex, private val reader: HprofReader) {
+    private val idSize = reader.idSize
+    private val classIndex = HashMap<Long, Int>()
+    private val classes = ArrayList<HeapClass>()
+    private val nodeCount = index.nodeSizes.size
+    private val nodeClass = IntArray(nodeCount)
+    private val shallowSize = IntArray(nodeCount)
+    private val edgeStart = IntArray(nodeCount + 1)
+    private val edges = IntList()
+    private var node = 0
+    private var scratch = ByteArray(256)
+
+    // Offsets of the reference fields in an instance's field data, by class.
+    private lateinit var referenceOffsets: Array<IntArray>
+    private var bitmapClass = -1
+    private var bitmapWidthOffset = -1
+    private var bitmapHeightOffset = -1
+    private var bitmapPixelBytes = 0L
+
+    fun read(): HeapGraph {
+        resolveClasses()
+        while (reader.hasMore) {
+            val tag = reader.u1()
+            reader.skip(4)
+            val length = reader.u4().toLong() and 0xFFFFFFFFL
+            if (tag == HEAP_DUMP || tag == HEAP_DUMP_SEGMENT) {
+                readHeapDump(reader.position + length)
+            } else {
+                reader.skip(length)
+            }
+        }
+        if (node != nodeCount) throw IOException("Read $node objects, expected $nodeCount")
+        edgeStart[nodeCount] = edges.size
+
+        val roots = IntList()
+        for (i in 0 until index.rootIds.size) {
+            val root = index.ids[index.rootIds[i]]
+            if (root != LongIntMap.MISSING) roots.add(root)
+        }
+        // Classes are held by their class loaders, which are not always reported as roots.
+        for (dump in index.classDumps) roots.add(index.ids[dump.id])
+        return HeapGraph(
+            classes = classes,
+            nodeClass = nodeClass,
+            shallowSize = shallowSize,
+            shared = index.shared,
+            roots = roots.toArray(),
+            edgeStart = edgeStart,
+            edges = edges.toArray(),
+            bitmapPixelBytes = bitmapPixelBytes
+        )
+    }
+
+    private fun resolveClasses() {
+        for ((i, dump) in index.classDumps.withIndex()) classIndex[dump.id] = i
+        for (dump in index.classDumps) {
+            val name = index.classNameIds[dump.id]?.let { index.strings[it] }?.let(::readableName)
+                ?: "unknown@%x".format(dump.id)
+            classes.add(HeapClass(name, classIndex[dump.superId] ?: -1, dump.instanceSize))
+        }
+        val classClass = classes.indexOfFirst { it.name == "java.lang.Class" }
+            .takeIf { it >= 0 } ?: syntheticClass("java.lang.Class")
+        val primitiveArrays = HashMap<Long, Int>()
+        var unknownClass = -1
+
+        referenceOffsets = Array(index.classDumps.size) { referenceOffsetsOf(it) }
+        bitmapClass = classes.indexOfFirst { it.name == "android.graphics.Bitmap" }
+        if (bitmapClass >= 0) {
+            bitmapWidthOffset = intFieldOffset(bitmapClass, "mWidth")
+            bitmapHeightOffset = intFieldOffset(bitmapClass, "mHeight")
+        }
+
+        for (n in 0 until nodeCount) {
+            val classId = index.nodeClassIds[n]
+            val cls = when {
+                classId == ObjectIndex.CLASS_OBJECT -> classClass
+                classId < 0 -> primitiveArrays.getOrPut(classId) {
+                    syntheticClass(PRIMITIVE_NAMES[(-classId).toInt()] + "[]")
+                }
+                else -> classIndex[classId] ?: unknownClass.takeIf { it >= 0 }
+                    ?: syntheticClass("(unknown class)").also { unknownClass = it }
+            }
+            nodeClass[n] = cls
+            val size = index.nodeSizes[n]
+            shallowSize[n] = if (size >= 0) size else classes[cls].instanceSize
+        }
+    }
+
+    private fun syntheticClass(name: String): Int {
+        classes.add(HeapClass(name, -1, 0))
+        return classes.size - 1
+    }
+
+    private fun referenceOffsetsOf(cls: Int): IntArray {
+        val offsets = IntList()
+        var offset = 0
+        var c = cls
+        while (c >= 0 && c < index.classDumps.size) {
+            val types = index.classDumps[c].fieldTypes
+            for (type in types) {
+                if (type.toInt() == TYPE_OBJECT) offsets.add(offset)
+                offset += reader.sizeOf(type.toInt())
+            }
+            c = classes[c].superIndex
+        }
+        return offsets.toArray()
+    }
+
+    private fun intFieldOffset(cls: Int, name: String): Int {
+        var offset = 0
+        var c = cls
+        while (c >= 0 && c < index.classDumps.size) {
+            val dump = index.classDumps[c]
+            for (i in dump.fieldTypes.indices) {
+                val type = dump.fieldTypes[i].toInt()
+                if (type == TYPE_INT && index.strings[dump.fieldNameIds[i]] == name) return offset
+                offset += reader.sizeOf(type)
+            }
+            c = classes[c].superIndex
+        }
+        return -1
+    }
+
+    private fun readHeapDump(end: Long) {
+        while (reader.position < end) {
+            when (val tag = reader.u1()) {
+                ROOT_UNKNOWN, ROOT_STICKY_CLASS, ROOT_MONITOR_USED, ROOT_INTERNED_STRING,
+                ROOT_FINALIZING, ROOT_DEBUGGER, ROOT_REFERENCE_CLEANUP, ROOT_VM_INTERNAL,
+                UNREACHABLE -> reader.skip(idSize.toLong())
+                ROOT_JNI_GLOBAL -> reader.skip(2L * idSize)
+                ROOT_JNI_LOCAL, ROOT_JAVA_FRAME, ROOT_JNI_MONITOR, ROOT_THREAD_OBJECT ->
+                    reader.skip(idSize + 8L)
+                ROOT_NATIVE_STACK, ROOT_THREAD_BLOCK -> reader.skip(idSize + 4L)
+                HEAP_DUMP_INFO -> reader.skip(4L + idSize)
+                CLASS_DUMP -> readClass()
+                INSTANCE_DUMP -> readInstance()
+                OBJECT_ARRAY_DUMP -> {
+                    startNode()
+                    reader.skip(idSize + 4L)
+                    val length = reader.u4()
+                    reader.id()
+                    repeat(length) { addEdge(reader.id()) }
+                }
+                PRIMITIVE_ARRAY_DUMP, PRIMITIVE_ARRAY_NODATA -> {
+                    startNode()
+                    reader.skip(idSize + 4L)
+                    val length = reader.u4()
+                    val elementSize = reader.sizeOf(reader.u1())
+                    if (tag == PRIMITIVE_ARRAY_DUMP) reader.skip(length.toLong() * elementSize)
+                }
+                else -> throw IOException(
+                    "Unknown heap dump record 0x%x at %d".format(tag, reader.position - 1)
+                )
+            }
+        }
+    }
+
+    private fun readClass() {
+        startNode()
+        reader.skip(idSize + 4L)
+        addEdge(reader.id()) // Superclass.
+        addEdge(reader.id()) // Class loader.
+        reader.skip(4L * idSize + 4)
+        repeat(reader.u2()) {
+            reader.skip(2)
+            reader.skip(reader.sizeOf(reader.u1()).toLong())
+        }
+        repeat(reader.u2()) {
+            reader.id()
+            val type = reader.u1()
+            if (type == TYPE_OBJECT) {
+                addEdge(reader.id())
+            } else {
+                reader.skip(reader.sizeOf(type).toLong())
+            }
+        }
+        repeat(reader.u2()) {
+            reader.id()
+            reader.u1()
+        }
+    }
+
+    private fun readInstance() {
+        val n = startNode()
+        reader.skip(idSize + 4L)
+        reader.id()
+        val length = reader.u4()
+        if (scratch.size < length) scratch = ByteArray(maxOf(length, scratch.size * 2))
+        reader.bytes(scratch, length)
+        val cls = nodeClass[n]
+        if (cls < referenceOffsets.size) {
+            for (offset in referenceOffsets[cls]) {
+                if (offset + idSize <= length) addEdge(idAt(offset))
+            }
+        }
+        if (cls == bitmapClass && bitmapWidthOffset >= 0 && bitmapHeightOffset >= 0 &&
+            !index.shared[n]
+        ) {
+            bitmapPixelBytes += intAt(bitmapWidthOffset).toLong() * intAt(bitmapHeightOffset) * 4
+        }
+    }
+
+    private fun startNode(): Int {
+        edgeStart[node] = edges.size
+        return node++
+    }
+
+    private fun addEdge(id: Long) {
+        if (id == 0L) return
+        val target = index.ids[id]
+        if (target != LongIntMap.MISSING) edges.add(target)
+    }
+
+    private fun intAt(offset: Int): Int =
+        ((scratch[offset].toInt() and 0xFF) shl 24) or
+            ((scratch[offset + 1].toInt() and 0xFF) shl 16) or
+            ((scratch[offset + 2].toInt() and 0xFF) shl 8) or
+            (scratch[offset + 3].toInt() and 0xFF)
+
+    private fun idAt(offset: Int): Long =
+        if (idSize == 4) {
+            intAt(offset).toLong() and 0xFFFFFFFFL
+        } else {
+            (intAt(offset).toLong() shl 32) or (intAt(offset + 4).toLong() and 0xFFFFFFFFL)
+        }
+
+    private companion object {
+        /**
+         * ART names classes like `java.lang.String[]`, the JVM like `[Ljava/lang/String;`; both
+         * become the former.
+         */
+        fun readableName(name: String): String {
+            val dimensions = name.takeWhile { it == '[' }.length
+            if (dimensions == 0) return name.replace('/', '.')
+            val element = name.substring(dimensions).let { descriptor ->
+                if (descriptor.startsWith("L")) {
+                    descriptor.removePrefix("L").removeSuffix(";").replace('/', '.')
+                } else {
+                    DESCRIPTOR_NAMES[descriptor] ?: descriptor
+                }
+            }
+            return element + "[]".repeat(dimensions)
+        }
+
+        val DESCRIPTOR_NAMES = mapOf(
+            "Z" to "boolean", "C" to "char", "F" to "float", "D" to "double",
+            "B" to "byte", "S" to "short", "I" to "int", "J" to "long"
+        )
+
+        val PRIMITIVE_NAMES = arrayOf(
+            "", "", "", "", "boolean", "char", "float", "double", "byte", "short", "int", "long"
+        )
+    }
+}
+
+internal class IntList {
+    private var values = IntArray(1024)
+
+    var size = 0
+        private set
+
+    fun add(value: Int) {
+        if (size == values.size) values = values.copyOf(size * 2)
+        values[size++] = value
+    }
+
+    operator fun get(i: Int): Int = values[i]
+
+    fun toArray(): IntArray = values.copyOf(size)
+}
+
+internal class LongList {
+    private var values = LongArray(1024)
+
+    var size = 0
+        private set
+
+    fun add(value: Long) {
+        if (size == values.size) values = values.copyOf(size * 2)
+        values[size++] = value
+    }
+
+    operator fun get(i: Int): Long = values[i]
+}
@@ -0,0 +1,94 @@
+package com.android.car.ui.paintbooth.analysis.heap
+
+import kotlin.math.abs
+
+/**
+ * Heap dumps of the same screens in two apps, side by side: the categories of each app heap and
+ * the [top] classes and packages whose retained size differs most.
+ */
+class HeapReport(
+    val baselineLabel: String,
+    val candidateLabel: String,
+    val baseline: Map<String, HeapSummary>,
+    val candidate: Map<String, HeapSummary>,
+    val top: Int
+) {
+    private val screens = (baseline.keys + candidate.keys).sorted()
+
+    fun printSummary() {
+        for (screen in screens) {
+            val sides = listOf(baseline[screen], candidate[screen])
+            println(screen)
+            println("  %-48s %12s %12s %12s".format("KB", baselineLabel, candidateLabel, "delta"))
+            row("reachable", sides) { it.reachableBytes }
+            row("unreachable", sides) { it.unreachableBytes }
+            for (category in HeapCategory.values()) {
+                row("  ${category.label}", sides) { it.categories[category] ?: 0L }
+            }
+            row("bitmap pixels (native, estimated)", sides) { it.bitmapPixelBytes }
+            println("  packages by retained size")
+            for ((name, values) in topDeltas(sides) { it.packages }) row("  $name", values)
+            println("  classes by retained size")
+            for ((name, values) in topDeltas(sides) { it.retainedByClass() }) row("  $name", values)
+            println()
+        }
+    }
+
+    private fun row(label: String, sides: List<HeapSummary?>, bytes: (HeapSummary) -> Long) =
+        row(label, sides.map { side -> side?.let(bytes) })
+
+    private fun row(label: String, bytes: List<Long?>) {
+        val kb = bytes.map { value -> value?.let { "%,d".format(it / 1024) } ?: "-" }
+        val delta = if (bytes[0] != null && bytes[1] != null) {
+            "%+,d".format((bytes[1]!! - bytes[0]!!) / 1024)
+        } else {
+            "-"
+        }
+        println("  %-48s %12s %12s %12s".format(label.take(48), kb[0], kb[1], delta))
+    }
+
+    /** The [top] keys of [values] whose bytes differ most between the two sides. */
+    private fun topDeltas(
+        sides: List<HeapSummary?>,
+        values: (HeapSummary) -> Map<String, Long>
+    ): List<Pair<String, List<Long>>> {
+        val maps = sides.map { side -> side?.let(values).orEmpty() }
+        return (maps[0].keys + maps[1].keys)
+            .map { key -> key to maps.map { it[key] ?: 0L } }
+            .sortedByDescending { (_, bytes) -> abs(bytes[1] - bytes[0]) }
+            .take(top)
+    }
+
+    fun toJson(): Map<String, Any?> = linkedMapOf(
+        "baseline" to baselineLabel,
+        "candidate" to candidateLabel,
+        "screens" to screens.map { screen ->
+            val sides = listOf(baseline[screen], candidate[screen])
+            linkedMapOf(
+                "screen" to screen,
+                "baseline" to sides[0]?.toJson(),
+                "candidate" to sides[1]?.toJson(),
+                "packageDeltas" to topDeltas(sides) { it.packages }.map { it.toJson() },
+                "classDeltas" to topDeltas(sides) { it.retainedByClass() }.map { it.toJson() }
+            )
+        }
+    )
+
+    private fun Pair<String, List<Long>>.toJson(): Map<String, Any?> = linkedMapOf(
+        "name" to first,
+        "baselineRetainedBytes" to second[0],
+        "candidateRetainedBytes" to second[1],
+        "deltaBytes" to second[1] - second[0]
+    )
+}
+
+private fun HeapSummary.retainedByClass(): Map<String, Long> =
+    classes.mapValues { it.value.retainedBytes }
+
+private fun HeapSummary.toJson(): Map<String, Any?> = linkedMapOf(
+    "file" to file.path,
+    "reachableBytes" to reachableBytes,
+    "unreachableBytes" to unreachableBytes,
+    "categories" to categories.mapKeys { it.key.label },
+    "bitmapPixelBytes" to bitmapPixelBytes
+)
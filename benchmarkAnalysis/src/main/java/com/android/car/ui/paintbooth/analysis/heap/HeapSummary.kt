@@ -0,0 +1,181 @@
+package com.android.car.ui.paintbooth.analysis.heap
+
+import java.io.File
+
+/**
+ * Kinds of objects whose memory is reported separately. Every reachable app heap byte belongs to
+ * exactly one category: that of the closest object dominating it, itself included, which is not
+ * [OTHER]. A LayoutNode's modifiers thus count as [LAYOUT_NODE], and the groups and remembered
+ * values of a SlotTable as [SLOT_TABLE].
+ */
+enum class HeapCategory(val label: String) {
+    SLOT_TABLE("Compose slot tables"),
+    LAYOUT_NODE("Compose LayoutNodes"),
+    COMPOSE_RUNTIME("Compose runtime"),
+    COMPOSE_OTHER("Other Compose"),
+    VIEW("Views"),
+    BITMAP("Bitmaps"),
+    OTHER("Other");
+
+    companion object {
+        internal fun of(graph: HeapGraph, cls: Int): HeapCategory {
+            val name = graph.classes[cls].name
+            return when {
+                name == "android.graphics.Bitmap" -> BITMAP
+                name.startsWith("androidx.compose.runtime.SlotTable") -> SLOT_TABLE
+                name.startsWith("androidx.compose.ui.node.LayoutNode") -> LAYOUT_NODE
+                name.startsWith("androidx.compose.runtime.") -> COMPOSE_RUNTIME
+                name.startsWith("androidx.compose.") -> COMPOSE_OTHER
+                isView(graph, cls) -> VIEW
+                else -> OTHER
+            }
+        }
+
+        private fun isView(graph: HeapGraph, cls: Int): Boolean {
+            var c = cls
+            while (c >= 0) {
+                if (graph.classes[c].name == "android.view.View") return true
+                c = graph.classes[c].superIndex
+            }
+            return false
+        }
+    }
+}
+
+/**
+ * App heap instances of a class. [retainedBytes] adds up the retained sizes of the instances that
+ * are not dominated by another instance of the class, so nested instances are not counted twice.
+ */
+class ClassHeapUsage(
+    val name: String,
+    val instances: Int,
+    val shallowBytes: Long,
+    val retainedBytes: Long
+)
+
+/** What the app heap of one heap dump holds, by category, class and package. */
+class HeapSummary(
+    val file: File,
+    /** Reachable app heap bytes. */
+    val reachableBytes: Long,
+    /** App heap bytes of objects no root reaches, which the next GC frees. */
+    val unreachableBytes: Long,
+    val categories: Map<HeapCategory, Long>,
+    val classes: Map<String, ClassHeapUsage>,
+    /** Retained bytes by package, counting nested instances of a package once, like [classes]. */
+    val packages: Map<String, Long>,
+    /** Native pixel memory of the app's bitmaps, estimated at 4 bytes per pixel. */
+    val bitmapPixelBytes: Long
+) {
+    companion object {
+        fun read(file: File): HeapSummary {
+            val graph = HeapGraph.read(file)
+            return of(file, graph, DominatorTree(graph))
+        }
+
+        internal fun of(file: File, graph: HeapGraph, tree: DominatorTree): HeapSummary {
+            val classCount = graph.classes.size
+            val packageIndex = HashMap<String, Int>()
+            val packageOf = IntArray(classCount) { cls ->
+                packageIndex.getOrPut(graph.classes[cls].packageName) { packageIndex.size }
+            }
+            val packageNames = arrayOfNulls<String>(packageIndex.size)
+            for ((name, i) in packageIndex) packageNames[i] = name
+            val categoryOf = Array(classCount) { HeapCategory.of(graph, it) }
+
+            val instances = IntArray(classCount)
+            val shallow = LongArray(classCount)
+            var totalBytes = 0L
+            for (n in 0 until graph.nodeCount) {
+                if (graph.shared[n]) continue
+                instances[graph.nodeClass[n]]++
+                shallow[graph.nodeClass[n]] += graph.shallowSize[n].toLong()
+                totalBytes += graph.shallowSize[n]
+            }
+
+            // Parents come before their children in reverse postorder.
+            val owner = arrayOfNulls<HeapCategory>(tree.root + 1)
+            owner[tree.root] = HeapCategory.OTHER
+            val categoryBytes = LongArray(HeapCategory.values().size)
+            for (i in tree.postorder.size - 2 downTo 0) {
+                val node = tree.postorder[i]
+                val category = categoryOf[graph.nodeClass[node]]
+                val nodeOwner =
+                    if (category != HeapCategory.OTHER) category else owner[tree.idom[node]]!!
+                owner[node] = nodeOwner
+                categoryBytes[nodeOwner.ordinal] += graph.appSize(node).toLong()
+            }
+
+            val classRetained = LongArray(classCount)
+            val packageRetained = LongArray(packageNames.size)
+            addOutermostRetained(graph, tree, packageOf, classRetained, packageRetained)
+
+            val reachableBytes = tree.retained[tree.root]
+            return HeapSummary(
+                file = file,
+                reachableBytes = reachableBytes,
+                unreachableBytes = totalBytes - reachableBytes,
+                categories = HeapCategory.values().associateWith { categoryBytes[it.ordinal] },
+                classes = (0 until classCount)
+                    .filter { instances[it] > 0 || classRetained[it] > 0 }
+                    .groupBy { graph.classes[it].name }
+                    .mapValues { (name, indices) ->
+                        ClassHeapUsage(
+                            name = name,
+                            instances = indices.sumOf { instances[it] },
+                            shallowBytes = indices.sumOf { shallow[it] },
+                            retainedBytes = indices.sumOf { classRetained[it] }
+                        )
+                    },
+                packages = packageNames.indices
+                    .filter { packageRetained[it] > 0 }
+                    .associate { packageNames[it]!! to packageRetained[it] },
+                bitmapPixelBytes = graph.bitmapPixelBytes
+            )
+        }
+
+        /**
+         * Adds the retained size of every node to its class and package unless an ancestor in the
+         * dominator tree already counted it, by walking the tree with a count of the open
+         * ancestors of each class and package.
+         */
+        private fun addOutermostRetained(
+            graph: HeapGraph,
+            tree: DominatorTree,
+            packageOf: IntArray,
+            classRetained: LongArray,
+            packageRetained: LongArray
+        ) {
+            val (start, children) = tree.children()
+            val openClasses = IntArray(classRetained.size)
+            val openPackages = IntArray(packageRetained.size)
+            val stack = IntArray(tree.postorder.size)
+            val cursor = IntArray(tree.postorder.size)
+            var depth = 0
+            stack[depth++] = tree.root
+            while (depth > 0) {
+                val node = stack[depth - 1]
+                val next = start[node] + cursor[depth - 1]
+                if (next < start[node + 1]) {
+                    cursor[depth - 1]++
+                    val child = children[next]
+                    val cls = graph.nodeClass[child]
+                    if (openClasses[cls]++ == 0) classRetained[cls] += tree.retained[child]
+                    if (openPackages[packageOf[cls]]++ == 0) {
+                        packageRetained[packageOf[cls]] += tree.retained[child]
+                    }
+                    stack[depth] = child
+                    cursor[depth] = 0
+                    depth++
+                } else {
+                    depth--
+                    if (node != tree.root) {
+                        val cls = graph.nodeClass[node]
+                        openClasses[cls]--
+                        openPackages[packageOf[cls]]--
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.android.car.ui.paintbooth.analysis.heap
+
+import java.io.Closeable
+import java.io.EOFException
+import java.io.File
+import java.io.IOException
+import java.io.InputStream
+
+/**
+ * Reads the big-endian primitives of an hprof file through a fixed buffer, counting the bytes
+ * read so that heap dump segments can be walked sub-record by sub-record.
+ *
+ * The header is read on construction; [idSize] is 4 in dumps written by ART.
+ */
+internal class HprofReader(private val input: InputStream) : Closeable {
+    private val buffer = ByteArray(BUFFER_SIZE)
+    private var pos = 0
+    private var limit = 0
+
+    /** Bytes consumed since the start of the file. */
+    var position = 0L
+        private set
+
+    val idSize: Int
+
+    init {
+        val format = StringBuilder()
+        while (true) {
+            val c = u1()
+            if (c == 0) break
+            format.append(c.toChar())
+        }
+        if (!format.startsWith("JAVA PROFILE")) throw IOException("Not an hprof file: $format")
+        idSize = u4()
+        if (idSize != 4 && idSize != 8) throw IOException("Unsupported id size $idSize")
+        u8() // Timestamp.
+    }
+
+    val hasMore: Boolean
+        get() = pos < limit || fill()
+
+    fun u1(): Int {
+        if (pos == limit && !fill()) throw EOFException()
+        position++
+        return buffer[pos++].toInt() and 0xFF
+    }
+
+    fun u2(): Int = (u1() shl 8) or u1()
+
+    fun u4(): Int = (u2() shl 16) or u2()
+
+    fun u8(): Long = (u4().toLong() shl 32) or (u4().toLong() and 0xFFFFFFFFL)
+
+    fun id(): Long = if (idSize == 4) u4().toLong() and 0xFFFFFFFFL else u8()
+
+    /** Reads [length] bytes into the start of [target]. */
+    fun bytes(target: ByteArray, length: Int) {
+        var done = 0
+        while (done < length) {
+            if (pos == limit && !fill()) throw EOFException()
+            val n = minOf(length - done, limit - pos)
+            System.arraycopy(buffer, pos, target, done, n)
+            pos += n
+            done += n
+        }
+        position += length
+    }
+
+    fun skip(length: Long) {
+        var left = length
+        while (left > 0) {
+            if (pos == limit && !fill()) throw EOFException()
+            val n = minOf(left, (limit - pos).toLong()).toInt()
+            pos += n
+            left -= n
+        }
+        position += length
+    }
+
+    /** Size in bytes of a value of hprof basic [type]. */
+    fun sizeOf(type: Int): Int = when (type) {
+        TYPE_OBJECT -> idSize
+        TYPE_BOOLEAN, TYPE_BYTE -> 1
+        TYPE_CHAR, TYPE_SHORT -> 2
+        TYPE_FLOAT, TYPE_INT -> 4
+        TYPE_DOUBLE, TYPE_LONG -> 8
+        else -> throw IOException("Unknown basic type $type at $position")
+    }
+
+    private fun fill(): Boolean {
+        val n = input.read(buffer, 0, buffer.size)
+        if (n <= 0) return false
+        pos = 0
+        limit = n
+        return true
+    }
+
+    override fun close() = input.close()
+
+    companion object {
+        private const val BUFFER_SIZE = 1 shl 16
+
+        const val TYPE_OBJECT = 2
+        const val TYPE_BOOLEAN = 4
+        const val TYPE_CHAR = 5
+        const val TYPE_FLOAT = 6
+        const val TYPE_DOUBLE = 7
+        const val TYPE_BYTE = 8
+        const val TYPE_SHORT = 9
+        const val TYPE_INT = 10
+        const val TYPE_LONG = 11
+
+        // Top-level records.
+        const val STRING = 0x01
+        const val LOAD_CLASS = 0x02
+        const val HEAP_DUMP = 0x0C
+        const val HEAP_DUMP_SEGMENT = 0x1C
+
+        // Heap dump sub-records, including the ART extensions.
+        const val ROOT_UNKNOWN = 0xFF
+        const val ROOT_JNI_GLOBAL = 0x01
+        const val ROOT_JNI_LOCAL = 0x02
+        const val ROOT_JAVA_FRAME = 0x03
+        const val ROOT_NATIVE_STACK = 0x04
+        const val ROOT_STICKY_CLASS = 0x05
+        const val ROOT_THREAD_BLOCK = 0x06
+        const val ROOT_MONITOR_USED = 0x07
+        const val ROOT_THREAD_OBJECT = 0x08
+        const val CLASS_DUMP = 0x20
+        const val INSTANCE_DUMP = 0x21
+        const val OBJECT_ARRAY_DUMP = 0x22
+        const val PRIMITIVE_ARRAY_DUMP = 0x23
+        const val ROOT_INTERNED_STRING = 0x89
+        const val ROOT_FINALIZING = 0x8A
+        const val ROOT_DEBUGGER = 0x8B
+        const val ROOT_REFERENCE_CLEANUP = 0x8C
+        const val ROOT_VM_INTERNAL = 0x8D
+        const val ROOT_JNI_MONITOR = 0x8E
+        const val UNREACHABLE = 0x90
+        const val PRIMITIVE_ARRAY_NODATA = 0xC3
+        const val HEAP_DUMP_INFO = 0xFE
+
+        fun open(file: File): HprofReader = HprofReader(file.inputStream())
+    }
+}
@@ -0,0 +1,72 @@
+package com.android.car.ui.paintbooth.analysis.heap
+
+/**
+ * Open addressing map from non-zero object ids to indices, without boxing, for the millions of
+ * objects in a heap dump.
+ */
+internal class LongIntMap(expected: Int = 1 shl 16) {
+    private var keys = LongArray(capacityFor(expected))
+    private var values = IntArray(keys.size)
+
+    var size = 0
+        private set
+
+    operator fun get(key: Long): Int {
+        val mask = keys.size - 1
+        var i = hash(key) and mask
+        while (true) {
+            val k = keys[i]
+            if (k == key) return values[i]
+            if (k == 0L) return MISSING
+            i = (i + 1) and mask
+        }
+    }
+
+    operator fun set(key: Long, value: Int) {
+        require(key != 0L) { "0 is the null id" }
+        if ((size + 1) * 2 > keys.size) grow()
+        insert(key, value)
+    }
+
+    private fun insert(key: Long, value: Int) {
+        val mask = keys.size - 1
+        var i = hash(key) and mask
+        while (true) {
+            val k = keys[i]
+            if (k == key) {
+                values[i] = value
+                return
+            }
+            if (k == 0L) {
+                keys[i] = key
+                values[i] = value
+                size++
+                return
+            }
+            i = (i + 1) and mask
+        }
+    }
+
+    private fun grow() {
+        val oldKeys = keys
+        val oldValues = values
+        keys = LongArray(oldKeys.size * 2)
+        values = IntArray(keys.size)
+        size = 0
+        for (i in oldKeys.indices) {
+            if (oldKeys[i] != 0L) insert(oldKeys[i], oldValues[i])
+        }
+    }
+
+    companion object {
+        const val MISSING = -1
+
+        private fun capacityFor(expected: Int): Int =
+            Integer.highestOneBit(maxOf(expected * 2, 16) - 1) shl 1
+
+        private fun hash(key: Long): Int {
+            val h = key * -0x61c8864680b583ebL
+            return (h xor (h ushr 32)).toInt()
+        }
+    }
+}
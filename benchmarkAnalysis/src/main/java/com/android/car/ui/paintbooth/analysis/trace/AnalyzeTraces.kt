@@ -0,0 +1,95 @@
+package com.android.car.ui.paintbooth.analysis.trace
+
+import com.android.car.ui.paintbooth.analysis.Arguments
+import com.android.car.ui.paintbooth.analysis.Json
+import java.io.File
+import java.io.IOException
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+private const val USAGE =
+    "analyzeTraces --baseline <dir> --candidate <dir> [--baseline-package <name>] " +
+        "[--candidate-package <name>] [--baseline-label XML] [--candidate-label Compose] " +
+        "[--frame-budget-ms 16.67] [--threads <n>] [--out <file>]"
+
+/**
+ * Reads every `.perfetto-trace` below `--baseline` and `--candidate`, splits the app's frames
+ * into phases and prints where the jank frames of each benchmark spend their time, side by side.
+ *
+ * Traces are grouped by benchmark using their file name up to `_iter`, as written by
+ * macrobenchmark, and are read on `--threads` threads.
+ */
+object AnalyzeTraces {
+
+    @JvmStatic
+    fun main(args: Array<String>) {
+        val arguments = Arguments(args, USAGE)
+        val budgetMs = arguments.double("frame-budget-ms", 1000.0 / 60)
+        val threads = arguments.int("threads", Runtime.getRuntime().availableProcessors())
+        val executor = Executors.newFixedThreadPool(threads)
+        try {
+            val baseline = summarize(
+                File(arguments.required("baseline")),
+                FrameAnalyzer(arguments.optional("baseline-package")),
+                budgetMs,
+                executor
+            )
+            val candidate = summarize(
+                File(arguments.required("candidate")),
+                FrameAnalyzer(arguments.optional("candidate-package")),
+                budgetMs,
+                executor
+            )
+            val report = FrameReport(
+                baselineLabel = arguments.optional("baseline-label") ?: "baseline",
+                candidateLabel = arguments.optional("candidate-label") ?: "candidate",
+                budgetMs = budgetMs,
+                baseline = baseline,
+                candidate = candidate
+            )
+            report.printSummary()
+            arguments.optional("out")?.let { path ->
+                val out = File(path)
+                out.absoluteFile.parentFile?.mkdirs()
+                out.writeText(Json.write(report.toJson()) + "\n")
+                println("Report written to ${out.path}")
+            }
+        } finally {
+            executor.shutdown()
+        }
+    }
+
+    private fun summarize(
+        dir: File,
+        analyzer: FrameAnalyzer,
+        budgetMs: Double,
+        executor: ExecutorService
+    ): Map<String, FrameSummary> {
+        val files = dir.walkTopDown()
+            .filter { it.isFile && it.name.endsWith(TRACE_EXTENSION) }
+            .sortedBy { it.path }
+            .toList()
+        // Each task keeps only the frames, so the slices of one trace are freed once it is read.
+        val frames = executor.invokeAll(files.map { file -> Callable { analyze(file, analyzer) } })
+            .mapNotNull { it.get() }
+        println("Analyzed ${frames.size} of ${files.size} traces in ${dir.path}")
+        return frames.groupBy { benchmarkOf(it.file) }
+            .mapValues { (benchmark, traces) -> FrameSummary(benchmark, traces, budgetMs) }
+            .toSortedMap()
+    }
+
+    private fun analyze(file: File, analyzer: FrameAnalyzer): TraceFrames? = try {
+        analyzer.analyze(PerfettoTrace.read(file)).also {
+            if (it == null) System.err.println("No app frames in ${file.path}")
+        }
+    } catch (e: IOException) {
+        System.err.println("Skipping ${file.path}: ${e.message}")
+        null
+    }
+
+    private fun benchmarkOf(file: File): String =
+        file.name.removeSuffix(TRACE_EXTENSION).substringBefore("_iter")
+
+    private const val TRACE_EXTENSION = ".perfetto-trace"
+}
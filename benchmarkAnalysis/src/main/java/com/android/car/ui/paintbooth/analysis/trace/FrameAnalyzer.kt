@@ -0,0 +1,191 @@
+package com.android.car.ui.paintbooth.analysis.trace
+
+import java.io.File
+
+/**
+ * Phase a main thread or RenderThread section is attributed to. The first phase whose [matches]
+ * accepts a section's name wins.
+ */
+enum class Phase(val matches: (String) -> Boolean) {
+    INPUT({ it == "input" || it.startsWith("deliverInputEvent") }),
+    ANIMATION({ it == "animation" }),
+    RECOMPOSE({ it.startsWith("Recomposer:") || it.startsWith("Compose:recompose") }),
+    INFLATE({ it == "inflate" || it.startsWith("Inflate") }),
+    RECYCLER_VIEW_BIND({ it.startsWith("RV OnBindView") || it.startsWith("RV CreateView") }),
+    MEASURE({ it == "measure" || it.startsWith("Compose:measure") }),
+    LAYOUT({ it == "layout" || it.startsWith("Compose:onLayout") }),
+    DRAW({ it == "draw" || it.startsWith("Record View#draw") || it.startsWith("Compose:draw") }),
+
+    /** Time in `Choreographer#doFrame` outside every other main thread phase. */
+    MAIN_THREAD_OTHER({ false }),
+    SYNC_FRAME_STATE({ it == "syncFrameState" }),
+    DEQUEUE_BUFFER({ it == "dequeueBuffer" }),
+    QUEUE_BUFFER({ it == "queueBuffer" }),
+
+    /** Time in `DrawFrame` outside every other RenderThread phase. */
+    RENDER_THREAD_OTHER({ false });
+
+    companion object {
+        val MAIN_THREAD = listOf(INPUT, ANIMATION, RECOMPOSE, INFLATE, RECYCLER_VIEW_BIND, MEASURE,
+            LAYOUT, DRAW)
+        val RENDER_THREAD = listOf(SYNC_FRAME_STATE, DEQUEUE_BUFFER, QUEUE_BUFFER)
+    }
+}
+
+/**
+ * One `Choreographer#doFrame` of the app's main thread and the RenderThread `DrawFrame` that
+ * rendered it, if any.
+ */
+class Frame(
+    val doFrame: Slice,
+    val drawFrame: Slice?,
+    /** Exclusive nanoseconds of each phase; nested phases are not counted twice. */
+    val phases: Map<Phase, Long>
+) {
+    /** From the start of `doFrame` to the end of `DrawFrame`, or of `doFrame` if not rendered. */
+    val durationNs: Long
+        get() = maxOf(doFrame.end, drawFrame?.end ?: 0L) - doFrame.ts
+}
+
+/** The frames of one app process in the trace [file]. */
+class TraceFrames(
+    val file: File,
+    val pid: Int,
+    val processName: String?,
+    val frames: List<Frame>
+)
+
+/**
+ * Splits the frames of an app into phases using the sections that `Choreographer`, the view
+ * system, RecyclerView, the Compose runtime and HWUI write to atrace.
+ */
+class FrameAnalyzer(private val processName: String?) {
+
+    /**
+     * Frames of the process named [processName], or of the process that drew the most frames if
+     * it is null or not in the trace. Null if no process drew a frame.
+     */
+    fun analyze(trace: PerfettoTrace): TraceFrames? {
+        val pid = findProcess(trace) ?: return null
+        val threads = trace.threadsOf(pid)
+        val mainThread = threads.firstOrNull { it.tid == pid } ?: return null
+        val renderThread = threads.firstOrNull { it.name == RENDER_THREAD }
+            ?: threads.filter { it.tid != pid }
+                .maxByOrNull { thread -> thread.slices.count { it.name.startsWith(DRAW_FRAME) } }
+
+        val doFrames = mainThread.slices.indices.filter { i ->
+            val slice = mainThread.slices[i]
+            slice.name.startsWith(DO_FRAME) && !insideDoFrame(mainThread.slices, slice.parent)
+        }
+        val renderSlices = renderThread?.slices.orEmpty()
+        val drawFrames = renderSlices.indices
+            .filter { renderSlices[it].name.startsWith(DRAW_FRAME) }
+        val drawFramesByVsync = drawFrames.filter { vsyncId(renderSlices[it]) != null }
+            .associateBy { vsyncId(renderSlices[it]) }
+
+        val frames = doFrames.mapIndexed { n, index ->
+            val doFrame = mainThread.slices[index]
+            val nextStart = doFrames.getOrNull(n + 1)?.let { mainThread.slices[it].ts }
+                ?: Long.MAX_VALUE
+            // Matched by vsync id where both sections carry one (API 31+), otherwise the first
+            // DrawFrame that started while this frame was the latest one.
+            val drawIndex = vsyncId(doFrame)?.let { drawFramesByVsync[it] }
+                ?: drawFrames.firstOrNull { renderSlices[it].ts in doFrame.ts until nextStart }
+            val phases = HashMap<Phase, Long>()
+            attribute(mainThread.slices, index, Phase.MAIN_THREAD, Phase.MAIN_THREAD_OTHER, phases)
+            if (drawIndex != null) {
+                attribute(
+                    renderSlices,
+                    drawIndex,
+                    Phase.RENDER_THREAD,
+                    Phase.RENDER_THREAD_OTHER,
+                    phases
+                )
+            }
+            Frame(doFrame, drawIndex?.let { renderSlices[it] }, phases)
+        }
+        return TraceFrames(trace.file, pid, trace.processNames[pid], frames)
+    }
+
+    private fun findProcess(trace: PerfettoTrace): Int? {
+        if (processName != null) {
+            val named = trace.processNames.entries.firstOrNull { it.value == processName }
+            if (named != null) return named.key
+        }
+        // An app started during the trace is missing from the process tree, which is only scanned
+        // when tracing starts, so the busiest process whose name is unknown or matching is taken.
+        return trace.threads.values
+            .filter { it.tid == it.tgid }
+            .filter { processName == null || trace.processNames[it.tgid] == null }
+            .map { thread -> thread.tgid to thread.slices.count { it.name.startsWith(DO_FRAME) } }
+            .filter { it.second > 0 }
+            .maxByOrNull { it.second }
+            ?.first
+    }
+
+    /**
+     * Adds the exclusive time of every phase below `slices[root]` to [phases]: a section counts
+     * for its own phase minus the time of nested sections of any phase, and the rest of the root
+     * counts as [other].
+     */
+    private fun attribute(
+        slices: List<Slice>,
+        root: Int,
+        candidates: List<Phase>,
+        other: Phase,
+        phases: MutableMap<Phase, Long>
+    ) {
+        val rootSlice = slices[root]
+        val attributed = HashMap<Int, Phase>()
+        var remainder = rootSlice.dur
+        var i = root + 1
+        while (i < slices.size && slices[i].ts < rootSlice.end) {
+            val slice = slices[i]
+            val phase = candidates.firstOrNull { it.matches(slice.name) }
+            if (slice.depth > rootSlice.depth && phase != null) {
+                attributed[i] = phase
+                phases.merge(phase, slice.dur) { a, b -> a + b }
+                val enclosing = enclosingPhase(slices, slice.parent, root, attributed)
+                if (enclosing != null) {
+                    phases.merge(enclosing, -slice.dur) { a, b -> a + b }
+                } else {
+                    remainder -= slice.dur
+                }
+            }
+            i++
+        }
+        phases.merge(other, remainder) { a, b -> a + b }
+    }
+
+    private fun enclosingPhase(
+        slices: List<Slice>,
+        start: Int,
+        root: Int,
+        attributed: Map<Int, Phase>
+    ): Phase? {
+        var parent = start
+        while (parent > root) {
+            attributed[parent]?.let { return it }
+            parent = slices[parent].parent
+        }
+        return null
+    }
+
+    private fun insideDoFrame(slices: List<Slice>, start: Int): Boolean {
+        var parent = start
+        while (parent >= 0) {
+            if (slices[parent].name.startsWith(DO_FRAME)) return true
+            parent = slices[parent].parent
+        }
+        return false
+    }
+
+    private fun vsyncId(slice: Slice): Long? =
+        slice.name.substringAfterLast(' ', "").toLongOrNull()
+
+    private companion object {
+        const val DO_FRAME = "Choreographer#doFrame"
+        const val DRAW_FRAME = "DrawFrame"
+        const val RENDER_THREAD = "RenderThread"
+    }
+}
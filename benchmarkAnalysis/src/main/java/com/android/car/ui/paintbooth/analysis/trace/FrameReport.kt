@@ -0,0 +1,105 @@
+package com.android.car.ui.paintbooth.analysis.trace
+
+import com.android.car.ui.paintbooth.analysis.Statistics
+
+/**
+ * Frame statistics of every trace of one benchmark, e.g.
+ * `RecyclerViewScrollBenchmark_scrollPreferencesActivity`, with the mean time per phase of the
+ * frames that missed [budgetMs].
+ */
+class FrameSummary(val benchmark: String, traces: List<TraceFrames>, val budgetMs: Double) {
+    private val frames = traces.flatMap { it.frames }
+    private val jankFrames = frames.filter { it.durationNs > budgetMs * NANOS_PER_MILLI }
+    private val durationsMs = frames.map { it.durationNs / NANOS_PER_MILLI }.toDoubleArray()
+
+    val traceCount = traces.size
+    val frameCount = frames.size
+    val jankFrameCount = jankFrames.size
+
+    val jankRate: Double
+        get() = if (frameCount == 0) Double.NaN else jankFrameCount.toDouble() / frameCount
+
+    fun frameDurationMs(percentile: Double): Double =
+        if (durationsMs.isEmpty()) Double.NaN else Statistics.percentile(durationsMs, percentile)
+
+    /** Mean milliseconds per jank frame spent in each phase. */
+    val jankPhasesMs: Map<Phase, Double> = meanPhases(jankFrames)
+
+    /** Mean milliseconds per frame spent in each phase. */
+    val phasesMs: Map<Phase, Double> = meanPhases(frames)
+
+    private fun meanPhases(frames: List<Frame>): Map<Phase, Double> =
+        Phase.values().associateWith { phase ->
+            if (frames.isEmpty()) {
+                Double.NaN
+            } else {
+                frames.sumOf { it.phases[phase] ?: 0L } / NANOS_PER_MILLI / frames.size
+            }
+        }
+
+    fun toJson(): Map<String, Any?> = linkedMapOf(
+        "traces" to traceCount,
+        "frames" to frameCount,
+        "jankFrames" to jankFrameCount,
+        "jankRate" to jankRate,
+        "frameDurationMs" to PERCENTILES.associate { "P$it" to frameDurationMs(it.toDouble()) },
+        "jankPhasesMs" to jankPhasesMs.mapKeys { it.key.name },
+        "phasesMs" to phasesMs.mapKeys { it.key.name }
+    )
+
+    private companion object {
+        const val NANOS_PER_MILLI = 1_000_000.0
+        val PERCENTILES = listOf(50, 90, 95, 99)
+    }
+}
+
+/** Frame summaries of a baseline and a candidate app, benchmark by benchmark. */
+class FrameReport(
+    val baselineLabel: String,
+    val candidateLabel: String,
+    val budgetMs: Double,
+    val baseline: Map<String, FrameSummary>,
+    val candidate: Map<String, FrameSummary>
+) {
+    private val benchmarks = (baseline.keys + candidate.keys).sorted()
+
+    fun printSummary() {
+        for (benchmark in benchmarks) {
+            val sides = listOf(baseline[benchmark], candidate[benchmark])
+            println(benchmark)
+            println("  %-28s %14s %14s".format("", baselineLabel, candidateLabel))
+            row("traces", sides) { it.traceCount.toString() }
+            row("frames", sides) { it.frameCount.toString() }
+            row("jank frames", sides) { it.jankFrameCount.toString() }
+            row("jank rate", sides) { "%.1f%%".format(it.jankRate * 100) }
+            for (percentile in listOf(50.0, 90.0, 99.0)) {
+                row("frame P${percentile.toInt()} ms", sides) {
+                    "%.2f".format(it.frameDurationMs(percentile))
+                }
+            }
+            println("  ms per jank frame (budget ${"%.2f".format(budgetMs)} ms)")
+            for (phase in Phase.values()) {
+                row("  ${phase.name.lowercase()}", sides) { "%.2f".format(it.jankPhasesMs[phase]) }
+            }
+            println()
+        }
+    }
+
+    private fun row(label: String, sides: List<FrameSummary?>, value: (FrameSummary) -> String) {
+        val values = sides.map { side -> side?.let(value) ?: "-" }
+        println("  %-28s %14s %14s".format(label, values[0], values[1]))
+    }
+
+    fun toJson(): Map<String, Any?> = linkedMapOf(
+        "baseline" to baselineLabel,
+        "candidate" to candidateLabel,
+        "frameBudgetMs" to budgetMs,
+        "benchmarks" to benchmarks.map { benchmark ->
+            linkedMapOf(
+                "benchmark" to benchmark,
+                "baseline" to baseline[benchmark]?.toJson(),
+                "candidate" to candidate[benchmark]?.toJson()
+            )
+        }
+    )
+}
@@ -0,0 +1,257 @@
+package com.android.car.ui.paintbooth.analysis.trace
+
+import java.io.ByteArrayInputStream
+import java.io.File
+import java.io.InputStream
+import java.util.zip.InflaterInputStream
+
+/** A complete atrace section, e.g. `Choreographer#doFrame 1234` or `measure`, on one thread. */
+class Slice(
+    val name: String,
+    val ts: Long,
+    val dur: Long,
+    /** Number of sections open on the thread when this one began. */
+    val depth: Int,
+    /** Index of the enclosing slice in the thread's slice list, or -1 at depth 0. */
+    val parent: Int
+) {
+    val end: Long
+        get() = ts + dur
+}
+
+class TraceThread(val tid: Int, val tgid: Int, val name: String?, val slices: List<Slice>)
+
+/**
+ * The atrace sections of a `.perfetto-trace` file, grouped by thread.
+ *
+ * Only the packets this analysis needs are decoded: ftrace `print` events carrying atrace
+ * `B|pid|name` and `E` markers, and the process tree for process and thread names.
+ */
+class PerfettoTrace(
+    val file: File,
+    val processNames: Map<Int, String>,
+    val threads: Map<Int, TraceThread>
+) {
+    fun threadsOf(pid: Int): List<TraceThread> = threads.values.filter { it.tgid == pid }
+
+    companion object {
+
+        /**
+         * Reads [file] one packet at a time. Only the begin and end markers are kept while
+         * reading, so memory grows with the number of sections rather than the trace size.
+         */
+        fun read(file: File): PerfettoTrace {
+            val reader = TraceReader()
+            file.inputStream().buffered(1 shl 16).use { reader.readTrace(it) }
+            return reader.build(file)
+        }
+    }
+}
+
+private class TraceReader {
+    private val processNames = HashMap<Int, String>()
+    private val threadNames = HashMap<Int, String>()
+    private val threadGroups = HashMap<Int, Int>()
+    private val names = HashMap<String, Int>()
+    private val nameList = ArrayList<String>()
+
+    private var count = 0
+    private var timestamps = LongArray(1 shl 12)
+    private var tids = IntArray(1 shl 12)
+
+    /** Interned section name of a begin marker, or [END] for an end marker. */
+    private var nameIds = IntArray(1 shl 12)
+
+    fun readTrace(input: InputStream) {
+        ProtoReader.forEachField(input, TRACE_PACKET) { readPacket(it) }
+    }
+
+    private fun readPacket(packet: ProtoReader) {
+        while (packet.next()) {
+            when (packet.field) {
+                PACKET_FTRACE_EVENTS -> readFtraceBundle(packet.message())
+                PACKET_PROCESS_TREE -> readProcessTree(packet.message())
+                PACKET_COMPRESSED -> InflaterInputStream(ByteArrayInputStream(packet.bytes()))
+                    .use { readTrace(it) }
+                else -> packet.skip()
+            }
+        }
+    }
+
+    private fun readFtraceBundle(bundle: ProtoReader) {
+        while (bundle.next()) {
+            if (bundle.field == BUNDLE_EVENT) readFtraceEvent(bundle.message()) else bundle.skip()
+        }
+    }
+
+    private fun readFtraceEvent(event: ProtoReader) {
+        var timestamp = 0L
+        var tid = 0
+        var marker: String? = null
+        while (event.next()) {
+            when (event.field) {
+                EVENT_TIMESTAMP -> timestamp = event.long()
+                EVENT_PID -> tid = event.int()
+                EVENT_PRINT -> marker = readPrint(event.message())
+                else -> event.skip()
+            }
+        }
+        if (marker != null) addMarker(timestamp, tid, marker)
+    }
+
+    private fun readPrint(print: ProtoReader): String? {
+        var buf: String? = null
+        while (print.next()) {
+            if (print.field == PRINT_BUF) buf = print.string() else print.skip()
+        }
+        return buf
+    }
+
+    private fun readProcessTree(tree: ProtoReader) {
+        while (tree.next()) {
+            when (tree.field) {
+                TREE_PROCESS -> {
+                    val process = tree.message()
+                    var pid = 0
+                    var cmdline: String? = null
+                    while (process.next()) {
+                        when (process.field) {
+                            PROCESS_PID -> pid = process.int()
+                            PROCESS_CMDLINE -> {
+                                val arg = process.string()
+                                if (cmdline == null) cmdline = arg
+                            }
+                            else -> process.skip()
+                        }
+                    }
+                    if (cmdline != null) processNames[pid] = cmdline
+                }
+                TREE_THREAD -> {
+                    val thread = tree.message()
+                    var tid = 0
+                    var tgid = 0
+                    var name: String? = null
+                    while (thread.next()) {
+                        when (thread.field) {
+                            THREAD_TID -> tid = thread.int()
+                            THREAD_NAME -> name = thread.string()
+                            THREAD_TGID -> tgid = thread.int()
+                            else -> thread.skip()
+                        }
+                    }
+                    if (name != null) threadNames[tid] = name
+                    if (tgid != 0) threadGroups[tid] = tgid
+                }
+                else -> tree.skip()
+            }
+        }
+    }
+
+    /** Adds an atrace marker: `B|<pid>|<name>` begins a section, `E` ends the innermost one. */
+    private fun addMarker(timestamp: Long, tid: Int, marker: String) {
+        when (marker.firstOrNull()) {
+            'B' -> {
+                val parts = marker.trimEnd('\n').split('|', limit = 3)
+                if (parts.size < 3) return
+                parts[1].toIntOrNull()?.let { threadGroups.putIfAbsent(tid, it) }
+                val nameId = names.getOrPut(parts[2]) {
+                    nameList.add(parts[2])
+                    nameList.size - 1
+                }
+                add(timestamp, tid, nameId)
+            }
+            'E' -> add(timestamp, tid, END)
+        }
+    }
+
+    private fun add(timestamp: Long, tid: Int, nameId: Int) {
+        if (count == timestamps.size) {
+            timestamps = timestamps.copyOf(count * 2)
+            tids = tids.copyOf(count * 2)
+            nameIds = nameIds.copyOf(count * 2)
+        }
+        timestamps[count] = timestamp
+        tids[count] = tid
+        nameIds[count] = nameId
+        count++
+    }
+
+    /**
+     * Pairs the markers of each thread into slices. The markers are sorted by time first, since
+     * ftrace writes one bundle per CPU and a thread's markers can arrive from several CPUs.
+     */
+    fun build(file: File): PerfettoTrace {
+        val order = (0 until count).sortedWith(compareBy<Int> { timestamps[it] }.thenBy { it })
+        val slices = HashMap<Int, MutableList<OpenSlice>>()
+        val stacks = HashMap<Int, ArrayList<Int>>()
+        for (i in order) {
+            val threadSlices = slices.getOrPut(tids[i]) { ArrayList() }
+            val stack = stacks.getOrPut(tids[i]) { ArrayList() }
+            if (nameIds[i] == END) {
+                // An end marker without a begin marker belongs to a section opened before tracing.
+                if (stack.isNotEmpty()) {
+                    threadSlices[stack.removeAt(stack.size - 1)].end = timestamps[i]
+                }
+            } else {
+                stack.add(threadSlices.size)
+                threadSlices.add(
+                    OpenSlice(
+                        nameList[nameIds[i]],
+                        timestamps[i],
+                        stack.size - 1,
+                        if (stack.size > 1) stack[stack.size - 2] else -1
+                    )
+                )
+            }
+        }
+
+        val threads = slices.mapValues { (tid, open) ->
+            // Sections still open at the end of the trace are dropped, their children become roots.
+            val index = IntArray(open.size)
+            var kept = 0
+            for (i in open.indices) index[i] = if (open[i].end >= 0) kept++ else -1
+            TraceThread(
+                tid = tid,
+                tgid = threadGroups[tid] ?: tid,
+                name = threadNames[tid],
+                slices = open.indices.filter { index[it] >= 0 }.map { i ->
+                    val slice = open[i]
+                    Slice(
+                        slice.name,
+                        slice.ts,
+                        slice.end - slice.ts,
+                        slice.depth,
+                        if (slice.parent < 0) -1 else index[slice.parent]
+                    )
+                }
+            )
+        }
+        return PerfettoTrace(file, processNames.toMap(), threads)
+    }
+
+    private class OpenSlice(val name: String, val ts: Long, val depth: Int, val parent: Int) {
+        var end = -1L
+    }
+
+    private companion object {
+        const val END = -1
+
+        // Field numbers from perfetto/protos/perfetto/trace.
+        const val TRACE_PACKET = 1
+        const val PACKET_FTRACE_EVENTS = 1
+        const val PACKET_PROCESS_TREE = 2
+        const val PACKET_COMPRESSED = 50
+        const val BUNDLE_EVENT = 2
+        const val EVENT_TIMESTAMP = 1
+        const val EVENT_PID = 2
+        const val EVENT_PRINT = 3
+        const val PRINT_BUF = 2
+        const val TREE_PROCESS = 1
+        const val TREE_THREAD = 2
+        const val PROCESS_PID = 1
+        const val PROCESS_CMDLINE = 3
+        const val THREAD_TID = 1
+        const val THREAD_NAME = 2
+        const val THREAD_TGID = 5
+    }
+}
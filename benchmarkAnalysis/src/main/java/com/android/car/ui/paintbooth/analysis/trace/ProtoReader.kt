@@ -0,0 +1,135 @@
+package com.android.car.ui.paintbooth.analysis.trace
+
+import java.io.EOFException
+import java.io.IOException
+import java.io.InputStream
+
+/**
+ * Reads the protobuf wire format of `buffer[start, end)` field by field, without a schema.
+ *
+ * Call [next] to move to the next field, then read it with the accessor matching its type or
+ * [skip] it.
+ */
+internal class ProtoReader(
+    private val buffer: ByteArray,
+    start: Int = 0,
+    private val end: Int = buffer.size
+) {
+    private var pos = start
+    private var wireType = 0
+
+    var field = 0
+        private set
+
+    fun next(): Boolean {
+        if (pos >= end) return false
+        val key = varint()
+        field = (key ushr 3).toInt()
+        wireType = (key and 7L).toInt()
+        return true
+    }
+
+    fun long(): Long = varint()
+
+    fun int(): Int = varint().toInt()
+
+    fun string(): String {
+        val length = length()
+        return String(buffer, pos, length, Charsets.UTF_8).also { pos += length }
+    }
+
+    fun bytes(): ByteArray {
+        val length = length()
+        return buffer.copyOfRange(pos, pos + length).also { pos += length }
+    }
+
+    fun message(): ProtoReader {
+        val length = length()
+        return ProtoReader(buffer, pos, pos + length).also { pos += length }
+    }
+
+    fun skip() {
+        when (wireType) {
+            VARINT -> varint()
+            FIXED64 -> pos += 8
+            LENGTH_DELIMITED -> {
+                // Read the length first: `pos += length()` would add it to the old position.
+                val length = length()
+                pos += length
+            }
+            FIXED32 -> pos += 4
+            else -> throw IOException("Unsupported wire type $wireType")
+        }
+    }
+
+    private fun length(): Int {
+        val length = varint().toInt()
+        if (length < 0 || pos + length > end) throw EOFException("Truncated field $field")
+        return length
+    }
+
+    private fun varint(): Long {
+        var result = 0L
+        var shift = 0
+        while (shift < 64) {
+            if (pos >= end) throw EOFException("Truncated varint")
+            val b = buffer[pos++].toInt()
+            result = result or ((b and 0x7F).toLong() shl shift)
+            if (b and 0x80 == 0) return result
+            shift += 7
+        }
+        throw IOException("Malformed varint")
+    }
+
+    companion object {
+        const val VARINT = 0
+        const val FIXED64 = 1
+        const val LENGTH_DELIMITED = 2
+        const val FIXED32 = 5
+
+        /**
+         * Calls [block] with each length-delimited top-level field [field] of [input], one at a
+         * time, so a stream of any size is read with the memory of its largest field.
+         */
+        fun forEachField(input: InputStream, field: Int, block: (ProtoReader) -> Unit) {
+            while (true) {
+                val key = readVarint(input) ?: return
+                val wireType = (key and 7L).toInt()
+                when (wireType) {
+                    VARINT -> readVarint(input) ?: throw EOFException("Truncated varint")
+                    FIXED64 -> input.skipNBytes(8)
+                    FIXED32 -> input.skipNBytes(4)
+                    LENGTH_DELIMITED -> {
+                        val length = readVarint(input)?.toInt()
+                            ?: throw EOFException("Truncated length")
+                        if ((key ushr 3).toInt() == field) {
+                            val bytes = input.readNBytes(length)
+                            if (bytes.size < length) throw EOFException("Truncated field")
+                            block(ProtoReader(bytes))
+                        } else {
+                            input.skipNBytes(length.toLong())
+                        }
+                    }
+                    else -> throw IOException("Unsupported wire type $wireType")
+                }
+            }
+        }
+
+        /** Varint at the start of [input], or null at the end of the stream. */
+        private fun readVarint(input: InputStream): Long? {
+            var result = 0L
+            var shift = 0
+            while (shift < 64) {
+                val b = input.read()
+                if (b < 0) {
+                    if (shift == 0) return null
+                    throw EOFException("Truncated varint")
+                }
+                result = result or ((b and 0x7F).toLong() shl shift)
+                if (b and 0x80 == 0) return result
+                shift += 7
+            }
+            throw IOException("Malformed varint")
+        }
+    }
+}
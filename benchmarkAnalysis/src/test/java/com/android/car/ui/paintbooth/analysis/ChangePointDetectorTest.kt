@@ -0,0 +1,73 @@
+package com.android.car.ui.paintbooth.analysis
+
+import kotlin.random.Random
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class ChangePointDetectorTest {
+
+    private val random = Random(5)
+    private val detector = ChangePointDetector(alpha = 0.01)
+
+    @Test
+    fun stableSeries_hasNoChangePoint() {
+        val runs = series(List(20) { 100.0 })
+
+        assertEquals(emptyList<ChangePoint>(), detector.detect(runs))
+    }
+
+    @Test
+    fun singleStep_isFoundAtTheFirstShiftedRun() {
+        val runs = series(List(10) { 100.0 } + List(10) { 120.0 })
+
+        val changePoints = detector.detect(runs)
+
+        assertEquals(1, changePoints.size)
+        val changePoint = changePoints.single()
+        assertEquals("c9", changePoint.before.commit)
+        assertEquals("c10", changePoint.after.commit)
+        assertEquals(100.0, changePoint.medianBefore, 2.0)
+        assertEquals(120.0, changePoint.medianAfter, 2.0)
+        assertEquals(0.2, changePoint.relativeChange, 0.03)
+        assertTrue(changePoint.pValue < 0.01)
+    }
+
+    @Test
+    fun twoSteps_areBothFoundInOrder() {
+        val runs = series(List(8) { 100.0 } + List(8) { 130.0 } + List(8) { 90.0 })
+
+        val changePoints = detector.detect(runs)
+
+        assertEquals(listOf("c8", "c16"), changePoints.map { it.after.commit })
+        // Medians cover the runs up to the neighbouring change points.
+        assertEquals(130.0, changePoints[0].medianAfter, 2.0)
+        assertEquals(130.0, changePoints[1].medianBefore, 2.0)
+    }
+
+    @Test
+    fun shiftWithinTheNoise_isNotReported() {
+        val runs = series(List(10) { 100.0 } + List(10) { 100.3 })
+
+        assertEquals(emptyList<ChangePoint>(), detector.detect(runs))
+    }
+
+    @Test
+    fun shortSeries_haveNoChangePoint() {
+        assertEquals(emptyList<ChangePoint>(), detector.detect(emptyList()))
+        assertEquals(emptyList<ChangePoint>(), detector.detect(series(listOf(100.0))))
+    }
+
+    /** One run per level with ten iterations of uniform noise of +-1 around it. */
+    private fun series(levels: List<Double>): List<StoredSeries> = levels.mapIndexed { run, level ->
+        StoredSeries(
+            recordedAt = "2026-01-01-00-00-%02d".format(run),
+            commit = "c$run",
+            device = "device",
+            app = "app",
+            benchmark = "benchmark",
+            metric = "timeToInitialDisplayMs",
+            values = DoubleArray(10) { level + random.nextDouble(-1.0, 1.0) }
+        )
+    }
+}
@@ -0,0 +1,91 @@
+package com.android.car.ui.paintbooth.analysis
+
+import java.io.File
+import org.junit.After
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+
+/** Imports the seed data set in TestData into a store in a temporary directory. */
+class ResultStoreTest {
+
+    private lateinit var dir: File
+    private lateinit var store: ResultStore
+
+    @Before
+    fun setUp() {
+        dir = File.createTempFile("results", "").apply { delete(); mkdirs() }
+        store = ResultStore(File(dir, "results.tsv"))
+    }
+
+    @After
+    fun tearDown() {
+        dir.deleteRecursively()
+    }
+
+    @Test
+    fun importedSeedData_readsBackEverySeries() {
+        val results = BenchmarkResults.loadAll(testData)
+        val expected = results.flatMap { result ->
+            result.series().filterValues { it.isNotEmpty() }.map { (metric, values) ->
+                "${result.app}/${result.device}/${result.id}/$metric" to values
+            }
+        }
+
+        val added = store.import(results, "c1")
+
+        val stored = store.read()
+        assertTrue(expected.isNotEmpty())
+        assertEquals(expected.size, added)
+        assertEquals(expected.map { it.first }, stored.map { it.seriesKey })
+        for ((series, values) in stored.zip(expected.map { it.second })) {
+            assertEquals("c1", series.commit)
+            assertArrayEquals(values, series.values, 0.0)
+        }
+    }
+
+    @Test
+    fun seedDataImportedTwice_isStoredOnce() {
+        val results = BenchmarkResults.loadAll(testData)
+        store.import(results, "c1")
+        val lines = store.file.readLines()
+
+        assertEquals(0, store.import(BenchmarkResults.loadAll(testData), "c1"))
+        assertEquals(lines, store.file.readLines())
+    }
+
+    @Test
+    fun resultWithWhitespaceAndNoStartTime_isStoredOnce() {
+        val file = File(dir, "benchmarkData.json").apply { writeText("{}") }
+        val result = BenchmarkResult(
+            className = "com.android.car.ui.paintbooth.benchmarka.ActivityStartupBenchmark",
+            name = "coldStartMainActivity",
+            device = "Pixel 6 Pro",
+            sdk = 34,
+            compilationMode = "None",
+            startedAt = null,
+            file = file,
+            metrics = mapOf(
+                "timeToInitialDisplayMs" to MetricRuns(
+                    "timeToInitialDisplayMs",
+                    sampled = false,
+                    runs = listOf(doubleArrayOf(310.0), doubleArrayOf(305.0))
+                )
+            )
+        )
+
+        assertEquals(1, store.import(listOf(result), "c1"))
+        assertEquals(0, store.import(listOf(result), "c1"))
+
+        val series = store.read().single()
+        assertEquals("Pixel_6_Pro", series.device)
+        assertTrue(Regex("""\d{4}(-\d{2}){5}""").matches(series.recordedAt))
+    }
+
+    private companion object {
+        /** The seed data set, from the module directory Gradle runs the tests in or the root. */
+        val testData = listOf(File("../TestData"), File("TestData")).first { it.isDirectory }
+    }
+}
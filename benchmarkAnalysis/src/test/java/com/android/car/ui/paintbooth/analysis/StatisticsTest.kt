@@ -0,0 +1,141 @@
+package com.android.car.ui.paintbooth.analysis
+
+import kotlin.random.Random
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class StatisticsTest {
+
+    // Reference values from the textbook formulas with an exact erfc: the normal approximation
+    // with tie and continuity correction, as in scipy.stats.mannwhitneyu(method="asymptotic").
+
+    @Test
+    fun mannWhitney_separatedSamples() {
+        val result = Statistics.mannWhitney(
+            doubleArrayOf(1.0, 2.0, 3.0, 4.0, 5.0),
+            doubleArrayOf(6.0, 7.0, 8.0, 9.0, 10.0)
+        )
+
+        assertEquals(25.0, result.u, 0.0)
+        assertEquals(2.5067182, result.z, 1e-6)
+        assertEquals(0.0121858, result.pValue, 1e-6)
+        assertEquals(1.0, result.cliffsDelta, 0.0)
+    }
+
+    @Test
+    fun mannWhitney_unequalSizes() {
+        val result = Statistics.mannWhitney(
+            doubleArrayOf(20.0, 11.0, 17.0, 12.0),
+            doubleArrayOf(19.0, 22.0, 16.0, 29.0, 24.0)
+        )
+
+        assertEquals(17.0, result.u, 0.0)
+        assertEquals(1.5921683, result.z, 1e-6)
+        assertEquals(0.1113469, result.pValue, 1e-6)
+        assertEquals(0.7, result.cliffsDelta, 1e-12)
+    }
+
+    @Test
+    fun mannWhitney_ties() {
+        val result = Statistics.mannWhitney(
+            doubleArrayOf(1.0, 2.0, 2.0, 3.0),
+            doubleArrayOf(2.0, 3.0, 3.0, 4.0)
+        )
+
+        assertEquals(13.0, result.u, 0.0)
+        assertEquals(1.3656982, result.z, 1e-6)
+        assertEquals(0.1720337, result.pValue, 1e-6)
+        assertEquals(0.625, result.cliffsDelta, 1e-12)
+    }
+
+    @Test
+    fun mannWhitney_isAntisymmetric() {
+        val baseline = doubleArrayOf(3.0, 1.0, 4.0, 1.0, 5.0, 9.0)
+        val candidate = doubleArrayOf(2.0, 6.0, 5.0, 3.0, 5.0)
+
+        val forward = Statistics.mannWhitney(baseline, candidate)
+        val backward = Statistics.mannWhitney(candidate, baseline)
+
+        assertEquals(forward.z, -backward.z, 1e-12)
+        assertEquals(forward.pValue, backward.pValue, 1e-12)
+        assertEquals(forward.cliffsDelta, -backward.cliffsDelta, 1e-12)
+    }
+
+    @Test
+    fun mannWhitney_identicalConstantSamples() {
+        val result = Statistics.mannWhitney(doubleArrayOf(5.0, 5.0, 5.0), doubleArrayOf(5.0, 5.0))
+
+        assertEquals(0.0, result.z, 0.0)
+        assertEquals(1.0, result.pValue, 0.0)
+        assertEquals(0.0, result.cliffsDelta, 0.0)
+    }
+
+    @Test
+    fun normalUpperTail_knownQuantiles() {
+        assertEquals(0.5, Statistics.normalUpperTail(0.0), 1e-7)
+        assertEquals(0.025, Statistics.normalUpperTail(1.959964), 1e-7)
+        assertEquals(0.975, Statistics.normalUpperTail(-1.959964), 1e-7)
+    }
+
+    @Test
+    fun benjaminiHochberg_matchesReferenceAdjustment() {
+        // Same as R's p.adjust(c(0.01, 0.04, 0.03, 0.005), "BH").
+        val adjusted = Statistics.adjustFalseDiscoveryRate(doubleArrayOf(0.01, 0.04, 0.03, 0.005))
+
+        assertArrayEquals(doubleArrayOf(0.02, 0.04, 0.04, 0.02), adjusted, 1e-12)
+    }
+
+    @Test
+    fun benjaminiHochberg_isMonotoneAndCappedAtOne() {
+        val random = Random(3)
+        val pValues = DoubleArray(50) { random.nextDouble() }
+        val adjusted = Statistics.adjustFalseDiscoveryRate(pValues)
+
+        val order = pValues.indices.sortedBy { pValues[it] }
+        for (i in 1 until order.size) {
+            assertTrue(adjusted[order[i]] >= adjusted[order[i - 1]])
+        }
+        pValues.indices.forEach {
+            assertTrue(adjusted[it] >= pValues[it])
+            assertTrue(adjusted[it] <= 1.0)
+        }
+    }
+
+    @Test
+    fun benjaminiHochberg_emptyInput() {
+        assertEquals(0, Statistics.adjustFalseDiscoveryRate(DoubleArray(0)).size)
+    }
+
+    @Test
+    fun percentile_interpolatesBetweenRanks() {
+        val values = doubleArrayOf(4.0, 1.0, 3.0, 2.0)
+
+        assertEquals(1.0, Statistics.percentile(values, 0.0), 0.0)
+        assertEquals(2.5, Statistics.median(values), 0.0)
+        assertEquals(3.7, Statistics.percentile(values, 90.0), 1e-12)
+        assertEquals(4.0, Statistics.percentile(values, 100.0), 0.0)
+    }
+
+    @Test
+    fun bootstrapMedianDifference_coversTheShift() {
+        val random = Random(11)
+        val baseline = DoubleArray(40) { 10.0 + random.nextDouble() }
+        val candidate = DoubleArray(40) { 12.0 + random.nextDouble() }
+
+        val interval =
+            Statistics.bootstrapMedianDifference(baseline, candidate, 2_000, 0.95, Random(1))
+
+        assertTrue(2.0 in interval)
+        assertTrue(interval.lower > 1.0 && interval.upper < 3.0)
+    }
+
+    @Test
+    fun effectSize_thresholds() {
+        assertEquals(EffectSize.NEGLIGIBLE, Statistics.effectSize(0.1))
+        assertEquals(EffectSize.SMALL, Statistics.effectSize(-0.2))
+        assertEquals(EffectSize.MEDIUM, Statistics.effectSize(0.4))
+        assertEquals(EffectSize.LARGE, Statistics.effectSize(-0.5))
+    }
+}
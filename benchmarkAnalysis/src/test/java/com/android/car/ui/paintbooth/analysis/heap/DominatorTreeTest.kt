@@ -0,0 +1,174 @@
+package com.android.car.ui.paintbooth.analysis.heap
+
+import java.util.BitSet
+import kotlin.random.Random
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class DominatorTreeTest {
+
+    @Test
+    fun chain_isDominatedLinkNByLink() {
+        val tree = tree(sizes = intArrayOf(1, 2, 4), roots = intArrayOf(0), 0 to 1, 1 to 2)
+
+        assertEquals(listOf(tree.root, 0, 1), tree.idom.take(3))
+        assertEquals(listOf(7L, 6L, 4L), tree.retained.take(3))
+        assertEquals(7L, tree.retained[tree.root])
+    }
+
+    @Test
+    fun diamond_isDominatedByItsTop() {
+        val tree = tree(
+            sizes = intArrayOf(1, 2, 4, 8),
+            roots = intArrayOf(0),
+            0 to 1, 0 to 2, 1 to 3, 2 to 3
+        )
+
+        assertEquals(listOf(tree.root, 0, 0, 0), tree.idom.take(4))
+        assertEquals(listOf(15L, 2L, 4L, 8L), tree.retained.take(4))
+    }
+
+    @Test
+    fun objectHeldByTwoRoots_isDominatedByTheVirtualRoot() {
+        val tree = tree(
+            sizes = intArrayOf(1, 1, 10),
+            roots = intArrayOf(0, 1),
+            0 to 2, 1 to 2
+        )
+
+        assertEquals(tree.root, tree.idom[2])
+        assertEquals(1L, tree.retained[0])
+        assertEquals(12L, tree.retained[tree.root])
+    }
+
+    @Test
+    fun cycle_isDominatedFromItsEntry() {
+        val tree = tree(
+            sizes = intArrayOf(1, 2, 4),
+            roots = intArrayOf(0),
+            0 to 1, 1 to 2, 2 to 1
+        )
+
+        assertEquals(listOf(tree.root, 0, 1), tree.idom.take(3))
+        assertEquals(6L, tree.retained[1])
+    }
+
+    @Test
+    fun unreachableObjects_areLeftOut() {
+        val tree = tree(sizes = intArrayOf(1, 2, 4), roots = intArrayOf(0), 2 to 0)
+
+        assertEquals(-1, tree.idom[1])
+        assertEquals(-1, tree.idom[2])
+        assertEquals(0L, tree.retained[2])
+        assertEquals(listOf(0, tree.root), tree.postorder.toList())
+    }
+
+    @Test
+    fun sharedObjects_areWalkedButNotCounted() {
+        val shared = BitSet().apply { set(1) }
+        val tree = tree(
+            sizes = intArrayOf(1, 100, 4),
+            roots = intArrayOf(0),
+            0 to 1, 1 to 2,
+            shared = shared
+        )
+
+        assertEquals(1, tree.idom[2])
+        assertEquals(4L, tree.retained[1])
+        assertEquals(5L, tree.retained[0])
+    }
+
+    @Test
+    fun children_invertTheImmediateDominators() {
+        val tree = tree(
+            sizes = IntArray(5) { 1 },
+            roots = intArrayOf(0, 4),
+            0 to 1, 0 to 2, 1 to 3, 2 to 3
+        )
+
+        val (start, children) = tree.children()
+        fun childrenOf(node: Int) =
+            (start[node] until start[node + 1]).map { children[it] }.sorted()
+        assertEquals(listOf(0, 4), childrenOf(tree.root))
+        assertEquals(listOf(1, 2, 3), childrenOf(0))
+        assertEquals(listOf<Int>(), childrenOf(1))
+    }
+
+    @Test
+    fun randomGraphs_matchDominatorsByRemoval() {
+        val random = Random(20)
+        repeat(200) {
+            val nodes = random.nextInt(1, 12)
+            val edges = List(random.nextInt(nodes * 3)) {
+                random.nextInt(nodes) to random.nextInt(nodes)
+            }
+            val roots = IntArray(random.nextInt(1, 3)) { random.nextInt(nodes) }
+            val graph = graph(IntArray(nodes) { 1 }, roots, edges, BitSet())
+            val tree = DominatorTree(graph)
+
+            val reachable = reachable(graph, removed = -1)
+            for (n in 0 until nodes) {
+                if (n !in reachable) {
+                    assertEquals(-1, tree.idom[n])
+                    continue
+                }
+                // d dominates n if n can't be reached without d; the immediate dominator is the
+                // strict dominator that every other strict dominator of n dominates.
+                val dominators = (0 until nodes).filter { d ->
+                    d != n && d in reachable && n !in reachable(graph, removed = d)
+                }
+                val expected = dominators.singleOrNull { d ->
+                    dominators.all { other -> other == d || d !in reachable(graph, other) }
+                } ?: tree.root
+                assertEquals("node $n of $edges from ${roots.toList()}", expected, tree.idom[n])
+                val retained = reachable.count { m ->
+                    m == n || m !in reachable(graph, removed = n)
+                }
+                assertEquals(retained.toLong(), tree.retained[n])
+            }
+        }
+    }
+
+    /** Nodes reachable from the roots of [graph] without passing through [removed]. */
+    private fun reachable(graph: HeapGraph, removed: Int): Set<Int> {
+        val seen = HashSet<Int>()
+        val stack = ArrayDeque(graph.roots.filter { it != removed })
+        while (stack.isNotEmpty()) {
+            val node = stack.removeLast()
+            if (!seen.add(node)) continue
+            for (e in graph.edgeStart[node] until graph.edgeStart[node + 1]) {
+                if (graph.edges[e] != removed) stack.addLast(graph.edges[e])
+            }
+        }
+        return seen
+    }
+
+    private fun tree(
+        sizes: IntArray,
+        roots: IntArray,
+        vararg edges: Pair<Int, Int>,
+        shared: BitSet = BitSet()
+    ): DominatorTree = DominatorTree(graph(sizes, roots, edges.toList(), shared))
+
+    private fun graph(
+        sizes: IntArray,
+        roots: IntArray,
+        edges: List<Pair<Int, Int>>,
+        shared: BitSet
+    ): HeapGraph {
+        val sorted = edges.sortedBy { it.first }
+        val edgeStart = IntArray(sizes.size + 1)
+        for ((from, _) in sorted) edgeStart[from + 1]++
+        for (n in 1 until edgeStart.size) edgeStart[n] += edgeStart[n - 1]
+        return HeapGraph(
+            classes = listOf(HeapClass("com.example.Node", -1, 0)),
+            nodeClass = IntArray(sizes.size),
+            shallowSize = sizes,
+            shared = shared,
+            roots = roots,
+            edgeStart = edgeStart,
+            edges = sorted.map { it.second }.toIntArray(),
+            bitmapPixelBytes = 0
+        )
+    }
+}
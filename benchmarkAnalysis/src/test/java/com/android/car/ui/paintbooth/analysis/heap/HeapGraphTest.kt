@@ -0,0 +1,289 @@
+package com.android.car.ui.paintbooth.analysis.heap
+
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.CLASS_DUMP
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.HEAP_DUMP_INFO
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.HEAP_DUMP_SEGMENT
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.INSTANCE_DUMP
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.LOAD_CLASS
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.OBJECT_ARRAY_DUMP
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.PRIMITIVE_ARRAY_DUMP
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.ROOT_JAVA_FRAME
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.ROOT_UNKNOWN
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.STRING
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.TYPE_INT
+import com.android.car.ui.paintbooth.analysis.heap.HprofReader.Companion.TYPE_OBJECT
+import java.io.ByteArrayOutputStream
+import java.io.DataOutputStream
+import java.io.File
+import org.junit.After
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * Reads a small hprof fixture written by the test: three classes, a linked pair of nodes, a
+ * bitmap, an object and a primitive array, and a node in the zygote heap.
+ */
+class HeapGraphTest {
+
+    private lateinit var file: File
+    private lateinit var graph: HeapGraph
+
+    @Before
+    fun setUp() {
+        file = File.createTempFile("fixture", ".hprof")
+        file.writeBytes(fixture())
+        graph = HeapGraph.read(file)
+    }
+
+    @After
+    fun tearDown() {
+        file.delete()
+    }
+
+    @Test
+    fun objects_areNumberedInFileOrder() {
+        assertEquals(9, graph.nodeCount)
+        val names = (0 until graph.nodeCount).map { graph.classes[graph.nodeClass[it]].name }
+        assertEquals(
+            listOf(
+                "java.lang.Class", "java.lang.Class", "java.lang.Class",
+                "com.example.Node", "com.example.Node", "android.graphics.Bitmap",
+                "java.lang.Object", "int[]", "com.example.Node"
+            ),
+            names
+        )
+    }
+
+    @Test
+    fun classes_keepTheirSuperclassAndPackage() {
+        val node = graph.classes.single { it.name == "com.example.Node" }
+
+        assertEquals("java.lang.Object", graph.classes[node.superIndex].name)
+        assertEquals(16, node.instanceSize)
+        assertEquals("com.example", node.packageName)
+        assertEquals(
+            HeapClass.NO_PACKAGE,
+            graph.classes.single { it.name == "int[]" }.packageName
+        )
+    }
+
+    @Test
+    fun shallowSizes_coverStaticsInstancesAndArrays() {
+        assertArrayEquals(
+            intArrayOf(0, 4, 0, 16, 16, 24, 24, 24, 16),
+            graph.shallowSize
+        )
+    }
+
+    @Test
+    fun references_followFieldsArraysAndSuperclasses() {
+        assertEquals(listOf<Int>(), edges(0))
+        assertEquals(listOf(0), edges(1)) // Node's superclass.
+        assertEquals(listOf(4), edges(3)) // node1.next
+        assertEquals(listOf<Int>(), edges(4)) // node2.next is null.
+        assertEquals(listOf(3), edges(6)) // Array holding node1 and null.
+        assertEquals(listOf(3), edges(8))
+    }
+
+    @Test
+    fun roots_includeClassesAndSkipMissingObjects() {
+        assertEquals(listOf(6, 0, 1, 2), graph.roots.toList())
+    }
+
+    @Test
+    fun zygoteObjects_areSharedAndNotCounted() {
+        assertTrue(graph.shared[8])
+        assertFalse(graph.shared[3])
+        assertEquals(0, graph.appSize(8))
+        assertEquals(16, graph.appSize(3))
+    }
+
+    @Test
+    fun bitmapPixels_areCountedFromWidthAndHeight() {
+        assertEquals(10L * 20 * 4, graph.bitmapPixelBytes)
+    }
+
+    @Test
+    fun dominatorTree_retainsTheChainBehindTheRootArray() {
+        val tree = DominatorTree(graph)
+
+        assertEquals(tree.root, tree.idom[6])
+        assertEquals(6, tree.idom[3])
+        assertEquals(3, tree.idom[4])
+        assertEquals(24L + 16 + 16, tree.retained[6])
+        assertEquals(-1, tree.idom[8])
+    }
+
+    private fun edges(node: Int): List<Int> =
+        (graph.edgeStart[node] until graph.edgeStart[node + 1]).map { graph.edges[it] }
+
+    private fun fixture(): ByteArray {
+        val bytes = ByteArrayOutputStream()
+        DataOutputStream(bytes).apply {
+            write("JAVA PROFILE 1.0.3".toByteArray())
+            writeByte(0)
+            writeInt(4)
+            writeLong(0L)
+
+            string(1, "java.lang.Object")
+            string(2, "com/example/Node")
+            string(3, "android.graphics.Bitmap")
+            string(4, "next")
+            string(5, "value")
+            string(6, "mWidth")
+            string(7, "mHeight")
+            string(8, "count")
+            loadClass(OBJECT, 1)
+            loadClass(NODE, 2)
+            loadClass(BITMAP, 3)
+            // A record the reader has no use for.
+            record(0x04, ByteArray(24))
+
+            record(HEAP_DUMP_SEGMENT) {
+                writeByte(ROOT_JAVA_FRAME)
+                writeInt(ARRAY)
+                writeInt(1)
+                writeInt(0)
+                writeByte(ROOT_UNKNOWN)
+                writeInt(999)
+                classDump(OBJECT, superId = 0, instanceSize = 8)
+                classDump(NODE, superId = OBJECT, instanceSize = 16, staticInt = 8) {
+                    writeInt(4)
+                    writeByte(TYPE_OBJECT)
+                    writeInt(5)
+                    writeByte(TYPE_INT)
+                }
+                classDump(BITMAP, superId = OBJECT, instanceSize = 24) {
+                    writeInt(6)
+                    writeByte(TYPE_INT)
+                    writeInt(7)
+                    writeByte(TYPE_INT)
+                }
+            }
+            record(HEAP_DUMP_SEGMENT) {
+                heapInfo('A')
+                instance(NODE_1, NODE) {
+                    writeInt(NODE_2)
+                    writeInt(1)
+                }
+                instance(NODE_2, NODE) {
+                    writeInt(0)
+                    writeInt(2)
+                }
+                instance(BITMAP_1, BITMAP) {
+                    writeInt(10)
+                    writeInt(20)
+                }
+                writeByte(OBJECT_ARRAY_DUMP)
+                writeInt(ARRAY)
+                writeInt(0)
+                writeInt(2)
+                writeInt(OBJECT)
+                writeInt(NODE_1)
+                writeInt(0)
+                writeByte(PRIMITIVE_ARRAY_DUMP)
+                writeInt(INTS)
+                writeInt(0)
+                writeInt(3)
+                writeByte(TYPE_INT)
+                repeat(3) { writeInt(it) }
+                heapInfo('Z')
+                instance(ZYGOTE_NODE, NODE) {
+                    writeInt(NODE_1)
+                    writeInt(3)
+                }
+            }
+        }
+        return bytes.toByteArray()
+    }
+
+    private fun DataOutputStream.record(tag: Int, body: ByteArray) {
+        writeByte(tag)
+        writeInt(0)
+        writeInt(body.size)
+        write(body)
+    }
+
+    private fun DataOutputStream.record(tag: Int, body: DataOutputStream.() -> Unit) {
+        val bytes = ByteArrayOutputStream()
+        DataOutputStream(bytes).body()
+        record(tag, bytes.toByteArray())
+    }
+
+    private fun DataOutputStream.string(id: Int, value: String) = record(STRING) {
+        writeInt(id)
+        write(value.toByteArray())
+    }
+
+    private fun DataOutputStream.loadClass(id: Int, nameId: Int) = record(LOAD_CLASS) {
+        writeInt(1)
+        writeInt(id)
+        writeInt(0)
+        writeInt(nameId)
+    }
+
+    private fun DataOutputStream.classDump(
+        id: Int,
+        superId: Int,
+        instanceSize: Int,
+        staticInt: Int = 0,
+        fields: DataOutputStream.() -> Unit = {}
+    ) {
+        writeByte(CLASS_DUMP)
+        writeInt(id)
+        writeInt(0)
+        writeInt(superId)
+        repeat(5) { writeInt(0) } // Loader, signers, protection domain, reserved.
+        writeInt(instanceSize)
+        writeShort(0)
+        if (staticInt == 0) {
+            writeShort(0)
+        } else {
+            writeShort(1)
+            writeInt(staticInt)
+            writeByte(TYPE_INT)
+            writeInt(42)
+        }
+        val fieldBytes = ByteArrayOutputStream()
+        DataOutputStream(fieldBytes).fields()
+        writeShort(fieldBytes.size() / 5)
+        write(fieldBytes.toByteArray())
+    }
+
+    private fun DataOutputStream.instance(
+        id: Int,
+        classId: Int,
+        fields: DataOutputStream.() -> Unit
+    ) {
+        val data = ByteArrayOutputStream()
+        DataOutputStream(data).fields()
+        writeByte(INSTANCE_DUMP)
+        writeInt(id)
+        writeInt(0)
+        writeInt(classId)
+        writeInt(data.size())
+        write(data.toByteArray())
+    }
+
+    private fun DataOutputStream.heapInfo(heap: Char) {
+        writeByte(HEAP_DUMP_INFO)
+        writeInt(heap.code)
+        writeInt(0)
+    }
+
+    private companion object {
+        const val OBJECT = 100
+        const val NODE = 101
+        const val BITMAP = 102
+        const val NODE_1 = 200
+        const val NODE_2 = 201
+        const val BITMAP_1 = 202
+        const val ZYGOTE_NODE = 203
+        const val ARRAY = 300
+        const val INTS = 400
+    }
+}
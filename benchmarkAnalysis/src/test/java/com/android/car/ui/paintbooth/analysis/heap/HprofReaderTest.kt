@@ -0,0 +1,126 @@
+package com.android.car.ui.paintbooth.analysis.heap
+
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataOutputStream
+import java.io.EOFException
+import java.io.IOException
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertThrows
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class HprofReaderTest {
+
+    @Test
+    fun header_isReadOnConstruction() {
+        val reader = reader(idSize = 4) {}
+
+        assertEquals(4, reader.idSize)
+        assertEquals(HEADER_SIZE, reader.position)
+        assertFalse(reader.hasMore)
+    }
+
+    @Test
+    fun primitives_areBigEndian() {
+        val reader = reader(idSize = 8) {
+            writeByte(0xAB)
+            writeShort(0xBEEF)
+            writeInt(-2)
+            writeLong(0x0102030405060708L)
+            writeLong(-3L)
+        }
+
+        assertEquals(8, reader.idSize)
+        assertEquals(0xAB, reader.u1())
+        assertEquals(0xBEEF, reader.u2())
+        assertEquals(-2, reader.u4())
+        assertEquals(0x0102030405060708L, reader.u8())
+        assertEquals(-3L, reader.id())
+        assertEquals(HEADER_SIZE + 23, reader.position)
+    }
+
+    @Test
+    fun fourByteIds_areUnsigned() {
+        val reader = reader(idSize = 4) { writeInt(-1) }
+
+        assertEquals(0xFFFFFFFFL, reader.id())
+    }
+
+    @Test
+    fun bytesAndSkip_crossBufferBoundaries() {
+        val size = 3 * (1 shl 16) + 17
+        val data = ByteArray(size) { it.toByte() }
+        val reader = reader(idSize = 4) { write(data) }
+
+        reader.skip(70_000)
+        val read = ByteArray(100_000)
+        reader.bytes(read, read.size)
+        assertArrayEquals(data.copyOfRange(70_000, 170_000), read)
+        reader.skip((size - 170_001).toLong())
+        assertEquals(data.last().toInt() and 0xFF, reader.u1())
+        assertEquals(HEADER_SIZE + size, reader.position)
+        assertFalse(reader.hasMore)
+    }
+
+    @Test
+    fun readingPastTheEnd_throwsEof() {
+        val reader = reader(idSize = 4) { writeShort(1) }
+
+        assertThrows(EOFException::class.java) { reader.u4() }
+        assertThrows(EOFException::class.java) { reader(idSize = 4) {}.skip(1) }
+    }
+
+    @Test
+    fun otherFiles_areRejected() {
+        assertThrows(IOException::class.java) {
+            HprofReader(ByteArrayInputStream("PK\u0003\u0004\u0000".toByteArray()))
+        }
+        assertThrows(IOException::class.java) { reader(idSize = 2) {} }
+    }
+
+    @Test
+    fun sizeOf_followsTheIdSize() {
+        val reader = reader(idSize = 4) {}
+
+        assertEquals(4, reader.sizeOf(HprofReader.TYPE_OBJECT))
+        assertEquals(1, reader.sizeOf(HprofReader.TYPE_BOOLEAN))
+        assertEquals(2, reader.sizeOf(HprofReader.TYPE_CHAR))
+        assertEquals(4, reader.sizeOf(HprofReader.TYPE_FLOAT))
+        assertEquals(8, reader.sizeOf(HprofReader.TYPE_LONG))
+        assertEquals(8, reader(idSize = 8) {}.sizeOf(HprofReader.TYPE_OBJECT))
+        assertThrows(IOException::class.java) { reader.sizeOf(3) }
+    }
+
+    @Test
+    fun hasMore_refillsTheBuffer() {
+        val reader = reader(idSize = 4) { write(ByteArray((1 shl 16) + 1)) }
+
+        reader.skip(1L shl 16)
+        assertTrue(reader.hasMore)
+        reader.u1()
+        assertFalse(reader.hasMore)
+    }
+
+    private fun reader(idSize: Int, body: DataOutputStream.() -> Unit): HprofReader {
+        val bytes = ByteArrayOutputStream()
+        DataOutputStream(bytes).apply {
+            write("JAVA PROFILE 1.0.3".toByteArray())
+            writeByte(0)
+            writeInt(idSize)
+            writeLong(0L)
+            body()
+        }
+        // Deliver the bytes in small reads, as a file or pipe may.
+        return HprofReader(object : ByteArrayInputStream(bytes.toByteArray()) {
+            override fun read(b: ByteArray, off: Int, len: Int): Int =
+                super.read(b, off, minOf(len, 1 shl 16))
+        })
+    }
+
+    private companion object {
+        const val HEADER_SIZE = 19L + 4 + 8
+    }
+}
@@ -0,0 +1,209 @@
+package com.android.car.ui.paintbooth.analysis.trace
+
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.EOFException
+import java.io.IOException
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertThrows
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class ProtoReaderTest {
+
+    @Test
+    fun varints_areDecodedAcrossByteBoundaries() {
+        val values = listOf(0L, 1L, 127L, 128L, 300L, Int.MAX_VALUE.toLong(), -1L, Long.MIN_VALUE)
+        val reader = ProtoReader(proto { values.forEach { varintField(1, it) } })
+
+        for (value in values) {
+            assertTrue(reader.next())
+            assertEquals(1, reader.field)
+            assertEquals(value, reader.long())
+        }
+        assertFalse(reader.next())
+    }
+
+    @Test
+    fun negativeInt_isReadFromItsTenByteEncoding() {
+        val reader = ProtoReader(proto { varintField(2, -5L) })
+
+        reader.next()
+        assertEquals(-5, reader.int())
+    }
+
+    @Test
+    fun stringsAndBytes_areReadAsUtf8AndCopied() {
+        val reader = ProtoReader(proto {
+            bytesField(3, "Ünïcødé ✓".toByteArray())
+            bytesField(4, byteArrayOf(0, 1, 2))
+            bytesField(5, ByteArray(0))
+        })
+
+        reader.next()
+        assertEquals("Ünïcødé ✓", reader.string())
+        reader.next()
+        assertArrayEquals(byteArrayOf(0, 1, 2), reader.bytes())
+        reader.next()
+        assertEquals("", reader.string())
+        assertFalse(reader.next())
+    }
+
+    @Test
+    fun nestedMessage_stopsAtItsOwnEnd() {
+        val inner = proto {
+            varintField(1, 42L)
+            bytesField(2, "name".toByteArray())
+        }
+        val reader = ProtoReader(proto {
+            bytesField(7, inner)
+            varintField(8, 9L)
+        })
+
+        reader.next()
+        assertEquals(7, reader.field)
+        val message = reader.message()
+        assertTrue(message.next())
+        assertEquals(42L, message.long())
+        assertTrue(message.next())
+        assertEquals("name", message.string())
+        assertFalse(message.next())
+        assertTrue(reader.next())
+        assertEquals(8, reader.field)
+        assertEquals(9L, reader.long())
+    }
+
+    @Test
+    fun skip_movesPastEveryWireType() {
+        val reader = ProtoReader(proto {
+            varintField(1, 1L shl 40)
+            key(2, ProtoReader.FIXED64)
+            raw(ByteArray(8) { 0x7f })
+            bytesField(3, ByteArray(200))
+            key(4, ProtoReader.FIXED32)
+            raw(ByteArray(4) { 0x7f })
+            varintField(5, 55L)
+        })
+
+        repeat(4) {
+            assertTrue(reader.next())
+            reader.skip()
+        }
+        assertTrue(reader.next())
+        assertEquals(5, reader.field)
+        assertEquals(55L, reader.long())
+    }
+
+    @Test
+    fun skip_rejectsGroups() {
+        val reader = ProtoReader(proto { key(1, 3) })
+
+        reader.next()
+        assertThrows(IOException::class.java) { reader.skip() }
+    }
+
+    @Test
+    fun truncatedInput_throwsEof() {
+        val truncatedLength = ProtoReader(proto {
+            key(1, ProtoReader.LENGTH_DELIMITED)
+            varint(10)
+            raw(ByteArray(3))
+        })
+        truncatedLength.next()
+        assertThrows(EOFException::class.java) { truncatedLength.string() }
+
+        val truncatedVarint = ProtoReader(byteArrayOf(0x08, 0x80.toByte()))
+        truncatedVarint.next()
+        assertThrows(EOFException::class.java) { truncatedVarint.long() }
+    }
+
+    @Test
+    fun windowedReader_ignoresBytesOutsideTheWindow() {
+        val bytes = proto {
+            varintField(1, 1L)
+            varintField(2, 2L)
+            varintField(3, 3L)
+        }
+        val reader = ProtoReader(bytes, start = 2, end = 4)
+
+        assertTrue(reader.next())
+        assertEquals(2, reader.field)
+        assertEquals(2L, reader.long())
+        assertFalse(reader.next())
+    }
+
+    @Test
+    fun forEachField_streamsOnlyTheRequestedField() {
+        val stream = proto {
+            bytesField(1, proto { varintField(1, 10L) })
+            varintField(2, 99L)
+            key(3, ProtoReader.FIXED64)
+            raw(ByteArray(8))
+            bytesField(4, ByteArray(16))
+            key(5, ProtoReader.FIXED32)
+            raw(ByteArray(4))
+            bytesField(1, proto { varintField(1, 20L) })
+        }
+        val seen = mutableListOf<Long>()
+
+        ProtoReader.forEachField(ByteArrayInputStream(stream), field = 1) { packet ->
+            packet.next()
+            seen += packet.long()
+        }
+
+        assertEquals(listOf(10L, 20L), seen)
+    }
+
+    @Test
+    fun forEachField_onEmptyStream_callsNothing() {
+        ProtoReader.forEachField(ByteArrayInputStream(ByteArray(0)), field = 1) {
+            throw AssertionError("Unexpected field")
+        }
+    }
+
+    @Test
+    fun forEachField_throwsOnTruncatedField() {
+        val stream = proto {
+            key(1, ProtoReader.LENGTH_DELIMITED)
+            varint(8)
+            raw(ByteArray(2))
+        }
+
+        assertThrows(EOFException::class.java) {
+            ProtoReader.forEachField(ByteArrayInputStream(stream), field = 1) {}
+        }
+    }
+
+    private fun proto(block: ProtoWriter.() -> Unit): ByteArray =
+        ProtoWriter().apply(block).out.toByteArray()
+
+    private class ProtoWriter {
+        val out = ByteArrayOutputStream()
+
+        fun varint(value: Long) {
+            var v = value
+            while (v and 0x7FL.inv() != 0L) {
+                out.write(((v and 0x7F) or 0x80).toInt())
+                v = v ushr 7
+            }
+            out.write(v.toInt())
+        }
+
+        fun key(field: Int, wireType: Int) = varint((field.toLong() shl 3) or wireType.toLong())
+
+        fun raw(bytes: ByteArray) = out.write(bytes)
+
+        fun varintField(field: Int, value: Long) {
+            key(field, ProtoReader.VARINT)
+            varint(value)
+        }
+
+        fun bytesField(field: Int, bytes: ByteArray) {
+            key(field, ProtoReader.LENGTH_DELIMITED)
+            varint(bytes.size.toLong())
+            raw(bytes)
+        }
+    }
+}
@@ -1,89 +1,94 @@
 package com.android.car.ui.paintbooth.benchmarkb
 
-import android.content.Intent
-import androidx.benchmark.macro.FrameTimingMetric
-import androidx.benchmark.macro.MacrobenchmarkScope
 import androidx.benchmark.macro.StartupMode
-import androidx.benchmark.macro.junit4.MacrobenchmarkRule
 import androidx.test.ext.junit.runners.AndroidJUnit4
-import androidx.test.uiautomator.By
-import androidx.test.uiautomator.Direction
-import androidx.test.uiautomator.Until
-import org.junit.Rule
+import com.android.car.ui.paintbooth.benchmark.BenchmarkApp
+import com.android.car.ui.paintbooth.benchmark.ListScrollBenchmark
+import com.android.car.ui.paintbooth.benchmark.frameMetrics
+import com.android.car.ui.paintbooth.benchmark.pageDown
+import com.android.car.ui.paintbooth.benchmark.scrollList
 import org.junit.Test
 import org.junit.runner.RunWith
 
 @RunWith(AndroidJUnit4::class)
-class RecyclerViewScrollBenchmark {
-
-    @get:Rule
-    val benchmarkRule = MacrobenchmarkRule()
-    private val targetPackage = "com.android.car.compose.ui.paintbooth"
-    private val iterations = 25
-
-    private fun launchIntent(activity: String) = Intent().apply {
-        setClassName(targetPackage, "$targetPackage.$activity")
-    }
+class RecyclerViewScrollBenchmark : ListScrollBenchmark(
+    BenchmarkApp.COMPOSE,
+    // Trace sections emitted by car-ui-compose-lib, see CarUiTrace.
+    listSections = arrayOf("CarUiRecyclerView", "CarUiRecyclerView:item", "CarUiListItem"),
+    preferenceSections = arrayOf(
+        "CarUiRecyclerView:item",
+        "CarUiPreference",
+        "CarUiSwitchPreference",
+        "CarUiCheckboxPreference",
+        "CarUiListPreference"
+    ),
+    listItemScrolls = 8,
+    recyclerViewScrolls = 25,
+    gridScrolls = 19,
+    preferenceScrolls = 4
+) {
 
     @Test
-    fun scrollCarUiListItemActivity() = benchmarkRule.measureRepeated(
-        packageName = targetPackage,
-        metrics = listOf(FrameTimingMetric()),
+    fun scrollMixedCarUiListItemActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = frameMetrics(*listSections),
         iterations = iterations,
         startupMode = StartupMode.COLD,
         setupBlock = {
             pressHome()
         }) {
-        startActivityAndWait(launchIntent("caruirecyclerview.CarUiListItemActivity"))
-        scrollList(8)
+        startActivityAndWait(app.launchIntent("caruirecyclerview.MixedCarUiListItemActivity"))
+        scrollList(app, 25)
     }
 
+    /** Same as [scrollMixedCarUiListItemActivity] with the prefetched text layout cache enabled. */
     @Test
-    fun scrollCarUiRecyclerViewActivity() = benchmarkRule.measureRepeated(
-        packageName = targetPackage,
-        metrics = listOf(FrameTimingMetric()),
+    fun scrollMixedCarUiListItemActivityTextCache() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = frameMetrics(*listSections),
         iterations = iterations,
         startupMode = StartupMode.COLD,
         setupBlock = {
             pressHome()
         }) {
-        startActivityAndWait(launchIntent("caruirecyclerview.CarUiRecyclerViewActivity"))
-        scrollList(25)
+        startActivityAndWait(
+            app.launchIntent("caruirecyclerview.MixedCarUiListItemActivity")
+                .putExtra("text_cache", true)
+        )
+        scrollList(app, 25)
     }
 
     @Test
-    fun scrollGridCarUiRecyclerViewActivity() = benchmarkRule.measureRepeated(
-        packageName = targetPackage,
-        metrics = listOf(FrameTimingMetric()),
+    fun pageMixedCarUiListItemActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = frameMetrics(*listSections),
         iterations = iterations,
         startupMode = StartupMode.COLD,
         setupBlock = {
             pressHome()
         }) {
-        startActivityAndWait(launchIntent("caruirecyclerview.GridCarUiRecyclerViewActivity"))
-        scrollList(19)
+        startActivityAndWait(app.launchIntent("caruirecyclerview.MixedCarUiListItemActivity"))
+        pageDown(app, 12)
     }
 
     @Test
-    fun scrollPreferencesActivity() = benchmarkRule.measureRepeated(
-        packageName = targetPackage,
-        metrics = listOf(FrameTimingMetric()),
+    fun scrollPagedCarUiRecyclerView10k() = scrollPagedCarUiRecyclerView(10_000)
+
+    @Test
+    fun scrollPagedCarUiRecyclerView100k() = scrollPagedCarUiRecyclerView(100_000)
+
+    private fun scrollPagedCarUiRecyclerView(itemCount: Int) = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = frameMetrics(*listSections),
         iterations = iterations,
         startupMode = StartupMode.COLD,
         setupBlock = {
             pressHome()
         }) {
-        startActivityAndWait(launchIntent("preferences.PreferenceActivity"))
-        scrollList(4)
-    }
-
-    private fun MacrobenchmarkScope.scrollList(repats: Int = 5) {
-        device.wait(Until.hasObject(By.desc("car_ui_compose_lazy_list")), 2000)
-        val listView = device.findObject(By.desc("car_ui_compose_lazy_list"))
-        listView.setGestureMargin(device.displayHeight / 2)
-        repeat(repats) {
-            listView.scroll(Direction.UP, 1f)
-            device.waitForIdle()
-        }
+        startActivityAndWait(
+            app.launchIntent("caruirecyclerview.PagedCarUiRecyclerViewActivity")
+                .putExtra("item_count", itemCount)
+        )
+        scrollList(app, 25)
     }
 }
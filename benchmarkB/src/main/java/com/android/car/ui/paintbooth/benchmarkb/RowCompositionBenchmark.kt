@@ -0,0 +1,50 @@
+package com.android.car.ui.paintbooth.benchmarkb
+
+import androidx.benchmark.macro.FrameTimingMetric
+import androidx.benchmark.macro.StartupMode
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.android.car.ui.paintbooth.benchmark.BenchmarkApp
+import com.android.car.ui.paintbooth.benchmark.flingList
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Flings lists so that nearly every frame composes new rows, making frameDurationCpuMs track the
+ * cost of composing a row. Compare runs across library changes such as the CarUiTheme tokens.
+ */
+@RunWith(AndroidJUnit4::class)
+class RowCompositionBenchmark {
+
+    @get:Rule
+    val benchmarkRule = MacrobenchmarkRule()
+    private val app = BenchmarkApp.COMPOSE
+    private val iterations = 25
+
+    @Test
+    fun flingMixedCarUiListItemActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(FrameTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = {
+            pressHome()
+        }) {
+        startActivityAndWait(app.launchIntent("caruirecyclerview.MixedCarUiListItemActivity"))
+        flingList(app, 6)
+    }
+
+    @Test
+    fun flingPreferencesActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(FrameTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = {
+            pressHome()
+        }) {
+        startActivityAndWait(app.launchIntent("preferences.PreferenceActivity"))
+        flingList(app, 2)
+    }
+}
@@ -0,0 +1,77 @@
+package com.android.car.ui.paintbooth.benchmarkb
+
+import androidx.benchmark.macro.ExperimentalMetricApi
+import androidx.benchmark.macro.FrameTimingMetric
+import androidx.benchmark.macro.Metric
+import androidx.benchmark.macro.StartupMode
+import androidx.benchmark.macro.TraceSectionMetric
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule
+import com.android.car.ui.paintbooth.benchmark.BenchmarkApp
+import com.android.car.ui.paintbooth.benchmark.startActivityAndWaitForFullDisplay
+import com.android.car.ui.paintbooth.benchmark.typeSearchQueries
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.Parameterized
+
+/**
+ * Types queries into the contact list of SearchCarUiListItemActivity at 10,000 and 100,000 rows,
+ * held in a store or as objects, to measure the CarUiSearchIndex per keystroke. The first key of a
+ * query searches all rows, and each later key narrows the previous results. The build section is
+ * the one-off cost of indexing the list, off the main thread.
+ */
+@RunWith(Parameterized::class)
+class SearchLatencyBenchmark(
+    private val itemCount: Int,
+    private val listModel: String
+) {
+
+    @get:Rule
+    val benchmarkRule = MacrobenchmarkRule()
+    private val app = BenchmarkApp.COMPOSE
+    private val iterations = 10
+
+    // Trace sections emitted by car-ui-compose-lib, see CarUiTrace.
+    private val buildSection = "CarUiSearchIndex:build"
+    private val querySection = "CarUiSearchIndex:query"
+
+    @OptIn(ExperimentalMetricApi::class)
+    private val metrics: List<Metric> = listOf(
+        FrameTimingMetric(),
+        TraceSectionMetric(buildSection, TraceSectionMetric.Mode.First),
+        TraceSectionMetric(querySection, TraceSectionMetric.Mode.Average),
+        TraceSectionMetric(querySection, TraceSectionMetric.Mode.Max),
+        TraceSectionMetric(querySection, TraceSectionMetric.Mode.Count)
+    )
+
+    @Test
+    fun search() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = metrics,
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = {
+            pressHome()
+        }) {
+        startActivityAndWaitForFullDisplay(
+            app,
+            app.launchIntent("caruirecyclerview.SearchCarUiListItemActivity")
+                .putExtra("item_count", itemCount)
+                .putExtra("list_model", listModel),
+            timeoutMs = 10_000
+        )
+        typeSearchQueries(QUERIES)
+    }
+
+    companion object {
+        /** A name, a name across first and last name, and a number. */
+        private val QUERIES = listOf("schmidt", "emma w", "555 004")
+
+        @JvmStatic
+        @Parameterized.Parameters(name = "items={0},model={1}")
+        fun parameters(): List<Array<Any>> =
+            listOf(10_000, 100_000).flatMap { itemCount ->
+                listOf("store", "objects").map { arrayOf<Any>(itemCount, it) }
+            }
+    }
+}
@@ -0,0 +1,22 @@
+package com.android.car.ui.paintbooth.benchmarkb
+
+import com.android.car.ui.paintbooth.benchmark.BenchmarkApp
+import com.android.car.ui.paintbooth.benchmark.MenuItemsBenchmark
+import org.junit.runner.RunWith
+import org.junit.runners.Parameterized
+
+/** The sample adds IfRoom items, so the larger counts exercise the overflow menu. */
+@RunWith(Parameterized::class)
+class ToolbarMenuItemsBenchmark(itemCount: Int) : MenuItemsBenchmark(
+    BenchmarkApp.COMPOSE,
+    // Trace sections emitted by car-ui-compose-lib, see CarUiTrace.
+    toolbarSections = arrayOf("CarUiToolbar", "CarUiToolbar:menuItems"),
+    itemCount
+) {
+
+    companion object {
+        @JvmStatic
+        @Parameterized.Parameters(name = MenuItemsBenchmark.NAME)
+        fun parameters(): List<Int> = MenuItemsBenchmark.parameters()
+    }
+}
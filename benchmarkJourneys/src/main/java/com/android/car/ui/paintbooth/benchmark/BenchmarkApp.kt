@@ -0,0 +1,41 @@
+package com.android.car.ui.paintbooth.benchmark
+
+import android.content.Intent
+import androidx.test.uiautomator.By
+import androidx.test.uiautomator.BySelector
+
+/**
+ * One of the two paintbooth apps and how UiAutomator finds its widgets: the XML app exposes view
+ * resource ids, the Compose app content descriptions.
+ */
+enum class BenchmarkApp(val packageName: String) {
+    XML("com.android.car.ui.paintbooth") {
+        override fun list(): BySelector = By.res(packageName, "car_ui_internal_recycler_view")
+        override fun pageDownButton(): BySelector =
+            By.res(packageName, "car_ui_scrollbar_page_down")
+        override fun listButton(): BySelector = By.res(packageName, "button")
+        override fun alertTitle(): BySelector = By.res(packageName, "car_ui_alert_title")
+    },
+    COMPOSE("com.android.car.compose.ui.paintbooth") {
+        override fun list(): BySelector = By.desc("car_ui_compose_lazy_list")
+        override fun pageDownButton(): BySelector = By.desc("Scroll Down")
+        override fun listButton(): BySelector = By.desc("list_button")
+        override fun alertTitle(): BySelector = By.desc("car_ui_alert_title")
+    };
+
+    /** The scrolling list of a CarUiRecyclerView. */
+    abstract fun list(): BySelector
+
+    /** The page down button of a CarUiRecyclerView's scrollbar. */
+    abstract fun pageDownButton(): BySelector
+
+    /** The button of a list row in DialogsActivity and ToolbarActivity. */
+    abstract fun listButton(): BySelector
+
+    abstract fun alertTitle(): BySelector
+
+    /** Intent for [activity], relative to the app package, e.g. `dialogs.DialogsActivity`. */
+    fun launchIntent(activity: String): Intent = Intent().apply {
+        setClassName(packageName, "$packageName.$activity")
+    }
+}
@@ -0,0 +1,31 @@
+package com.android.car.ui.paintbooth.benchmark
+
+import androidx.benchmark.macro.BaselineProfileMode
+import androidx.benchmark.macro.CompilationMode
+
+/**
+ * Compilation states of the app under test. Comparing the apps under [NONE] and [FULL] separates
+ * the cost of interpreting and JIT compiling their code from the cost of running it compiled.
+ */
+enum class CompilationVariant {
+    /** Interpreted and JIT compiled, as right after install without a profile. */
+    NONE {
+        override fun mode(): CompilationMode = CompilationMode.None()
+    },
+
+    /**
+     * Ahead-of-time compiled as far as the app's baseline profile covers, as shipped. Only the
+     * Compose app has a profile, from the baselineProfile module, so a missing one is tolerated.
+     */
+    PARTIAL {
+        override fun mode(): CompilationMode =
+            CompilationMode.Partial(baselineProfileMode = BaselineProfileMode.UseIfAvailable)
+    },
+
+    /** Fully ahead-of-time compiled, the steady state without interpretation or JIT. */
+    FULL {
+        override fun mode(): CompilationMode = CompilationMode.Full()
+    };
+
+    abstract fun mode(): CompilationMode
+}
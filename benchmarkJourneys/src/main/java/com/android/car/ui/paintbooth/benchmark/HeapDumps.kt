@@ -0,0 +1,33 @@
+package com.android.car.ui.paintbooth.benchmark
+
+import android.util.Log
+import androidx.benchmark.macro.MacrobenchmarkScope
+import androidx.test.platform.app.InstrumentationRegistry
+
+private const val TAG = "HeapDumps"
+
+/**
+ * Whether tests that dump the heap run. Each dump takes seconds and can exceed 200 MB, so they are
+ * off unless the run passes `-Pandroid.testInstrumentationRunnerArguments.heapDumps=true`.
+ */
+val heapDumpsEnabled: Boolean
+    get() = InstrumentationRegistry.getArguments().getString("heapDumps") == "true"
+
+/**
+ * Dumps the heap of [app] after a garbage collection to `heap_<screen>.hprof` in the additional
+ * test output directory, which the Android Gradle plugin pulls next to the benchmark results.
+ * `benchmarkAnalysis:diffHeapDumps` pairs the dumps of both apps by [screen].
+ */
+fun MacrobenchmarkScope.dumpHeap(app: BenchmarkApp, screen: String) {
+    device.waitForIdle()
+    val name = "heap_$screen.hprof"
+    val deviceFile = "/data/local/tmp/$name"
+    // The shell writes the file, so it goes to a directory the shell owns first.
+    device.executeShellCommand("am dumpheap -g ${app.packageName} $deviceFile")
+    val outputDir = InstrumentationRegistry.getArguments().getString("additionalTestOutputDir")
+    if (outputDir == null) {
+        Log.w(TAG, "No additionalTestOutputDir, leaving $deviceFile on the device")
+        return
+    }
+    device.executeShellCommand("mv $deviceFile $outputDir/$name")
+}
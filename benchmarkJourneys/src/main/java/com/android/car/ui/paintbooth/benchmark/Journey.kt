@@ -0,0 +1,50 @@
+package com.android.car.ui.paintbooth.benchmark
+
+import androidx.benchmark.macro.MacrobenchmarkScope
+import androidx.benchmark.macro.Metric
+import androidx.benchmark.macro.StartupMode
+import androidx.benchmark.macro.StartupTimingMetric
+
+/** A user journey that both apps implement with the same activities and content. */
+enum class Journey {
+    STARTUP {
+        override val metrics: List<Metric> = listOf(StartupTimingMetric())
+
+        override fun MacrobenchmarkScope.run(app: BenchmarkApp) {
+            startActivityAndWaitForFullDisplay(app, "MainActivity")
+        }
+    },
+
+    /** A long list of mixed rows with icons, see the sample data extras of the apps. */
+    SCROLL_LIST {
+        override fun MacrobenchmarkScope.run(app: BenchmarkApp) {
+            startActivityAndWait(
+                app.launchIntent("caruirecyclerview.CarUiRecyclerViewActivity")
+                    .putExtra("item_count", 1_000)
+                    .putExtra("row_mix", "mixed")
+                    .putExtra("icons", true)
+            )
+            scrollList(app, 10)
+        }
+    },
+
+    SCROLL_PREFERENCES {
+        override fun MacrobenchmarkScope.run(app: BenchmarkApp) {
+            startActivityAndWait(app.launchIntent("preferences.PreferenceActivity"))
+            scrollList(app, 4)
+        }
+    },
+
+    SHOW_DIALOGS {
+        override fun MacrobenchmarkScope.run(app: BenchmarkApp) {
+            startActivityAndWait(app.launchIntent("dialogs.DialogsActivity"))
+            showDialogs(app)
+        }
+    };
+
+    open val metrics: List<Metric> = frameMetrics()
+
+    val startupMode: StartupMode = StartupMode.COLD
+
+    abstract fun MacrobenchmarkScope.run(app: BenchmarkApp)
+}
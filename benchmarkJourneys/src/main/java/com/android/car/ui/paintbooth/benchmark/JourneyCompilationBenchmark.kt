@@ -0,0 +1,45 @@
+package com.android.car.ui.paintbooth.benchmark
+
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule
+import org.junit.Rule
+import org.junit.Test
+
+/**
+ * Runs [journey] on [app] compiled as [compilation]. benchmarkA and benchmarkB each subclass it
+ * for their app with [parameters], so that the two modules together cover every journey on both
+ * apps in every [CompilationVariant].
+ */
+abstract class JourneyCompilationBenchmark(
+    private val app: BenchmarkApp,
+    private val journey: Journey,
+    private val compilation: CompilationVariant
+) {
+
+    @get:Rule
+    val benchmarkRule = MacrobenchmarkRule()
+
+    @Test
+    fun journey() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = journey.metrics,
+        compilationMode = compilation.mode(),
+        iterations = ITERATIONS,
+        startupMode = journey.startupMode,
+        setupBlock = {
+            pressHome()
+        }) {
+        with(journey) { run(app) }
+    }
+
+    companion object {
+        private const val ITERATIONS = 15
+
+        /** Test name format; benchmarkAnalysis reads the journey and variant back from it. */
+        const val NAME = "{0},{1}"
+
+        /** Every [Journey] in every [CompilationVariant]. */
+        fun parameters(): List<Array<Any>> = Journey.values().flatMap { journey ->
+            CompilationVariant.values().map { arrayOf<Any>(journey, it) }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.android.car.ui.paintbooth.benchmark
+
+import android.content.Intent
+import android.widget.EditText
+import androidx.benchmark.macro.ExperimentalMetricApi
+import androidx.benchmark.macro.FrameTimingMetric
+import androidx.benchmark.macro.MacrobenchmarkScope
+import androidx.benchmark.macro.Metric
+import androidx.benchmark.macro.TraceSectionMetric
+import androidx.test.uiautomator.By
+import androidx.test.uiautomator.Direction
+import androidx.test.uiautomator.Until
+
+private const val TIMEOUT_MS = 2000L
+
+/**
+ * Frame timing plus the total time and count of each trace section, so frame overruns can be
+ * attributed to a component. Divide a section's sum by `frameCount` for its time per frame.
+ */
+@OptIn(ExperimentalMetricApi::class)
+fun frameMetrics(vararg sections: String): List<Metric> =
+    listOf(FrameTimingMetric()) + sections.flatMap { section ->
+        listOf(
+            TraceSectionMetric(section, TraceSectionMetric.Mode.Sum),
+            TraceSectionMetric(section, TraceSectionMetric.Mode.Count)
+        )
+    }
+
+/**
+ * Starts [activity] of [app] and waits until its list is on screen, so that the activity's report
+ * of full display falls into the iteration and `StartupTimingMetric` records `timeToFullDisplayMs`.
+ */
+fun MacrobenchmarkScope.startActivityAndWaitForFullDisplay(app: BenchmarkApp, activity: String) =
+    startActivityAndWaitForFullDisplay(app, app.launchIntent(activity))
+
+/**
+ * Starts [intent] and waits up to [timeoutMs] until its list is on screen, for activities that
+ * take extras or build their list in the background.
+ */
+fun MacrobenchmarkScope.startActivityAndWaitForFullDisplay(
+    app: BenchmarkApp,
+    intent: Intent,
+    timeoutMs: Long = TIMEOUT_MS
+) {
+    startActivityAndWait(intent)
+    device.wait(Until.hasObject(app.list()), timeoutMs)
+    device.waitForIdle()
+}
+
+/** Scrolls the visible list up by [percent] of its height [repeat] times. */
+fun MacrobenchmarkScope.scrollList(app: BenchmarkApp, repeat: Int, percent: Float = 1f) {
+    device.wait(Until.hasObject(app.list()), TIMEOUT_MS)
+    val list = device.findObject(app.list())
+    list.setGestureMargin(device.displayHeight / 2)
+    repeat(repeat) {
+        list.scroll(Direction.UP, percent)
+        device.waitForIdle()
+    }
+}
+
+/** Flings the visible list [repeat] times, so that nearly every frame shows new rows. */
+fun MacrobenchmarkScope.flingList(app: BenchmarkApp, repeat: Int) {
+    device.wait(Until.hasObject(app.list()), TIMEOUT_MS)
+    val list = device.findObject(app.list())
+    list.setGestureMargin(device.displayHeight / 4)
+    repeat(repeat) {
+        list.fling(Direction.DOWN)
+        device.waitForIdle()
+    }
+}
+
+/**
+ * Presses the scrollbar's page down button in quick bursts, without waiting for the list to
+ * settle in between, so overlapping page animations show up as frame overruns.
+ */
+fun MacrobenchmarkScope.pageDown(app: BenchmarkApp, presses: Int) {
+    device.wait(Until.hasObject(app.pageDownButton()), TIMEOUT_MS)
+    val pageDownButton = device.findObject(app.pageDownButton())
+    repeat(presses / 3) {
+        repeat(3) { pageDownButton.click() }
+        device.waitForIdle()
+    }
+}
+
+/** Opens and dismisses the dialogs of the first [count] rows of DialogsActivity. */
+fun MacrobenchmarkScope.showDialogs(app: BenchmarkApp, count: Int = 5) {
+    for (i in 0 until count) {
+        device.wait(Until.hasObject(app.list()), TIMEOUT_MS)
+        val list = device.findObject(app.list())
+        val item = list.children[i] ?: error("No items in the list")
+        val button = item.findObject(app.listButton())
+            ?: error("No button found in list item $i")
+        button.click()
+        device.wait(Until.hasObject(app.alertTitle()), TIMEOUT_MS)
+        device.waitForIdle()
+        device.click(1300, 300)
+        device.wait(Until.gone(app.alertTitle()), TIMEOUT_MS)
+        device.waitForIdle()
+    }
+}
+
+/**
+ * Clicks the button of the first [count] rows of ToolbarActivity, which change the toolbar,
+ * scrolling the list by [scrollPercent] after each click.
+ */
+fun MacrobenchmarkScope.clickToolbarItems(app: BenchmarkApp, scrollPercent: Float, count: Int = 5) {
+    device.wait(Until.hasObject(app.list()), TIMEOUT_MS)
+    for (i in 0 until count) {
+        val list = device.findObject(app.list())
+        list.setGestureMargin(device.displayWidth / 4)
+        val item = list.children[i] ?: error("No visible item after scrolling to $i")
+        val button = item.findObject(app.listButton())
+            ?: error("No button found in list item $i")
+        button.click()
+        device.waitForIdle()
+        list.scroll(Direction.UP, scrollPercent)
+        device.waitForIdle()
+    }
+}
+
+/** Labels of the ToolbarActivity buttons that add a menu item, one for each kind of item. */
+private val ADD_MENU_ITEM_BUTTONS = listOf(
+    "MenuItem: Add Icon",
+    "MenuItem: Add Switch",
+    "MenuItem: Add text",
+    "MenuItem: Add icon and text",
+    "MenuItem: Add activatable"
+)
+
+/**
+ * Adds [count] menu items to the toolbar of ToolbarActivity with its buttons, cycling through the
+ * kinds of item and waiting for the app to settle after each click.
+ */
+fun MacrobenchmarkScope.addToolbarMenuItems(app: BenchmarkApp, count: Int) {
+    device.wait(Until.hasObject(app.list()), TIMEOUT_MS)
+    val list = device.findObject(app.list())
+    list.setGestureMargin(device.displayHeight / 4)
+    list.scrollUntil(Direction.DOWN, Until.hasObject(By.text(ADD_MENU_ITEM_BUTTONS.last())))
+    device.waitForIdle()
+    val buttons = ADD_MENU_ITEM_BUTTONS.map {
+        device.findObject(By.text(it)) ?: error("No button labelled $it")
+    }
+    repeat(count) { i ->
+        buttons[i % buttons.size].click()
+        device.waitForIdle()
+    }
+}
+
+/**
+ * Types each of [queries] into the visible search field one key at a time, waiting for the app to
+ * settle after every key, and clears the field after each query.
+ */
+fun MacrobenchmarkScope.typeSearchQueries(queries: List<String>) {
+    val searchField = By.clazz(EditText::class.java)
+    device.wait(Until.hasObject(searchField), TIMEOUT_MS)
+    device.findObject(searchField).click()
+    for (query in queries) {
+        for (c in query) {
+            // `input text` treats %s as a space.
+            device.executeShellCommand("input text ${if (c == ' ') "%s" else c}")
+            device.waitForIdle()
+        }
+        device.findObject(searchField).clear()
+        device.waitForIdle()
+    }
+}
+
+/**
+ * Opens the toolbar's search field with its search menu item, which both apps describe as
+ * "Search", types [queries] into it and leaves search with the back key.
+ */
+fun MacrobenchmarkScope.searchToolbar(queries: List<String> = listOf("car ui", "toolbar")) {
+    val searchMenuItem = By.desc("Search")
+    device.wait(Until.hasObject(searchMenuItem), TIMEOUT_MS)
+    device.findObject(searchMenuItem).click()
+    device.waitForIdle()
+    typeSearchQueries(queries)
+    device.pressBack()
+    device.waitForIdle()
+}
@@ -0,0 +1,78 @@
+package com.android.car.ui.paintbooth.benchmark
+
+import androidx.benchmark.macro.StartupMode
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule
+import org.junit.Rule
+import org.junit.Test
+
+/**
+ * Frame timing of scrolling the lists of [app], with the app's trace sections for list rows and
+ * preferences. Each list is scrolled the given number of times, so both apps cover the same
+ * content. benchmarkA and benchmarkB each subclass it for their app.
+ */
+abstract class ListScrollBenchmark(
+    protected val app: BenchmarkApp,
+    protected val listSections: Array<String>,
+    private val preferenceSections: Array<String>,
+    private val listItemScrolls: Int,
+    private val recyclerViewScrolls: Int,
+    private val gridScrolls: Int,
+    private val preferenceScrolls: Int
+) {
+
+    @get:Rule
+    val benchmarkRule = MacrobenchmarkRule()
+    protected val iterations = 25
+
+    @Test
+    fun scrollCarUiListItemActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = frameMetrics(*listSections),
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = {
+            pressHome()
+        }) {
+        startActivityAndWait(app.launchIntent("caruirecyclerview.CarUiListItemActivity"))
+        scrollList(app, listItemScrolls)
+    }
+
+    @Test
+    fun scrollCarUiRecyclerViewActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = frameMetrics(*listSections),
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = {
+            pressHome()
+        }) {
+        startActivityAndWait(app.launchIntent("caruirecyclerview.CarUiRecyclerViewActivity"))
+        scrollList(app, recyclerViewScrolls)
+    }
+
+    @Test
+    fun scrollGridCarUiRecyclerViewActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = frameMetrics(*listSections),
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = {
+            pressHome()
+        }) {
+        startActivityAndWait(app.launchIntent("caruirecyclerview.GridCarUiRecyclerViewActivity"))
+        scrollList(app, gridScrolls)
+    }
+
+    @Test
+    fun scrollPreferencesActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = frameMetrics(*preferenceSections),
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = {
+            pressHome()
+        }) {
+        startActivityAndWait(app.launchIntent("preferences.PreferenceActivity"))
+        scrollList(app, preferenceScrolls)
+    }
+}
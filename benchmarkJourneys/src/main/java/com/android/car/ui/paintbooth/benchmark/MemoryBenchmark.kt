@@ -0,0 +1,95 @@
+package com.android.car.ui.paintbooth.benchmark
+
+import androidx.benchmark.macro.ExperimentalMetricApi
+import androidx.benchmark.macro.MacrobenchmarkScope
+import androidx.benchmark.macro.MemoryUsageMetric
+import androidx.benchmark.macro.Metric
+import androidx.benchmark.macro.StartupMode
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule
+import org.junit.Assume.assumeTrue
+import org.junit.Rule
+import org.junit.Test
+
+/**
+ * Memory of [app] over a journey through its list, dialog, grid, toolbar and preference screens.
+ * Each list is scrolled the given number of times by [scrollPercent] of its height, so both apps
+ * cover the same content. benchmarkA and benchmarkB each subclass it for their app.
+ */
+@OptIn(ExperimentalMetricApi::class)
+abstract class MemoryBenchmark(
+    protected val app: BenchmarkApp,
+    private val listItemScrolls: Int,
+    private val gridScrolls: Int,
+    private val preferenceScrolls: Int,
+    private val scrollPercent: Float,
+    private val toolbarScrollPercent: Float
+) {
+
+    @get:Rule
+    val benchmarkRule = MacrobenchmarkRule()
+    protected val iterations = 25
+    protected val memoryMetrics: List<Metric> = listOf(
+        MemoryUsageMetric(mode = MemoryUsageMetric.Mode.Max),
+        MemoryUsageMetric(mode = MemoryUsageMetric.Mode.Last)
+    )
+
+    @Test
+    fun memory() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = memoryMetrics,
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = {
+            pressHome()
+        }) {
+        memoryJourney()
+    }
+
+    /**
+     * Dumps the heap after each screen of [memory], for `benchmarkAnalysis:diffHeapDumps`. Runs
+     * only with heap dumps enabled, see [heapDumpsEnabled].
+     */
+    @Test
+    fun memoryHeapDumps() {
+        assumeTrue(heapDumpsEnabled)
+        benchmarkRule.measureRepeated(
+            packageName = app.packageName,
+            metrics = listOf(MemoryUsageMetric(mode = MemoryUsageMetric.Mode.Last)),
+            iterations = 1,
+            startupMode = StartupMode.COLD,
+            setupBlock = { pressHome() }
+        ) {
+            memoryJourney { screen -> dumpHeap(app, screen) }
+        }
+    }
+
+    /** The journey of [memory], calling [afterScreen] once each screen has been used. */
+    private fun MacrobenchmarkScope.memoryJourney(
+        afterScreen: MacrobenchmarkScope.(screen: String) -> Unit = {}
+    ) {
+        // Scroll CarUiListItemActivity
+        startActivityAndWait(app.launchIntent("caruirecyclerview.CarUiListItemActivity"))
+        scrollList(app, listItemScrolls, percent = scrollPercent)
+        afterScreen("CarUiListItemActivity")
+
+        // Open Dialogs
+        startActivityAndWait(app.launchIntent("dialogs.DialogsActivity"))
+        showDialogs(app)
+        afterScreen("DialogsActivity")
+
+        // Scroll GridCarUiRecyclerViewActivity
+        startActivityAndWait(app.launchIntent("caruirecyclerview.GridCarUiRecyclerViewActivity"))
+        scrollList(app, gridScrolls, percent = scrollPercent)
+        afterScreen("GridCarUiRecyclerViewActivity")
+
+        // Interact Toolbar
+        startActivityAndWait(app.launchIntent("toolbar.ToolbarActivity"))
+        clickToolbarItems(app, scrollPercent = toolbarScrollPercent)
+        afterScreen("ToolbarActivity")
+
+        // Scroll PreferenceActivity
+        startActivityAndWait(app.launchIntent("preferences.PreferenceActivity"))
+        scrollList(app, preferenceScrolls, percent = scrollPercent)
+        afterScreen("PreferenceActivity")
+    }
+}
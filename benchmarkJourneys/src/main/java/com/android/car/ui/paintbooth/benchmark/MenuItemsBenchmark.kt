@@ -0,0 +1,43 @@
+package com.android.car.ui.paintbooth.benchmark
+
+import androidx.benchmark.macro.StartupMode
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule
+import org.junit.Rule
+import org.junit.Test
+
+/**
+ * Adds [itemCount] menu items to the toolbar of ToolbarActivity of [app] with its buttons, to show
+ * how the frames that relayout the toolbar scale with the number of items. [toolbarSections] are
+ * the app's trace sections for building and laying out the menu items. benchmarkA and benchmarkB
+ * each subclass it for their app with [parameters].
+ */
+abstract class MenuItemsBenchmark(
+    private val app: BenchmarkApp,
+    private val toolbarSections: Array<String>,
+    private val itemCount: Int
+) {
+
+    @get:Rule
+    val benchmarkRule = MacrobenchmarkRule()
+    private val iterations = 10
+
+    @Test
+    fun addMenuItems() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = frameMetrics(*toolbarSections),
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = {
+            pressHome()
+        }) {
+        startActivityAndWait(app.launchIntent("toolbar.ToolbarActivity"))
+        addToolbarMenuItems(app, itemCount)
+    }
+
+    companion object {
+        /** Test name format of [parameters]. */
+        const val NAME = "items={0}"
+
+        fun parameters(): List<Int> = listOf(2, 5, 10, 20)
+    }
+}
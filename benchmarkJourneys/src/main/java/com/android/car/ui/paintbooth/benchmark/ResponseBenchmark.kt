@@ -0,0 +1,64 @@
+package com.android.car.ui.paintbooth.benchmark
+
+import androidx.benchmark.macro.StartupMode
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule
+import org.junit.Rule
+import org.junit.Test
+
+/**
+ * Frame timing of showing dialogs and of changing the toolbar in [app], with the app's trace
+ * sections for each. [toolbarScrollPercent] is how far ToolbarActivity's list scrolls after each
+ * click. benchmarkA and benchmarkB each subclass it for their app.
+ */
+abstract class ResponseBenchmark(
+    private val app: BenchmarkApp,
+    private val dialogSections: Array<String>,
+    private val toolbarSections: Array<String>,
+    private val toolbarScrollPercent: Float
+) {
+
+    @get:Rule
+    val benchmarkRule = MacrobenchmarkRule()
+    private val iterations = 25
+
+    @Test
+    fun showDialog() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = frameMetrics(*dialogSections),
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = {
+            pressHome()
+        }) {
+        startActivityAndWait(app.launchIntent("dialogs.DialogsActivity"))
+        showDialogs(app)
+    }
+
+    @Test
+    fun toolbarTest() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = frameMetrics(*toolbarSections),
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = {
+            pressHome()
+        }) {
+        startActivityAndWait(app.launchIntent("toolbar.ToolbarActivity"))
+        clickToolbarItems(app, scrollPercent = toolbarScrollPercent)
+    }
+
+    /** The toolbar journey followed by typing into the toolbar's search field. */
+    @Test
+    fun toolbarSearchTest() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = frameMetrics(*toolbarSections),
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = {
+            pressHome()
+        }) {
+        startActivityAndWait(app.launchIntent("toolbar.ToolbarActivity"))
+        clickToolbarItems(app, scrollPercent = toolbarScrollPercent)
+        searchToolbar()
+    }
+}
@@ -0,0 +1,80 @@
+package com.android.car.ui.paintbooth.benchmark
+
+import androidx.benchmark.macro.ExperimentalMetricApi
+import androidx.benchmark.macro.FrameTimingMetric
+import androidx.benchmark.macro.MemoryUsageMetric
+import androidx.benchmark.macro.Metric
+import androidx.benchmark.macro.StartupMode
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule
+import org.junit.Rule
+import org.junit.Test
+
+/**
+ * Scrolls the sample lists of [app] at data sizes from 100 to 100,000 rows, for each row mix, with
+ * and without icons, and in a grid, to show how frame timing and memory scale. Both apps read the
+ * parameters from the same intent extras; benchmarkA and benchmarkB each subclass it for their app
+ * with [parameters].
+ */
+abstract class ScrollMatrixBenchmark(
+    private val app: BenchmarkApp,
+    private val itemCount: Int,
+    private val rowMix: String,
+    private val icons: Boolean,
+    private val columns: Int
+) {
+
+    @get:Rule
+    val benchmarkRule = MacrobenchmarkRule()
+    private val iterations = 10
+
+    @OptIn(ExperimentalMetricApi::class)
+    private val metrics: List<Metric> = listOf(
+        FrameTimingMetric(),
+        MemoryUsageMetric(mode = MemoryUsageMetric.Mode.Max),
+        MemoryUsageMetric(mode = MemoryUsageMetric.Mode.Last)
+    )
+
+    @Test
+    fun scroll() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = metrics,
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = {
+            pressHome()
+        }) {
+        val activity = if (columns > 1) {
+            "caruirecyclerview.GridCarUiRecyclerViewActivity"
+        } else {
+            "caruirecyclerview.CarUiRecyclerViewActivity"
+        }
+        startActivityAndWait(
+            app.launchIntent(activity)
+                .putExtra("item_count", itemCount)
+                .putExtra("row_mix", rowMix)
+                .putExtra("icons", icons)
+                .putExtra("columns", columns)
+        )
+        scrollList(app, 20)
+    }
+
+    companion object {
+        private val itemCounts = listOf(100, 1_000, 10_000, 100_000)
+
+        /** `[rowMix, icons, columns]` at every item count. */
+        private val shapes = listOf(
+            arrayOf<Any>("text", false, 1),
+            arrayOf<Any>("content", false, 1),
+            arrayOf<Any>("content", true, 1),
+            arrayOf<Any>("mixed", true, 1),
+            arrayOf<Any>("text", false, 4)
+        )
+
+        /** Test name format of [parameters]. */
+        const val NAME = "items={0},rows={1},icons={2},columns={3}"
+
+        /** `[itemCount, rowMix, icons, columns]` for every shape at every item count. */
+        fun parameters(): List<Array<Any>> =
+            itemCounts.flatMap { itemCount -> shapes.map { arrayOf<Any>(itemCount, *it) } }
+    }
+}
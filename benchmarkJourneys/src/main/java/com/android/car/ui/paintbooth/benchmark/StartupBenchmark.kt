@@ -0,0 +1,263 @@
+package com.android.car.ui.paintbooth.benchmark
+
+import androidx.benchmark.macro.StartupMode
+import androidx.benchmark.macro.StartupTimingMetric
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule
+import org.junit.Rule
+import org.junit.Test
+
+/**
+ * Cold, warm and hot starts of the sample activities of [app]. benchmarkA and benchmarkB each
+ * subclass it for their app.
+ */
+abstract class StartupBenchmark(protected val app: BenchmarkApp) {
+
+    @get:Rule
+    val benchmarkRule = MacrobenchmarkRule()
+    protected val iterations = 25
+
+    // -------------------- MainActivity --------------------
+
+    @Test
+    fun coldStartMainActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "MainActivity")
+    }
+
+    @Test
+    fun warmStartMainActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.WARM,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "MainActivity")
+    }
+
+    @Test
+    fun hotStartMainActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.HOT,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "MainActivity")
+    }
+
+    // -------------------- ToolbarActivity --------------------
+
+    @Test
+    fun coldStartToolbarActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "toolbar.ToolbarActivity")
+    }
+
+    @Test
+    fun warmStartToolbarActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.WARM,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "toolbar.ToolbarActivity")
+    }
+
+    @Test
+    fun hotStartToolbarActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.HOT,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "toolbar.ToolbarActivity")
+    }
+
+    // -------------------- PreferencesActivity --------------------
+
+    @Test
+    fun coldStartPreferencesActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "preferences.PreferenceActivity")
+    }
+
+    @Test
+    fun warmStartPreferencesActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.WARM,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "preferences.PreferenceActivity")
+    }
+
+    @Test
+    fun hotStartPreferencesActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.HOT,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "preferences.PreferenceActivity")
+    }
+
+    // -------------------- DialogsActivity --------------------
+
+    @Test
+    fun coldStartDialogsActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "dialogs.DialogsActivity")
+    }
+
+    @Test
+    fun warmStartDialogsActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.WARM,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "dialogs.DialogsActivity")
+    }
+
+    @Test
+    fun hotStartDialogsActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.HOT,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "dialogs.DialogsActivity")
+    }
+
+    // -------------------- CarUiListItemActivity --------------------
+
+    @Test
+    fun coldStartCarUiListItemActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "caruirecyclerview.CarUiListItemActivity")
+    }
+
+    @Test
+    fun warmStartCarUiListItemActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.WARM,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "caruirecyclerview.CarUiListItemActivity")
+    }
+
+    @Test
+    fun hotStartCarUiListItemActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.HOT,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "caruirecyclerview.CarUiListItemActivity")
+    }
+
+    // -------------------- CarUiRecyclerViewActivity --------------------
+
+    @Test
+    fun coldStartCarUiRecyclerViewActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "caruirecyclerview.CarUiRecyclerViewActivity")
+    }
+
+    @Test
+    fun warmStartCarUiRecyclerViewActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.WARM,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "caruirecyclerview.CarUiRecyclerViewActivity")
+    }
+
+    @Test
+    fun hotStartCarUiRecyclerViewActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.HOT,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "caruirecyclerview.CarUiRecyclerViewActivity")
+    }
+
+    // -------------------- GridCarUiRecyclerViewActivity --------------------
+
+    @Test
+    fun coldStartGridCarUiRecyclerViewActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.COLD,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "caruirecyclerview.GridCarUiRecyclerViewActivity")
+    }
+
+    @Test
+    fun warmStartGridCarUiRecyclerViewActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.WARM,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "caruirecyclerview.GridCarUiRecyclerViewActivity")
+    }
+
+    @Test
+    fun hotStartGridCarUiRecyclerViewActivity() = benchmarkRule.measureRepeated(
+        packageName = app.packageName,
+        metrics = listOf(StartupTimingMetric()),
+        iterations = iterations,
+        startupMode = StartupMode.HOT,
+        setupBlock = { pressHome() }
+    ) {
+        startActivityAndWaitForFullDisplay(app, "caruirecyclerview.GridCarUiRecyclerViewActivity")
+    }
+}
\ No newline at end of file
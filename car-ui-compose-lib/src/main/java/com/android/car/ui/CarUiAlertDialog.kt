@@ -40,15 +40,15 @@ import androidx.compose.runtime.setValue
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.layout.ContentScale
-import androidx.compose.ui.res.colorResource
-import androidx.compose.ui.res.dimensionResource
 import androidx.compose.ui.semantics.contentDescription
 import androidx.compose.ui.semantics.semantics
 import androidx.compose.ui.unit.dp
 import androidx.compose.ui.window.DialogProperties
+import com.android.car.ui.instrumentation.CarUiTrace
 import com.android.car.ui.recyclerview.CarUiCheckBoxListItem
 import com.android.car.ui.recyclerview.CarUiRadioButtonListItem
 import com.android.car.ui.recyclerview.CarUiRecyclerView
+import com.android.car.ui.theme.CarUiTheme
 import com.android.car.ui.toolbar.CarUiEditText
 
 @Composable
@@ -56,12 +56,13 @@ fun CarUiAlertDialog(
     params: CarUiAlertDialogParams
 ) {
     if (!params.show) return
-    val dialogPadding = dimensionResource(id = R.dimen.car_ui_alert_dialog_padding)
-    val iconSize = dimensionResource(id = R.dimen.car_ui_alert_dialog_icon_size)
-    val buttonSpacing = dimensionResource(id = R.dimen.car_ui_alert_dialog_button_spacing)
+    CarUiTrace.begin(CarUiTrace.ALERT_DIALOG)
+    val dialogPadding = CarUiTheme.tokens.alertDialogPadding
+    val iconSize = CarUiTheme.tokens.alertDialogIconSize
+    val buttonSpacing = CarUiTheme.tokens.alertDialogButtonSpacing
 
     AlertDialog(
-        backgroundColor = colorResource(R.color.car_ui_alert_dialog_bg_color),
+        backgroundColor = CarUiTheme.tokens.alertDialogBgColor,
         contentColor = MaterialTheme.colors.onSurface,
         properties = DialogProperties(
             usePlatformDefaultWidth = false,
@@ -96,6 +97,7 @@ fun CarUiAlertDialog(
             }
         },
         text = {
+            CarUiTrace.begin(CarUiTrace.ALERT_DIALOG_CONTENT)
             Column(
                 Modifier
                     .fillMaxWidth()
@@ -116,7 +118,7 @@ fun CarUiAlertDialog(
                     Column(
                         modifier = Modifier
                             .align(alignment = Alignment.CenterVertically)
-                            .padding(start = dimensionResource(R.dimen.car_ui_padding_5))
+                            .padding(start = CarUiTheme.tokens.padding5)
                     ) {
                         params.title?.let {
                             Text(
@@ -214,6 +216,8 @@ fun CarUiAlertDialog(
                     }
                 }
             }
+            CarUiTrace.end()
         },
     )
+    CarUiTrace.end()
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.ui
+
+import androidx.activity.compose.ReportDrawn
+import androidx.activity.compose.ReportDrawnWhen
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.CompositionLocalProvider
+import androidx.compose.runtime.staticCompositionLocalOf
+
+/**
+ * Reports the activity fully drawn, which `StartupTimingMetric` records as the time to full
+ * display, once [content] has drawn what the screen waits for.
+ *
+ * Wrap the screen's content in it once. Inside it, every `CarUiRecyclerView` delays the report
+ * until its first page is laid out with loaded rows, and so does each [CarUiFullyDrawnWhen] until
+ * its predicate is true; a screen without lists or loads reports on its first frame. Lists outside
+ * it never report. Does nothing outside a `ComponentActivity` and after the activity has reported.
+ */
+@Composable
+fun CarUiFullyDrawn(content: @Composable () -> Unit) {
+    ReportDrawn()
+    CompositionLocalProvider(LocalCarUiFullyDrawn provides true, content = content)
+}
+
+/**
+ * Delays the fully drawn report until [predicate] is true, e.g. until a DataStore read that the
+ * screen renders nothing without has finished. [predicate] is read as snapshot state. Outside
+ * [CarUiFullyDrawn] the activity reports as soon as every such predicate is true.
+ */
+@Composable
+fun CarUiFullyDrawnWhen(predicate: () -> Boolean) = ReportDrawnWhen(predicate)
+
+/** Whether the app opted in with [CarUiFullyDrawn], so that library lists delay the report. */
+internal val LocalCarUiFullyDrawn = staticCompositionLocalOf { false }
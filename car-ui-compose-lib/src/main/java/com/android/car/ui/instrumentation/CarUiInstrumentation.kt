@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.ui.instrumentation
+
+import android.util.Log
+import androidx.compose.runtime.Immutable
+import com.android.car.ui.BuildConfig
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * In-memory counters of how often car-ui components compose, keyed by component id.
+ *
+ * Recording is compiled in for debug builds, which the unit tests run against, and for builds
+ * with `-PcarUiInstrumentation=true`; otherwise [isEnabled] is a constant `false` and the calls in
+ * the components are removed as dead code. Tests and benchmarks read the counters with [counters]
+ * or [dump] and clear them with [reset].
+ *
+ * A composition is one execution of a component's body and its time covers that body, including
+ * the children composed inline with it. An instrumented library parent offers a component right
+ * before calling it. An offer is followed either by the component's composition or, when its
+ * parameters did not change, by a skip. Compositions that were not offered are invalidations:
+ * the component recomposed on its own because state it reads changed, or it was called by code
+ * that is not instrumented, such as the app.
+ */
+object CarUiInstrumentation {
+    const val TAG = "CarUiInstrumentation"
+
+    const val TOOLBAR = "CarUiToolbar"
+    const val TOOLBAR_NAV = "CarUiToolbarNavButton"
+    const val TOOLBAR_LOGO = "CarUiToolbarLogo"
+    const val TOOLBAR_TITLE = "CarUiToolbarTitle"
+    const val TOOLBAR_SEARCH = "CarUiToolbarSearch"
+    const val TOOLBAR_MENU = "CarUiToolbarMenu"
+    const val TOOLBAR_MENU_ITEM = "CarUiToolbarMenuItemView"
+    const val TOOLBAR_PROGRESS_BAR = "CarUiToolbarProgressBar"
+    const val SCROLLBAR = "CarUiScrollbar"
+    const val LIST_ITEM_DISPATCHER = "CarUiListItemDispatcher"
+    const val CONTENT_LIST_ITEM = "CarUiContentListItem"
+    const val CHECKBOX_LIST_ITEM = "CarUiCheckBoxListItem"
+    const val CHEVRON_LIST_ITEM = "CarUiChevronListItem"
+    const val ICON_LIST_ITEM = "CarUiIconListItem"
+    const val RADIO_BUTTON_LIST_ITEM = "CarUiRadioButtonListItem"
+    const val SWITCH_LIST_ITEM = "CarUiSwitchListItem"
+    const val HEADER_LIST_ITEM = "CarUiHeaderListItem"
+
+    val isEnabled: Boolean
+        get() = BuildConfig.CAR_UI_INSTRUMENTATION
+
+    private val components = ConcurrentHashMap<String, Counters>()
+
+    // The component offered last whose body has not started yet. Composition, including
+    // subcomposition during measure, runs on the main thread, so this needs no synchronization.
+    private var pendingOffer: Counters? = null
+
+    /** Snapshot of the counters of every component recorded since the last [reset]. */
+    fun counters(): Map<String, CarUiComponentCounters> {
+        settlePendingOffer()
+        return components.mapValues { (_, counters) -> counters.snapshot() }
+    }
+
+    /** Counters of the component with [id], all zero if it has not been recorded. */
+    fun counters(id: String): CarUiComponentCounters {
+        settlePendingOffer()
+        return components[id]?.snapshot() ?: CarUiComponentCounters(0, 0, 0, 0, 0)
+    }
+
+    fun reset() {
+        pendingOffer = null
+        components.clear()
+    }
+
+    /** One line per component, sorted by id. */
+    fun dump(): String = counters().entries
+        .sortedBy { it.key }
+        .joinToString(separator = "\n") { (id, counters) -> "$id: $counters" }
+
+    /** Writes [dump] to logcat under [TAG], e.g. for a benchmark to collect with `logcat -d`. */
+    fun log() {
+        if (isEnabled) Log.i(TAG, dump())
+    }
+
+    /** Called first in the body of the component with [id]. */
+    internal inline fun begin(id: String): Long = if (isEnabled) recordBegin(id) else 0L
+
+    /** Called last in the body of the component with [id], with the value [begin] returned. */
+    internal inline fun end(id: String, start: Long) {
+        if (isEnabled) recordEnd(id, start)
+    }
+
+    /** Called by a library parent right before it calls the component with [id]. */
+    internal inline fun offer(id: String) {
+        if (isEnabled) recordOffer(id)
+    }
+
+    internal fun recordBegin(id: String): Long {
+        val counters = countersOf(id)
+        if (pendingOffer === counters) {
+            pendingOffer = null
+            counters.offeredCompositions.incrementAndGet()
+        } else {
+            settlePendingOffer()
+        }
+        return System.nanoTime()
+    }
+
+    internal fun recordEnd(id: String, start: Long) {
+        settlePendingOffer()
+        countersOf(id).record(System.nanoTime() - start)
+    }
+
+    internal fun recordOffer(id: String) {
+        settlePendingOffer()
+        val counters = countersOf(id)
+        counters.offers.incrementAndGet()
+        pendingOffer = counters
+    }
+
+    // Anything recorded after an offer other than the offered component's begin means that the
+    // component was skipped.
+    private fun settlePendingOffer() {
+        pendingOffer?.skips?.incrementAndGet()
+        pendingOffer = null
+    }
+
+    internal fun countersOf(id: String): Counters = components.getOrPut(id) { Counters() }
+
+    internal class Counters {
+        val offers = AtomicLong()
+        val offeredCompositions = AtomicLong()
+        val skips = AtomicLong()
+        private val compositions = AtomicLong()
+        private val nanos = AtomicLong()
+
+        fun record(durationNanos: Long) {
+            compositions.incrementAndGet()
+            nanos.addAndGet(durationNanos)
+        }
+
+        fun snapshot(): CarUiComponentCounters {
+            val composed = compositions.get()
+            return CarUiComponentCounters(
+                offers = offers.get(),
+                compositions = composed,
+                skips = skips.get(),
+                invalidations = (composed - offeredCompositions.get()).coerceAtLeast(0),
+                compositionNanos = nanos.get()
+            )
+        }
+    }
+}
+
+/**
+ * Counters of one component. [compositions] is the sum of the compositions that followed an offer
+ * and the [invalidations]; [offers] is the sum of those offered compositions and the [skips].
+ */
+@Immutable
+data class CarUiComponentCounters(
+    val offers: Long,
+    val compositions: Long,
+    val skips: Long,
+    val invalidations: Long,
+    val compositionNanos: Long
+)
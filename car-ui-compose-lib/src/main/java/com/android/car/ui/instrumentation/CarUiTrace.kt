@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.ui.instrumentation
+
+import android.os.Trace
+
+/**
+ * Names of the trace sections emitted by car-ui components, so that a slow frame in a system
+ * trace, or a `TraceSectionMetric` in a macrobenchmark, can be attributed to a component.
+ *
+ * Each section covers one composition of the component's body. Content that Compose composes
+ * separately, such as lazy list rows and dialog windows, has its own section. The toolbar menu
+ * items section covers one measure pass of the toolbar's menu item row. The search sections cover
+ * one [com.android.car.ui.recyclerview.CarUiSearchIndex] build or query, which run off the main
+ * thread.
+ */
+object CarUiTrace {
+    const val RECYCLER_VIEW = "CarUiRecyclerView"
+    const val RECYCLER_VIEW_ITEM = "CarUiRecyclerView:item"
+    const val LIST_ITEM = "CarUiListItem"
+    const val TOOLBAR = "CarUiToolbar"
+    const val TOOLBAR_MENU_ITEMS = "CarUiToolbar:menuItems"
+    const val ALERT_DIALOG = "CarUiAlertDialog"
+    const val ALERT_DIALOG_CONTENT = "CarUiAlertDialog:content"
+    const val PREFERENCE = "CarUiPreference"
+    const val CHECKBOX_PREFERENCE = "CarUiCheckboxPreference"
+    const val EDIT_TEXT_PREFERENCE = "CarUiEditTextPreference"
+    const val LIST_PREFERENCE = "CarUiListPreference"
+    const val PREFERENCE_CATEGORY = "CarUiPreferenceCategory"
+    const val RADIO_BUTTON_PREFERENCE = "CarUiRadioButtonPreference"
+    const val SWITCH_PREFERENCE = "CarUiSwitchPreference"
+    const val SEARCH_INDEX_BUILD = "CarUiSearchIndex:build"
+    const val SEARCH_INDEX_QUERY = "CarUiSearchIndex:query"
+
+    internal inline fun begin(section: String) {
+        Trace.beginSection(section)
+    }
+
+    internal inline fun end() {
+        Trace.endSection()
+    }
+}
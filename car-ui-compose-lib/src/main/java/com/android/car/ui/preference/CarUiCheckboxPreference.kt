@@ -32,7 +32,6 @@ import androidx.compose.material.ContentAlpha
 import androidx.compose.material.Icon
 import androidx.compose.material.MaterialTheme
 import androidx.compose.material.Surface
-import androidx.compose.material.Text
 import androidx.compose.runtime.Composable
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
@@ -40,10 +39,12 @@ import androidx.compose.ui.draw.alpha
 import androidx.compose.ui.draw.scale
 import androidx.compose.ui.graphics.painter.Painter
 import androidx.compose.ui.layout.ContentScale
-import androidx.compose.ui.res.dimensionResource
 import androidx.compose.ui.res.painterResource
 import androidx.compose.ui.unit.dp
 import com.android.car.ui.R
+import com.android.car.ui.instrumentation.CarUiTrace
+import com.android.car.ui.theme.CarUiTheme
+import com.android.car.ui.widget.CarUiText
 
 @Composable
 fun CarUiCheckboxPreference(
@@ -60,13 +61,14 @@ fun CarUiCheckboxPreference(
     showChevron: Boolean = false,
     modifier: Modifier = Modifier,
 ) {
+    CarUiTrace.begin(CarUiTrace.CHECKBOX_PREFERENCE)
     val isEnabled = enabled && !restricted && LocalPreferenceCategoryEnabled.current
     val isClickable = (enabled || clickableWhileDisabled) && !restricted
     val background = MaterialTheme.colors.background
-    val padding = dimensionResource(id = R.dimen.car_ui_pref_padding)
-    val minHeight = dimensionResource(id = R.dimen.car_ui_pref_min_height)
-    val iconSize = dimensionResource(id = R.dimen.car_ui_pref_icon_size)
-    val iconSpacing = dimensionResource(id = R.dimen.car_ui_pref_icon_spacing)
+    val padding = CarUiTheme.tokens.prefPadding
+    val minHeight = CarUiTheme.tokens.prefMinHeight
+    val iconSize = CarUiTheme.tokens.prefIconSize
+    val iconSpacing = CarUiTheme.tokens.prefIconSpacing
     val shape = MaterialTheme.shapes.medium
 
     Surface(
@@ -106,13 +108,13 @@ fun CarUiCheckboxPreference(
                     .weight(1f)
                     .padding(start = if (icon != null) iconSpacing else 0.dp)
             ) {
-                Text(
+                CarUiText(
                     text = title,
                     style = MaterialTheme.typography.body1,
                     color = MaterialTheme.colors.onSurface
                 )
                 if (!summary.isNullOrBlank()) {
-                    Text(
+                    CarUiText(
                         text = summary,
                         style = MaterialTheme.typography.subtitle1,
                         color = MaterialTheme.colors.onSecondary
@@ -138,4 +140,5 @@ fun CarUiCheckboxPreference(
             )
         }
     }
+    CarUiTrace.end()
 }
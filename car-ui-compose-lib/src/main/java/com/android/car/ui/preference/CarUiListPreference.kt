@@ -30,7 +30,6 @@ import androidx.compose.material.ContentAlpha
 import androidx.compose.material.Icon
 import androidx.compose.material.MaterialTheme
 import androidx.compose.material.Surface
-import androidx.compose.material.Text
 import androidx.compose.runtime.Composable
 import androidx.compose.runtime.getValue
 import androidx.compose.runtime.mutableStateOf
@@ -41,12 +40,14 @@ import androidx.compose.ui.Modifier
 import androidx.compose.ui.draw.alpha
 import androidx.compose.ui.graphics.painter.Painter
 import androidx.compose.ui.layout.ContentScale
-import androidx.compose.ui.res.dimensionResource
 import androidx.compose.ui.res.painterResource
 import androidx.compose.ui.unit.dp
 import com.android.car.ui.CarUiAlertDialog
 import com.android.car.ui.CarUiAlertDialogParams
 import com.android.car.ui.R
+import com.android.car.ui.instrumentation.CarUiTrace
+import com.android.car.ui.theme.CarUiTheme
+import com.android.car.ui.widget.CarUiText
 
 @Composable
 fun CarUiListPreference(
@@ -66,15 +67,16 @@ fun CarUiListPreference(
     useSimpleSummaryProvider: Boolean = false,
     modifier: Modifier = Modifier,
 ) {
+    CarUiTrace.begin(CarUiTrace.LIST_PREFERENCE)
     require(entries.size == entryValues.size) { "entries and entryValues must be the same size." }
     var dialogOpen by remember { mutableStateOf(false) }
     val selectedIndex = entryValues.indexOf(selectedValue).takeIf { it >= 0 } ?: -1
     val isEnabled = enabled && !restricted && LocalPreferenceCategoryEnabled.current
     val background = MaterialTheme.colors.background
-    val padding = dimensionResource(id = R.dimen.car_ui_pref_padding)
-    val minHeight = dimensionResource(id = R.dimen.car_ui_pref_min_height)
-    val iconSize = dimensionResource(id = R.dimen.car_ui_pref_icon_size)
-    val iconSpacing = dimensionResource(id = R.dimen.car_ui_pref_icon_spacing)
+    val padding = CarUiTheme.tokens.prefPadding
+    val minHeight = CarUiTheme.tokens.prefMinHeight
+    val iconSize = CarUiTheme.tokens.prefIconSize
+    val iconSpacing = CarUiTheme.tokens.prefIconSpacing
     val shape = MaterialTheme.shapes.medium
 
     Surface(
@@ -111,7 +113,7 @@ fun CarUiListPreference(
             }
             Column(Modifier.weight(1f)
                 .padding(start = if (icon != null) iconSpacing else 0.dp)) {
-                Text(
+                CarUiText(
                     text = title,
                     style = MaterialTheme.typography.body1,
                     color = MaterialTheme.colors.onSurface
@@ -124,7 +126,7 @@ fun CarUiListPreference(
                     !summary.isNullOrBlank() -> summary
                     else -> ""
                 }
-                Text(
+                CarUiText(
                     text = shownSummary,
                     style = MaterialTheme.typography.subtitle1,
                     color = MaterialTheme.colors.onSecondary
@@ -155,4 +157,5 @@ fun CarUiListPreference(
             onDismiss = { dialogOpen = false }
         )
     )
+    CarUiTrace.end()
 }
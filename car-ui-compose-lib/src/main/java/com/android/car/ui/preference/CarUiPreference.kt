@@ -30,19 +30,20 @@ import androidx.compose.material.ContentAlpha
 import androidx.compose.material.Icon
 import androidx.compose.material.MaterialTheme
 import androidx.compose.material.Surface
-import androidx.compose.material.Text
 import androidx.compose.runtime.Composable
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.draw.alpha
 import androidx.compose.ui.graphics.painter.Painter
 import androidx.compose.ui.layout.ContentScale
-import androidx.compose.ui.res.dimensionResource
 import androidx.compose.ui.res.painterResource
 import androidx.compose.ui.text.AnnotatedString
 import androidx.compose.ui.text.style.TextOverflow
 import androidx.compose.ui.unit.dp
 import com.android.car.ui.R
+import com.android.car.ui.instrumentation.CarUiTrace
+import com.android.car.ui.theme.CarUiTheme
+import com.android.car.ui.widget.CarUiText
 
 @Composable
 fun CarUiPreference(
@@ -57,13 +58,14 @@ fun CarUiPreference(
     onRestrictedClick: (() -> Unit)? = null,
     modifier: Modifier = Modifier,
 ) {
+    CarUiTrace.begin(CarUiTrace.PREFERENCE)
     val isEnabled = enabled && !restricted && LocalPreferenceCategoryEnabled.current
     val clickable = isEnabled || clickableWhileDisabled
     val background = MaterialTheme.colors.background
-    val padding = dimensionResource(id = R.dimen.car_ui_pref_padding)
-    val minHeight = dimensionResource(id = R.dimen.car_ui_pref_min_height)
-    val iconSize = dimensionResource(id = R.dimen.car_ui_pref_icon_size)
-    val iconSpacing = dimensionResource(id = R.dimen.car_ui_pref_icon_spacing)
+    val padding = CarUiTheme.tokens.prefPadding
+    val minHeight = CarUiTheme.tokens.prefMinHeight
+    val iconSize = CarUiTheme.tokens.prefIconSize
+    val iconSpacing = CarUiTheme.tokens.prefIconSpacing
     val shape = MaterialTheme.shapes.medium
 
     Surface(
@@ -102,7 +104,7 @@ fun CarUiPreference(
                     .weight(1f)
                     .padding(start = if (icon != null) iconSpacing else 0.dp)
             ) {
-                Text(
+                CarUiText(
                     text = title,
                     style = MaterialTheme.typography.body1,
                     color = MaterialTheme.colors.onSurface,
@@ -110,7 +112,7 @@ fun CarUiPreference(
                     overflow = TextOverflow.Ellipsis
                 )
                 if (!summary.isNullOrBlank()) {
-                    Text(
+                    CarUiText(
                         text = summary,
                         style = MaterialTheme.typography.subtitle1,
                         color = MaterialTheme.colors.onSecondary
@@ -127,4 +129,5 @@ fun CarUiPreference(
             }
         }
     }
+    CarUiTrace.end()
 }
@@ -23,12 +23,13 @@ import androidx.compose.foundation.layout.ColumnScope
 import androidx.compose.foundation.layout.fillMaxWidth
 import androidx.compose.foundation.layout.padding
 import androidx.compose.material.MaterialTheme
-import androidx.compose.material.Text
 import androidx.compose.runtime.Composable
 import androidx.compose.runtime.CompositionLocalProvider
 import androidx.compose.runtime.compositionLocalOf
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.unit.dp
+import com.android.car.ui.instrumentation.CarUiTrace
+import com.android.car.ui.widget.CarUiText
 
 val LocalPreferenceCategoryEnabled = compositionLocalOf { true }
 
@@ -39,13 +40,14 @@ fun CarUiPreferenceCategory(
     modifier: Modifier = Modifier,
     content: @Composable ColumnScope.() -> Unit
 ) {
+    CarUiTrace.begin(CarUiTrace.PREFERENCE_CATEGORY)
     CompositionLocalProvider(LocalPreferenceCategoryEnabled provides enabled) {
         Column(
             modifier
                 .fillMaxWidth()
                 .padding(top = 16.dp, bottom = 16.dp, start = 24.dp)
         ) {
-            Text(
+            CarUiText(
                 text = title,
                 style = MaterialTheme.typography.h3,
                 color = if (enabled) MaterialTheme.colors.onSurface else MaterialTheme.colors.onSecondary
@@ -53,4 +55,5 @@ fun CarUiPreferenceCategory(
             content()
         }
     }
+    CarUiTrace.end()
 }
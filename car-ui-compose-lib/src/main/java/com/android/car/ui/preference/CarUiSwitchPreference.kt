@@ -31,7 +31,6 @@ import androidx.compose.material.Icon
 import androidx.compose.material.MaterialTheme
 import androidx.compose.material.Surface
 import androidx.compose.material.Switch
-import androidx.compose.material.Text
 import androidx.compose.runtime.Composable
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
@@ -39,10 +38,12 @@ import androidx.compose.ui.draw.alpha
 import androidx.compose.ui.draw.scale
 import androidx.compose.ui.graphics.painter.Painter
 import androidx.compose.ui.layout.ContentScale
-import androidx.compose.ui.res.dimensionResource
 import androidx.compose.ui.res.painterResource
 import androidx.compose.ui.unit.dp
 import com.android.car.ui.R
+import com.android.car.ui.instrumentation.CarUiTrace
+import com.android.car.ui.theme.CarUiTheme
+import com.android.car.ui.widget.CarUiText
 
 @Composable
 fun CarUiSwitchPreference(
@@ -59,13 +60,14 @@ fun CarUiSwitchPreference(
     showChevron: Boolean = false,
     modifier: Modifier = Modifier,
 ) {
+    CarUiTrace.begin(CarUiTrace.SWITCH_PREFERENCE)
     val isEnabled = enabled && !restricted && LocalPreferenceCategoryEnabled.current
     val isClickable = (enabled || clickableWhileDisabled) && !restricted
     val background = MaterialTheme.colors.background
-    val padding = dimensionResource(id = R.dimen.car_ui_pref_padding)
-    val minHeight = dimensionResource(id = R.dimen.car_ui_pref_min_height)
-    val iconSize = dimensionResource(id = R.dimen.car_ui_pref_icon_size)
-    val iconSpacing = dimensionResource(id = R.dimen.car_ui_pref_icon_spacing)
+    val padding = CarUiTheme.tokens.prefPadding
+    val minHeight = CarUiTheme.tokens.prefMinHeight
+    val iconSize = CarUiTheme.tokens.prefIconSize
+    val iconSpacing = CarUiTheme.tokens.prefIconSpacing
     val shape = MaterialTheme.shapes.medium
 
     Surface(
@@ -105,13 +107,13 @@ fun CarUiSwitchPreference(
                     .weight(1f)
                     .padding(start = if (icon != null) iconSpacing else 0.dp)
             ) {
-                Text(
+                CarUiText(
                     text = title,
                     style = MaterialTheme.typography.body1,
                     color = MaterialTheme.colors.onSurface
                 )
                 if (!summary.isNullOrBlank()) {
-                    Text(
+                    CarUiText(
                         text = summary,
                         style = MaterialTheme.typography.subtitle1,
                         color = MaterialTheme.colors.onSecondary
@@ -136,4 +138,5 @@ fun CarUiSwitchPreference(
             )
         }
     }
+    CarUiTrace.end()
 }
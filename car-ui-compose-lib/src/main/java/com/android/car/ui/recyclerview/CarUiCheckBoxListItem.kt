@@ -24,19 +24,22 @@ import androidx.compose.material.MaterialTheme
 import androidx.compose.runtime.Composable
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.draw.scale
-import androidx.compose.ui.graphics.painter.Painter
+import com.android.car.ui.instrumentation.CarUiInstrumentation
+import com.android.car.ui.widget.CarUiImage
 
 @Composable
 fun CarUiCheckBoxListItem(
     title: String? = null,
     body: String? = null,
-    icon: Painter? = null,
+    icon: CarUiImage? = null,
     iconType: CarUiContentListItemIconType = CarUiContentListItemIconType.STANDARD,
     checked: Boolean = false,
     enabled: Boolean = true,
     restricted: Boolean = false,
     onCheckedChange: ((Boolean) -> Unit)? = null,
 ) {
+    val instrumentationStart = CarUiInstrumentation.begin(CarUiInstrumentation.CHECKBOX_LIST_ITEM)
+    CarUiInstrumentation.offer(CarUiInstrumentation.CONTENT_LIST_ITEM)
     CarUiContentListItem(
         title = title,
         body = body,
@@ -57,4 +60,5 @@ fun CarUiCheckBoxListItem(
             )
         }
     )
+    CarUiInstrumentation.end(CarUiInstrumentation.CHECKBOX_LIST_ITEM, instrumentationStart)
 }
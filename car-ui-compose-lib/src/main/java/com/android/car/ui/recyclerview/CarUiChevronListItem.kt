@@ -22,21 +22,24 @@ import androidx.compose.foundation.layout.size
 import androidx.compose.material.Icon
 import androidx.compose.runtime.Composable
 import androidx.compose.ui.Modifier
-import androidx.compose.ui.graphics.painter.Painter
-import androidx.compose.ui.res.dimensionResource
 import androidx.compose.ui.res.painterResource
 import com.android.car.ui.R
+import com.android.car.ui.instrumentation.CarUiInstrumentation
+import com.android.car.ui.theme.CarUiTheme
+import com.android.car.ui.widget.CarUiImage
 
 @Composable
 fun CarUiChevronListItem(
     title: String? = null,
     body: String? = null,
-    icon: Painter? = null,
+    icon: CarUiImage? = null,
     iconType: CarUiContentListItemIconType = CarUiContentListItemIconType.STANDARD,
     enabled: Boolean = true,
     restricted: Boolean = false,
     onClick: (() -> Unit)? = null,
 ) {
+    val instrumentationStart = CarUiInstrumentation.begin(CarUiInstrumentation.CHEVRON_LIST_ITEM)
+    CarUiInstrumentation.offer(CarUiInstrumentation.CONTENT_LIST_ITEM)
     CarUiContentListItem(
         title = title,
         body = body,
@@ -49,8 +52,9 @@ fun CarUiChevronListItem(
             Icon(
                 painter = painterResource(id = R.drawable.car_ui_icon_chevron),
                 contentDescription = null,
-                modifier = Modifier.size(dimensionResource(id = R.dimen.car_ui_list_item_chevron_size))
+                modifier = Modifier.size(CarUiTheme.tokens.listItemChevronSize)
             )
         }
     )
+    CarUiInstrumentation.end(CarUiInstrumentation.CHEVRON_LIST_ITEM, instrumentationStart)
 }
\ No newline at end of file
@@ -34,16 +34,17 @@ import androidx.compose.foundation.shape.CircleShape
 import androidx.compose.material.ContentAlpha
 import androidx.compose.material.MaterialTheme
 import androidx.compose.material.Surface
-import androidx.compose.material.Text
 import androidx.compose.runtime.Composable
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.draw.clip
-import androidx.compose.ui.graphics.painter.Painter
-import androidx.compose.ui.res.colorResource
-import androidx.compose.ui.res.dimensionResource
+import androidx.compose.ui.graphics.Color
 import androidx.compose.ui.unit.dp
-import com.android.car.ui.R
+import com.android.car.ui.instrumentation.CarUiInstrumentation
+import com.android.car.ui.theme.CarUiTheme
+import com.android.car.ui.widget.CarUiImage
+import com.android.car.ui.widget.CarUiText
+import com.android.car.ui.widget.painter
 
 enum class CarUiContentListItemIconType { STANDARD, AVATAR, CONTENT }
 
@@ -51,35 +52,36 @@ enum class CarUiContentListItemIconType { STANDARD, AVATAR, CONTENT }
 fun CarUiContentListItem(
     title: String? = null,
     body: String? = null,
-    icon: Painter? = null,
+    icon: CarUiImage? = null,
     iconType: CarUiContentListItemIconType = CarUiContentListItemIconType.STANDARD,
     enabled: Boolean = true,
     restricted: Boolean = false,
     onClick: (() -> Unit)? = null,
     trailingContent: (@Composable () -> Unit)? = null
 ) {
-    val standardIconSize = dimensionResource(id = R.dimen.car_ui_primary_icon_size)
-    val avatarIconSize = dimensionResource(id = R.dimen.car_ui_primary_icon_size)
-    val contentIconSize = dimensionResource(id = R.dimen.car_ui_list_item_icon_container_width)
+    val instrumentationStart = CarUiInstrumentation.begin(CarUiInstrumentation.CONTENT_LIST_ITEM)
+    val standardIconSize = CarUiTheme.tokens.primaryIconSize
+    val avatarIconSize = CarUiTheme.tokens.primaryIconSize
+    val contentIconSize = CarUiTheme.tokens.listItemIconContainerWidth
 
     Surface(
         modifier = Modifier
             .fillMaxWidth()
-            .heightIn(min = dimensionResource(id = R.dimen.car_ui_list_item_height))
+            .heightIn(min = CarUiTheme.tokens.listItemHeight)
             .then(if (enabled && !restricted && onClick != null) Modifier.clickable { onClick() } else Modifier),
-        color = colorResource(android.R.color.transparent)
+        color = Color.Transparent
     ) {
         Row(
             modifier = Modifier
                 .wrapContentHeight()
-                .width(dimensionResource(R.dimen.car_ui_list_item_icon_container_width)),
+                .width(CarUiTheme.tokens.listItemIconContainerWidth),
             verticalAlignment = Alignment.CenterVertically,
         ) {
             icon?.let {
                 when (iconType) {
                     CarUiContentListItemIconType.AVATAR -> {
                         Image(
-                            painter = it,
+                            painter = it.painter(),
                             contentDescription = null,
                             modifier = Modifier
                                 .size(avatarIconSize)
@@ -89,7 +91,7 @@ fun CarUiContentListItem(
 
                     CarUiContentListItemIconType.CONTENT -> {
                         Image(
-                            painter = it,
+                            painter = it.painter(),
                             contentDescription = null,
                             modifier = Modifier
                                 .size(contentIconSize)
@@ -98,7 +100,7 @@ fun CarUiContentListItem(
 
                     CarUiContentListItemIconType.STANDARD -> {
                         Image(
-                            painter = it,
+                            painter = it.painter(),
                             contentDescription = null,
                             modifier = Modifier.size(standardIconSize)
                         )
@@ -108,24 +110,26 @@ fun CarUiContentListItem(
             Column(
                 modifier = Modifier
                     .weight(1f)
-                    .padding(start = dimensionResource(R.dimen.car_ui_list_item_text_start_margin))
+                    .padding(start = CarUiTheme.tokens.listItemTextStartMargin)
             ) {
                 if (!title.isNullOrBlank()) {
-                    Text(
+                    CarUiText(
                         text = title,
                         style = MaterialTheme.typography.body1,
                         color = if (enabled) MaterialTheme.colors.onSurface else MaterialTheme.colors.onSurface.copy(
                             alpha = ContentAlpha.disabled
-                        )
+                        ),
+                        layoutSlot = CarUiListItemTextSlot.CONTENT_TITLE
                     )
                 }
                 if (!body.isNullOrBlank()) {
-                    Text(
+                    CarUiText(
                         text = body,
                         style = MaterialTheme.typography.subtitle1,
                         color = if (enabled) MaterialTheme.colors.onSecondary else MaterialTheme.colors.onSurface.copy(
                             alpha = ContentAlpha.disabled
-                        )
+                        ),
+                        layoutSlot = CarUiListItemTextSlot.CONTENT_BODY
                     )
                 }
             }
@@ -141,4 +145,5 @@ fun CarUiContentListItem(
             }
         }
     }
+    CarUiInstrumentation.end(CarUiInstrumentation.CONTENT_LIST_ITEM, instrumentationStart)
 }
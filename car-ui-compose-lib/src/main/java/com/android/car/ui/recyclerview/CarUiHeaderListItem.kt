@@ -25,12 +25,12 @@ import androidx.compose.foundation.layout.height
 import androidx.compose.foundation.layout.padding
 import androidx.compose.foundation.layout.wrapContentHeight
 import androidx.compose.material.MaterialTheme
-import androidx.compose.material.Text
 import androidx.compose.runtime.Composable
 import androidx.compose.ui.Modifier
-import androidx.compose.ui.res.dimensionResource
 import androidx.compose.ui.text.style.TextAlign
-import com.android.car.ui.R
+import com.android.car.ui.instrumentation.CarUiInstrumentation
+import com.android.car.ui.theme.CarUiTheme
+import com.android.car.ui.widget.CarUiText
 
 @Composable
 fun CarUiHeaderListItem(
@@ -38,29 +38,31 @@ fun CarUiHeaderListItem(
     body: String? = null,
     modifier: Modifier = Modifier
 ) {
+    val instrumentationStart = CarUiInstrumentation.begin(CarUiInstrumentation.HEADER_LIST_ITEM)
     Column(
         modifier = modifier
-            .height(dimensionResource(R.dimen.car_ui_list_item_header_height))
+            .height(CarUiTheme.tokens.listItemHeaderHeight)
             .fillMaxWidth(),
         verticalArrangement = Arrangement.Center
     ) {
-        Text(
+        CarUiText(
             text = text,
             color = MaterialTheme.colors.primary,
-            style = MaterialTheme.typography.h3,
-            textAlign = TextAlign.Start,
-            modifier = modifier.wrapContentHeight()
+            style = MaterialTheme.typography.h3.copy(textAlign = TextAlign.Start),
+            modifier = modifier.wrapContentHeight(),
+            layoutSlot = CarUiListItemTextSlot.HEADER_TEXT
         )
         if (!body.isNullOrEmpty()) {
-            Text(
+            CarUiText(
                 text = body,
                 color = MaterialTheme.colors.onSecondary,
-                style = MaterialTheme.typography.h3,
-                textAlign = TextAlign.Start,
+                style = MaterialTheme.typography.h3.copy(textAlign = TextAlign.Start),
                 modifier = Modifier
                     .wrapContentHeight()
-                    .padding(start = dimensionResource(R.dimen.car_ui_list_item_text_no_icon_start_margin))
+                    .padding(start = CarUiTheme.tokens.listItemTextNoIconStartMargin),
+                layoutSlot = CarUiListItemTextSlot.HEADER_BODY
             )
         }
     }
+    CarUiInstrumentation.end(CarUiInstrumentation.HEADER_LIST_ITEM, instrumentationStart)
 }
@@ -6,22 +6,25 @@ import androidx.compose.material.Icon
 import androidx.compose.runtime.Composable
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.graphics.Color
-import androidx.compose.ui.graphics.painter.Painter
-import androidx.compose.ui.res.dimensionResource
-import com.android.car.ui.R
+import com.android.car.ui.instrumentation.CarUiInstrumentation
+import com.android.car.ui.theme.CarUiTheme
+import com.android.car.ui.widget.CarUiImage
+import com.android.car.ui.widget.painter
 
 @Composable
 fun CarUiIconListItem(
     title: String? = null,
     body: String? = null,
-    icon: Painter? = null,
+    icon: CarUiImage? = null,
     iconType: CarUiContentListItemIconType = CarUiContentListItemIconType.STANDARD,
-    trailingIcon: Painter,
+    trailingIcon: CarUiImage,
     enabled: Boolean = true,
     restricted: Boolean = false,
     onClick: (() -> Unit)? = null,
     onSupplementalIconClick: (() -> Unit)? = null,
 ) {
+    val instrumentationStart = CarUiInstrumentation.begin(CarUiInstrumentation.ICON_LIST_ITEM)
+    CarUiInstrumentation.offer(CarUiInstrumentation.CONTENT_LIST_ITEM)
     CarUiContentListItem(
         title = title,
         body = body,
@@ -32,11 +35,11 @@ fun CarUiIconListItem(
         onClick = onClick,
         trailingContent = {
             Icon(
-                painter = trailingIcon,
+                painter = trailingIcon.painter(),
                 contentDescription = null,
                 tint = Color.Unspecified,
                 modifier = Modifier
-                    .size(dimensionResource(id = R.dimen.car_ui_primary_icon_size))
+                    .size(CarUiTheme.tokens.primaryIconSize)
                     .then(
                         if (enabled && !restricted && onSupplementalIconClick != null)
                             Modifier.clickable(
@@ -47,4 +50,5 @@ fun CarUiIconListItem(
             )
         }
     )
+    CarUiInstrumentation.end(CarUiInstrumentation.ICON_LIST_ITEM, instrumentationStart)
 }
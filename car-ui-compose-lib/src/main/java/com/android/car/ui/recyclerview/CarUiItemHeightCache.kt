@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.ui.recyclerview
+
+/**
+ * Measured heights of the rows of a lazy list, keyed by index.
+ *
+ * Heights are only valid while the rows stay at their index, so the cache forgets them when the
+ * number of rows changes or when a row is recorded with a different key than before.
+ *
+ * Heights are kept in primitive arrays together with two Fenwick trees over the measured heights
+ * and the number of measured rows, so recording a height and querying the offset of a row are both
+ * O(log n). Rows that have not been laid out yet are estimated from the average of the measured
+ * ones, which lets [CarUiScrollbar] report a pixel offset and total extent for lists whose rows
+ * differ in height.
+ *
+ * The cache is not snapshot state and is meant to be updated and read from the layout or draw phase
+ * on the main thread.
+ */
+class CarUiItemHeightCache {
+    private var itemCount = 0
+    private var heights = IntArray(0)
+    private var keys = arrayOfNulls<Any>(0)
+    private var heightTree = LongArray(1)
+    private var countTree = IntArray(1)
+    private var measuredHeight = 0L
+    private var measuredCount = 0
+
+    /** Number of rows the cache covers. Changing it forgets every measured height. */
+    var size: Int
+        get() = itemCount
+        set(value) {
+            require(value >= 0) { "size must not be negative: $value" }
+            if (value == itemCount) return
+            if (value > heights.size) {
+                val capacity = maxOf(value, heights.size * 2)
+                heights = IntArray(capacity)
+                keys = arrayOfNulls(capacity)
+            }
+            itemCount = value
+            clear()
+        }
+
+    /** Average height of the measured rows, used for the rows that have not been measured. */
+    val estimatedHeight: Float
+        get() = if (measuredCount == 0) 0f else measuredHeight.toFloat() / measuredCount
+
+    /**
+     * Records the measured [height] of the row at [index]. A [key] other than the one recorded
+     * before for [index] means the data changed, and the heights of all rows are forgotten.
+     */
+    fun record(index: Int, height: Int, key: Any? = null) {
+        if (index !in 0 until itemCount) return
+        if (key != null) {
+            val previousKey = keys[index]
+            if (previousKey != null && previousKey != key) clear()
+            keys[index] = key
+        }
+        val previous = heights[index]
+        if (previous == height) return
+        heights[index] = height
+        val countDelta = if (previous == UNMEASURED) 1 else 0
+        val heightDelta = height.toLong() - if (previous == UNMEASURED) 0 else previous
+        measuredHeight += heightDelta
+        measuredCount += countDelta
+        var i = index + 1
+        while (i <= itemCount) {
+            heightTree[i] += heightDelta
+            countTree[i] += countDelta
+            i += i and -i
+        }
+    }
+
+    /** Distance in pixels from the top of the content to the top of the row at [index]. */
+    fun offsetOf(index: Int): Float {
+        val end = index.coerceIn(0, itemCount)
+        var height = 0L
+        var count = 0
+        var i = end
+        while (i > 0) {
+            height += heightTree[i]
+            count += countTree[i]
+            i -= i and -i
+        }
+        return height + (end - count) * estimatedHeight
+    }
+
+    /** Estimated height in pixels of all rows. */
+    fun totalHeight(): Float = measuredHeight + (itemCount - measuredCount) * estimatedHeight
+
+    /** Forgets every measured height, for example after the data set is replaced. */
+    fun clear() {
+        heights.fill(UNMEASURED, 0, itemCount)
+        keys.fill(null, 0, itemCount)
+        rebuild()
+    }
+
+    private fun rebuild() {
+        heightTree = LongArray(itemCount + 1)
+        countTree = IntArray(itemCount + 1)
+        measuredHeight = 0L
+        measuredCount = 0
+        for (i in 1..itemCount) {
+            val height = heights[i - 1]
+            if (height != UNMEASURED) {
+                heightTree[i] += height.toLong()
+                countTree[i] += 1
+                measuredHeight += height
+                measuredCount++
+            }
+            val parent = i + (i and -i)
+            if (parent <= itemCount) {
+                heightTree[parent] += heightTree[i]
+                countTree[parent] += countTree[i]
+            }
+        }
+    }
+
+    private companion object {
+        const val UNMEASURED = -1
+    }
+}
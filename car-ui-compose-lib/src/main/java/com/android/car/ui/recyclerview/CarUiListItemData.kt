@@ -19,29 +19,42 @@
 
 package com.android.car.ui.recyclerview
 
-import androidx.compose.ui.graphics.painter.Painter
+import androidx.compose.runtime.Immutable
+import com.android.car.ui.widget.CarUiImage
 
-sealed class CarUiListItemData {
+/**
+ * Immutable data for a list row, rendered by [CarUiListItemDispatcher].
+ *
+ * Rows skip recomposition while their item is equal to the previous one. Items compare their
+ * callbacks by reference, so `onClick`, `onCheckedChange` and the other lambdas must be stable:
+ * remember them, or pass method references to long-lived objects. A lambda created anew on each
+ * recomposition makes every item unequal and recomposes every visible row.
+ */
+@Immutable
+abstract class CarUiListItemData {
 
+    @Immutable
     data class Header(
         val text: String,
         val body: String? = null
     ) : CarUiListItemData()
 
+    @Immutable
     data class Content(
         val title: String? = null,
         val body: String? = null,
-        val icon: Painter? = null,
+        val icon: CarUiImage? = null,
         val iconType: CarUiContentListItemIconType = CarUiContentListItemIconType.STANDARD,
         val enabled: Boolean = true,
         val restricted: Boolean = false,
         val onClick: (() -> Unit)? = null
     ) : CarUiListItemData()
 
+    @Immutable
     data class ActionCheckBox(
         val title: String,
         val body: String? = null,
-        val icon: Painter? = null,
+        val icon: CarUiImage? = null,
         val iconType: CarUiContentListItemIconType = CarUiContentListItemIconType.STANDARD,
         val checked: Boolean = false,
         val enabled: Boolean = true,
@@ -49,32 +62,35 @@ sealed class CarUiListItemData {
         val onCheckedChange: ((Boolean) -> Unit)? = null
     ) : CarUiListItemData()
 
+    @Immutable
     data class ActionChevron(
         val title: String? = null,
         val body: String? = null,
-        val icon: Painter? = null,
+        val icon: CarUiImage? = null,
         val iconType: CarUiContentListItemIconType = CarUiContentListItemIconType.STANDARD,
         val enabled: Boolean = true,
         val restricted: Boolean = false,
         val onClick: (() -> Unit)? = null
     ) : CarUiListItemData()
 
+    @Immutable
     data class ActionIcon(
         val title: String? = null,
         val body: String? = null,
-        val icon: Painter? = null,
+        val icon: CarUiImage? = null,
         val iconType: CarUiContentListItemIconType = CarUiContentListItemIconType.STANDARD,
-        val trailingIcon: Painter,
+        val trailingIcon: CarUiImage,
         val enabled: Boolean = true,
         val restricted: Boolean = false,
         val onClick: (() -> Unit)? = null,
         val onSupplementalIconClick: (() -> Unit)? = null,
     ) : CarUiListItemData()
 
+    @Immutable
     data class ActionRadioButton(
         val title: String? = null,
         val body: String? = null,
-        val icon: Painter? = null,
+        val icon: CarUiImage? = null,
         val iconType: CarUiContentListItemIconType = CarUiContentListItemIconType.STANDARD,
         val selected: Boolean,
         val enabled: Boolean = true,
@@ -82,10 +98,11 @@ sealed class CarUiListItemData {
         val onSelectedChange: ((Boolean) -> Unit)? = null
     ) : CarUiListItemData()
 
+    @Immutable
     data class ActionSwitch(
         val title: String? = null,
         val body: String? = null,
-        val icon: Painter? = null,
+        val icon: CarUiImage? = null,
         val iconType: CarUiContentListItemIconType = CarUiContentListItemIconType.STANDARD,
         val checked: Boolean = false,
         val enabled: Boolean = true,
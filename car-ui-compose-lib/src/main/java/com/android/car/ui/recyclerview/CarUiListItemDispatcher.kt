@@ -19,79 +19,17 @@
 package com.android.car.ui.recyclerview
 
 import androidx.compose.runtime.Composable
+import com.android.car.ui.instrumentation.CarUiInstrumentation
+import com.android.car.ui.instrumentation.CarUiTrace
 
 @Composable
-fun CarUiListItemDispatcher(item: CarUiListItemData) {
-    when (item) {
-
-        is CarUiListItemData.Header -> CarUiHeaderListItem(
-            text = item.text,
-            body = item.body
-        )
-
-        is CarUiListItemData.Content -> CarUiContentListItem(
-            title = item.title,
-            body = item.body,
-            icon = item.icon,
-            iconType = item.iconType,
-            enabled = item.enabled,
-            restricted = item.restricted,
-            onClick = item.onClick
-        )
-
-        is CarUiListItemData.ActionCheckBox -> CarUiCheckBoxListItem(
-            title = item.title,
-            body = item.body,
-            icon = item.icon,
-            iconType = item.iconType,
-            checked = item.checked,
-            enabled = item.enabled,
-            restricted = item.restricted,
-            onCheckedChange = item.onCheckedChange
-        )
-
-        is CarUiListItemData.ActionChevron -> CarUiChevronListItem(
-            title = item.title,
-            body = item.body,
-            icon = item.icon,
-            iconType = item.iconType,
-            enabled = item.enabled,
-            restricted = item.restricted,
-            onClick = item.onClick
-        )
-
-        is CarUiListItemData.ActionIcon -> CarUiIconListItem(
-            title = item.title,
-            body = item.body,
-            icon = item.icon,
-            iconType = item.iconType,
-            trailingIcon = item.trailingIcon,
-            enabled = item.enabled,
-            restricted = item.restricted,
-            onClick = item.onClick,
-            onSupplementalIconClick = item.onSupplementalIconClick
-        )
-
-        is CarUiListItemData.ActionRadioButton -> CarUiRadioButtonListItem(
-            title = item.title,
-            body = item.body,
-            icon = item.icon,
-            iconType = item.iconType,
-            selected = item.selected,
-            enabled = item.enabled,
-            restricted = item.restricted,
-            onSelectedChange = item.onSelectedChange
-        )
-
-        is CarUiListItemData.ActionSwitch -> CarUiSwitchListItem(
-            title = item.title,
-            body = item.body,
-            icon = item.icon,
-            iconType = item.iconType,
-            checked = item.checked,
-            enabled = item.enabled,
-            restricted = item.restricted,
-            onCheckedChange = item.onCheckedChange
-        )
-    }
-}
\ No newline at end of file
+fun CarUiListItemDispatcher(
+    item: CarUiListItemData,
+    registry: CarUiListItemRendererRegistry = LocalCarUiListItemRendererRegistry.current
+) {
+    CarUiTrace.begin(CarUiTrace.LIST_ITEM)
+    val instrumentationStart = CarUiInstrumentation.begin(CarUiInstrumentation.LIST_ITEM_DISPATCHER)
+    registry.Render(item)
+    CarUiInstrumentation.end(CarUiInstrumentation.LIST_ITEM_DISPATCHER, instrumentationStart)
+    CarUiTrace.end()
+}
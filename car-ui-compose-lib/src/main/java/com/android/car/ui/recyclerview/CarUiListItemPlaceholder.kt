@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.ui.recyclerview
+
+import androidx.compose.foundation.layout.Box
+import androidx.compose.foundation.layout.fillMaxWidth
+import androidx.compose.foundation.layout.height
+import androidx.compose.runtime.Composable
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.res.stringResource
+import com.android.car.ui.R
+import com.android.car.ui.theme.CarUiTheme
+
+/**
+ * Row shown by a paged [CarUiRecyclerView] while the row's page is loading: empty, or, when the
+ * page [failed] to load, a message that calls [onRetry] when clicked.
+ */
+@Composable
+fun CarUiListItemPlaceholder(
+    failed: Boolean = false,
+    onRetry: (() -> Unit)? = null
+) {
+    if (failed) {
+        CarUiContentListItem(
+            title = stringResource(R.string.car_ui_list_item_load_failed),
+            body = if (onRetry != null) stringResource(R.string.car_ui_list_item_retry) else null,
+            onClick = onRetry
+        )
+        return
+    }
+    Box(
+        modifier = Modifier
+            .fillMaxWidth()
+            .height(CarUiTheme.tokens.listItemHeight)
+    )
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.ui.recyclerview
+
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.Stable
+import androidx.compose.runtime.staticCompositionLocalOf
+import com.android.car.ui.instrumentation.CarUiInstrumentation
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Maps [CarUiListItemData] classes to the content type and composable used to render them, and
+ * to how their text is prefetched.
+ *
+ * The content type is fed to the lazy list so that composition slots are only reused between
+ * rows with the same layout. Apps add their own row types with [withRenderer] and provide the
+ * result through [LocalCarUiListItemRendererRegistry]. A row type registered without a `prefetch`
+ * is not prefetched by [CarUiListItemTextPrefetcher].
+ *
+ * Lookups for subclasses are cached on first use. The registries are shared, [Default] across
+ * every list, so the cache is a concurrent map and the class is only [Stable]: the renderer a
+ * class resolves to never changes.
+ */
+@Stable
+class CarUiListItemRendererRegistry private constructor(
+    private val renderers: Map<Class<*>, Renderer>
+) {
+
+    private class Renderer(
+        val contentType: Any,
+        val prefetch: ((CarUiListItemData, CarUiListItemTextPrefetcher) -> Unit)?,
+        val content: @Composable (CarUiListItemData) -> Unit
+    )
+
+    private val resolved = ConcurrentHashMap<Class<*>, Renderer>(renderers)
+
+    /**
+     * Returns a registry that renders [itemClass] and its subclasses with [content]. [prefetch]
+     * passes the texts of an item to the [CarUiListItemTextPrefetcher], usually through
+     * [CarUiListItemTextPrefetcher.prefetchContent] for rows laid out like a content row.
+     */
+    @Suppress("UNCHECKED_CAST")
+    fun <T : CarUiListItemData> withRenderer(
+        itemClass: Class<T>,
+        contentType: Any = itemClass,
+        prefetch: ((T, CarUiListItemTextPrefetcher) -> Unit)? = null,
+        content: @Composable (T) -> Unit
+    ): CarUiListItemRendererRegistry {
+        val renderer = Renderer(
+            contentType,
+            prefetch as ((CarUiListItemData, CarUiListItemTextPrefetcher) -> Unit)?,
+            content as @Composable (CarUiListItemData) -> Unit
+        )
+        return CarUiListItemRendererRegistry(renderers + (itemClass to renderer))
+    }
+
+    inline fun <reified T : CarUiListItemData> withRenderer(
+        contentType: Any = T::class.java,
+        noinline prefetch: ((T, CarUiListItemTextPrefetcher) -> Unit)? = null,
+        noinline content: @Composable (T) -> Unit
+    ): CarUiListItemRendererRegistry = withRenderer(T::class.java, contentType, prefetch, content)
+
+    fun contentTypeOf(item: CarUiListItemData): Any? = rendererFor(item.javaClass)?.contentType
+
+    internal fun prefetch(item: CarUiListItemData, prefetcher: CarUiListItemTextPrefetcher) {
+        rendererFor(item.javaClass)?.prefetch?.invoke(item, prefetcher)
+    }
+
+    @Composable
+    fun Render(item: CarUiListItemData) {
+        val renderer = rendererFor(item.javaClass)
+            ?: error("No renderer registered for ${item.javaClass.name}")
+        renderer.content(item)
+    }
+
+    private fun rendererFor(itemClass: Class<*>): Renderer? {
+        val renderer = resolved.getOrPut(itemClass) {
+            var current: Class<*>? = itemClass.superclass
+            var found: Renderer? = null
+            while (current != null && found == null) {
+                found = renderers[current]
+                current = current.superclass
+            }
+            found ?: NoRenderer
+        }
+        return renderer.takeIf { it !== NoRenderer }
+    }
+
+    companion object {
+        // ConcurrentHashMap can't hold null, this marks classes without a renderer.
+        private val NoRenderer = Renderer(Unit, prefetch = null) {}
+
+        val Empty = CarUiListItemRendererRegistry(emptyMap())
+
+        val Default: CarUiListItemRendererRegistry = Empty
+            .withRenderer<CarUiListItemData.Header>(
+                prefetch = { item, prefetcher -> prefetcher.prefetchHeader(item.text, item.body) }
+            ) { item ->
+                CarUiInstrumentation.offer(CarUiInstrumentation.HEADER_LIST_ITEM)
+                CarUiHeaderListItem(
+                    text = item.text,
+                    body = item.body
+                )
+            }
+            .withRenderer<CarUiListItemData.Content>(
+                prefetch = { item, prefetcher -> prefetcher.prefetchContent(item.title, item.body) }
+            ) { item ->
+                CarUiInstrumentation.offer(CarUiInstrumentation.CONTENT_LIST_ITEM)
+                CarUiContentListItem(
+                    title = item.title,
+                    body = item.body,
+                    icon = item.icon,
+                    iconType = item.iconType,
+                    enabled = item.enabled,
+                    restricted = item.restricted,
+                    onClick = item.onClick
+                )
+            }
+            .withRenderer<CarUiListItemData.ActionCheckBox>(
+                prefetch = { item, prefetcher -> prefetcher.prefetchContent(item.title, item.body) }
+            ) { item ->
+                CarUiInstrumentation.offer(CarUiInstrumentation.CHECKBOX_LIST_ITEM)
+                CarUiCheckBoxListItem(
+                    title = item.title,
+                    body = item.body,
+                    icon = item.icon,
+                    iconType = item.iconType,
+                    checked = item.checked,
+                    enabled = item.enabled,
+                    restricted = item.restricted,
+                    onCheckedChange = item.onCheckedChange
+                )
+            }
+            .withRenderer<CarUiListItemData.ActionChevron>(
+                prefetch = { item, prefetcher -> prefetcher.prefetchContent(item.title, item.body) }
+            ) { item ->
+                CarUiInstrumentation.offer(CarUiInstrumentation.CHEVRON_LIST_ITEM)
+                CarUiChevronListItem(
+                    title = item.title,
+                    body = item.body,
+                    icon = item.icon,
+                    iconType = item.iconType,
+                    enabled = item.enabled,
+                    restricted = item.restricted,
+                    onClick = item.onClick
+                )
+            }
+            .withRenderer<CarUiListItemData.ActionIcon>(
+                prefetch = { item, prefetcher -> prefetcher.prefetchContent(item.title, item.body) }
+            ) { item ->
+                CarUiInstrumentation.offer(CarUiInstrumentation.ICON_LIST_ITEM)
+                CarUiIconListItem(
+                    title = item.title,
+                    body = item.body,
+                    icon = item.icon,
+                    iconType = item.iconType,
+                    trailingIcon = item.trailingIcon,
+                    enabled = item.enabled,
+                    restricted = item.restricted,
+                    onClick = item.onClick,
+                    onSupplementalIconClick = item.onSupplementalIconClick
+                )
+            }
+            .withRenderer<CarUiListItemData.ActionRadioButton>(
+                prefetch = { item, prefetcher -> prefetcher.prefetchContent(item.title, item.body) }
+            ) { item ->
+                CarUiInstrumentation.offer(CarUiInstrumentation.RADIO_BUTTON_LIST_ITEM)
+                CarUiRadioButtonListItem(
+                    title = item.title,
+                    body = item.body,
+                    icon = item.icon,
+                    iconType = item.iconType,
+                    selected = item.selected,
+                    enabled = item.enabled,
+                    restricted = item.restricted,
+                    onSelectedChange = item.onSelectedChange
+                )
+            }
+            .withRenderer<CarUiListItemData.ActionSwitch>(
+                prefetch = { item, prefetcher -> prefetcher.prefetchContent(item.title, item.body) }
+            ) { item ->
+                CarUiInstrumentation.offer(CarUiInstrumentation.SWITCH_LIST_ITEM)
+                CarUiSwitchListItem(
+                    title = item.title,
+                    body = item.body,
+                    icon = item.icon,
+                    iconType = item.iconType,
+                    checked = item.checked,
+                    enabled = item.enabled,
+                    restricted = item.restricted,
+                    onCheckedChange = item.onCheckedChange
+                )
+            }
+    }
+}
+
+val LocalCarUiListItemRendererRegistry =
+    staticCompositionLocalOf { CarUiListItemRendererRegistry.Default }
@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.ui.recyclerview
+
+import androidx.annotation.DrawableRes
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.Immutable
+import androidx.compose.runtime.remember
+import androidx.compose.ui.Modifier
+import com.android.car.ui.instrumentation.CarUiInstrumentation
+import com.android.car.ui.widget.CarUiImage
+
+/**
+ * Read-only list of text rows packed into primitive arrays.
+ *
+ * All titles and bodies share one [CharArray], addressed through an [IntArray] of offsets, and the
+ * row kind, flags and icon of each row are stored in [IntArray]s. A row costs 16 bytes plus two
+ * bytes per character, against roughly 150 bytes plus the two [String]s for a
+ * [CarUiListItemData.Content] with its title and body, so 100k rows take a few megabytes instead
+ * of tens. Strings are only created for rows that are composed.
+ *
+ * Build one with [Builder] and show it with the [CarUiRecyclerView] overload taking a store.
+ */
+@Immutable
+class CarUiListItemStore private constructor(
+    val size: Int,
+    private val chars: CharArray,
+    // Title of row i is [offsets[2i], offsets[2i + 1]), its body [offsets[2i + 1], offsets[2i + 2]).
+    private val offsets: IntArray,
+    private val flags: IntArray,
+    private val icons: IntArray,
+) {
+    enum class Kind { HEADER, CONTENT, CHEVRON }
+
+    fun kind(index: Int): Kind = KINDS[flags[index] and KIND_MASK]
+
+    fun title(index: Int): String? = text(index, 2 * index, HAS_TITLE)
+
+    fun body(index: Int): String? = text(index, 2 * index + 1, HAS_BODY)
+
+    fun isEnabled(index: Int): Boolean = flags[index] and ENABLED != 0
+
+    fun isRestricted(index: Int): Boolean = flags[index] and RESTRICTED != 0
+
+    /** Drawable resource of the row's icon, or 0 if it has none. */
+    @DrawableRes
+    fun iconRes(index: Int): Int = icons[index]
+
+    private fun text(index: Int, offset: Int, flag: Int): String? {
+        if (flags[index] and flag == 0) return null
+        val start = offsets[offset]
+        return String(chars, start, offsets[offset + 1] - start)
+    }
+
+    class Builder(initialCapacity: Int = 16) {
+        private var size = 0
+        private var chars = CharArray(initialCapacity * 32)
+        private var charCount = 0
+        private var offsets = IntArray(initialCapacity * 2 + 1)
+        private var flags = IntArray(initialCapacity)
+        private var icons = IntArray(initialCapacity)
+
+        fun addHeader(text: CharSequence, body: CharSequence? = null) =
+            add(Kind.HEADER, text, body, 0, enabled = true, restricted = false)
+
+        fun addContent(
+            title: CharSequence?,
+            body: CharSequence? = null,
+            @DrawableRes iconRes: Int = 0,
+            enabled: Boolean = true,
+            restricted: Boolean = false
+        ) = add(Kind.CONTENT, title, body, iconRes, enabled, restricted)
+
+        fun addChevron(
+            title: CharSequence?,
+            body: CharSequence? = null,
+            @DrawableRes iconRes: Int = 0,
+            enabled: Boolean = true,
+            restricted: Boolean = false
+        ) = add(Kind.CHEVRON, title, body, iconRes, enabled, restricted)
+
+        fun build(): CarUiListItemStore = CarUiListItemStore(
+            size,
+            chars.copyOf(charCount),
+            offsets.copyOf(2 * size + 1),
+            flags.copyOf(size),
+            icons.copyOf(size)
+        )
+
+        private fun add(
+            kind: Kind,
+            title: CharSequence?,
+            body: CharSequence?,
+            iconRes: Int,
+            enabled: Boolean,
+            restricted: Boolean
+        ): Builder {
+            if (size == flags.size) {
+                val capacity = maxOf(size * 2, 16)
+                offsets = offsets.copyOf(capacity * 2 + 1)
+                flags = flags.copyOf(capacity)
+                icons = icons.copyOf(capacity)
+            }
+            var rowFlags = kind.ordinal
+            if (title != null) rowFlags = rowFlags or HAS_TITLE
+            if (body != null) rowFlags = rowFlags or HAS_BODY
+            if (enabled) rowFlags = rowFlags or ENABLED
+            if (restricted) rowFlags = rowFlags or RESTRICTED
+            offsets[2 * size] = charCount
+            append(title)
+            offsets[2 * size + 1] = charCount
+            append(body)
+            offsets[2 * size + 2] = charCount
+            flags[size] = rowFlags
+            icons[size] = iconRes
+            size++
+            return this
+        }
+
+        private fun append(text: CharSequence?) {
+            if (text == null) return
+            if (charCount + text.length > chars.size) {
+                chars = chars.copyOf(maxOf(chars.size * 2, charCount + text.length))
+            }
+            for (i in text.indices) chars[charCount + i] = text[i]
+            charCount += text.length
+        }
+    }
+
+    private companion object {
+        val KINDS = Kind.values()
+        const val KIND_MASK = 0xff
+        const val HAS_TITLE = 1 shl 8
+        const val HAS_BODY = 1 shl 9
+        const val ENABLED = 1 shl 10
+        const val RESTRICTED = 1 shl 11
+    }
+}
+
+/**
+ * Shows the rows of a [CarUiListItemStore]. Rows are addressed by index, so no object is kept per
+ * row; [onItemClick] receives the index of the clicked content or chevron row.
+ */
+@Composable
+fun CarUiRecyclerView(
+    store: CarUiListItemStore,
+    showDivider: Boolean = false,
+    modifier: Modifier = Modifier,
+    onItemClick: ((index: Int) -> Unit)? = null,
+) {
+    val textPrefetcher = rememberCarUiListItemTextPrefetcher()
+    val prefetcher = remember(store, textPrefetcher) {
+        if (!textPrefetcher.isEnabled) {
+            null
+        } else {
+            CarUiItemPrefetcher(store.size) { index ->
+                if (store.kind(index) == CarUiListItemStore.Kind.HEADER) {
+                    textPrefetcher.prefetchHeader(store.title(index).orEmpty(), store.body(index))
+                } else {
+                    textPrefetcher.prefetchContent(store.title(index), store.body(index))
+                }
+            }
+        }
+    }
+    CarUiRecyclerViewLayout(
+        itemCount = store.size,
+        showDivider = showDivider,
+        layoutStyle = CarUiRecyclerViewLayoutStyle.LIST,
+        numOfColumns = 1,
+        key = null,
+        contentType = store::kind,
+        modifier = modifier,
+        onVisibleRangeChanged = prefetcher?.let { it::onVisibleRangeChanged },
+        itemContent = { index -> CarUiListItemStoreRow(store, index, onItemClick) }
+    )
+}
+
+@Composable
+internal fun CarUiListItemStoreRow(
+    store: CarUiListItemStore,
+    index: Int,
+    onItemClick: ((index: Int) -> Unit)?
+) {
+    val onClick = remember(index, onItemClick) { onItemClick?.let { click -> { click(index) } } }
+    val iconRes = store.iconRes(index)
+    val icon = if (iconRes == 0) null else CarUiImage.Resource(iconRes)
+    when (store.kind(index)) {
+        CarUiListItemStore.Kind.HEADER -> {
+            CarUiInstrumentation.offer(CarUiInstrumentation.HEADER_LIST_ITEM)
+            CarUiHeaderListItem(
+                text = store.title(index).orEmpty(),
+                body = store.body(index)
+            )
+        }
+
+        CarUiListItemStore.Kind.CONTENT -> {
+            CarUiInstrumentation.offer(CarUiInstrumentation.CONTENT_LIST_ITEM)
+            CarUiContentListItem(
+                title = store.title(index),
+                body = store.body(index),
+                icon = icon,
+                enabled = store.isEnabled(index),
+                restricted = store.isRestricted(index),
+                onClick = onClick
+            )
+        }
+
+        CarUiListItemStore.Kind.CHEVRON -> {
+            CarUiInstrumentation.offer(CarUiInstrumentation.CHEVRON_LIST_ITEM)
+            CarUiChevronListItem(
+                title = store.title(index),
+                body = store.body(index),
+                icon = icon,
+                enabled = store.isEnabled(index),
+                restricted = store.isRestricted(index),
+                onClick = onClick
+            )
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.ui.recyclerview
+
+import androidx.compose.material.MaterialTheme
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.Stable
+import androidx.compose.runtime.remember
+import androidx.compose.ui.text.TextStyle
+import androidx.compose.ui.text.style.TextAlign
+import com.android.car.ui.widget.CarUiTextLayoutCache
+import com.android.car.ui.widget.LocalCarUiTextLayoutCache
+import com.android.car.ui.widget.carUiTextStyle
+
+/**
+ * Warms the [CarUiTextLayoutCache] with the titles and bodies of rows before they are composed.
+ * [prefetch] hands each item to the `prefetch` its renderer was registered with in the
+ * [CarUiListItemRendererRegistry], which the built-in rows have. Does nothing when no cache is
+ * provided.
+ */
+@Stable
+class CarUiListItemTextPrefetcher internal constructor(
+    private val cache: CarUiTextLayoutCache?,
+    private val registry: CarUiListItemRendererRegistry,
+    private val headerStyle: TextStyle,
+    private val titleStyle: TextStyle,
+    private val bodyStyle: TextStyle,
+) {
+    /** Whether a [CarUiTextLayoutCache] is provided, i.e. whether prefetching has any effect. */
+    val isEnabled: Boolean
+        get() = cache != null
+
+    fun prefetch(item: CarUiListItemData) {
+        if (cache != null) registry.prefetch(item, this)
+    }
+
+    fun prefetchHeader(text: String, body: String?) {
+        cache ?: return
+        cache.prefetch(text, headerStyle, CarUiListItemTextSlot.HEADER_TEXT)
+        if (!body.isNullOrEmpty()) {
+            cache.prefetch(body, headerStyle, CarUiListItemTextSlot.HEADER_BODY)
+        }
+    }
+
+    fun prefetchContent(title: String?, body: String?) {
+        cache ?: return
+        if (!title.isNullOrBlank()) {
+            cache.prefetch(title, titleStyle, CarUiListItemTextSlot.CONTENT_TITLE)
+        }
+        if (!body.isNullOrBlank()) {
+            cache.prefetch(body, bodyStyle, CarUiListItemTextSlot.CONTENT_BODY)
+        }
+    }
+}
+
+/**
+ * Where a text sits in a built-in row. The header's text and body share a style but not a width,
+ * so the cache remembers the width of each separately.
+ */
+internal enum class CarUiListItemTextSlot { HEADER_TEXT, HEADER_BODY, CONTENT_TITLE, CONTENT_BODY }
+
+@Composable
+fun rememberCarUiListItemTextPrefetcher(
+    registry: CarUiListItemRendererRegistry = LocalCarUiListItemRendererRegistry.current
+): CarUiListItemTextPrefetcher {
+    val cache = LocalCarUiTextLayoutCache.current
+    // Same styles as CarUiHeaderListItem and CarUiContentListItem.
+    val headerStyle = carUiTextStyle(MaterialTheme.typography.h3.copy(textAlign = TextAlign.Start))
+    val titleStyle = carUiTextStyle(MaterialTheme.typography.body1)
+    val bodyStyle = carUiTextStyle(MaterialTheme.typography.subtitle1)
+    return remember(cache, registry, headerStyle, titleStyle, bodyStyle) {
+        CarUiListItemTextPrefetcher(cache, registry, headerStyle, titleStyle, bodyStyle)
+    }
+}
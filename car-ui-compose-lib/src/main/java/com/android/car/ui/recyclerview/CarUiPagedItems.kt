@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.ui.recyclerview
+
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.MutableState
+import androidx.compose.runtime.Stable
+import androidx.compose.runtime.mutableStateOf
+import androidx.compose.runtime.remember
+import androidx.compose.runtime.rememberCoroutineScope
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
+import kotlin.math.abs
+
+/** Loads the items of a [CarUiPagedItems] one page at a time. */
+fun interface CarUiPagedLoader<T : Any> {
+    /**
+     * Returns the items in `[start, start + count)`. Called on the dispatcher given to
+     * [rememberCarUiPagedItems], never on the main thread by default.
+     */
+    suspend fun load(start: Int, count: Int): List<T>
+}
+
+/**
+ * A list of [itemCount] items that are loaded on demand by a [CarUiPagedLoader].
+ *
+ * Pages are requested as rows come into view, plus [prefetchPages] pages ahead in the direction of
+ * scrolling. At most [maxPages] pages are kept in memory; pages outside the visible and prefetched
+ * ones are dropped, furthest from the viewport first. [maxPages] must cover the visible pages and
+ * [prefetchPages], otherwise scrolling throws an [IllegalStateException]. Rows whose page is not
+ * loaded read as `null` and are shown as placeholders by [CarUiRecyclerView].
+ *
+ * A page whose load throws is not requested again by scrolling: its rows report the failure
+ * through [errorAt] until [retry] is called, which the default placeholder does when clicked.
+ */
+@Stable
+class CarUiPagedItems<T : Any> internal constructor(
+    val itemCount: Int,
+    val pageSize: Int,
+    private val maxPages: Int,
+    private val prefetchPages: Int,
+    private val loader: CarUiPagedLoader<T>,
+    private val scope: CoroutineScope,
+    private val dispatcher: CoroutineDispatcher,
+) {
+    private val pageCount = (itemCount + pageSize - 1) / pageSize
+
+    // One state per page, so a page arriving only invalidates the rows that show it.
+    private val pages = Array<MutableState<List<T>?>>(pageCount) { mutableStateOf(null) }
+    private val errors = Array<MutableState<Throwable?>>(pageCount) { mutableStateOf(null) }
+    private val loadedPages = ArrayList<Int>()
+    private val loadingPages = HashMap<Int, Job>()
+    private var firstVisiblePage = 0
+    private var lastVisiblePage = 0
+    private var lastFirstVisible = 0
+    private var wantedPages = IntRange.EMPTY
+
+    /** Returns the item at [index], or `null` while its page is not loaded. */
+    operator fun get(index: Int): T? = pages[index / pageSize].value?.getOrNull(index % pageSize)
+
+    /** Returns why the page holding [index] failed to load, or `null` if it has not failed. */
+    fun errorAt(index: Int): Throwable? = errors[index / pageSize].value
+
+    /** Loads the page holding [index] again if it failed. */
+    fun retry(index: Int) {
+        val page = index / pageSize
+        if (errors[page].value == null) return
+        errors[page].value = null
+        if (page !in loadingPages) load(page)
+    }
+
+    internal fun onVisibleRangeChanged(first: Int, last: Int) {
+        if (pageCount == 0) return
+        val forward = first >= lastFirstVisible
+        lastFirstVisible = first
+        firstVisiblePage = (first / pageSize).coerceIn(0, pageCount - 1)
+        lastVisiblePage = (last / pageSize).coerceIn(firstVisiblePage, pageCount - 1)
+        val wanted = if (forward) {
+            firstVisiblePage..minOf(lastVisiblePage + prefetchPages, pageCount - 1)
+        } else {
+            maxOf(firstVisiblePage - prefetchPages, 0)..lastVisiblePage
+        }
+        check(wanted.last - wanted.first < maxPages) {
+            "maxPages ($maxPages) must cover the ${lastVisiblePage - firstVisiblePage + 1} " +
+                "visible pages and prefetchPages ($prefetchPages)"
+        }
+        wantedPages = wanted
+
+        loadingPages.entries.removeAll { (page, job) ->
+            (page !in wanted).also { if (it) job.cancel() }
+        }
+        for (page in wanted) {
+            if (pages[page].value == null && errors[page].value == null && page !in loadingPages) {
+                load(page)
+            }
+        }
+        trim()
+    }
+
+    private fun load(page: Int) {
+        val start = page * pageSize
+        val count = minOf(pageSize, itemCount - start)
+        // Started only once registered, so a load that completes right away, e.g. on an immediate
+        // dispatcher, still finds and removes its entry.
+        val job = scope.launch(start = CoroutineStart.LAZY) {
+            val items = try {
+                withContext(dispatcher) { loader.load(start, count) }
+            } catch (e: Exception) {
+                // Rethrows if this load was cancelled; anything else, including a timeout inside
+                // the loader, fails the page.
+                ensureActive()
+                loadingPages.remove(page)
+                errors[page].value = e
+                return@launch
+            }
+            loadingPages.remove(page)
+            pages[page].value = items
+            loadedPages.add(page)
+            trim()
+        }
+        loadingPages[page] = job
+        job.start()
+    }
+
+    private fun trim() {
+        if (loadedPages.size <= maxPages) return
+        val center = (firstVisiblePage + lastVisiblePage) / 2
+        loadedPages.sortBy { abs(it - center) }
+        // Pages in the wanted range are kept, dropping a prefetched page would only request it
+        // again on the next scroll.
+        var i = loadedPages.lastIndex
+        while (loadedPages.size > maxPages && i >= 0) {
+            val page = loadedPages[i]
+            if (page !in wantedPages) {
+                loadedPages.removeAt(i)
+                pages[page].value = null
+            }
+            i--
+        }
+    }
+}
+
+/**
+ * Remembers a [CarUiPagedItems] that loads [itemCount] items from [loader] on [dispatcher].
+ *
+ * The loader captured on first composition is used until one of the sizes changes.
+ */
+@Composable
+fun <T : Any> rememberCarUiPagedItems(
+    itemCount: Int,
+    pageSize: Int = 50,
+    maxPages: Int = 8,
+    prefetchPages: Int = 2,
+    dispatcher: CoroutineDispatcher = Dispatchers.IO,
+    loader: CarUiPagedLoader<T>,
+): CarUiPagedItems<T> {
+    require(pageSize > 0) { "pageSize must be positive: $pageSize" }
+    require(maxPages > prefetchPages) { "maxPages must be larger than prefetchPages" }
+    val scope = rememberCoroutineScope()
+    return remember(itemCount, pageSize, maxPages, prefetchPages, dispatcher, scope) {
+        CarUiPagedItems(itemCount, pageSize, maxPages, prefetchPages, loader, scope, dispatcher)
+    }
+}
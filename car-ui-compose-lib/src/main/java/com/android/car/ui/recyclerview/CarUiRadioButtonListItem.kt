@@ -24,19 +24,23 @@ import androidx.compose.material.RadioButtonDefaults
 import androidx.compose.runtime.Composable
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.draw.scale
-import androidx.compose.ui.graphics.painter.Painter
+import com.android.car.ui.instrumentation.CarUiInstrumentation
+import com.android.car.ui.widget.CarUiImage
 
 @Composable
 fun CarUiRadioButtonListItem(
     title: String? = null,
     body: String? = null,
-    icon: Painter? = null,
+    icon: CarUiImage? = null,
     iconType: CarUiContentListItemIconType = CarUiContentListItemIconType.STANDARD,
     selected: Boolean,
     enabled: Boolean = true,
     restricted: Boolean = false,
     onSelectedChange: ((Boolean) -> Unit)? = null,
 ) {
+    val instrumentationStart =
+        CarUiInstrumentation.begin(CarUiInstrumentation.RADIO_BUTTON_LIST_ITEM)
+    CarUiInstrumentation.offer(CarUiInstrumentation.CONTENT_LIST_ITEM)
     CarUiContentListItem(
         title = title,
         body = body,
@@ -57,4 +61,5 @@ fun CarUiRadioButtonListItem(
             )
         }
     )
+    CarUiInstrumentation.end(CarUiInstrumentation.RADIO_BUTTON_LIST_ITEM, instrumentationStart)
 }
@@ -25,25 +25,25 @@ import androidx.compose.foundation.layout.padding
 import androidx.compose.foundation.lazy.LazyColumn
 import androidx.compose.foundation.lazy.grid.GridCells
 import androidx.compose.foundation.lazy.grid.LazyVerticalGrid
-import androidx.compose.foundation.lazy.grid.items
 import androidx.compose.foundation.lazy.grid.rememberLazyGridState
-import androidx.compose.foundation.lazy.items
 import androidx.compose.foundation.lazy.rememberLazyListState
-import androidx.compose.foundation.shape.RoundedCornerShape
 import androidx.compose.material.Divider
 import androidx.compose.runtime.Composable
-import androidx.compose.runtime.derivedStateOf
+import androidx.compose.runtime.LaunchedEffect
 import androidx.compose.runtime.getValue
 import androidx.compose.runtime.remember
-import androidx.compose.runtime.rememberCoroutineScope
+import androidx.compose.runtime.rememberUpdatedState
+import androidx.compose.runtime.snapshotFlow
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
-import androidx.compose.ui.res.colorResource
-import androidx.compose.ui.res.dimensionResource
 import androidx.compose.ui.semantics.contentDescription
 import androidx.compose.ui.semantics.semantics
-import com.android.car.ui.R
-import kotlinx.coroutines.launch
+import com.android.car.ui.CarUiFullyDrawnWhen
+import com.android.car.ui.LocalCarUiFullyDrawn
+import com.android.car.ui.instrumentation.CarUiInstrumentation
+import com.android.car.ui.instrumentation.CarUiTrace
+import com.android.car.ui.theme.CarUiTheme
+import kotlinx.coroutines.flow.distinctUntilChanged
 
 
 enum class CarUiRecyclerViewLayoutStyle { LIST, GRID }
@@ -54,32 +54,139 @@ fun <T> CarUiRecyclerView(
     showDivider: Boolean = false,
     layoutStyle: CarUiRecyclerViewLayoutStyle = CarUiRecyclerViewLayoutStyle.LIST,
     numOfColumns: Int = 1,
+    key: ((T) -> Any)? = null,
+    contentType: (T) -> Any? = { null },
+    prefetch: ((T) -> Unit)? = null,
     modifier: Modifier = Modifier,
     itemContent: @Composable (T) -> Unit
 ) {
-    val recyclerViewPadding = dimensionResource(R.dimen.car_ui_scrollbar_width)
-    val dividerColor = colorResource(id = R.color.car_ui_divider_color)
-    val dividerHeight = dimensionResource(id = R.dimen.car_ui_divider_height)
-    dimensionResource(id = R.dimen.car_ui_scrollbar_thickness)
-    dimensionResource(id = R.dimen.car_ui_scrollbar_padding)
-    colorResource(id = R.color.car_ui_scrollbar_thumb_color)
-    colorResource(id = R.color.car_ui_scrollbar_track_color)
-    RoundedCornerShape(dimensionResource(id = R.dimen.car_ui_scrollbar_thumb_radius))
+    // Read through updated state, so new lists and unremembered prefetch lambdas reuse the
+    // prefetcher, which only needs to be replaced when the size changes.
+    val currentItems by rememberUpdatedState(items)
+    val currentPrefetch by rememberUpdatedState(prefetch)
+    val prefetcher = remember(items.size, prefetch != null) {
+        if (prefetch == null) {
+            null
+        } else {
+            CarUiItemPrefetcher(items.size) { index ->
+                currentItems.getOrNull(index)?.let { item -> currentPrefetch?.invoke(item) }
+            }
+        }
+    }
+    CarUiRecyclerViewLayout(
+        itemCount = items.size,
+        showDivider = showDivider,
+        layoutStyle = layoutStyle,
+        numOfColumns = numOfColumns,
+        key = key?.let { { index -> it(items[index]) } },
+        contentType = { index -> contentType(items[index]) },
+        modifier = modifier,
+        onVisibleRangeChanged = prefetcher?.let { it::onVisibleRangeChanged },
+        itemContent = { index -> itemContent(items[index]) }
+    )
+}
+
+/**
+ * Shows a [CarUiPagedItems]. Rows are keyed by index and rows whose page is still loading or
+ * failed to load are drawn with [placeholderContent], which by default offers to retry failed
+ * pages; inside `CarUiFullyDrawn` the report waits for the rows of the first page to load or fail.
+ */
+@Composable
+fun <T : Any> CarUiRecyclerView(
+    items: CarUiPagedItems<T>,
+    showDivider: Boolean = false,
+    layoutStyle: CarUiRecyclerViewLayoutStyle = CarUiRecyclerViewLayoutStyle.LIST,
+    numOfColumns: Int = 1,
+    modifier: Modifier = Modifier,
+    placeholderContent: @Composable (index: Int) -> Unit = { index ->
+        CarUiListItemPlaceholder(
+            failed = items.errorAt(index) != null,
+            onRetry = { items.retry(index) }
+        )
+    },
+    itemContent: @Composable (T) -> Unit
+) {
+    CarUiRecyclerViewLayout(
+        itemCount = items.itemCount,
+        showDivider = showDivider,
+        layoutStyle = layoutStyle,
+        numOfColumns = numOfColumns,
+        key = null,
+        contentType = { index -> if (items[index] == null) PlaceholderContentType else null },
+        modifier = modifier,
+        onVisibleRangeChanged = items::onVisibleRangeChanged,
+        isLoaded = { index -> items[index] != null || items.errorAt(index) != null },
+        itemContent = { index ->
+            val item = items[index]
+            if (item == null) placeholderContent(index) else itemContent(item)
+        }
+    )
+}
+
+private object PlaceholderContentType
+
+/**
+ * Calls [prefetch] for the [PREFETCH_ITEMS] items just past the viewport in the direction of
+ * scrolling, so work such as text measurement can start before those rows are composed.
+ */
+internal class CarUiItemPrefetcher(
+    private val itemCount: Int,
+    private val prefetch: (index: Int) -> Unit
+) {
+    private var lastFirst = 0
+
+    fun onVisibleRangeChanged(first: Int, last: Int) {
+        val ahead = if (first >= lastFirst) {
+            last + 1..minOf(last + PREFETCH_ITEMS, itemCount - 1)
+        } else {
+            maxOf(first - PREFETCH_ITEMS, 0) until first
+        }
+        lastFirst = first
+        ahead.forEach(prefetch)
+    }
+
+    private companion object {
+        const val PREFETCH_ITEMS = 8
+    }
+}
+
+@Composable
+internal fun CarUiRecyclerViewLayout(
+    itemCount: Int,
+    showDivider: Boolean,
+    layoutStyle: CarUiRecyclerViewLayoutStyle,
+    numOfColumns: Int,
+    key: ((Int) -> Any)?,
+    contentType: (Int) -> Any?,
+    modifier: Modifier,
+    onVisibleRangeChanged: ((first: Int, last: Int) -> Unit)? = null,
+    isLoaded: (index: Int) -> Boolean = { true },
+    itemContent: @Composable (Int) -> Unit
+) {
+    CarUiTrace.begin(CarUiTrace.RECYCLER_VIEW)
+    val recyclerViewPadding = CarUiTheme.tokens.scrollbarWidth
+    val dividerColor = CarUiTheme.tokens.dividerColor
+    val dividerHeight = CarUiTheme.tokens.dividerHeight
+    val fullyDrawnEnabled = LocalCarUiFullyDrawn.current
     val recyclerViewHeight = Modifier.fillMaxHeight()
-    val coroutineScope = rememberCoroutineScope()
 
     Box(modifier = modifier.then(recyclerViewHeight)) {
         if (layoutStyle == CarUiRecyclerViewLayoutStyle.GRID && numOfColumns > 1) {
             val gridState = rememberLazyGridState()
-            val scrollbarState by remember {
-                derivedStateOf {
-                    CarUiScrollbarState(
-                        firstVisibleItemIndex = gridState.firstVisibleItemIndex,
-                        visibleItemsCount = gridState.layoutInfo.visibleItemsInfo.size,
-                        totalItemsCount = gridState.layoutInfo.totalItemsCount,
-                        canScrollForward = gridState.canScrollForward,
-                        canScrollBackward = gridState.canScrollBackward
-                    )
+            val scrollbarState = rememberCarUiScrollbarState(gridState)
+            val pager = rememberCarUiScrollPager(gridState)
+            if (fullyDrawnEnabled) {
+                // Delays CarUiFullyDrawn until the first page is laid out with loaded rows.
+                CarUiFullyDrawnWhen {
+                    val visibleItems = gridState.layoutInfo.visibleItemsInfo
+                    itemCount == 0 ||
+                        visibleItems.isNotEmpty() && visibleItems.all { isLoaded(it.index) }
+                }
+            }
+            if (onVisibleRangeChanged != null) {
+                VisibleRangeEffect(onVisibleRangeChanged) {
+                    val visibleItems = gridState.layoutInfo.visibleItemsInfo
+                    (visibleItems.firstOrNull()?.index ?: 0)..(visibleItems.lastOrNull()?.index ?: 0)
                 }
             }
             Box {
@@ -91,46 +198,37 @@ fun <T> CarUiRecyclerView(
                         .padding(start = recyclerViewPadding, end = recyclerViewPadding)
                         .semantics { contentDescription = "car_ui_compose_lazy_list" }
                 ) {
-                    items(items) { item ->
-                        itemContent(item)
+                    items(itemCount, key = key, contentType = contentType) { index ->
+                        CarUiTrace.begin(CarUiTrace.RECYCLER_VIEW_ITEM)
+                        itemContent(index)
+                        CarUiTrace.end()
                     }
                 }
             }
-            if (items.size > numOfColumns) {
+            if (itemCount > numOfColumns) {
+                CarUiInstrumentation.offer(CarUiInstrumentation.SCROLLBAR)
                 CarUiScrollbar(
                     state = scrollbarState,
-                    onPageUp = {
-                        val target =
-                            (gridState.firstVisibleItemIndex - gridState.layoutInfo.visibleItemsInfo.size).coerceAtLeast(
-                                0
-                            )
-                        coroutineScope.launch {
-                            gridState.animateScrollToItem(target)
-                        }
-                    },
-                    onPageDown = {
-                        val target =
-                            (gridState.firstVisibleItemIndex + gridState.layoutInfo.visibleItemsInfo.size).coerceAtMost(
-                                gridState.layoutInfo.totalItemsCount - 1
-                            )
-                        coroutineScope.launch {
-                            gridState.animateScrollToItem(target)
-                        }
-                    },
+                    onPageUp = pager::pageUp,
+                    onPageDown = pager::pageDown,
                     modifier = Modifier.align(Alignment.CenterStart)
                 )
             }
         } else {
             val listState = rememberLazyListState()
-            val scrollbarState by remember {
-                derivedStateOf {
-                    CarUiScrollbarState(
-                        firstVisibleItemIndex = listState.firstVisibleItemIndex,
-                        visibleItemsCount = listState.layoutInfo.visibleItemsInfo.size,
-                        totalItemsCount = listState.layoutInfo.totalItemsCount,
-                        canScrollForward = listState.canScrollForward,
-                        canScrollBackward = listState.canScrollBackward
-                    )
+            val scrollbarState = rememberCarUiScrollbarState(listState)
+            val pager = rememberCarUiScrollPager(listState)
+            if (fullyDrawnEnabled) {
+                CarUiFullyDrawnWhen {
+                    val visibleItems = listState.layoutInfo.visibleItemsInfo
+                    itemCount == 0 ||
+                        visibleItems.isNotEmpty() && visibleItems.all { isLoaded(it.index) }
+                }
+            }
+            if (onVisibleRangeChanged != null) {
+                VisibleRangeEffect(onVisibleRangeChanged) {
+                    val visibleItems = listState.layoutInfo.visibleItemsInfo
+                    (visibleItems.firstOrNull()?.index ?: 0)..(visibleItems.lastOrNull()?.index ?: 0)
                 }
             }
             Box {
@@ -141,39 +239,40 @@ fun <T> CarUiRecyclerView(
                         .padding(start = recyclerViewPadding, end = recyclerViewPadding)
                         .semantics { contentDescription = "car_ui_compose_lazy_list" }
                 ) {
-                    items(items) { item ->
-                        itemContent(item)
+                    items(itemCount, key = key, contentType = contentType) { index ->
+                        CarUiTrace.begin(CarUiTrace.RECYCLER_VIEW_ITEM)
+                        itemContent(index)
                         if (showDivider) {
                             Divider(
                                 color = dividerColor,
                                 thickness = dividerHeight
                             )
                         }
+                        CarUiTrace.end()
                     }
                 }
             }
+            CarUiInstrumentation.offer(CarUiInstrumentation.SCROLLBAR)
             CarUiScrollbar(
                 state = scrollbarState,
-                onPageUp = {
-                    val target =
-                        (listState.firstVisibleItemIndex - listState.layoutInfo.visibleItemsInfo.size).coerceAtLeast(
-                            0
-                        )
-                    coroutineScope.launch {
-                        listState.animateScrollToItem(target)
-                    }
-                },
-                onPageDown = {
-                    val target =
-                        (listState.firstVisibleItemIndex + listState.layoutInfo.visibleItemsInfo.size).coerceAtMost(
-                            listState.layoutInfo.totalItemsCount - 1
-                        )
-                    coroutineScope.launch {
-                        listState.animateScrollToItem(target)
-                    }
-                },
+                onPageUp = pager::pageUp,
+                onPageDown = pager::pageDown,
                 modifier = Modifier.align(Alignment.CenterStart)
             )
         }
     }
+    CarUiTrace.end()
+}
+
+@Composable
+private fun VisibleRangeEffect(
+    onVisibleRangeChanged: (first: Int, last: Int) -> Unit,
+    visibleRange: () -> IntRange
+) {
+    // Restarts for a new data source so it receives the current range right away.
+    LaunchedEffect(onVisibleRangeChanged) {
+        snapshotFlow(visibleRange)
+            .distinctUntilChanged()
+            .collect { onVisibleRangeChanged(it.first, it.last) }
+    }
 }
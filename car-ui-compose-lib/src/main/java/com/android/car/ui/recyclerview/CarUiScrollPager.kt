@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.ui.recyclerview
+
+import androidx.compose.animation.core.AnimationState
+import androidx.compose.animation.core.animateTo
+import androidx.compose.animation.core.spring
+import androidx.compose.foundation.gestures.ScrollableState
+import androidx.compose.foundation.gestures.animateScrollBy
+import androidx.compose.foundation.lazy.LazyListState
+import androidx.compose.foundation.lazy.grid.LazyGridState
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.Stable
+import androidx.compose.runtime.remember
+import androidx.compose.runtime.rememberCoroutineScope
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.launch
+import kotlin.math.abs
+
+/**
+ * Pages a lazy list or grid for the [CarUiScrollbar] buttons.
+ *
+ * A page is one viewport height in pixels. Presses that arrive while a page animation is running
+ * are added to its remaining distance and the animation is retargeted, keeping its velocity, so
+ * only one animation runs at a time no matter how fast the buttons are pressed. Once the last page
+ * settles the content snaps so the first visible item is fully shown.
+ */
+@Stable
+class CarUiScrollPager internal constructor(
+    private val state: ScrollableState,
+    private val scope: CoroutineScope,
+    private val viewportSize: () -> Int,
+    private val alignmentOffset: () -> Int,
+) {
+    private var remaining = 0f
+    private var velocity = 0f
+    private var job: Job? = null
+
+    fun pageUp() = page(-1)
+
+    fun pageDown() = page(1)
+
+    private fun page(direction: Int) {
+        if (direction > 0 && !state.canScrollForward) return
+        if (direction < 0 && !state.canScrollBackward) return
+        if (job?.isActive != true) {
+            // The last page either finished or was interrupted, e.g. by a drag.
+            remaining = 0f
+            velocity = 0f
+        }
+        // A press against a running page in the other direction replaces it instead of adding up.
+        if (remaining != 0f && (remaining > 0f) != (direction > 0)) remaining = 0f
+        remaining += direction * viewportSize()
+        job?.cancel()
+        job = scope.launch {
+            state.scroll {
+                var scrolled = 0f
+                AnimationState(initialValue = 0f, initialVelocity = velocity).animateTo(
+                    targetValue = remaining,
+                    animationSpec = spring(),
+                    sequentialAnimation = false
+                ) {
+                    val delta = value - scrolled
+                    val consumed = scrollBy(delta)
+                    scrolled += consumed
+                    remaining -= consumed
+                    this@CarUiScrollPager.velocity = velocity
+                    if (abs(consumed - delta) > 0.5f) {
+                        // Reached the start or the end of the content.
+                        remaining = 0f
+                        cancelAnimation()
+                    }
+                }
+            }
+            remaining = 0f
+            velocity = 0f
+            val alignment = alignmentOffset()
+            if (alignment != 0) state.animateScrollBy(alignment.toFloat())
+        }
+    }
+}
+
+@Composable
+fun rememberCarUiScrollPager(listState: LazyListState): CarUiScrollPager {
+    val scope = rememberCoroutineScope()
+    return remember(listState, scope) {
+        CarUiScrollPager(
+            state = listState,
+            scope = scope,
+            viewportSize = { listState.layoutInfo.viewportSize.height },
+            alignmentOffset = {
+                val first = listState.layoutInfo.visibleItemsInfo.firstOrNull()
+                alignmentOf(
+                    listState.canScrollForward,
+                    listState.firstVisibleItemScrollOffset,
+                    first?.size ?: 0,
+                    listState.layoutInfo.viewportSize.height
+                )
+            }
+        )
+    }
+}
+
+@Composable
+fun rememberCarUiScrollPager(gridState: LazyGridState): CarUiScrollPager {
+    val scope = rememberCoroutineScope()
+    return remember(gridState, scope) {
+        CarUiScrollPager(
+            state = gridState,
+            scope = scope,
+            viewportSize = { gridState.layoutInfo.viewportSize.height },
+            alignmentOffset = {
+                val first = gridState.layoutInfo.visibleItemsInfo.firstOrNull()
+                alignmentOf(
+                    gridState.canScrollForward,
+                    gridState.firstVisibleItemScrollOffset,
+                    first?.size?.height ?: 0,
+                    gridState.layoutInfo.viewportSize.height
+                )
+            }
+        )
+    }
+}
+
+/**
+ * Pixels to scroll back so a partially scrolled first item is fully shown. Items taller than the
+ * viewport and the end of the content are left where they are.
+ */
+private fun alignmentOf(canScrollForward: Boolean, firstOffset: Int, firstSize: Int, viewport: Int) =
+    if (!canScrollForward || firstOffset == 0 || firstSize > viewport) 0 else -firstOffset
@@ -21,80 +21,56 @@ package com.android.car.ui.recyclerview
 import androidx.compose.foundation.background
 import androidx.compose.foundation.layout.Box
 import androidx.compose.foundation.layout.fillMaxHeight
-import androidx.compose.foundation.layout.height
-import androidx.compose.foundation.layout.offset
 import androidx.compose.foundation.layout.padding
 import androidx.compose.foundation.layout.size
 import androidx.compose.foundation.layout.width
-import androidx.compose.foundation.lazy.LazyListState
-import androidx.compose.foundation.lazy.grid.LazyGridState
-import androidx.compose.foundation.shape.RoundedCornerShape
 import androidx.compose.material.Icon
 import androidx.compose.material.IconButton
 import androidx.compose.material.MaterialTheme
 import androidx.compose.runtime.Composable
-import androidx.compose.runtime.mutableStateOf
-import androidx.compose.runtime.remember
-import androidx.compose.runtime.rememberCoroutineScope
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
-import androidx.compose.ui.draw.clip
+import androidx.compose.ui.draw.drawBehind
+import androidx.compose.ui.geometry.CornerRadius
+import androidx.compose.ui.geometry.Offset
+import androidx.compose.ui.geometry.Size
 import androidx.compose.ui.graphics.Color
 import androidx.compose.ui.graphics.painter.Painter
-import androidx.compose.ui.layout.onGloballyPositioned
-import androidx.compose.ui.platform.LocalDensity
-import androidx.compose.ui.res.colorResource
-import androidx.compose.ui.res.dimensionResource
 import androidx.compose.ui.res.painterResource
 import androidx.compose.ui.unit.Dp
-import androidx.compose.ui.unit.IntOffset
 import com.android.car.ui.R
-import kotlinx.coroutines.launch
+import com.android.car.ui.instrumentation.CarUiInstrumentation
+import com.android.car.ui.theme.CarUiTheme
 import kotlin.math.max
 import kotlin.math.min
-import kotlin.math.roundToInt
 
 @Composable
 fun CarUiScrollbar(
     state: CarUiScrollbarState,
-    thumbColor: Color = colorResource(id = R.color.car_ui_scrollbar_thumb_color),
-    thumbMinHeight: Dp = dimensionResource(id = R.dimen.car_ui_scrollbar_thumb_min_height),
-    thumbRadius: Dp = dimensionResource(id = R.dimen.car_ui_scrollbar_thumb_radius),
-    buttonSize: Dp = dimensionResource(id = R.dimen.car_ui_scrollbar_button_size),
-    buttonMargin: Dp = dimensionResource(id = R.dimen.car_ui_scrollbar_button_margin),
+    thumbColor: Color = CarUiTheme.tokens.scrollbarThumbColor,
+    thumbMinHeight: Dp = CarUiTheme.tokens.scrollbarThumbMinHeight,
+    thumbRadius: Dp = CarUiTheme.tokens.scrollbarThumbRadius,
+    buttonSize: Dp = CarUiTheme.tokens.scrollbarButtonSize,
+    buttonMargin: Dp = CarUiTheme.tokens.scrollbarButtonMargin,
     iconUp: Painter = painterResource(id = R.drawable.car_ui_recyclerview_ic_up),
     iconDown: Painter = painterResource(id = R.drawable.car_ui_recyclerview_ic_down),
     onPageUp: (() -> Unit)? = null,
     onPageDown: (() -> Unit)? = null,
     modifier: Modifier = Modifier,
 ) {
-    if (!state.canScrollForward && !state.canScrollBackward) return
-    val scrollbarWidth = dimensionResource(id = R.dimen.car_ui_scrollbar_width)
-    val thumbWidth = dimensionResource(id = R.dimen.car_ui_scrollbar_thumb_width)
+    // Begins before the early return, so that the parent's offer is not counted as a skip.
+    val instrumentationStart = CarUiInstrumentation.begin(CarUiInstrumentation.SCROLLBAR)
+    if (!state.canScrollForward && !state.canScrollBackward) {
+        CarUiInstrumentation.end(CarUiInstrumentation.SCROLLBAR, instrumentationStart)
+        return
+    }
+    val scrollbarWidth = CarUiTheme.tokens.scrollbarWidth
+    val thumbWidth = CarUiTheme.tokens.scrollbarThumbWidth
 
-    val atTop = state.firstVisibleItemIndex == 0
-    val atBottom = (state.firstVisibleItemIndex + state.visibleItemsCount) >= state.totalItemsCount
+    val atTop = !state.canScrollBackward
+    val atBottom = !state.canScrollForward
     val disabledAlpha = 0.46f
-
-    val density = LocalDensity.current
-    val scrollbarHeightPx = remember { mutableStateOf(0) }
-
-    val validVisibleItems = if (state.visibleItemsCount > 0) state.visibleItemsCount else 1
-    val validTotalItems = if (state.totalItemsCount > 0) state.totalItemsCount else 1
-
-    val thumbMinHeightPx = with(density) { thumbMinHeight.roundToPx() }
-    val trackHeightPx = scrollbarHeightPx.value
-    val proportionalThumbHeightPx =
-        ((validVisibleItems.toFloat() / validTotalItems.toFloat()) * trackHeightPx).roundToInt()
-    val thumbHeightPx = max(
-        proportionalThumbHeightPx,
-        min(thumbMinHeightPx, trackHeightPx)
-    )
-    val scrollPercent = if (validTotalItems > validVisibleItems) {
-        state.firstVisibleItemIndex.toFloat() / (validTotalItems - validVisibleItems).toFloat()
-    } else 0f
-    val thumbOffsetPx = ((trackHeightPx - thumbHeightPx) * scrollPercent).toInt()
-
+    val trackColor = CarUiTheme.tokens.scrollbarTrackColor
 
     Box(
         modifier = modifier
@@ -131,21 +107,26 @@ fun CarUiScrollbar(
                 .fillMaxHeight()
                 .width(scrollbarWidth)
                 .padding(top = buttonSize, bottom = buttonSize)
-                .background(colorResource(id = R.color.car_ui_scrollbar_track_color))
-                .onGloballyPositioned {
-                    scrollbarHeightPx.value = it.size.height
+                .background(trackColor)
+                .drawBehind {
+                    // Only the draw phase reads the scroll position, so scrolling redraws the
+                    // thumb without recomposing or relaying out the scrollbar.
+                    val trackHeight = size.height
+                    val thumbHeight = max(
+                        state.thumbSizeFraction() * trackHeight,
+                        min(thumbMinHeight.toPx(), trackHeight)
+                    )
+                    val thumbTop = (trackHeight - thumbHeight) * state.thumbOffsetFraction()
+                    val thumbWidthPx = thumbWidth.toPx()
+                    val radius = min(thumbRadius.toPx(), min(thumbWidthPx, thumbHeight) / 2f)
+                    drawRoundRect(
+                        color = thumbColor,
+                        topLeft = Offset((size.width - thumbWidthPx) / 2f, thumbTop),
+                        size = Size(thumbWidthPx, thumbHeight),
+                        cornerRadius = CornerRadius(radius)
+                    )
                 }
-        ) {
-            Box(
-                modifier = Modifier
-                    .offset { IntOffset(0, thumbOffsetPx) }
-                    .width(thumbWidth)
-                    .height(with(density) { thumbHeightPx.toDp() })
-                    .clip(RoundedCornerShape(thumbRadius))
-                    .background(thumbColor)
-                    .align(Alignment.TopCenter)
-            )
-        }
+        )
 
         Box(
             modifier = Modifier
@@ -172,4 +153,5 @@ fun CarUiScrollbar(
             }
         }
     }
+    CarUiInstrumentation.end(CarUiInstrumentation.SCROLLBAR, instrumentationStart)
 }
@@ -1,9 +1,133 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
 package com.android.car.ui.recyclerview
 
-data class CarUiScrollbarState(
-    val firstVisibleItemIndex: Int,
-    val visibleItemsCount: Int,
-    val totalItemsCount: Int,
-    val canScrollForward: Boolean,
-    val canScrollBackward: Boolean
-)
+import androidx.compose.foundation.lazy.LazyListState
+import androidx.compose.foundation.lazy.grid.LazyGridState
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.Stable
+import androidx.compose.runtime.remember
+
+/**
+ * Scroll position of a lazy list or grid as seen by [CarUiScrollbar].
+ *
+ * [canScrollForward] and [canScrollBackward] only change at the ends of the content and are safe
+ * to read during composition. [thumbSizeFraction] and [thumbOffsetFraction] change on every
+ * scrolled frame and must only be read from layout or draw lambdas, so scrolling invalidates the
+ * thumb's draw pass without recomposing the scrollbar.
+ */
+@Stable
+abstract class CarUiScrollbarState internal constructor() {
+    abstract val canScrollForward: Boolean
+    abstract val canScrollBackward: Boolean
+
+    /** Length of the thumb as a fraction of the track, in `0..1`. */
+    abstract fun thumbSizeFraction(): Float
+
+    /** Position of the thumb as a fraction of the track space left over by the thumb, in `0..1`. */
+    abstract fun thumbOffsetFraction(): Float
+}
+
+@Composable
+fun rememberCarUiScrollbarState(listState: LazyListState): CarUiScrollbarState =
+    remember(listState) { LazyListScrollbarState(listState) }
+
+@Composable
+fun rememberCarUiScrollbarState(gridState: LazyGridState): CarUiScrollbarState =
+    remember(gridState) { LazyGridScrollbarState(gridState) }
+
+private class LazyListScrollbarState(private val state: LazyListState) : CarUiScrollbarState() {
+    private val heights = CarUiItemHeightCache()
+
+    override val canScrollForward: Boolean get() = state.canScrollForward
+    override val canScrollBackward: Boolean get() = state.canScrollBackward
+
+    override fun thumbSizeFraction(): Float {
+        val info = state.layoutInfo
+        measure()
+        return sizeFraction(info.viewportEndOffset - info.viewportStartOffset, heights)
+    }
+
+    override fun thumbOffsetFraction(): Float {
+        val info = state.layoutInfo
+        measure()
+        val scrolled = heights.offsetOf(state.firstVisibleItemIndex) +
+            state.firstVisibleItemScrollOffset
+        return offsetFraction(scrolled, info.viewportEndOffset - info.viewportStartOffset, heights)
+    }
+
+    private fun measure() {
+        val info = state.layoutInfo
+        heights.size = info.totalItemsCount
+        info.visibleItemsInfo.forEach { heights.record(it.index, it.size, it.key) }
+    }
+}
+
+private class LazyGridScrollbarState(private val state: LazyGridState) : CarUiScrollbarState() {
+    // Heights are cached per row, a row being as tall as its tallest cell.
+    private val heights = CarUiItemHeightCache()
+
+    override val canScrollForward: Boolean get() = state.canScrollForward
+    override val canScrollBackward: Boolean get() = state.canScrollBackward
+
+    override fun thumbSizeFraction(): Float {
+        val info = state.layoutInfo
+        measure()
+        return sizeFraction(info.viewportEndOffset - info.viewportStartOffset, heights)
+    }
+
+    override fun thumbOffsetFraction(): Float {
+        val info = state.layoutInfo
+        val firstRow = info.visibleItemsInfo.firstOrNull()?.row ?: return 0f
+        measure()
+        val scrolled = heights.offsetOf(firstRow) + state.firstVisibleItemScrollOffset
+        return offsetFraction(scrolled, info.viewportEndOffset - info.viewportStartOffset, heights)
+    }
+
+    private fun measure() {
+        val visibleItems = state.layoutInfo.visibleItemsInfo
+        if (visibleItems.isEmpty()) return
+        val columns = visibleItems.maxOf { it.column } + 1
+        heights.size = (state.layoutInfo.totalItemsCount + columns - 1) / columns
+        // A row is identified by the key of its first cell.
+        var row = visibleItems.first().row
+        var rowKey = visibleItems.first().key
+        var rowHeight = 0
+        visibleItems.forEach {
+            if (it.row != row) {
+                heights.record(row, rowHeight, rowKey)
+                row = it.row
+                rowKey = it.key
+                rowHeight = 0
+            }
+            rowHeight = maxOf(rowHeight, it.size.height)
+        }
+        heights.record(row, rowHeight, rowKey)
+    }
+}
+
+private fun sizeFraction(viewport: Int, heights: CarUiItemHeightCache): Float {
+    val total = heights.totalHeight()
+    return if (total <= 0f) 1f else (viewport / total).coerceIn(0f, 1f)
+}
+
+private fun offsetFraction(scrolled: Float, viewport: Int, heights: CarUiItemHeightCache): Float {
+    val scrollable = heights.totalHeight() - viewport
+    return if (scrollable <= 0f) 0f else (scrolled / scrollable).coerceIn(0f, 1f)
+}
@@ -0,0 +1,482 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.ui.recyclerview
+
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.Immutable
+import androidx.compose.runtime.LaunchedEffect
+import androidx.compose.runtime.mutableStateOf
+import androidx.compose.runtime.remember
+import androidx.compose.ui.Modifier
+import com.android.car.ui.instrumentation.CarUiTrace
+import com.android.car.ui.toolbar.CarUiSearchState
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.flow.collectLatest
+import kotlinx.coroutines.job
+import kotlinx.coroutines.withContext
+
+/**
+ * Case-insensitive substring search over the titles and bodies of a list, for filtering it as the
+ * user types a query.
+ *
+ * The case-folded text of all rows shares one [CharArray]. Each distinct trigram of the text has a
+ * posting list of the rows that contain it, and all posting lists are stored back to back in one
+ * [IntArray]. A query of three or more characters intersects the posting lists of its trigrams,
+ * rarest first, and only checks the remaining rows for the whole query. Shorter queries scan the
+ * text. When a query contains the previous one, as it does when the user types another character,
+ * [search] narrows the previous results instead of starting again from all rows.
+ *
+ * The index is immutable, so it can be built and searched on any thread. Build it off the main
+ * thread with [Builder] or [of], and search it with [rememberCarUiSearchResults].
+ */
+@Immutable
+class CarUiSearchIndex private constructor(
+    val size: Int,
+    private val chars: CharArray,
+    // Text of row i is [textStarts[i], textStarts[i + 1]), title and body joined by SEPARATOR.
+    private val textStarts: IntArray,
+    private val grams: GramTable,
+    // Rows containing trigram g are postings[postingStarts[g], postingStarts[g + 1]), ascending.
+    private val postingStarts: IntArray,
+    private val postings: IntArray,
+) {
+    private val all by lazy { CarUiSearchResults(this, "", "", IntArray(size) { it }) }
+
+    /**
+     * Returns the rows whose title or body contains [query], ignoring case, in list order. An
+     * empty query matches all rows. Pass the results of the previous query as [previous] so that
+     * they can be narrowed when [query] contains that query.
+     */
+    fun search(query: String, previous: CarUiSearchResults? = null): CarUiSearchResults =
+        search(query, previous, isCancelled = { false })
+
+    /**
+     * [search] that checks [isCancelled] every [CANCEL_CHECK_INTERVAL] rows and then stops with
+     * partial results, which the caller must drop.
+     */
+    internal fun search(
+        query: String,
+        previous: CarUiSearchResults?,
+        isCancelled: () -> Boolean
+    ): CarUiSearchResults {
+        val folded = fold(query)
+        if (folded.isEmpty()) return all
+        val reusable = previous?.takeIf { it.index === this }
+        if (reusable != null && reusable.folded == folded) return reusable
+        CarUiTrace.begin(CarUiTrace.SEARCH_INDEX_QUERY)
+        val narrowed = reusable?.takeIf { it !== all && folded.contains(it.folded) }?.rows
+        val candidates = if (folded.length < GRAM_LENGTH) narrowed else candidates(folded, narrowed)
+        val matches = IntArray(candidates?.size ?: size)
+        var count = 0
+        for (i in matches.indices) {
+            if (i % CANCEL_CHECK_INTERVAL == 0 && isCancelled()) break
+            val row = if (candidates == null) i else candidates[i]
+            if (contains(row, folded)) matches[count++] = row
+        }
+        CarUiTrace.end()
+        return CarUiSearchResults(this, query, folded, matches.copyOf(count))
+    }
+
+    /**
+     * Rows that contain every trigram of [folded], taken from [narrowed] if it is not null, or
+     * `null` if the trigrams rule out nothing.
+     */
+    private fun candidates(folded: String, narrowed: IntArray?): IntArray? {
+        val gramNumbers = IntArray(folded.length - GRAM_LENGTH + 1)
+        for (i in gramNumbers.indices) {
+            val number = grams.numberOf(gramKey(folded[i], folded[i + 1], folded[i + 2]))
+            if (number == GramTable.MISSING) return IntArray(0)
+            gramNumbers[i] = number
+        }
+        val rarestFirst = gramNumbers.distinct().sortedBy(::postingCount)
+        var first = 0
+        val rows = if (narrowed != null && narrowed.size <= postingCount(rarestFirst[0])) {
+            narrowed.copyOf()
+        } else {
+            first = 1
+            postings.copyOfRange(postingStarts[rarestFirst[0]], postingStarts[rarestFirst[0] + 1])
+        }
+        var count = rows.size
+        for (i in first until rarestFirst.size) {
+            if (count == 0) break
+            val gram = rarestFirst[i]
+            count = intersect(rows, count, postingStarts[gram], postingStarts[gram + 1])
+        }
+        return rows.copyOf(count)
+    }
+
+    private fun postingCount(gram: Int): Int = postingStarts[gram + 1] - postingStarts[gram]
+
+    /**
+     * Keeps the rows in `rows[0, count)` that are also in `postings[from, to)` and returns how many
+     * are left. Both are ascending; the postings are galloped through, since they are usually
+     * much longer than the rows.
+     */
+    private fun intersect(rows: IntArray, count: Int, from: Int, to: Int): Int {
+        var kept = 0
+        var position = from
+        for (i in 0 until count) {
+            if (position == to) break
+            val row = rows[i]
+            if (postings[position] < row) {
+                // postings[low] < row, and postings[high] >= row or high == to.
+                var low = position
+                var step = 1
+                var high = low + step
+                while (high < to && postings[high] < row) {
+                    low = high
+                    step = step shl 1
+                    high = low + step
+                }
+                high = minOf(high, to)
+                position = low + 1
+                while (position < high) {
+                    val middle = (position + high) ushr 1
+                    if (postings[middle] < row) position = middle + 1 else high = middle
+                }
+            }
+            if (position < to && postings[position] == row) {
+                rows[kept++] = row
+                position++
+            }
+        }
+        return kept
+    }
+
+    private fun contains(row: Int, folded: String): Boolean {
+        val first = folded[0]
+        val last = textStarts[row + 1] - folded.length
+        for (start in textStarts[row]..last) {
+            if (chars[start] != first) continue
+            var matched = 1
+            while (matched < folded.length && chars[start + matched] == folded[matched]) matched++
+            if (matched == folded.length) return true
+        }
+        return false
+    }
+
+    /** Collects the text of the rows of a [CarUiSearchIndex], in list order. */
+    class Builder(initialCapacity: Int = 16) {
+        private var size = 0
+        private var chars = CharArray(initialCapacity * 32)
+        private var charCount = 0
+        private var textStarts = IntArray(initialCapacity + 1)
+
+        /** Adds the next row; a row without text never matches a non-empty query. */
+        fun add(title: CharSequence?, body: CharSequence? = null): Builder {
+            if (size + 2 > textStarts.size) textStarts = textStarts.copyOf(maxOf(size * 2, 16) + 1)
+            append(title)
+            if (body != null) {
+                append(SEPARATOR, fold = false)
+                append(body)
+            }
+            size++
+            textStarts[size] = charCount
+            return this
+        }
+
+        fun build(): CarUiSearchIndex {
+            CarUiTrace.begin(CarUiTrace.SEARCH_INDEX_BUILD)
+            // Number the distinct trigrams and count the rows containing each, then fill in the
+            // rows in a second pass over the text, so postings need no per-trigram lists.
+            val grams = GramTable()
+            var rowCounts = IntArray(256)
+            var lastRows = IntArray(256)
+            forEachGram { row, key ->
+                val gramCount = grams.size
+                val number = grams.add(key)
+                if (number == rowCounts.size) {
+                    rowCounts = rowCounts.copyOf(number * 2)
+                    lastRows = lastRows.copyOf(number * 2)
+                }
+                if (number == gramCount) lastRows[number] = -1
+                if (lastRows[number] != row) {
+                    lastRows[number] = row
+                    rowCounts[number]++
+                }
+            }
+            val postingStarts = IntArray(grams.size + 1)
+            for (gram in 0 until grams.size) {
+                postingStarts[gram + 1] = postingStarts[gram] + rowCounts[gram]
+            }
+            val postings = IntArray(postingStarts[grams.size])
+            val fill = postingStarts.copyOf(grams.size)
+            lastRows.fill(-1)
+            forEachGram { row, key ->
+                val number = grams.numberOf(key)
+                if (lastRows[number] != row) {
+                    lastRows[number] = row
+                    postings[fill[number]++] = row
+                }
+            }
+            val index = CarUiSearchIndex(
+                size,
+                chars.copyOf(charCount),
+                textStarts.copyOf(size + 1),
+                grams,
+                postingStarts,
+                postings
+            )
+            CarUiTrace.end()
+            return index
+        }
+
+        private inline fun forEachGram(action: (row: Int, key: Long) -> Unit) {
+            for (row in 0 until size) {
+                for (i in textStarts[row] until textStarts[row + 1] - GRAM_LENGTH + 1) {
+                    val c0 = chars[i]
+                    val c1 = chars[i + 1]
+                    val c2 = chars[i + 2]
+                    if (c0 == SEPARATOR || c1 == SEPARATOR || c2 == SEPARATOR) continue
+                    action(row, gramKey(c0, c1, c2))
+                }
+            }
+        }
+
+        private fun append(text: CharSequence?) {
+            if (text == null) return
+            for (i in text.indices) append(text[i], fold = true)
+        }
+
+        private fun append(c: Char, fold: Boolean) {
+            if (charCount == chars.size) chars = chars.copyOf(maxOf(chars.size * 2, 32))
+            chars[charCount++] = if (fold) fold(c) else c
+        }
+    }
+
+    /** Open addressing table from a trigram key to the trigram's number, in order of addition. */
+    private class GramTable {
+        private var keys = LongArray(1024).apply { fill(EMPTY) }
+        private var numbers = IntArray(1024)
+        var size = 0
+            private set
+
+        fun numberOf(key: Long): Int {
+            val mask = keys.size - 1
+            var slot = hash(key) and mask
+            while (true) {
+                val slotKey = keys[slot]
+                if (slotKey == key) return numbers[slot]
+                if (slotKey == EMPTY) return MISSING
+                slot = (slot + 1) and mask
+            }
+        }
+
+        /** Returns the number of [key], numbering it [size] if it is new. */
+        fun add(key: Long): Int {
+            val mask = keys.size - 1
+            var slot = hash(key) and mask
+            while (true) {
+                val slotKey = keys[slot]
+                if (slotKey == key) return numbers[slot]
+                if (slotKey == EMPTY) break
+                slot = (slot + 1) and mask
+            }
+            keys[slot] = key
+            numbers[slot] = size
+            size++
+            if (size * 2 > keys.size) grow()
+            return size - 1
+        }
+
+        private fun grow() {
+            val oldKeys = keys
+            val oldNumbers = numbers
+            keys = LongArray(oldKeys.size * 2).apply { fill(EMPTY) }
+            numbers = IntArray(oldKeys.size * 2)
+            val mask = keys.size - 1
+            for (i in oldKeys.indices) {
+                if (oldKeys[i] == EMPTY) continue
+                var slot = hash(oldKeys[i]) and mask
+                while (keys[slot] != EMPTY) slot = (slot + 1) and mask
+                keys[slot] = oldKeys[i]
+                numbers[slot] = oldNumbers[i]
+            }
+        }
+
+        private fun hash(key: Long): Int = ((key * -0x61c8864680b583ebL) ushr 32).toInt()
+
+        companion object {
+            const val EMPTY = -1L
+            const val MISSING = -1
+        }
+    }
+
+    companion object {
+        private const val GRAM_LENGTH = 3
+        private const val CANCEL_CHECK_INTERVAL = 1024
+
+        // Joins title and body, so that no match or trigram spans the two.
+        private const val SEPARATOR = '\u0000'
+
+        /** Indexes the header text, or title, and the body of each of [items]. */
+        fun of(items: List<CarUiListItemData>): CarUiSearchIndex {
+            val builder = Builder(items.size)
+            for (item in items) {
+                when (item) {
+                    is CarUiListItemData.Header -> builder.add(item.text, item.body)
+                    is CarUiListItemData.Content -> builder.add(item.title, item.body)
+                    is CarUiListItemData.ActionCheckBox -> builder.add(item.title, item.body)
+                    is CarUiListItemData.ActionChevron -> builder.add(item.title, item.body)
+                    is CarUiListItemData.ActionIcon -> builder.add(item.title, item.body)
+                    is CarUiListItemData.ActionRadioButton -> builder.add(item.title, item.body)
+                    is CarUiListItemData.ActionSwitch -> builder.add(item.title, item.body)
+                    else -> builder.add(null)
+                }
+            }
+            return builder.build()
+        }
+
+        /** Indexes the title and body of each row of [store]. */
+        fun of(store: CarUiListItemStore): CarUiSearchIndex {
+            val builder = Builder(store.size)
+            for (index in 0 until store.size) builder.add(store.title(index), store.body(index))
+            return builder.build()
+        }
+
+        private fun fold(c: Char): Char = if (c == SEPARATOR) ' ' else Character.toLowerCase(c)
+
+        private fun fold(query: String): String {
+            val folded = CharArray(query.length)
+            for (i in query.indices) folded[i] = fold(query[i])
+            return String(folded)
+        }
+
+        private fun gramKey(c0: Char, c1: Char, c2: Char): Long =
+            (c0.code.toLong() shl 32) or (c1.code.toLong() shl 16) or c2.code.toLong()
+    }
+}
+
+/**
+ * Rows of a [CarUiSearchIndex] that match a query, in list order. Show them with the
+ * [CarUiRecyclerView] overloads taking results.
+ */
+@Immutable
+class CarUiSearchResults internal constructor(
+    internal val index: CarUiSearchIndex,
+    /** The query as it was passed to [CarUiSearchIndex.search]. */
+    val query: String,
+    internal val folded: String,
+    internal val rows: IntArray,
+) {
+    val size: Int get() = rows.size
+
+    /** Returns the row, as an index into the indexed list, shown at [position]. */
+    operator fun get(position: Int): Int = rows[position]
+}
+
+/**
+ * Searches [index] for [query] on [dispatcher] and returns the latest results, starting with all
+ * rows. A search still running when the query changes again is cancelled, and each search narrows
+ * the results of the previous one when it can.
+ */
+@Composable
+fun rememberCarUiSearchResults(
+    index: CarUiSearchIndex,
+    query: String,
+    dispatcher: CoroutineDispatcher = Dispatchers.Default,
+): CarUiSearchResults {
+    val results = remember(index) { mutableStateOf(index.search("")) }
+    LaunchedEffect(index, query, dispatcher) {
+        val previous = results.value
+        results.value = withContext(dispatcher) {
+            val job = coroutineContext.job
+            index.search(query, previous, isCancelled = { !job.isActive })
+        }
+    }
+    return results.value
+}
+
+/**
+ * Searches [index] on [dispatcher] for each query that [state] publishes, see
+ * [CarUiSearchState.queries], and returns the latest results, starting with all rows. Typing does
+ * not recompose the caller until the debounced query has been searched. A search still running
+ * when the next query is published is cancelled, and each search narrows the results of the
+ * previous one when it can.
+ */
+@Composable
+fun rememberCarUiSearchResults(
+    index: CarUiSearchIndex,
+    state: CarUiSearchState,
+    dispatcher: CoroutineDispatcher = Dispatchers.Default,
+): CarUiSearchResults {
+    val results = remember(index) { mutableStateOf(index.search("")) }
+    LaunchedEffect(index, state, dispatcher) {
+        state.queries.collectLatest { query ->
+            val previous = results.value
+            results.value = withContext(dispatcher) {
+                val job = coroutineContext.job
+                index.search(query, previous, isCancelled = { !job.isActive })
+            }
+        }
+    }
+    return results.value
+}
+
+/**
+ * Shows the rows of [items] in [results]. Rows are keyed by their index in [items], so the rows
+ * that still match keep their state while the query changes.
+ */
+@Composable
+fun <T> CarUiRecyclerView(
+    items: List<T>,
+    results: CarUiSearchResults,
+    showDivider: Boolean = false,
+    layoutStyle: CarUiRecyclerViewLayoutStyle = CarUiRecyclerViewLayoutStyle.LIST,
+    numOfColumns: Int = 1,
+    contentType: (T) -> Any? = { null },
+    modifier: Modifier = Modifier,
+    itemContent: @Composable (T) -> Unit
+) {
+    CarUiRecyclerViewLayout(
+        itemCount = results.size,
+        showDivider = showDivider,
+        layoutStyle = layoutStyle,
+        numOfColumns = numOfColumns,
+        key = results::get,
+        contentType = { position -> contentType(items[results[position]]) },
+        modifier = modifier,
+        itemContent = { position -> itemContent(items[results[position]]) }
+    )
+}
+
+/**
+ * Shows the rows of [store] in [results]. [onItemClick] receives the index of the clicked row in
+ * [store], not its position in the results.
+ */
+@Composable
+fun CarUiRecyclerView(
+    store: CarUiListItemStore,
+    results: CarUiSearchResults,
+    showDivider: Boolean = false,
+    modifier: Modifier = Modifier,
+    onItemClick: ((index: Int) -> Unit)? = null,
+) {
+    CarUiRecyclerViewLayout(
+        itemCount = results.size,
+        showDivider = showDivider,
+        layoutStyle = CarUiRecyclerViewLayoutStyle.LIST,
+        numOfColumns = 1,
+        key = results::get,
+        contentType = { position -> store.kind(results[position]) },
+        modifier = modifier,
+        itemContent = { position -> CarUiListItemStoreRow(store, results[position], onItemClick) }
+    )
+}
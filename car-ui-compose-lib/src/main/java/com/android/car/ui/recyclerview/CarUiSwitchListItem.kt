@@ -4,19 +4,22 @@ import androidx.compose.material.Switch
 import androidx.compose.runtime.Composable
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.draw.scale
-import androidx.compose.ui.graphics.painter.Painter
+import com.android.car.ui.instrumentation.CarUiInstrumentation
+import com.android.car.ui.widget.CarUiImage
 
 @Composable
 fun CarUiSwitchListItem(
     title: String? = null,
     body: String? = null,
-    icon: Painter? = null,
+    icon: CarUiImage? = null,
     iconType: CarUiContentListItemIconType = CarUiContentListItemIconType.STANDARD,
     checked: Boolean,
     enabled: Boolean = true,
     restricted: Boolean = false,
     onCheckedChange: ((Boolean) -> Unit)? = null,
 ) {
+    val instrumentationStart = CarUiInstrumentation.begin(CarUiInstrumentation.SWITCH_LIST_ITEM)
+    CarUiInstrumentation.offer(CarUiInstrumentation.CONTENT_LIST_ITEM)
     CarUiContentListItem(
         title = title,
         body = body,
@@ -36,4 +39,5 @@ fun CarUiSwitchListItem(
             )
         }
     )
+    CarUiInstrumentation.end(CarUiInstrumentation.SWITCH_LIST_ITEM, instrumentationStart)
 }
@@ -19,6 +19,8 @@
 package com.android.car.ui.theme
 
 import android.annotation.SuppressLint
+import android.content.Context
+import android.content.res.Configuration
 import androidx.compose.foundation.shape.RoundedCornerShape
 import androidx.compose.material.Colors
 import androidx.compose.material.MaterialTheme
@@ -26,85 +28,144 @@ import androidx.compose.material.Shapes
 import androidx.compose.material.Typography
 import androidx.compose.material.darkColors
 import androidx.compose.runtime.Composable
-import androidx.compose.ui.res.colorResource
-import androidx.compose.ui.res.dimensionResource
+import androidx.compose.runtime.CompositionLocalProvider
+import androidx.compose.runtime.remember
+import androidx.compose.ui.platform.LocalConfiguration
+import androidx.compose.ui.platform.LocalContext
 import androidx.compose.ui.text.TextStyle
 import androidx.compose.ui.text.font.FontFamily
 import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.unit.sp
-import com.android.car.ui.R
+import java.lang.ref.WeakReference
 
 @SuppressLint("ConflictingOnColor")
-@Composable
-fun buildCarUiColors(): Colors {
-    val primary = colorResource(id = R.color.car_ui_primary_color)
-    val secondary = colorResource(id = R.color.car_ui_secondary_color)
-    val background = colorResource(id = R.color.car_ui_activity_background_color)
-    val surface = colorResource(id = R.color.car_ui_surface_color)
-    val onPrimary = colorResource(id = R.color.car_ui_on_primary_color)
-    val onSurface = colorResource(id = R.color.car_ui_text_color_primary)
-    val onSecondary = colorResource(id = R.color.car_ui_on_secondary_color)
-
+fun buildCarUiColors(tokens: CarUiTokens): Colors {
     return darkColors(
-        primary = primary,
-        secondary = secondary,
-        background = background,
-        surface = surface,
-        onPrimary = onPrimary,
-        onSurface = onSurface,
-        onSecondary = onSecondary
+        primary = tokens.primaryColor,
+        secondary = tokens.secondaryColor,
+        background = tokens.activityBackgroundColor,
+        surface = tokens.surfaceColor,
+        onPrimary = tokens.onPrimaryColor,
+        onSurface = tokens.textColorPrimary,
+        onSecondary = tokens.onSecondaryColor
     )
 }
 
-@Composable
-fun buildCarUiTypography(): Typography {
+fun buildCarUiTypography(tokens: CarUiTokens): Typography {
     return Typography(
         h1 = TextStyle(
             fontFamily = FontFamily.Default,
-            fontSize = dimensionResource(id = R.dimen.car_ui_body1_size).value.sp,
+            fontSize = tokens.body1Size.value.sp,
         ),
         h3 = TextStyle(
             fontFamily = FontFamily.Default,
             fontWeight = FontWeight.Medium,
-            fontSize = dimensionResource(id = R.dimen.car_ui_body3_size).value.sp,
+            fontSize = tokens.body3Size.value.sp,
         ),
         subtitle1 = TextStyle(
             fontFamily = FontFamily.Default,
-            fontSize = dimensionResource(id = R.dimen.car_ui_body3_size).value.sp
+            fontSize = tokens.body3Size.value.sp
         ),
         body1 = TextStyle(
             fontFamily = FontFamily.Default,
-            fontSize = dimensionResource(id = R.dimen.car_ui_body1_size).value.sp
+            fontSize = tokens.body1Size.value.sp
         ),
         body2 = TextStyle(
             fontFamily = FontFamily.Default,
-            fontSize = dimensionResource(id = R.dimen.car_ui_body2_size).value.sp
+            fontSize = tokens.body2Size.value.sp
         ),
         button = TextStyle(
             fontWeight = FontWeight.Medium,
             fontFamily = FontFamily.Default,
-            fontSize = dimensionResource(id = R.dimen.car_ui_button_text_size).value.sp,
+            fontSize = tokens.buttonTextSize.value.sp,
         )
     )
 }
 
-@Composable
-fun buildCarUiShapes(): Shapes {
+fun buildCarUiShapes(tokens: CarUiTokens): Shapes {
     return Shapes(
-        small = RoundedCornerShape(dimensionResource(id = R.dimen.car_ui_shape_small)),
-        medium = RoundedCornerShape(dimensionResource(id = R.dimen.car_ui_shape_medium)),
-        large = RoundedCornerShape(dimensionResource(id = R.dimen.car_ui_shape_large))
+        small = RoundedCornerShape(tokens.shapeSmall),
+        medium = RoundedCornerShape(tokens.shapeMedium),
+        large = RoundedCornerShape(tokens.shapeLarge)
     )
 }
 
+@Deprecated(
+    "Looks the tokens up on every call, build the colors from CarUiTokens instead",
+    ReplaceWith("buildCarUiColors(CarUiTheme.tokens)")
+)
+@Composable
+fun buildCarUiColors(): Colors = buildCarUiColors(CarUiTheme.tokens)
+
+@Deprecated(
+    "Looks the tokens up on every call, build the typography from CarUiTokens instead",
+    ReplaceWith("buildCarUiTypography(CarUiTheme.tokens)")
+)
+@Composable
+fun buildCarUiTypography(): Typography = buildCarUiTypography(CarUiTheme.tokens)
+
+@Deprecated(
+    "Looks the tokens up on every call, build the shapes from CarUiTokens instead",
+    ReplaceWith("buildCarUiShapes(CarUiTheme.tokens)")
+)
+@Composable
+fun buildCarUiShapes(): Shapes = buildCarUiShapes(CarUiTheme.tokens)
+
 @Composable
 fun CarUiTheme(
     content: @Composable () -> Unit
 ) {
-    MaterialTheme(
-        colors = buildCarUiColors(),
-        typography = buildCarUiTypography(),
-        shapes = buildCarUiShapes(),
-        content = content
-    )
+    val tokens = rememberCarUiTokens()
+    CompositionLocalProvider(LocalCarUiTokens provides tokens) {
+        MaterialTheme(
+            colors = remember(tokens) { buildCarUiColors(tokens) },
+            typography = remember(tokens) { buildCarUiTypography(tokens) },
+            shapes = remember(tokens) { buildCarUiShapes(tokens) },
+            content = content
+        )
+    }
+}
+
+object CarUiTheme {
+    /**
+     * Resolved `car_ui_*` dimensions and colors of the enclosing [CarUiTheme]. Outside of one they
+     * are read from the resources once per context and configuration and shared by every read.
+     */
+    val tokens: CarUiTokens
+        @Composable
+        get() = LocalCarUiTokens.current ?: FallbackTokens.get(
+            LocalContext.current,
+            LocalConfiguration.current
+        )
+}
+
+@Composable
+private fun rememberCarUiTokens(): CarUiTokens {
+    val context = LocalContext.current
+    val configuration = LocalConfiguration.current
+    return remember(context, configuration) { CarUiTokens(context.resources, context.theme) }
+}
+
+/**
+ * The tokens last resolved outside a [CarUiTheme]. Compositions run on the main thread, so this
+ * needs no synchronization; the context is held weakly so that it does not leak its activity.
+ */
+private object FallbackTokens {
+    private var context: WeakReference<Context>? = null
+    private var configuration: Configuration? = null
+    private var tokens: CarUiTokens? = null
+
+    fun get(context: Context, configuration: Configuration): CarUiTokens {
+        val cached = tokens
+        if (cached != null && this.context?.get() === context &&
+            this.configuration === configuration
+        ) {
+            return cached
+        }
+        return CarUiTokens(context.resources, context.theme).also {
+            this.context = WeakReference(context)
+            this.configuration = configuration
+            tokens = it
+        }
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.ui.theme
+
+import android.content.res.Resources
+import androidx.annotation.ColorRes
+import androidx.annotation.DimenRes
+import androidx.compose.runtime.Immutable
+import androidx.compose.runtime.staticCompositionLocalOf
+import androidx.compose.ui.graphics.Color
+import androidx.compose.ui.unit.Dp
+import androidx.compose.ui.unit.dp
+import com.android.car.ui.R
+
+/**
+ * Every `car_ui_*` dimension and color resource, resolved once per configuration by [CarUiTheme].
+ *
+ * Components read these through [CarUiTheme.tokens] instead of calling `dimensionResource` or
+ * `colorResource`, which look the value up in [Resources] on every composition.
+ */
+@Immutable
+class CarUiTokens internal constructor(resources: Resources, theme: Resources.Theme?) {
+    val touchTargetSize: Dp = resources.dp(R.dimen.car_ui_touch_target_size)
+    val touchTargetWidth: Dp = resources.dp(R.dimen.car_ui_touch_target_width)
+    val margin: Dp = resources.dp(R.dimen.car_ui_margin)
+    val primaryIconSize: Dp = resources.dp(R.dimen.car_ui_primary_icon_size)
+    val padding3: Dp = resources.dp(R.dimen.car_ui_padding_3)
+    val padding5: Dp = resources.dp(R.dimen.car_ui_padding_5)
+    val toolbarRowHeight: Dp = resources.dp(R.dimen.car_ui_toolbar_row_height)
+    val toolbarIconSpacing: Dp = resources.dp(R.dimen.car_ui_toolbar_icon_spacing)
+    val toolbarElevation: Dp = resources.dp(R.dimen.car_ui_toolbar_elevation)
+    val toolbarMargin: Dp = resources.dp(R.dimen.car_ui_toolbar_margin)
+    val toolbarNavIconSize: Dp = resources.dp(R.dimen.car_ui_toolbar_nav_icon_size)
+    val toolbarLogoSize: Dp = resources.dp(R.dimen.car_ui_toolbar_logo_size)
+    val toolbarTitleMarginStart: Dp = resources.dp(R.dimen.car_ui_toolbar_title_margin_start)
+    val toolbarMenuItemMargin: Dp = resources.dp(R.dimen.car_ui_toolbar_menu_item_margin)
+    val toolbarMenuItemIconSize: Dp = resources.dp(R.dimen.car_ui_toolbar_menu_item_icon_size)
+    val toolbarMenuItemIconBackgroundSize: Dp = resources.dp(R.dimen.car_ui_toolbar_menu_item_icon_background_size)
+    val scrollbarThickness: Dp = resources.dp(R.dimen.car_ui_scrollbar_thickness)
+    val scrollbarPadding: Dp = resources.dp(R.dimen.car_ui_scrollbar_padding)
+    val scrollbarThumbRadius: Dp = resources.dp(R.dimen.car_ui_scrollbar_thumb_radius)
+    val scrollbarWidth: Dp = resources.dp(R.dimen.car_ui_scrollbar_width)
+    val scrollbarThumbMinHeight: Dp = resources.dp(R.dimen.car_ui_scrollbar_thumb_min_height)
+    val scrollbarThumbWidth: Dp = resources.dp(R.dimen.car_ui_scrollbar_thumb_width)
+    val scrollbarButtonSize: Dp = resources.dp(R.dimen.car_ui_scrollbar_button_size)
+    val scrollbarButtonMargin: Dp = resources.dp(R.dimen.car_ui_scrollbar_button_margin)
+    val listItemChevronSize: Dp = resources.dp(R.dimen.car_ui_list_item_chevron_size)
+    val listItemTextStartMargin: Dp = resources.dp(R.dimen.car_ui_list_item_text_start_margin)
+    val listItemHeight: Dp = resources.dp(R.dimen.car_ui_list_item_height)
+    val listItemIconContainerWidth: Dp = resources.dp(R.dimen.car_ui_list_item_icon_container_width)
+    val prefPadding: Dp = resources.dp(R.dimen.car_ui_pref_padding)
+    val prefMinHeight: Dp = resources.dp(R.dimen.car_ui_pref_min_height)
+    val prefIconSize: Dp = resources.dp(R.dimen.car_ui_pref_icon_size)
+    val prefIconSpacing: Dp = resources.dp(R.dimen.car_ui_pref_icon_spacing)
+    val dividerHeight: Dp = resources.dp(R.dimen.car_ui_divider_height)
+    val listItemHeaderHeight: Dp = resources.dp(R.dimen.car_ui_list_item_header_height)
+    val listItemTextNoIconStartMargin: Dp = resources.dp(R.dimen.car_ui_list_item_text_no_icon_start_margin)
+    val shapeSmall: Dp = resources.dp(R.dimen.car_ui_shape_small)
+    val shapeMedium: Dp = resources.dp(R.dimen.car_ui_shape_medium)
+    val shapeLarge: Dp = resources.dp(R.dimen.car_ui_shape_large)
+    val body1Size: Dp = resources.dp(R.dimen.car_ui_body1_size)
+    val body2Size: Dp = resources.dp(R.dimen.car_ui_body2_size)
+    val body3Size: Dp = resources.dp(R.dimen.car_ui_body3_size)
+    val textSize: Dp = resources.dp(R.dimen.car_ui_text_size)
+    val buttonTextSize: Dp = resources.dp(R.dimen.car_ui_button_text_size)
+    val alertDialogPadding: Dp = resources.dp(R.dimen.car_ui_alert_dialog_padding)
+    val alertDialogIconSize: Dp = resources.dp(R.dimen.car_ui_alert_dialog_icon_size)
+    val alertDialogButtonSpacing: Dp = resources.dp(R.dimen.car_ui_alert_dialog_button_spacing)
+
+    val primaryColor: Color = resources.color(R.color.car_ui_primary_color, theme)
+    val secondaryColor: Color = resources.color(R.color.car_ui_secondary_color, theme)
+    val onSecondaryColor: Color = resources.color(R.color.car_ui_on_secondary_color, theme)
+    val onPrimaryColor: Color = resources.color(R.color.car_ui_on_primary_color, theme)
+    val dividerColor: Color = resources.color(R.color.car_ui_divider_color, theme)
+    val textColorPrimary: Color = resources.color(R.color.car_ui_text_color_primary, theme)
+    val activityBackgroundColor: Color = resources.color(R.color.car_ui_activity_background_color, theme)
+    val surfaceColor: Color = resources.color(R.color.car_ui_surface_color, theme)
+    val alertDialogBgColor: Color = resources.color(R.color.car_ui_alert_dialog_bg_color, theme)
+    val toolbarBackground: Color = resources.color(R.color.car_ui_toolbar_background, theme)
+    val scrollbarThumbColor: Color = resources.color(R.color.car_ui_scrollbar_thumb_color, theme)
+    val scrollbarTrackColor: Color = resources.color(R.color.car_ui_scrollbar_track_color, theme)
+    val scrollbarArrow: Color = resources.color(R.color.car_ui_scrollbar_arrow, theme)
+
+    init {
+        builds++
+    }
+
+    internal companion object {
+        /** How many tokens were resolved from the resources, for tests. */
+        var builds = 0
+            private set
+    }
+}
+
+/** Tokens of the enclosing [CarUiTheme], or `null` outside of one; see [CarUiTheme.tokens]. */
+val LocalCarUiTokens = staticCompositionLocalOf<CarUiTokens?> { null }
+
+private fun Resources.dp(@DimenRes id: Int): Dp = (getDimension(id) / displayMetrics.density).dp
+
+private fun Resources.color(@ColorRes id: Int, theme: Resources.Theme?): Color =
+    Color(getColor(id, theme))
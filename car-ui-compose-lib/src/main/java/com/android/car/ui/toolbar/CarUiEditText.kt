@@ -23,12 +23,15 @@ import androidx.compose.foundation.text.KeyboardOptions
 import androidx.compose.material.MaterialTheme
 import androidx.compose.material.Text
 import androidx.compose.material.TextField
+import androidx.compose.material.TextFieldColors
 import androidx.compose.material.TextFieldDefaults
 import androidx.compose.runtime.Composable
 import androidx.compose.ui.Modifier
-import androidx.compose.ui.res.colorResource
+import androidx.compose.ui.graphics.Color
 import androidx.compose.ui.text.input.ImeAction
 import androidx.compose.ui.text.input.KeyboardType
+import androidx.compose.ui.text.input.TextFieldValue
+import com.android.car.ui.theme.CarUiTheme
 
 @Composable
 fun CarUiEditText(
@@ -63,21 +66,65 @@ fun CarUiEditText(
             onSearch = { onImeAction?.invoke() },
             onDone = { onImeAction?.invoke() }
         ),
-        colors = TextFieldDefaults.textFieldColors(
-            placeholderColor = MaterialTheme.colors.onSurface,
-            textColor = MaterialTheme.colors.onSurface,
-            backgroundColor = colorResource(android.R.color.transparent),
-            disabledTextColor = MaterialTheme.colors.onSecondary,
-            cursorColor = MaterialTheme.colors.primary,
-            focusedIndicatorColor = MaterialTheme.colors.primary,
-            unfocusedIndicatorColor = MaterialTheme.colors.primary,
-            disabledIndicatorColor = MaterialTheme.colors.onSecondary,
-            leadingIconColor = MaterialTheme.colors.onSurface,
-            disabledLeadingIconColor = MaterialTheme.colors.onSurface.copy(alpha = 0.38f),
-            trailingIconColor = MaterialTheme.colors.onSurface,
-            disabledTrailingIconColor = MaterialTheme.colors.onSurface.copy(alpha = 0.38f),
+        colors = carUiEditTextColors(),
+        readOnly = restricted
+    )
+}
+
+/**
+ * [CarUiEditText] that edits a [TextFieldValue], for callers such as [CarUiSearchState] that keep
+ * the text, selection and composition in their own state.
+ */
+@Composable
+fun CarUiEditText(
+    value: TextFieldValue,
+    onValueChange: (TextFieldValue) -> Unit,
+    hint: String = "",
+    enabled: Boolean = true,
+    restricted: Boolean = false,
+    modifier: Modifier = Modifier,
+    keyboardType: KeyboardType = KeyboardType.Text,
+    onImeAction: (() -> Unit)? = null,
+    leadingIcon: @Composable (() -> Unit)? = null,
+    trailingIcon: @Composable (() -> Unit)? = null,
+    imeAction: ImeAction = ImeAction.Done,
+) {
+    val isEditable = enabled && !restricted
+    TextField(
+        value = value,
+        onValueChange = { if (isEditable) onValueChange(it) },
+        enabled = enabled,
+        placeholder = { Text(hint) },
+        singleLine = true,
+        modifier = modifier,
+        textStyle = MaterialTheme.typography.body1,
+        keyboardOptions = KeyboardOptions(
+            keyboardType = keyboardType,
+            imeAction = imeAction
         ),
+        leadingIcon = leadingIcon,
+        trailingIcon = trailingIcon,
+        keyboardActions = KeyboardActions(
+            onSearch = { onImeAction?.invoke() },
+            onDone = { onImeAction?.invoke() }
+        ),
+        colors = carUiEditTextColors(),
         readOnly = restricted
     )
 }
 
+@Composable
+private fun carUiEditTextColors(): TextFieldColors = TextFieldDefaults.textFieldColors(
+    placeholderColor = MaterialTheme.colors.onSurface,
+    textColor = MaterialTheme.colors.onSurface,
+    backgroundColor = Color.Transparent,
+    disabledTextColor = MaterialTheme.colors.onSecondary,
+    cursorColor = MaterialTheme.colors.primary,
+    focusedIndicatorColor = MaterialTheme.colors.primary,
+    unfocusedIndicatorColor = MaterialTheme.colors.primary,
+    disabledIndicatorColor = MaterialTheme.colors.onSecondary,
+    leadingIconColor = MaterialTheme.colors.onSurface,
+    disabledLeadingIconColor = MaterialTheme.colors.onSurface.copy(alpha = 0.38f),
+    trailingIconColor = MaterialTheme.colors.onSurface,
+    disabledTrailingIconColor = MaterialTheme.colors.onSurface.copy(alpha = 0.38f),
+)
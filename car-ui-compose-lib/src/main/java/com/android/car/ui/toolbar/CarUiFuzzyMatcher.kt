@@ -0,0 +1,373 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.ui.toolbar
+
+import android.util.LruCache
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.Immutable
+import androidx.compose.runtime.Stable
+import androidx.compose.runtime.remember
+import androidx.compose.ui.text.AnnotatedString
+import androidx.compose.ui.text.SpanStyle
+import androidx.compose.ui.text.font.FontWeight
+
+/**
+ * A row matched by [CarUiFuzzyMatcher]. The query matched `text[start, end)` of the row at [index]
+ * with [errors] insertions, deletions or substitutions; higher [score]s rank first.
+ */
+@Immutable
+data class CarUiFuzzyMatch(
+    val index: Int,
+    val score: Int,
+    val errors: Int,
+    val start: Int,
+    val end: Int,
+)
+
+/**
+ * Typo-tolerant, case-insensitive matching of a search query against row text.
+ *
+ * A row matches if some part of its text is within [maxErrors] edits of the query. The edit
+ * distance is computed with Myers' bit-parallel algorithm, one word operation per character of
+ * text, so queries are cut to [MAX_QUERY_LENGTH] characters. Fewer errors rank higher; for the
+ * same number of errors a match at the start of the text ranks above one at the start of a word,
+ * which ranks above one inside a word. [top] keeps the best matches in a bounded heap and only
+ * sorts those.
+ *
+ * [highlight] marks the matched characters of a row in [highlightStyle] and caches the result per
+ * text, so rows composed again while the query is unchanged reuse it. Create a matcher per query,
+ * e.g. with [rememberCarUiFuzzyMatcher]. Matching may run on any thread.
+ */
+@Stable
+class CarUiFuzzyMatcher(
+    query: String,
+    maxErrors: Int = defaultMaxErrors(query.length),
+    val highlightStyle: SpanStyle = SpanStyle(fontWeight = FontWeight.Bold),
+    highlightCacheSize: Int = 256,
+) {
+    /** The case-folded query that is matched. */
+    val query: String = fold(query.take(MAX_QUERY_LENGTH))
+
+    /** Edits allowed in a match, always fewer than the length of [query]. */
+    val maxErrors: Int = maxErrors.coerceIn(0, maxOf(this.query.length - 1, 0))
+
+    private val length = this.query.length
+    private val lastBit = if (length == 0) 0L else 1L shl (length - 1)
+
+    // Bit i of the mask of a character is set if query[i] is that character.
+    private val asciiMasks = LongArray(ASCII)
+    private val otherChars: CharArray
+    private val otherMasks: LongArray
+
+    private val highlights = LruCache<String, AnnotatedString>(highlightCacheSize)
+
+    init {
+        val others = sortedMapOf<Char, Long>()
+        for (i in 0 until length) {
+            val c = this.query[i]
+            if (c.code < ASCII) {
+                asciiMasks[c.code] = asciiMasks[c.code] or (1L shl i)
+            } else {
+                others[c] = (others[c] ?: 0L) or (1L shl i)
+            }
+        }
+        otherChars = others.keys.toCharArray()
+        otherMasks = others.values.toLongArray()
+    }
+
+    /** Matches [text] as the row at [index], or returns `null` if it is over [maxErrors] off. */
+    fun match(text: CharSequence, index: Int = 0): CarUiFuzzyMatch? {
+        if (length == 0) return CarUiFuzzyMatch(index, score(0, 0, text), 0, 0, 0)
+        val best = search(text)
+        if (best == NO_MATCH) return null
+        val errors = (best ushr 32).toInt()
+        val end = best.toInt()
+        val start = alignStart(text, end, errors, IntArray(matrixSize()))
+        return CarUiFuzzyMatch(index, score(errors, start, text), errors, start, end)
+    }
+
+    /**
+     * Returns the best [k] matches among the [count] rows whose text is given by [text], best
+     * first, with ties in row order. Rows with `null` text never match. [isCancelled] is checked
+     * every [CANCEL_CHECK_INTERVAL] rows, e.g. with the job of the coroutine matching, and once it
+     * returns true the matches found so far are returned, which the caller must drop.
+     */
+    fun top(
+        count: Int,
+        k: Int,
+        isCancelled: () -> Boolean = { false },
+        text: (index: Int) -> CharSequence?
+    ): List<CarUiFuzzyMatch> {
+        if (k <= 0) return emptyList()
+        val heap = MatchHeap(k)
+        val matrix = IntArray(matrixSize())
+        for (index in 0 until count) {
+            if (index % CANCEL_CHECK_INTERVAL == 0 && isCancelled()) break
+            val rowText = text(index) ?: continue
+            if (length == 0) {
+                heap.offer(CarUiFuzzyMatch(index, score(0, 0, rowText), 0, 0, 0))
+                continue
+            }
+            val best = search(rowText)
+            if (best == NO_MATCH) continue
+            val errors = (best ushr 32).toInt()
+            // Rows come in order, so a row that cannot beat the worst kept match is skipped
+            // before its match start is worked out.
+            if (heap.isFull && scoreBound(errors) <= heap.worst.score) continue
+            val end = best.toInt()
+            val start = alignStart(rowText, end, errors, matrix)
+            heap.offer(CarUiFuzzyMatch(index, score(errors, start, rowText), errors, start, end))
+        }
+        return heap.sorted()
+    }
+
+    /** Returns [text] with the characters that match the query in [highlightStyle]. */
+    fun highlight(text: String): AnnotatedString {
+        highlights.get(text)?.let { return it }
+        val highlighted = buildHighlight(text)
+        highlights.put(text, highlighted)
+        return highlighted
+    }
+
+    private fun buildHighlight(text: String): AnnotatedString {
+        if (length == 0) return AnnotatedString(text)
+        val best = search(text)
+        if (best == NO_MATCH) return AnnotatedString(text)
+        val errors = (best ushr 32).toInt()
+        val end = best.toInt()
+        val matrix = IntArray(matrixSize())
+        val start = alignStart(text, end, errors, matrix)
+        // Walk the alignment back from the start of the match, where the reversed query ends, and
+        // mark the characters that the query matched exactly.
+        val matched = BooleanArray(end - start)
+        val stride = stride(errors)
+        var i = length
+        var j = end - start
+        while (i > 0 && j > 0) {
+            val cost = matrix[i * stride + j]
+            val diagonal = matrix[(i - 1) * stride + j - 1]
+            when {
+                cost == diagonal && query[length - i] == fold(text[end - j]) -> {
+                    matched[end - j - start] = true
+                    i--
+                    j--
+                }
+                cost == diagonal + 1 -> {
+                    i--
+                    j--
+                }
+                cost == matrix[(i - 1) * stride + j] + 1 -> i--
+                else -> j--
+            }
+        }
+        val builder = AnnotatedString.Builder(text)
+        var runStart = -1
+        for (k in 0..matched.size) {
+            val isMatched = k < matched.size && matched[k]
+            if (isMatched && runStart == -1) {
+                runStart = k
+            } else if (!isMatched && runStart != -1) {
+                builder.addStyle(highlightStyle, start + runStart, start + k)
+                runStart = -1
+            }
+        }
+        return builder.toAnnotatedString()
+    }
+
+    /**
+     * Returns the fewest errors of a match of the query ending anywhere in [text] in the upper 32
+     * bits and the end of the first such match in the lower, or [NO_MATCH].
+     */
+    private fun search(text: CharSequence): Long {
+        var pv = -1L
+        var mv = 0L
+        var errors = length
+        var bestErrors = maxErrors + 1
+        var bestEnd = 0
+        for (j in 0 until text.length) {
+            val eq = mask(fold(text[j]))
+            val xv = eq or mv
+            val xh = (((eq and pv) + pv) xor pv) or eq
+            var ph = mv or (xh or pv).inv()
+            var mh = pv and xh
+            if (ph and lastBit != 0L) errors++ else if (mh and lastBit != 0L) errors--
+            // No carry into the first row: a match may start anywhere in the text.
+            ph = ph shl 1
+            mh = mh shl 1
+            pv = mh or (xv or ph).inv()
+            mv = ph and xv
+            // A run of ends with as few errors is taken to its last end, so that a match with a
+            // typo near its end covers the whole word.
+            if (errors < bestErrors || errors == bestErrors && bestEnd == j) {
+                bestErrors = errors
+                bestEnd = j + 1
+                if (errors == 0) break
+            }
+        }
+        if (bestErrors > maxErrors) return NO_MATCH
+        return (bestErrors.toLong() shl 32) or bestEnd.toLong()
+    }
+
+    /**
+     * Aligns the query, reversed, against the text read backwards from [end], leaving the edit
+     * distances in [matrix], and returns where a match with [errors] errors starts. Of the starts
+     * with that many errors, the one with the best [bonus] wins.
+     */
+    private fun alignStart(text: CharSequence, end: Int, errors: Int, matrix: IntArray): Int {
+        val width = minOf(windowWidth(errors), end)
+        val stride = stride(errors)
+        for (j in 0..width) matrix[j] = j
+        for (i in 1..length) {
+            val c = query[length - i]
+            matrix[i * stride] = i
+            for (j in 1..width) {
+                val substitution = matrix[(i - 1) * stride + j - 1] +
+                    if (c == fold(text[end - j])) 0 else 1
+                val deletion = matrix[(i - 1) * stride + j] + 1
+                val insertion = matrix[i * stride + j - 1] + 1
+                matrix[i * stride + j] = minOf(substitution, deletion, insertion)
+            }
+        }
+        var start = end
+        var startBonus = -1
+        for (j in 0..width) {
+            if (matrix[length * stride + j] != errors) continue
+            val bonus = bonus(end - j, text)
+            if (bonus > startBonus) {
+                start = end - j
+                startBonus = bonus
+            }
+        }
+        return start
+    }
+
+    private fun windowWidth(errors: Int): Int = length + errors
+
+    private fun stride(errors: Int): Int = windowWidth(errors) + 1
+
+    private fun matrixSize(): Int = (length + 1) * stride(maxErrors)
+
+    private fun mask(c: Char): Long {
+        if (c.code < ASCII) return asciiMasks[c.code]
+        val i = otherChars.binarySearch(c)
+        return if (i < 0) 0L else otherMasks[i]
+    }
+
+    private fun score(errors: Int, start: Int, text: CharSequence): Int =
+        (maxErrors - errors) * ERROR_WEIGHT + bonus(start, text)
+
+    private fun scoreBound(errors: Int): Int = (maxErrors - errors) * ERROR_WEIGHT + PREFIX_BONUS
+
+    private fun bonus(start: Int, text: CharSequence): Int = when {
+        start == 0 -> PREFIX_BONUS
+        !text[start - 1].isLetterOrDigit() -> WORD_BONUS
+        else -> 0
+    }
+
+    /** Min-heap of at most [capacity] matches, the worst match at the root. */
+    private class MatchHeap(private val capacity: Int) {
+        private val matches = arrayOfNulls<CarUiFuzzyMatch>(capacity)
+        private var size = 0
+
+        val isFull: Boolean get() = size == capacity
+
+        val worst: CarUiFuzzyMatch get() = matches[0]!!
+
+        fun offer(match: CarUiFuzzyMatch) {
+            if (size < capacity) {
+                matches[size] = match
+                siftUp(size++)
+            } else if (isBetter(match, matches[0]!!)) {
+                matches[0] = match
+                siftDown(0)
+            }
+        }
+
+        fun sorted(): List<CarUiFuzzyMatch> =
+            matches.copyOf(size).map { it!! }.sortedWith { a, b ->
+                if (a.score != b.score) b.score - a.score else a.index - b.index
+            }
+
+        private fun siftUp(from: Int) {
+            var child = from
+            while (child > 0) {
+                val parent = (child - 1) / 2
+                if (!isBetter(matches[parent]!!, matches[child]!!)) break
+                swap(parent, child)
+                child = parent
+            }
+        }
+
+        private fun siftDown(from: Int) {
+            var parent = from
+            while (true) {
+                var worst = parent
+                for (child in 2 * parent + 1..minOf(2 * parent + 2, size - 1)) {
+                    if (isBetter(matches[worst]!!, matches[child]!!)) worst = child
+                }
+                if (worst == parent) return
+                swap(parent, worst)
+                parent = worst
+            }
+        }
+
+        private fun swap(a: Int, b: Int) {
+            val match = matches[a]
+            matches[a] = matches[b]
+            matches[b] = match
+        }
+
+        private fun isBetter(a: CarUiFuzzyMatch, b: CarUiFuzzyMatch): Boolean =
+            a.score > b.score || a.score == b.score && a.index < b.index
+    }
+
+    companion object {
+        /** Longest query matched, the number of bits in the words of the bit-parallel search. */
+        const val MAX_QUERY_LENGTH = Long.SIZE_BITS
+
+        /** Rows matched by [top] between checks for cancellation. */
+        const val CANCEL_CHECK_INTERVAL = 1024
+
+        private const val ASCII = 128
+        private const val NO_MATCH = -1L
+        private const val ERROR_WEIGHT = 4
+        private const val PREFIX_BONUS = 2
+        private const val WORD_BONUS = 1
+
+        /** No errors for queries up to two characters, one up to five, two beyond. */
+        fun defaultMaxErrors(queryLength: Int): Int = when {
+            queryLength <= 2 -> 0
+            queryLength <= 5 -> 1
+            else -> 2
+        }
+
+        private fun fold(c: Char): Char = Character.toLowerCase(c)
+
+        private fun fold(text: String): String {
+            val folded = CharArray(text.length)
+            for (i in text.indices) folded[i] = fold(text[i])
+            return String(folded)
+        }
+    }
+}
+
+/** Remembers a [CarUiFuzzyMatcher] for [query], so its highlights are cached until it changes. */
+@Composable
+fun rememberCarUiFuzzyMatcher(query: String): CarUiFuzzyMatcher =
+    remember(query) { CarUiFuzzyMatcher(query) }
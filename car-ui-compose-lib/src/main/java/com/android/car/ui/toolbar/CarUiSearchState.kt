@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.ui.toolbar
+
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.Stable
+import androidx.compose.runtime.getValue
+import androidx.compose.runtime.mutableStateOf
+import androidx.compose.runtime.saveable.Saver
+import androidx.compose.runtime.saveable.rememberSaveable
+import androidx.compose.runtime.setValue
+import androidx.compose.runtime.snapshotFlow
+import androidx.compose.ui.text.TextRange
+import androidx.compose.ui.text.input.TextFieldValue
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.FlowPreview
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.conflate
+import kotlinx.coroutines.flow.debounce
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.mapLatest
+
+/**
+ * Text of a search field, edited without recomposing the screen that shows the results.
+ *
+ * [SearchView] and [CarUiToolbar] read and write [textFieldValue] inside their own scopes, so a
+ * keystroke only recomposes the text field. The screen collects [queries], which publishes the
+ * query once typing pauses, or [results], which also cancels the search of a query that has been
+ * replaced, instead of reading the text on every keystroke.
+ */
+@Stable
+class CarUiSearchState(
+    initialQuery: String = "",
+    val debounceMillis: Long = DEFAULT_DEBOUNCE_MILLIS,
+) {
+    /** Contents of the search field. Reading it recomposes the reader on every keystroke. */
+    var textFieldValue by mutableStateOf(
+        TextFieldValue(initialQuery, TextRange(initialQuery.length))
+    )
+
+    /** Text of the search field, which like [textFieldValue] changes on every keystroke. */
+    val text: String
+        get() = textFieldValue.text
+
+    /**
+     * The query each time typing pauses for [debounceMillis], starting with the current one. An
+     * empty query is published at once, so clearing the field shows all rows without a delay. The
+     * flow is conflated: a collector that falls behind only sees the latest query.
+     */
+    @OptIn(FlowPreview::class)
+    val queries: Flow<String> = snapshotFlow { textFieldValue.text }
+        .debounce { if (it.isEmpty()) 0L else debounceMillis }
+        .distinctUntilChanged()
+        .conflate()
+
+    /** Replaces the query, e.g. with a voice query, with the cursor at its end. */
+    fun setText(text: String) {
+        textFieldValue = TextFieldValue(text, TextRange(text.length))
+    }
+
+    fun clear() = setText("")
+
+    /**
+     * Runs [search] for each of [queries] and emits its results. A search still running when the
+     * next query is published is cancelled.
+     */
+    @OptIn(ExperimentalCoroutinesApi::class)
+    fun <T> results(search: suspend (query: String) -> T): Flow<T> = queries.mapLatest(search)
+
+    companion object {
+        const val DEFAULT_DEBOUNCE_MILLIS = 150L
+
+        /** Saves the text and selection of the field; [debounceMillis] is given again on restore. */
+        fun Saver(debounceMillis: Long): Saver<CarUiSearchState, Any> = Saver(
+            save = { state -> with(TextFieldValue.Saver) { save(state.textFieldValue) } },
+            restore = { saved ->
+                TextFieldValue.Saver.restore(saved)?.let { value ->
+                    CarUiSearchState(debounceMillis = debounceMillis).apply {
+                        textFieldValue = value
+                    }
+                }
+            }
+        )
+    }
+}
+
+/**
+ * Remembers a [CarUiSearchState] that keeps the typed query and cursor across configuration
+ * changes and process death.
+ */
+@Composable
+fun rememberCarUiSearchState(
+    initialQuery: String = "",
+    debounceMillis: Long = CarUiSearchState.DEFAULT_DEBOUNCE_MILLIS,
+): CarUiSearchState = rememberSaveable(
+    debounceMillis,
+    saver = CarUiSearchState.Saver(debounceMillis)
+) {
+    CarUiSearchState(initialQuery, debounceMillis)
+}
@@ -24,7 +24,6 @@ import androidx.compose.foundation.layout.Arrangement
 import androidx.compose.foundation.layout.Box
 import androidx.compose.foundation.layout.Column
 import androidx.compose.foundation.layout.Row
-import androidx.compose.foundation.layout.Spacer
 import androidx.compose.foundation.layout.fillMaxHeight
 import androidx.compose.foundation.layout.fillMaxSize
 import androidx.compose.foundation.layout.fillMaxWidth
@@ -39,17 +38,22 @@ import androidx.compose.material.MaterialTheme
 import androidx.compose.material.Surface
 import androidx.compose.material.Text
 import androidx.compose.runtime.Composable
+import androidx.compose.runtime.Immutable
+import androidx.compose.runtime.remember
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.graphics.Color
 import androidx.compose.ui.graphics.painter.Painter
 import androidx.compose.ui.platform.LocalContext
-import androidx.compose.ui.res.colorResource
-import androidx.compose.ui.res.dimensionResource
 import androidx.compose.ui.res.painterResource
 import androidx.compose.ui.res.stringResource
+import androidx.compose.ui.semantics.contentDescription
+import androidx.compose.ui.semantics.semantics
 import androidx.compose.ui.unit.dp
 import com.android.car.ui.R
+import com.android.car.ui.instrumentation.CarUiInstrumentation
+import com.android.car.ui.instrumentation.CarUiTrace
+import com.android.car.ui.theme.CarUiTheme
 
 @Composable
 fun CarUiToolbar(
@@ -67,27 +71,31 @@ fun CarUiToolbar(
     onSearchSubmitted: (() -> Unit)? = null,
     onSearchModeChanged: ((SearchMode) -> Unit)? = null,
     modifier: Modifier = Modifier,
-    backgroundColor: Color = colorResource(R.color.car_ui_toolbar_background),
+    backgroundColor: Color = CarUiTheme.tokens.toolbarBackground,
     restricted: Boolean = false,
     showProgressBar: Boolean = false,
+    searchState: CarUiSearchState? = null,
 ) {
-    val toolbarMargin = dimensionResource(id = R.dimen.car_ui_toolbar_margin)
-    val navIconSize = dimensionResource(id = R.dimen.car_ui_toolbar_nav_icon_size)
-    val logoSize = dimensionResource(id = R.dimen.car_ui_toolbar_logo_size)
-    val titleMarginStart = dimensionResource(id = R.dimen.car_ui_toolbar_title_margin_start)
-    val menuItemMargin = dimensionResource(id = R.dimen.car_ui_toolbar_menu_item_margin)
-    val menuItemIconSize = dimensionResource(id = R.dimen.car_ui_toolbar_menu_item_icon_size)
-    val menuItemIconBgSize =
-        dimensionResource(id = R.dimen.car_ui_toolbar_menu_item_icon_background_size)
-    val toolbarHeight = dimensionResource(id = R.dimen.car_ui_toolbar_row_height)
-    val progressbarHeight = 8.dp
-    val elevation = dimensionResource(id = R.dimen.car_ui_toolbar_elevation)
+    CarUiTrace.begin(CarUiTrace.TOOLBAR)
+    val instrumentationStart = CarUiInstrumentation.begin(CarUiInstrumentation.TOOLBAR)
+    val toolbarMargin = CarUiTheme.tokens.toolbarMargin
+    val titleMarginStart = CarUiTheme.tokens.toolbarTitleMarginStart
+    val toolbarHeight = CarUiTheme.tokens.toolbarRowHeight
+    val elevation = CarUiTheme.tokens.toolbarElevation
+    // Painter and List are unstable, so they are passed to their sections in holders that only
+    // change with the value, which lets the sections skip.
+    val logoHolder = rememberStableHolder(logo)
+    val menuItemsHolder = rememberStableHolder(menuItems)
+    val overflowMenuItemsHolder =
+        rememberStableHolder(if (showOverflowMenu) overflowMenuItems else emptyList())
 
+    // Each section is its own skippable composable, so a change to one parameter only recomposes
+    // the sections that read it. Row, Column and Box are inline and would not isolate them.
     Surface(
         color = backgroundColor,
         modifier = modifier
             .fillMaxWidth()
-            .height(toolbarHeight + progressbarHeight),
+            .height(toolbarHeight + PROGRESS_BAR_HEIGHT),
         elevation = elevation
     ) {
         Column(modifier = modifier.fillMaxWidth()) {
@@ -112,138 +120,271 @@ fun CarUiToolbar(
                             ),
                         horizontalArrangement = Arrangement.Center,
                     ) {
-                        val context = LocalContext.current
-                        val activity = context as? ComponentActivity
                         if (navIconType != CarUiToolbarNavIconType.Disabled) {
-                            IconButton(
-                                onClick = {
-                                    when (navIconType) {
-                                        CarUiToolbarNavIconType.Back -> if (searchMode == SearchMode.DISABLED) activity?.onBackPressedDispatcher?.onBackPressed() else onSearchModeChanged?.invoke(
-                                            SearchMode.DISABLED
-                                        )
-
-                                        CarUiToolbarNavIconType.Close -> activity?.finish()
-                                        else -> {}
-                                    }
-                                }, enabled = !restricted, modifier = Modifier.size(76.dp)
-                            ) {
-                                Icon(
-                                    painter = when (navIconType) {
-                                        CarUiToolbarNavIconType.Back -> painterResource(id = R.drawable.car_ui_icon_arrow_back)
-                                        CarUiToolbarNavIconType.Close -> painterResource(id = R.drawable.car_ui_icon_close)
-                                        CarUiToolbarNavIconType.Down -> painterResource(id = R.drawable.car_ui_icon_down)
-                                        else -> return@IconButton
-                                    },
-                                    contentDescription = navIconType.name,
-                                    modifier = Modifier.size(navIconSize),
-                                    tint = MaterialTheme.colors.onSurface
-                                )
-                            }
+                            CarUiInstrumentation.offer(CarUiInstrumentation.TOOLBAR_NAV)
+                            CarUiToolbarNavButton(
+                                navIconType = navIconType,
+                                searchMode = searchMode,
+                                restricted = restricted,
+                                onSearchModeChanged = onSearchModeChanged
+                            )
                         }
                         if (logo != null) {
-                            IconButton(
-                                modifier = Modifier.size(76.dp), onClick = {}) {
-                                Icon(
-                                    painter = logo,
-                                    contentDescription = "Logo",
-                                    modifier = Modifier.size(logoSize),
-                                    tint = Color.Unspecified
-                                )
-                            }
+                            CarUiInstrumentation.offer(CarUiInstrumentation.TOOLBAR_LOGO)
+                            CarUiToolbarLogo(logoHolder)
                         }
                     }
 
                     if (searchMode == SearchMode.SEARCH || searchMode == SearchMode.EDIT) {
-                        Row(
-                            modifier = Modifier.weight(1f),
-                            verticalAlignment = Alignment.CenterVertically
-                        ) {
-                            SearchView(
-                                value = searchQuery,
-                                hint = searchHint
-                                    ?: if (searchMode == SearchMode.SEARCH) stringResource(id = R.string.car_ui_search_hint)
-                                    else stringResource(id = R.string.car_ui_edit_hint),
-                                enabled = !restricted,
-                                restricted = restricted,
-                                onValueChange = { onSearchQueryChanged?.invoke(it) },
-                                onQueryTextSubmit = { onSearchSubmitted?.invoke() },
-                                onClear = {
-                                    onSearchQueryChanged?.invoke("")
-                                    onSearchModeChanged?.invoke(SearchMode.SEARCH)
-                                },
-                                modifier = Modifier.weight(1f)
-                            )
-                        }
+                        CarUiInstrumentation.offer(CarUiInstrumentation.TOOLBAR_SEARCH)
+                        CarUiToolbarSearch(
+                            searchMode = searchMode,
+                            searchHint = searchHint,
+                            searchQuery = searchQuery,
+                            searchState = searchState,
+                            restricted = restricted,
+                            onSearchQueryChanged = onSearchQueryChanged,
+                            onSearchSubmitted = onSearchSubmitted,
+                            onSearchModeChanged = onSearchModeChanged,
+                            modifier = Modifier.weight(1f)
+                        )
                     } else {
-                        Column(
-                            modifier = Modifier.weight(1f), verticalArrangement = Arrangement.Center
-                        ) {
-                            Text(
-                                text = title,
-                                style = MaterialTheme.typography.h1,
-                                color = colorResource(R.color.car_ui_text_color_primary)
-                            )
-                            if (!subtitle.isNullOrEmpty()) {
-                                Text(
-                                    text = subtitle,
-                                    style = MaterialTheme.typography.subtitle1,
-                                    color = colorResource(R.color.car_ui_text_color_primary).copy(
-                                        alpha = 0.8f
-                                    )
-                                )
-                            }
-                        }
+                        CarUiInstrumentation.offer(CarUiInstrumentation.TOOLBAR_TITLE)
+                        CarUiToolbarTitle(
+                            title = title,
+                            subtitle = subtitle,
+                            modifier = Modifier.weight(1f)
+                        )
                     }
                 }
                 if (searchMode == SearchMode.DISABLED) {
-                    Row(
-                        verticalAlignment = Alignment.CenterVertically,
-                        horizontalArrangement = Arrangement.End,
+                    CarUiInstrumentation.offer(CarUiInstrumentation.TOOLBAR_MENU)
+                    CarUiToolbarMenu(
+                        menuItems = menuItemsHolder,
+                        overflowMenuItems = overflowMenuItemsHolder,
+                        onSearchModeChanged = onSearchModeChanged,
                         modifier = Modifier
                             .background(color = backgroundColor)
                             .align(Alignment.CenterEnd)
                             .padding(end = toolbarMargin)
-                    ) {
-                        menuItems.filter { !it.isSearch }.forEach { menuItem ->
-                            CarUiToolbarMenuItemView(
-                                menuItem = menuItem,
-                                iconSize = menuItemIconSize,
-                                iconBgSize = menuItemIconBgSize,
-                            )
-                            Spacer(Modifier.padding(end = menuItemMargin))
-                        }
-                        val searchMenuItem = menuItems.firstOrNull { it.isSearch && it.visible }
-                        if (searchMenuItem != null && searchMenuItem.iconRes != null) {
-                            CarUiToolbarMenuItemView(
-                                menuItem = searchMenuItem.copy(onClick = {
-                                    onSearchModeChanged?.invoke(SearchMode.SEARCH)
-                                }),
-                                iconSize = menuItemIconSize,
-                                iconBgSize = menuItemIconBgSize,
-                            )
-                        }
-                        if (showOverflowMenu && overflowMenuItems.isNotEmpty()) {
-                            IconButton(
-                                onClick = { /* TODO: show overflow */ },
-                                modifier = Modifier.size(menuItemIconSize)
-                            ) {
-                                Icon(
-                                    painter = painterResource(id = R.drawable.car_ui_icon_overflow_menu),
-                                    contentDescription = "More",
-                                    tint = MaterialTheme.colors.onPrimary
-                                )
-                            }
-                        }
-                    }
+                    )
                 }
             }
             if (showProgressBar) {
-                LinearProgressIndicator(
-                    modifier = Modifier
-                        .fillMaxWidth()
-                        .height(progressbarHeight),
-                )
+                CarUiInstrumentation.offer(CarUiInstrumentation.TOOLBAR_PROGRESS_BAR)
+                CarUiToolbarProgressBar()
             }
         }
     }
+    CarUiInstrumentation.end(CarUiInstrumentation.TOOLBAR, instrumentationStart)
+    CarUiTrace.end()
+}
+
+@Composable
+private fun CarUiToolbarNavButton(
+    navIconType: CarUiToolbarNavIconType,
+    searchMode: SearchMode,
+    restricted: Boolean,
+    onSearchModeChanged: ((SearchMode) -> Unit)?,
+) {
+    val instrumentationStart = CarUiInstrumentation.begin(CarUiInstrumentation.TOOLBAR_NAV)
+    val navIconSize = CarUiTheme.tokens.toolbarNavIconSize
+    val activity = LocalContext.current as? ComponentActivity
+    IconButton(
+        onClick = {
+            when (navIconType) {
+                CarUiToolbarNavIconType.Back -> if (searchMode == SearchMode.DISABLED) {
+                    activity?.onBackPressedDispatcher?.onBackPressed()
+                } else {
+                    onSearchModeChanged?.invoke(SearchMode.DISABLED)
+                }
+
+                CarUiToolbarNavIconType.Close -> activity?.finish()
+                else -> {}
+            }
+        }, enabled = !restricted, modifier = Modifier.size(76.dp)
+    ) {
+        Icon(
+            painter = when (navIconType) {
+                CarUiToolbarNavIconType.Back ->
+                    painterResource(id = R.drawable.car_ui_icon_arrow_back)
+                CarUiToolbarNavIconType.Close -> painterResource(id = R.drawable.car_ui_icon_close)
+                CarUiToolbarNavIconType.Down -> painterResource(id = R.drawable.car_ui_icon_down)
+                else -> return@IconButton
+            },
+            contentDescription = navIconType.name,
+            modifier = Modifier.size(navIconSize),
+            tint = MaterialTheme.colors.onSurface
+        )
+    }
+    CarUiInstrumentation.end(CarUiInstrumentation.TOOLBAR_NAV, instrumentationStart)
+}
+
+@Composable
+private fun CarUiToolbarLogo(logo: StableHolder<Painter?>) {
+    val instrumentationStart = CarUiInstrumentation.begin(CarUiInstrumentation.TOOLBAR_LOGO)
+    val painter = logo.value
+    if (painter == null) {
+        CarUiInstrumentation.end(CarUiInstrumentation.TOOLBAR_LOGO, instrumentationStart)
+        return
+    }
+    IconButton(
+        modifier = Modifier.size(76.dp), onClick = {}) {
+        Icon(
+            painter = painter,
+            contentDescription = "Logo",
+            modifier = Modifier.size(CarUiTheme.tokens.toolbarLogoSize),
+            tint = Color.Unspecified
+        )
+    }
+    CarUiInstrumentation.end(CarUiInstrumentation.TOOLBAR_LOGO, instrumentationStart)
+}
+
+@Composable
+private fun CarUiToolbarTitle(
+    title: String,
+    subtitle: String?,
+    modifier: Modifier = Modifier,
+) {
+    val instrumentationStart = CarUiInstrumentation.begin(CarUiInstrumentation.TOOLBAR_TITLE)
+    Column(
+        modifier = modifier, verticalArrangement = Arrangement.Center
+    ) {
+        Text(
+            text = title,
+            style = MaterialTheme.typography.h1,
+            color = CarUiTheme.tokens.textColorPrimary
+        )
+        if (!subtitle.isNullOrEmpty()) {
+            Text(
+                text = subtitle,
+                style = MaterialTheme.typography.subtitle1,
+                color = CarUiTheme.tokens.textColorPrimary.copy(
+                    alpha = 0.8f
+                )
+            )
+        }
+    }
+    CarUiInstrumentation.end(CarUiInstrumentation.TOOLBAR_TITLE, instrumentationStart)
+}
+
+@Composable
+private fun CarUiToolbarSearch(
+    searchMode: SearchMode,
+    searchHint: String?,
+    searchQuery: String,
+    searchState: CarUiSearchState?,
+    restricted: Boolean,
+    onSearchQueryChanged: ((String) -> Unit)?,
+    onSearchSubmitted: (() -> Unit)?,
+    onSearchModeChanged: ((SearchMode) -> Unit)?,
+    modifier: Modifier = Modifier,
+) {
+    val instrumentationStart = CarUiInstrumentation.begin(CarUiInstrumentation.TOOLBAR_SEARCH)
+    Row(
+        modifier = modifier,
+        verticalAlignment = Alignment.CenterVertically
+    ) {
+        val hint = searchHint
+            ?: if (searchMode == SearchMode.SEARCH) stringResource(id = R.string.car_ui_search_hint)
+            else stringResource(id = R.string.car_ui_edit_hint)
+        if (searchState != null) {
+            // The text is read inside SearchView, so typing does not recompose the toolbar.
+            SearchView(
+                state = searchState,
+                hint = hint,
+                enabled = !restricted,
+                restricted = restricted,
+                onQueryTextSubmit = { onSearchSubmitted?.invoke() },
+                onClear = { onSearchModeChanged?.invoke(SearchMode.SEARCH) },
+                modifier = Modifier.weight(1f)
+            )
+        } else {
+            SearchView(
+                value = searchQuery,
+                hint = hint,
+                enabled = !restricted,
+                restricted = restricted,
+                onValueChange = { onSearchQueryChanged?.invoke(it) },
+                onQueryTextSubmit = { onSearchSubmitted?.invoke() },
+                onClear = {
+                    onSearchQueryChanged?.invoke("")
+                    onSearchModeChanged?.invoke(SearchMode.SEARCH)
+                },
+                modifier = Modifier.weight(1f)
+            )
+        }
+    }
+    CarUiInstrumentation.end(CarUiInstrumentation.TOOLBAR_SEARCH, instrumentationStart)
+}
+
+@Composable
+private fun CarUiToolbarMenu(
+    menuItems: StableHolder<List<CarUiToolbarMenuItem>>,
+    overflowMenuItems: StableHolder<List<CarUiToolbarMenuItem>>,
+    onSearchModeChanged: ((SearchMode) -> Unit)?,
+    modifier: Modifier = Modifier,
+) {
+    val instrumentationStart = CarUiInstrumentation.begin(CarUiInstrumentation.TOOLBAR_MENU)
+    val menuItemIconSize = CarUiTheme.tokens.toolbarMenuItemIconSize
+    val menuItemIconBgSize = CarUiTheme.tokens.toolbarMenuItemIconBackgroundSize
+    // The search item is shown last and rebuilt only when it or the callback changes, so the
+    // list, which keys the composed item slots, stays the same across recompositions. Its click
+    // callback outlives the list, so an unchanged search item stays equal and its view skips when
+    // other items are added.
+    val onSearchClick: () -> Unit = remember(onSearchModeChanged) {
+        { onSearchModeChanged?.invoke(SearchMode.SEARCH) }
+    }
+    val rowItems = remember(menuItems, onSearchClick) {
+        val searchMenuItem = menuItems.value.firstOrNull { it.isSearch && it.visible }
+        val searchItem =
+            searchMenuItem?.takeIf { it.iconRes != null }?.copy(onClick = onSearchClick)
+        menuItems.value.filter { !it.isSearch } + listOfNotNull(searchItem)
+    }
+    CarUiToolbarMenuItems(
+        menuItems = rowItems,
+        overflowMenuItems = overflowMenuItems.value,
+        iconSize = menuItemIconSize,
+        itemSpacing = CarUiTheme.tokens.toolbarMenuItemMargin,
+        modifier = modifier
+    ) { menuItem ->
+        CarUiInstrumentation.offer(CarUiInstrumentation.TOOLBAR_MENU_ITEM)
+        CarUiToolbarMenuItemView(
+            menuItem = menuItem,
+            iconSize = menuItemIconSize,
+            iconBgSize = menuItemIconBgSize,
+            // Described like the XML library's search item, also when it has no title, so it can
+            // be found by accessibility and UiAutomator.
+            modifier = if (menuItem.isSearch) {
+                remember(menuItem.title) {
+                    Modifier.semantics { contentDescription = menuItem.title ?: "Search" }
+                }
+            } else {
+                Modifier
+            },
+        )
+    }
+    CarUiInstrumentation.end(CarUiInstrumentation.TOOLBAR_MENU, instrumentationStart)
 }
+
+@Composable
+private fun CarUiToolbarProgressBar() {
+    val instrumentationStart = CarUiInstrumentation.begin(CarUiInstrumentation.TOOLBAR_PROGRESS_BAR)
+    LinearProgressIndicator(
+        modifier = Modifier
+            .fillMaxWidth()
+            .height(PROGRESS_BAR_HEIGHT),
+    )
+    CarUiInstrumentation.end(CarUiInstrumentation.TOOLBAR_PROGRESS_BAR, instrumentationStart)
+}
+
+/** Holds a value the Compose compiler treats as unstable. Instances compare by identity. */
+@Immutable
+private class StableHolder<T>(val value: T)
+
+/** A holder of [value] that is replaced only when [value] stops being equal to the held one. */
+@Composable
+private fun <T> rememberStableHolder(value: T): StableHolder<T> =
+    remember(value) { StableHolder(value) }
+
+private val PROGRESS_BAR_HEIGHT = 8.dp
@@ -45,6 +45,7 @@ import androidx.compose.ui.graphics.Color
 import androidx.compose.ui.res.painterResource
 import androidx.compose.ui.unit.Dp
 import androidx.compose.ui.unit.dp
+import com.android.car.ui.instrumentation.CarUiInstrumentation
 
 @Composable
 fun CarUiToolbarMenuItemView(
@@ -53,7 +54,11 @@ fun CarUiToolbarMenuItemView(
     iconBgSize: Dp,
     modifier: Modifier = Modifier
 ) {
-    if (!menuItem.visible) return
+    val instrumentationStart = CarUiInstrumentation.begin(CarUiInstrumentation.TOOLBAR_MENU_ITEM)
+    if (!menuItem.visible) {
+        CarUiInstrumentation.end(CarUiInstrumentation.TOOLBAR_MENU_ITEM, instrumentationStart)
+        return
+    }
 
     val isEnabled = menuItem.enabled && !menuItem.restricted
 
@@ -137,7 +142,8 @@ fun CarUiToolbarMenuItemView(
                         }
                     },
                     iconSize = iconSize,
-                    iconBgSize = iconBgSize
+                    iconBgSize = iconBgSize,
+                    modifier = modifier
                 )
             }
         }
@@ -145,12 +151,14 @@ fun CarUiToolbarMenuItemView(
         else -> {
             IconButton(
                 onClick = { if (isEnabled) menuItem.onClick?.invoke() },
+                modifier = modifier,
                 enabled = isEnabled,
             ) {
                 IconAndTitleRow()
             }
         }
     }
+    CarUiInstrumentation.end(CarUiInstrumentation.TOOLBAR_MENU_ITEM, instrumentationStart)
 }
 
 @Composable
@@ -0,0 +1,325 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.ui.toolbar
+
+import androidx.compose.foundation.layout.Box
+import androidx.compose.foundation.layout.Spacer
+import androidx.compose.foundation.layout.size
+import androidx.compose.foundation.layout.width
+import androidx.compose.material.DropdownMenu
+import androidx.compose.material.DropdownMenuItem
+import androidx.compose.material.Icon
+import androidx.compose.material.IconButton
+import androidx.compose.material.MaterialTheme
+import androidx.compose.material.Text
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.getValue
+import androidx.compose.runtime.mutableStateOf
+import androidx.compose.runtime.remember
+import androidx.compose.runtime.setValue
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.graphics.Color
+import androidx.compose.ui.layout.Placeable
+import androidx.compose.ui.layout.SubcomposeLayout
+import androidx.compose.ui.platform.LocalDensity
+import androidx.compose.ui.res.painterResource
+import androidx.compose.ui.unit.Constraints
+import androidx.compose.ui.unit.Dp
+import androidx.compose.ui.unit.dp
+import com.android.car.ui.R
+import com.android.car.ui.instrumentation.CarUiTrace
+
+/**
+ * The menu items of [CarUiToolbar] in one row, followed by the overflow button when some items do
+ * not fit, laid out in a single measure pass.
+ *
+ * [CarUiMenuItemDisplayBehavior.Always] items are always shown and
+ * [CarUiMenuItemDisplayBehavior.Never] items always go to the overflow menu.
+ * [CarUiMenuItemDisplayBehavior.IfRoom] items are shown in order while they fit into two thirds of
+ * the toolbar, which leaves the navigation button and the start of the title uncovered; the first
+ * one that does not fit and the ones after it go to the overflow menu, followed by
+ * [overflowMenuItems].
+ *
+ * The width of each item is cached by the fields its layout depends on, so an item that was
+ * measured once is not composed again to find out whether it fits, also when the list is rebuilt
+ * with new callbacks, and items that do not fit are not composed at all. The overflow menu's
+ * content is only composed while the menu is open.
+ */
+@Composable
+internal fun CarUiToolbarMenuItems(
+    menuItems: List<CarUiToolbarMenuItem>,
+    overflowMenuItems: List<CarUiToolbarMenuItem>,
+    iconSize: Dp,
+    itemSpacing: Dp,
+    modifier: Modifier = Modifier,
+    itemContent: @Composable (CarUiToolbarMenuItem) -> Unit,
+) {
+    val widths = remember(LocalDensity.current, iconSize) { MenuItemWidthCache() }
+    val widthKeys = remember(menuItems) { menuItems.map(::MenuItemWidthKey) }
+    val overflowSlot = remember(iconSize) { OverflowSlotContent(iconSize) }
+    val itemSlots = remember(menuItems, itemContent) {
+        menuItems.map { item -> @Composable { itemContent(item) } }
+    }
+
+    SubcomposeLayout(modifier) { constraints ->
+        CarUiTrace.begin(CarUiTrace.TOOLBAR_MENU_ITEMS)
+        val maxWidth = if (constraints.hasBoundedWidth) {
+            (constraints.maxWidth * MAX_WIDTH_FRACTION).toInt()
+        } else {
+            Int.MAX_VALUE
+        }
+        val spacing = itemSpacing.roundToPx()
+        val itemConstraints = Constraints(maxHeight = constraints.maxHeight)
+        val placeables = arrayOfNulls<Placeable>(menuItems.size)
+        val itemWidths = IntArray(menuItems.size)
+        val shown = BooleanArray(menuItems.size)
+        widths.retain(widthKeys)
+
+        fun measure(index: Int): Placeable? {
+            val placeable = subcompose(index, itemSlots[index]).firstOrNull()
+                ?.measure(itemConstraints)
+            placeables[index] = placeable
+            widths[widthKeys[index]] = placeable?.width ?: 0
+            return placeable
+        }
+
+        fun widthOf(index: Int): Int {
+            val width = widths[widthKeys[index]] ?: measure(index)?.width ?: 0
+            itemWidths[index] = width
+            return width
+        }
+
+        fun rowWidth(itemsWidth: Int, count: Int) =
+            itemsWidth + spacing * (count - 1).coerceAtLeast(0)
+
+        var shownWidth = 0
+        var shownCount = 0
+        var overflow = overflowMenuItems.isNotEmpty()
+        for (i in menuItems.indices) {
+            val item = menuItems[i]
+            if (!item.visible) continue
+            when (item.displayBehavior) {
+                CarUiMenuItemDisplayBehavior.Always -> {
+                    shownWidth += widthOf(i)
+                    shownCount++
+                    shown[i] = true
+                }
+                CarUiMenuItemDisplayBehavior.Never -> overflow = true
+                CarUiMenuItemDisplayBehavior.IfRoom -> {}
+            }
+        }
+        val ifRoom = IntArray(menuItems.size)
+        var ifRoomCount = 0
+        for (i in menuItems.indices) {
+            val item = menuItems[i]
+            if (!item.visible || item.displayBehavior != CarUiMenuItemDisplayBehavior.IfRoom) {
+                continue
+            }
+            val width = widthOf(i)
+            if (rowWidth(shownWidth + width, shownCount + 1) > maxWidth) {
+                overflow = true
+                break
+            }
+            shownWidth += width
+            shownCount++
+            ifRoom[ifRoomCount++] = i
+        }
+
+        if (overflow) {
+            // Makes room for the overflow button, which is iconSize wide, by moving the last
+            // IfRoom items into the menu.
+            val overflowWidth = iconSize.roundToPx()
+            while (ifRoomCount > 0 &&
+                rowWidth(shownWidth + overflowWidth, shownCount + 1) > maxWidth
+            ) {
+                shownWidth -= itemWidths[ifRoom[--ifRoomCount]]
+                shownCount--
+            }
+        }
+        for (i in 0 until ifRoomCount) shown[ifRoom[i]] = true
+
+        // The hidden items are known before the overflow button is composed, so they are passed
+        // to it in this pass instead of through state that would need another one.
+        val overflowPlaceable = if (overflow) {
+            val hidden = menuItems.filterIndexed { i, item -> item.visible && !shown[i] } +
+                overflowMenuItems
+            subcompose(OverflowSlot, overflowSlot.contentFor(hidden)).first()
+                .measure(itemConstraints)
+        } else {
+            null
+        }
+
+        var totalWidth = 0
+        var count = 0
+        var height = overflowPlaceable?.height ?: 0
+        for (i in menuItems.indices) {
+            if (!shown[i]) continue
+            // Items whose width was cached are composed and measured only now that they fit.
+            val placeable = placeables[i] ?: measure(i) ?: continue
+            totalWidth += placeable.width
+            count++
+            height = maxOf(height, placeable.height)
+        }
+        if (overflowPlaceable != null) {
+            totalWidth += overflowPlaceable.width
+            count++
+        }
+        totalWidth = rowWidth(totalWidth, count)
+        val layoutWidth = totalWidth.coerceIn(constraints.minWidth, constraints.maxWidth)
+        val layoutHeight = height.coerceIn(constraints.minHeight, constraints.maxHeight)
+        CarUiTrace.end()
+
+        layout(layoutWidth, layoutHeight) {
+            var x = layoutWidth - totalWidth
+            fun place(placeable: Placeable) {
+                placeable.placeRelative(x, (layoutHeight - placeable.height) / 2)
+                x += placeable.width + spacing
+            }
+            for (i in menuItems.indices) {
+                if (shown[i]) placeables[i]?.let(::place)
+            }
+            overflowPlaceable?.let(::place)
+        }
+    }
+}
+
+@Composable
+private fun CarUiToolbarOverflowButton(
+    items: List<CarUiToolbarMenuItem>,
+    iconSize: Dp,
+) {
+    var expanded by remember { mutableStateOf(false) }
+    Box {
+        IconButton(
+            onClick = { expanded = true },
+            modifier = Modifier.size(iconSize)
+        ) {
+            Icon(
+                painter = painterResource(id = R.drawable.car_ui_icon_overflow_menu),
+                contentDescription = "More",
+                tint = MaterialTheme.colors.onPrimary
+            )
+        }
+        // DropdownMenu composes its content only while it is expanded.
+        DropdownMenu(
+            expanded = expanded,
+            onDismissRequest = { expanded = false }
+        ) {
+            items.forEach { item ->
+                DropdownMenuItem(
+                    onClick = {
+                        expanded = false
+                        item.performOverflowClick()
+                    },
+                    enabled = item.enabled && !item.restricted
+                ) {
+                    if (item.iconRes != null) {
+                        Icon(
+                            painter = painterResource(item.iconRes),
+                            contentDescription = item.title,
+                            tint = if (item.tinted) {
+                                MaterialTheme.colors.onSurface
+                            } else {
+                                Color.Unspecified
+                            },
+                            modifier = Modifier.size(iconSize)
+                        )
+                        Spacer(Modifier.width(8.dp))
+                    }
+                    if (!item.title.isNullOrEmpty()) {
+                        Text(text = item.title)
+                    }
+                }
+            }
+        }
+    }
+}
+
+/** Clicking an item in the overflow menu toggles it like clicking it in the toolbar. */
+private fun CarUiToolbarMenuItem.performOverflowClick() {
+    when {
+        checkable -> onCheckedChange?.invoke(!checked)
+        activatable -> onActivatedChange?.invoke(!activated)
+        else -> onClick?.invoke()
+    }
+}
+
+/**
+ * The fields of a menu item that [CarUiToolbarMenuItemView] sizes it by. Callbacks, which are
+ * often new lambdas on every recomposition, and states that only change colors are left out.
+ */
+private data class MenuItemWidthKey(
+    val title: String?,
+    val iconRes: Int?,
+    val checkable: Boolean,
+    val activatable: Boolean,
+    val showIconAndTitle: Boolean,
+) {
+    constructor(item: CarUiToolbarMenuItem) : this(
+        item.title,
+        item.iconRes,
+        item.checkable,
+        item.activatable,
+        item.showIconAndTitle
+    )
+}
+
+/**
+ * Measured widths of menu items by [MenuItemWidthKey].
+ *
+ * The cache is not snapshot state and is meant to be updated and read from the measure pass.
+ */
+private class MenuItemWidthCache {
+    private val widths = HashMap<MenuItemWidthKey, Int>()
+    private var retainedKeys: List<MenuItemWidthKey>? = null
+
+    operator fun get(key: MenuItemWidthKey): Int? = widths[key]
+
+    operator fun set(key: MenuItemWidthKey, width: Int) {
+        widths[key] = width
+    }
+
+    /** Forgets the widths of items that are no longer in [keys], once per new list. */
+    fun retain(keys: List<MenuItemWidthKey>) {
+        if (keys === retainedKeys) return
+        retainedKeys = keys
+        widths.keys.retainAll(keys.toSet())
+    }
+}
+
+/**
+ * Content of the overflow slot for the items it shows, created again only when they change so
+ * that the button is not recomposed by every measure pass.
+ */
+private class OverflowSlotContent(private val iconSize: Dp) {
+    private var items: List<CarUiToolbarMenuItem>? = null
+    private var content: @Composable () -> Unit = {}
+
+    fun contentFor(items: List<CarUiToolbarMenuItem>): @Composable () -> Unit {
+        if (items != this.items) {
+            this.items = items
+            content = { CarUiToolbarOverflowButton(items = items, iconSize = iconSize) }
+        }
+        return content
+    }
+}
+
+private object OverflowSlot
+
+private const val MAX_WIDTH_FRACTION = 2f / 3
@@ -19,6 +19,7 @@
 package com.android.car.ui.toolbar
 
 import androidx.compose.foundation.layout.Row
+import androidx.compose.foundation.layout.RowScope
 import androidx.compose.foundation.layout.fillMaxWidth
 import androidx.compose.foundation.layout.padding
 import androidx.compose.foundation.layout.size
@@ -29,12 +30,11 @@ import androidx.compose.material.Surface
 import androidx.compose.runtime.Composable
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
-import androidx.compose.ui.res.colorResource
-import androidx.compose.ui.res.dimensionResource
 import androidx.compose.ui.res.painterResource
 import androidx.compose.ui.text.input.ImeAction
 import androidx.compose.ui.text.input.KeyboardType
 import com.android.car.ui.R
+import com.android.car.ui.theme.CarUiTheme
 
 @Composable
 fun SearchView(
@@ -47,53 +47,107 @@ fun SearchView(
     onQueryTextSubmit: (() -> Unit)? = null,
     onClear: (() -> Unit)? = null,
 ) {
-    val iconSpacing = dimensionResource(id = R.dimen.car_ui_toolbar_icon_spacing)
     val isEditable = enabled && !restricted
+    SearchViewRow(modifier) { fieldModifier ->
+        CarUiEditText(
+            value = value,
+            onValueChange = onValueChange,
+            hint = hint,
+            enabled = enabled,
+            restricted = restricted,
+            leadingIcon = { SearchIcon() },
+            trailingIcon = {
+                if (value.isNotEmpty() && isEditable && onClear != null) ClearButton(onClear)
+            },
+            modifier = fieldModifier,
+            imeAction = ImeAction.Search,
+            keyboardType = KeyboardType.Text,
+            onImeAction = { onQueryTextSubmit?.invoke() },
+        )
+    }
+}
+
+/**
+ * [SearchView] that edits [state]. Only this composable reads the text, so typing does not
+ * recompose the caller; collect [CarUiSearchState.queries] for the query. The clear button
+ * empties [state] before calling [onClear].
+ */
+@Composable
+fun SearchView(
+    state: CarUiSearchState,
+    modifier: Modifier = Modifier,
+    hint: String = "",
+    enabled: Boolean = true,
+    restricted: Boolean = false,
+    onQueryTextSubmit: (() -> Unit)? = null,
+    onClear: (() -> Unit)? = null,
+) {
+    val isEditable = enabled && !restricted
+    SearchViewRow(modifier) { fieldModifier ->
+        CarUiEditText(
+            value = state.textFieldValue,
+            onValueChange = { state.textFieldValue = it },
+            hint = hint,
+            enabled = enabled,
+            restricted = restricted,
+            leadingIcon = { SearchIcon() },
+            trailingIcon = {
+                if (state.text.isNotEmpty() && isEditable) {
+                    ClearButton {
+                        state.clear()
+                        onClear?.invoke()
+                    }
+                }
+            },
+            modifier = fieldModifier,
+            imeAction = ImeAction.Search,
+            keyboardType = KeyboardType.Text,
+            onImeAction = { onQueryTextSubmit?.invoke() },
+        )
+    }
+}
+
+@Composable
+private fun SearchViewRow(
+    modifier: Modifier,
+    field: @Composable RowScope.(fieldModifier: Modifier) -> Unit
+) {
+    val iconSpacing = CarUiTheme.tokens.toolbarIconSpacing
     Surface(
         modifier = modifier,
-        color = colorResource(R.color.car_ui_toolbar_background)
+        color = CarUiTheme.tokens.toolbarBackground
     ) {
         Row(
             Modifier.fillMaxWidth(),
             verticalAlignment = Alignment.CenterVertically
         ) {
-            CarUiEditText(
-                value = value,
-                onValueChange = onValueChange,
-                hint = hint,
-                enabled = enabled,
-                restricted = restricted,
-                leadingIcon = {
-                    Icon(
-                        painter = painterResource(id = R.drawable.car_ui_icon_search),
-                        contentDescription = "Search",
-                        tint = MaterialTheme.colors.onSurface,
-                        modifier = Modifier.size(dimensionResource(id = R.dimen.car_ui_primary_icon_size))
-                    )
-                },
-                trailingIcon = {
-                    if (value.isNotEmpty() && isEditable && onClear != null) {
-                        IconButton(
-                            onClick = onClear,
-                            enabled = isEditable,
-                        ) {
-                            Icon(
-                                painter = painterResource(id = R.drawable.car_ui_icon_close),
-                                contentDescription = "Clear",
-                                modifier = Modifier.size(dimensionResource(id = R.dimen.car_ui_primary_icon_size)),
-                                tint = MaterialTheme.colors.onSurface
-                            )
-                        }
-                    }
-                },
-                modifier = Modifier
+            field(
+                Modifier
                     .weight(1f)
-                    .padding(start = iconSpacing, end = iconSpacing),
-                imeAction = ImeAction.Search,
-                keyboardType = KeyboardType.Text,
-                onImeAction = { onQueryTextSubmit?.invoke() },
+                    .padding(start = iconSpacing, end = iconSpacing)
             )
         }
     }
 }
 
+@Composable
+private fun SearchIcon() {
+    Icon(
+        painter = painterResource(id = R.drawable.car_ui_icon_search),
+        contentDescription = "Search",
+        tint = MaterialTheme.colors.onSurface,
+        modifier = Modifier.size(CarUiTheme.tokens.primaryIconSize)
+    )
+}
+
+@Composable
+private fun ClearButton(onClick: () -> Unit) {
+    IconButton(onClick = onClick) {
+        Icon(
+            painter = painterResource(id = R.drawable.car_ui_icon_close),
+            contentDescription = "Clear",
+            modifier = Modifier.size(CarUiTheme.tokens.primaryIconSize),
+            tint = MaterialTheme.colors.onSurface
+        )
+    }
+}
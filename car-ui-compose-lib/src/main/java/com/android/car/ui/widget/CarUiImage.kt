@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.ui.widget
+
+import androidx.annotation.DrawableRes
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.Immutable
+import androidx.compose.runtime.remember
+import androidx.compose.ui.graphics.ImageBitmap
+import androidx.compose.ui.graphics.painter.BitmapPainter
+import androidx.compose.ui.graphics.painter.Painter
+import androidx.compose.ui.res.painterResource
+
+/**
+ * Stable reference to an image shown by a car-ui component.
+ *
+ * Unlike [Painter], which the Compose compiler treats as unstable, a [CarUiImage] compares by
+ * value so the components holding it can skip recomposition when nothing changed.
+ */
+@Immutable
+sealed class CarUiImage {
+
+    data class Resource(@DrawableRes val resId: Int) : CarUiImage()
+
+    /** Wraps an already decoded bitmap. Instances compare by bitmap identity. */
+    class Bitmap(val bitmap: ImageBitmap) : CarUiImage() {
+        override fun equals(other: Any?): Boolean = other is Bitmap && other.bitmap === bitmap
+
+        override fun hashCode(): Int = System.identityHashCode(bitmap)
+    }
+}
+
+@Composable
+fun CarUiImage.painter(): Painter = when (this) {
+    is CarUiImage.Resource -> painterResource(id = resId)
+    is CarUiImage.Bitmap -> remember(bitmap) { BitmapPainter(bitmap) }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.ui.widget
+
+import androidx.compose.material.LocalTextStyle
+import androidx.compose.material.Text
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.getValue
+import androidx.compose.runtime.mutableStateOf
+import androidx.compose.runtime.referentialEqualityPolicy
+import androidx.compose.runtime.remember
+import androidx.compose.runtime.setValue
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.draw.drawBehind
+import androidx.compose.ui.graphics.Color
+import androidx.compose.ui.layout.Layout
+import androidx.compose.ui.semantics.semantics
+import androidx.compose.ui.semantics.text
+import androidx.compose.ui.text.AnnotatedString
+import androidx.compose.ui.text.TextLayoutResult
+import androidx.compose.ui.text.TextStyle
+import androidx.compose.ui.text.drawText
+import androidx.compose.ui.text.style.TextOverflow
+
+/**
+ * [Text] for list rows. When a [LocalCarUiTextLayoutCache] is provided the layout is taken from
+ * the cache, which may already hold it from a background prefetch, instead of being measured on
+ * the main thread. [layoutSlot] names where the text sits in its row, see [CarUiTextLayoutCache].
+ */
+@Composable
+fun CarUiText(
+    text: String,
+    style: TextStyle,
+    color: Color,
+    modifier: Modifier = Modifier,
+    maxLines: Int = Int.MAX_VALUE,
+    overflow: TextOverflow = TextOverflow.Clip,
+    layoutSlot: Any? = null,
+) {
+    val cache = LocalCarUiTextLayoutCache.current
+    if (cache == null) {
+        Text(
+            text = text,
+            style = style,
+            color = color,
+            maxLines = maxLines,
+            overflow = overflow,
+            modifier = modifier
+        )
+        return
+    }
+    val mergedStyle = LocalTextStyle.current.merge(style)
+    val holder = remember { TextLayoutHolder() }
+    Layout(
+        modifier = modifier
+            .semantics { this.text = AnnotatedString(text) }
+            .drawBehind { holder.result?.let { drawText(it, color = color) } },
+        measurePolicy = { _, constraints ->
+            // Sized like Text: as wide as the longest line within the min and max width.
+            val result = cache.layout(
+                text, mergedStyle, constraints, maxLines, overflow, layoutSlot
+            )
+            holder.result = result
+            layout(
+                constraints.constrainWidth(result.size.width),
+                constraints.constrainHeight(result.size.height)
+            ) {}
+        }
+    )
+}
+
+/** Merged style [CarUiText] lays [style] out with, for [CarUiTextLayoutCache.prefetch]. */
+@Composable
+internal fun carUiTextStyle(style: TextStyle): TextStyle = LocalTextStyle.current.merge(style)
+
+private class TextLayoutHolder {
+    // State read by the draw, so a new layout redraws the text even when its size is unchanged.
+    var result by mutableStateOf<TextLayoutResult?>(null, referentialEqualityPolicy())
+}
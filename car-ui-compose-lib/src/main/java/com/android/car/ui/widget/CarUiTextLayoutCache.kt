@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.ui.widget
+
+import android.util.LruCache
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.Immutable
+import androidx.compose.runtime.Stable
+import androidx.compose.runtime.remember
+import androidx.compose.runtime.rememberCoroutineScope
+import androidx.compose.runtime.staticCompositionLocalOf
+import androidx.compose.ui.platform.LocalDensity
+import androidx.compose.ui.platform.LocalFontFamilyResolver
+import androidx.compose.ui.platform.LocalLayoutDirection
+import androidx.compose.ui.text.TextLayoutResult
+import androidx.compose.ui.text.TextMeasurer
+import androidx.compose.ui.text.TextStyle
+import androidx.compose.ui.text.style.TextOverflow
+import androidx.compose.ui.unit.Constraints
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.launch
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Text layouts keyed by text, style, width constraints, line limit and overflow, shared by the
+ * [CarUiText]s of list rows.
+ *
+ * [layout] is called from the layout pass and measures synchronously on a miss. [prefetch] measures
+ * on a background thread ahead of time, using the widths [layout] last saw for the same slot, so
+ * rows scrolling into view find their layouts ready. A slot names where a text sits in its row,
+ * e.g. a header's title, because texts with the same style can be laid out at different widths.
+ * Hits, misses and the time spent measuring on a miss are counted in [stats].
+ */
+@Stable
+class CarUiTextLayoutCache internal constructor(
+    private val textMeasurer: TextMeasurer,
+    private val backgroundTextMeasurer: TextMeasurer,
+    maxSize: Int,
+    private val scope: CoroutineScope,
+    private val backgroundDispatcher: CoroutineDispatcher,
+) {
+    private data class Key(
+        val text: String,
+        val style: TextStyle,
+        val widths: Constraints,
+        val maxLines: Int,
+        val overflow: TextOverflow
+    )
+
+    private data class Slot(
+        val slot: Any?,
+        val style: TextStyle,
+        val maxLines: Int,
+        val overflow: TextOverflow
+    )
+
+    private val layouts = LruCache<Key, TextLayoutResult>(maxSize)
+    private val lastWidths = ConcurrentHashMap<Slot, Constraints>()
+    private val hits = AtomicLong()
+    private val misses = AtomicLong()
+    private val missNanos = AtomicLong()
+
+    val stats: CarUiTextLayoutCacheStats
+        get() = CarUiTextLayoutCacheStats(hits.get(), misses.get(), missNanos.get())
+
+    /**
+     * Lays [text] out within the min and max width of [constraints], their height is not used. As
+     * with [BasicText][androidx.compose.foundation.text.BasicText], the result is as wide as the
+     * longest line, coerced into those widths.
+     */
+    fun layout(
+        text: String,
+        style: TextStyle,
+        constraints: Constraints,
+        maxLines: Int,
+        overflow: TextOverflow = TextOverflow.Clip,
+        slot: Any? = null
+    ): TextLayoutResult {
+        val widths = Constraints(minWidth = constraints.minWidth, maxWidth = constraints.maxWidth)
+        lastWidths[Slot(slot, style, maxLines, overflow)] = widths
+        val key = Key(text, style, widths, maxLines, overflow)
+        layouts.get(key)?.let {
+            hits.incrementAndGet()
+            return it
+        }
+        val start = System.nanoTime()
+        val result = measure(textMeasurer, key)
+        missNanos.addAndGet(System.nanoTime() - start)
+        misses.incrementAndGet()
+        layouts.put(key, result)
+        return result
+    }
+
+    /**
+     * Measures [text] on a background thread if a [CarUiText] with the same [slot], [style],
+     * [maxLines] and [overflow] has been laid out before. [style] must be the fully merged style
+     * the text is drawn with.
+     */
+    fun prefetch(
+        text: String,
+        style: TextStyle,
+        slot: Any? = null,
+        maxLines: Int = Int.MAX_VALUE,
+        overflow: TextOverflow = TextOverflow.Clip
+    ) {
+        val widths = lastWidths[Slot(slot, style, maxLines, overflow)] ?: return
+        val key = Key(text, style, widths, maxLines, overflow)
+        if (layouts.get(key) != null) return
+        scope.launch(backgroundDispatcher) {
+            if (layouts.get(key) == null) layouts.put(key, measure(backgroundTextMeasurer, key))
+        }
+    }
+
+    private fun measure(measurer: TextMeasurer, key: Key): TextLayoutResult = measurer.measure(
+        text = key.text,
+        style = key.style,
+        overflow = key.overflow,
+        maxLines = key.maxLines,
+        constraints = key.widths
+    )
+}
+
+@Immutable
+data class CarUiTextLayoutCacheStats(val hits: Long, val misses: Long, val missNanos: Long) {
+    val hitRate: Float
+        get() = if (hits + misses == 0L) 0f else hits.toFloat() / (hits + misses)
+
+    val averageMissNanos: Long
+        get() = if (misses == 0L) 0L else missNanos / misses
+}
+
+/** Text layout cache used by [CarUiText], or `null` to lay text out with plain [Text][androidx.compose.material.Text]. */
+val LocalCarUiTextLayoutCache = staticCompositionLocalOf<CarUiTextLayoutCache?> { null }
+
+@OptIn(ExperimentalCoroutinesApi::class)
+@Composable
+fun rememberCarUiTextLayoutCache(maxSize: Int = 512): CarUiTextLayoutCache {
+    val fontFamilyResolver = LocalFontFamilyResolver.current
+    val density = LocalDensity.current
+    val layoutDirection = LocalLayoutDirection.current
+    val scope = rememberCoroutineScope()
+    return remember(fontFamilyResolver, density, layoutDirection, scope) {
+        CarUiTextLayoutCache(
+            textMeasurer = TextMeasurer(fontFamilyResolver, density, layoutDirection, cacheSize = 0),
+            // TextMeasurer is not thread safe, so background work gets its own on a single thread.
+            backgroundTextMeasurer = TextMeasurer(
+                fontFamilyResolver,
+                density,
+                layoutDirection,
+                cacheSize = 0
+            ),
+            maxSize = maxSize,
+            scope = scope,
+            backgroundDispatcher = Dispatchers.Default.limitedParallelism(1)
+        )
+    }
+}
@@ -25,19 +25,18 @@ import androidx.compose.runtime.Composable
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.draw.alpha
 import androidx.compose.ui.graphics.Color
-import androidx.compose.ui.res.dimensionResource
 import androidx.compose.ui.text.TextStyle
 import androidx.compose.ui.text.style.TextAlign
 import androidx.compose.ui.text.style.TextOverflow
 import androidx.compose.ui.unit.sp
-import com.android.car.ui.R
+import com.android.car.ui.theme.CarUiTheme
 
 @Composable
 fun CarUiTextView(
     text: String,
     modifier: Modifier = Modifier,
     style: TextStyle = MaterialTheme.typography.body1.copy(
-        fontSize = dimensionResource(id = R.dimen.car_ui_text_size).value.sp
+        fontSize = CarUiTheme.tokens.textSize.value.sp
     ),
     color: Color = MaterialTheme.colors.onSurface,
     maxLines: Int = Int.MAX_VALUE,
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.android.car.ui
+
+import androidx.activity.FullyDrawnReporter
+import androidx.activity.FullyDrawnReporterOwner
+import androidx.activity.compose.LocalFullyDrawnReporterOwner
+import androidx.compose.material.Text
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.CompositionLocalProvider
+import androidx.compose.runtime.getValue
+import androidx.compose.runtime.mutableStateOf
+import androidx.compose.runtime.setValue
+import androidx.compose.ui.test.junit4.createComposeRule
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.android.car.ui.recyclerview.CarUiPagedItems
+import com.android.car.ui.recyclerview.CarUiRecyclerView
+import com.android.car.ui.theme.CarUiTheme
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(AndroidJUnit4::class)
+class CarUiFullyDrawnTest {
+
+    @get:Rule
+    val composeRule = createComposeRule()
+
+    private var reported = false
+
+    // Reports synchronously instead of on the activity's next draw.
+    private val owner = object : FullyDrawnReporterOwner {
+        override val fullyDrawnReporter = FullyDrawnReporter(Runnable::run) { reported = true }
+    }
+
+    @Test
+    fun screenWithoutLists_reportsOnFirstFrame() {
+        setContent {
+            CarUiFullyDrawn {
+                Text("Loaded")
+            }
+        }
+
+        assertTrue(reported)
+    }
+
+    @Test
+    fun listWithoutCarUiFullyDrawn_neverReports() {
+        setContent {
+            CarUiRecyclerView(items = listOf("a", "b")) { item -> Text(item) }
+        }
+
+        assertFalse(reported)
+    }
+
+    @Test
+    fun pagedList_delaysTheReportUntilItsFirstPageLoads() {
+        val firstPage = CompletableDeferred<Unit>()
+        val items = CarUiPagedItems(
+            itemCount = 100,
+            pageSize = 20,
+            maxPages = 4,
+            prefetchPages = 0,
+            loader = { start, count ->
+                firstPage.await()
+                List(count) { "Item ${start + it}" }
+            },
+            scope = CoroutineScope(Dispatchers.Unconfined),
+            dispatcher = Dispatchers.Unconfined
+        )
+        setContent {
+            CarUiFullyDrawn {
+                CarUiRecyclerView(items = items) { item -> Text(item) }
+            }
+        }
+        assertFalse(reported)
+
+        composeRule.runOnIdle { firstPage.complete(Unit) }
+        composeRule.waitForIdle()
+
+        assertTrue(reported)
+    }
+
+    @Test
+    fun carUiFullyDrawnWhen_delaysTheReportUntilItsPredicateHolds() {
+        var loaded by mutableStateOf(false)
+        setContent {
+            CarUiFullyDrawn {
+                CarUiFullyDrawnWhen { loaded }
+            }
+        }
+        assertFalse(reported)
+
+        composeRule.runOnIdle { loaded = true }
+        composeRule.waitForIdle()
+
+        assertTrue(reported)
+    }
+
+    private fun setContent(content: @Composable () -> Unit) {
+        composeRule.setContent {
+            CompositionLocalProvider(LocalFullyDrawnReporterOwner provides owner) {
+                CarUiTheme(content = content)
+            }
+        }
+        composeRule.waitForIdle()
+    }
+}
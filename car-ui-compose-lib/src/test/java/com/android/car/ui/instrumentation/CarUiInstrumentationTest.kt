@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.android.car.ui.instrumentation
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(AndroidJUnit4::class)
+class CarUiInstrumentationTest {
+
+    @Before
+    fun setUp() {
+        CarUiInstrumentation.reset()
+    }
+
+    @Test
+    fun offeredComposition_isNotASkip() {
+        CarUiInstrumentation.offer(CHILD)
+        compose(CHILD)
+
+        assertEquals(CarUiComponentCounters(1, 1, 0, 0, nanos(CHILD)), counters(CHILD))
+    }
+
+    @Test
+    fun offerFollowedByParentEnd_isASkip() {
+        compose(PARENT) {
+            CarUiInstrumentation.offer(CHILD)
+        }
+
+        assertEquals(CarUiComponentCounters(1, 0, 1, 0, 0), counters(CHILD))
+        assertEquals(1, counters(PARENT).invalidations)
+    }
+
+    @Test
+    fun offerFollowedBySibling_isASkip() {
+        compose(PARENT) {
+            CarUiInstrumentation.offer(CHILD)
+            CarUiInstrumentation.offer(SIBLING)
+            compose(SIBLING)
+        }
+
+        assertEquals(1, counters(CHILD).skips)
+        assertEquals(0, counters(SIBLING).skips)
+        assertEquals(1, counters(SIBLING).compositions)
+    }
+
+    @Test
+    fun repeatedOffersOfOneComponent_countEachSkip() {
+        compose(PARENT) {
+            repeat(3) { CarUiInstrumentation.offer(CHILD) }
+            compose(CHILD)
+        }
+
+        assertEquals(CarUiComponentCounters(3, 1, 2, 0, nanos(CHILD)), counters(CHILD))
+    }
+
+    @Test
+    fun compositionWithoutOffer_isAnInvalidation() {
+        CarUiInstrumentation.offer(CHILD)
+        compose(CHILD)
+        // Recomposes on its own, e.g. because state it reads changed.
+        compose(CHILD)
+
+        assertEquals(CarUiComponentCounters(1, 2, 0, 1, nanos(CHILD)), counters(CHILD))
+    }
+
+    @Test
+    fun pendingOffer_isCountedAsSkipWhenRead() {
+        CarUiInstrumentation.offer(CHILD)
+
+        assertEquals(1, counters(CHILD).skips)
+    }
+
+    @Test
+    fun reset_dropsPendingOffer() {
+        CarUiInstrumentation.offer(CHILD)
+        CarUiInstrumentation.reset()
+        compose(CHILD)
+
+        assertEquals(CarUiComponentCounters(0, 1, 0, 1, nanos(CHILD)), counters(CHILD))
+    }
+
+    private fun compose(id: String, body: () -> Unit = {}) {
+        val start = CarUiInstrumentation.begin(id)
+        body()
+        CarUiInstrumentation.end(id, start)
+    }
+
+    private fun counters(id: String) = CarUiInstrumentation.counters(id)
+
+    private fun nanos(id: String) = counters(id).compositionNanos
+
+    private companion object {
+        const val PARENT = "Parent"
+        const val CHILD = "Child"
+        const val SIBLING = "Sibling"
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.android.car.ui.recyclerview
+
+import kotlin.random.Random
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class CarUiItemHeightCacheTest {
+
+    @Test
+    fun offsets_matchPrefixSumsOfRandomRecords() {
+        val random = Random(42)
+        val cache = CarUiItemHeightCache().apply { size = 200 }
+        val heights = arrayOfNulls<Int>(200)
+        repeat(1_000) {
+            val index = random.nextInt(200)
+            val height = random.nextInt(1, 300)
+            cache.record(index, height)
+            heights[index] = height
+            assertMatchesNaive(cache, heights)
+        }
+    }
+
+    @Test
+    fun unmeasuredRows_useTheAverageOfMeasuredRows() {
+        val cache = CarUiItemHeightCache().apply { size = 4 }
+        cache.record(0, 100)
+        cache.record(2, 200)
+
+        assertEquals(150f, cache.estimatedHeight, 0f)
+        assertEquals(100f, cache.offsetOf(1), 0f)
+        assertEquals(250f, cache.offsetOf(2), 0f)
+        assertEquals(600f, cache.totalHeight(), 0f)
+    }
+
+    @Test
+    fun emptyCache_hasNoHeight() {
+        val cache = CarUiItemHeightCache()
+
+        assertEquals(0f, cache.estimatedHeight, 0f)
+        assertEquals(0f, cache.offsetOf(0), 0f)
+        assertEquals(0f, cache.totalHeight(), 0f)
+    }
+
+    @Test
+    fun recordOutsideTheRows_isIgnored() {
+        val cache = CarUiItemHeightCache().apply { size = 2 }
+        cache.record(-1, 10)
+        cache.record(2, 10)
+
+        assertEquals(0f, cache.totalHeight(), 0f)
+    }
+
+    @Test
+    fun offsetOf_clampsToTheRows() {
+        val cache = CarUiItemHeightCache().apply { size = 3 }
+        (0 until 3).forEach { cache.record(it, 10) }
+
+        assertEquals(0f, cache.offsetOf(-5), 0f)
+        assertEquals(30f, cache.offsetOf(10), 0f)
+    }
+
+    @Test
+    fun rerecordingARow_replacesItsHeight() {
+        val cache = CarUiItemHeightCache().apply { size = 3 }
+        cache.record(1, 10)
+        cache.record(1, 40)
+
+        assertEquals(40f, cache.estimatedHeight, 0f)
+        assertEquals(120f, cache.totalHeight(), 0f)
+    }
+
+    @Test
+    fun changingTheSize_forgetsHeights() {
+        val cache = CarUiItemHeightCache().apply { size = 3 }
+        (0 until 3).forEach { cache.record(it, 10) }
+
+        cache.size = 40
+        assertEquals(0f, cache.totalHeight(), 0f)
+
+        cache.record(39, 20)
+        cache.size = 2
+        assertEquals(0f, cache.totalHeight(), 0f)
+        cache.record(1, 30)
+        assertEquals(30f, cache.offsetOf(1), 0f)
+    }
+
+    @Test
+    fun differentKeyAtAnIndex_forgetsHeights() {
+        val cache = CarUiItemHeightCache().apply { size = 3 }
+        cache.record(0, 10, key = "a")
+        cache.record(1, 20, key = "b")
+
+        cache.record(1, 20, key = "b")
+        assertEquals(30f, cache.offsetOf(2), 0f)
+
+        cache.record(0, 50, key = "new")
+        assertEquals(50f, cache.estimatedHeight, 0f)
+        assertEquals(50f, cache.offsetOf(1), 0f)
+    }
+
+    @Test
+    fun clear_forgetsHeights() {
+        val cache = CarUiItemHeightCache().apply { size = 3 }
+        cache.record(0, 10)
+        cache.clear()
+
+        assertEquals(0f, cache.totalHeight(), 0f)
+        assertEquals(3, cache.size)
+    }
+
+    private fun assertMatchesNaive(cache: CarUiItemHeightCache, heights: Array<Int?>) {
+        val measured = heights.filterNotNull()
+        val estimate = if (measured.isEmpty()) 0f else measured.sum().toFloat() / measured.size
+        for (index in heights.indices step 17) {
+            val offset = heights.take(index).sumOf { (it?.toFloat() ?: estimate).toDouble() }.toFloat()
+            assertEquals(offset, cache.offsetOf(index), 0.5f)
+        }
+        val total = heights.sumOf { (it?.toFloat() ?: estimate).toDouble() }.toFloat()
+        assertEquals(total, cache.totalHeight(), 0.5f)
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.android.car.ui.recyclerview
+
+import androidx.compose.runtime.CompositionLocalProvider
+import androidx.compose.runtime.mutableStateOf
+import androidx.compose.ui.test.junit4.createComposeRule
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.android.car.ui.testing.CompositionCounter
+import com.android.car.ui.testing.Count
+import com.android.car.ui.theme.CarUiTheme
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(AndroidJUnit4::class)
+class CarUiListItemDispatcherTest {
+
+    @get:Rule
+    val composeRule = createComposeRule()
+
+    private val counter = CompositionCounter()
+    private val generation = mutableStateOf(0)
+    private val changedTitle = mutableStateOf<String?>(null)
+    private val onClick: () -> Unit = {}
+
+    private val registry = CarUiListItemRendererRegistry.Default
+        .withRenderer<CarUiListItemData.Content> { item ->
+            counter.Count(item.title!!)
+            CarUiContentListItem(title = item.title, body = item.body, onClick = item.onClick)
+        }
+
+    @Before
+    fun setUp() {
+        composeRule.setContent {
+            CarUiTheme {
+                CompositionLocalProvider(LocalCarUiListItemRendererRegistry provides registry) {
+                    // Recomposes this scope, rebuilding the list, when the generation changes.
+                    generation.value
+                    val items = TITLES.map { title ->
+                        CarUiListItemData.Content(
+                            title = if (title == "b") changedTitle.value ?: title else title,
+                            onClick = onClick
+                        )
+                    }
+                    CarUiRecyclerView(items = items) { item -> CarUiListItemDispatcher(item) }
+                }
+            }
+        }
+        composeRule.waitForIdle()
+        assertEquals(TITLES.associateWith { 1 }, counter.counts())
+        counter.reset()
+    }
+
+    @Test
+    fun parentRecomposesWithEqualItems_rowsSkip() {
+        composeRule.runOnIdle { generation.value++ }
+        composeRule.waitForIdle()
+
+        assertEquals(emptyMap<Any, Int>(), counter.counts())
+    }
+
+    @Test
+    fun oneItemChanges_onlyItsRowRecomposes() {
+        composeRule.runOnIdle { changedTitle.value = "b2" }
+        composeRule.waitForIdle()
+
+        assertEquals(mapOf<Any, Int>("b2" to 1), counter.counts())
+    }
+
+    private companion object {
+        val TITLES = listOf("a", "b", "c")
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.android.car.ui.recyclerview
+
+import kotlin.random.Random
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class CarUiListItemStoreTest {
+
+    private data class Row(
+        val kind: CarUiListItemStore.Kind,
+        val title: String?,
+        val body: String?,
+        val iconRes: Int,
+        val enabled: Boolean,
+        val restricted: Boolean
+    )
+
+    @Test
+    fun randomRows_readBackAsAdded() {
+        val random = Random(7)
+        // A capacity of one makes the builder grow every array several times.
+        val builder = CarUiListItemStore.Builder(initialCapacity = 1)
+        val rows = List(1_000) { randomRow(random) }
+        rows.forEach { builder.add(it) }
+
+        val store = builder.build()
+
+        assertEquals(rows.size, store.size)
+        rows.forEachIndexed { index, row -> assertEquals("row $index", row, store.row(index)) }
+    }
+
+    @Test
+    fun emptyAndMissingText_areDistinguished() {
+        val store = CarUiListItemStore.Builder()
+            .addContent(title = "", body = null)
+            .addContent(title = null, body = "")
+            .build()
+
+        assertEquals("", store.title(0))
+        assertNull(store.body(0))
+        assertNull(store.title(1))
+        assertEquals("", store.body(1))
+    }
+
+    @Test
+    fun unicodeText_keepsSurrogatePairs() {
+        val title = "Café 🚗 ナビ"
+        val store = CarUiListItemStore.Builder()
+            .addHeader(title, body = "🎵")
+            .addContent(title = "after")
+            .build()
+
+        assertEquals(title, store.title(0))
+        assertEquals("🎵", store.body(0))
+        assertEquals("after", store.title(1))
+    }
+
+    @Test
+    fun flags_areIndependentPerRow() {
+        val store = CarUiListItemStore.Builder()
+            .addChevron(title = "a", iconRes = 42, enabled = false, restricted = true)
+            .addHeader("b")
+            .build()
+
+        assertEquals(CarUiListItemStore.Kind.CHEVRON, store.kind(0))
+        assertFalse(store.isEnabled(0))
+        assertTrue(store.isRestricted(0))
+        assertEquals(42, store.iconRes(0))
+        assertEquals(CarUiListItemStore.Kind.HEADER, store.kind(1))
+        assertTrue(store.isEnabled(1))
+        assertFalse(store.isRestricted(1))
+        assertEquals(0, store.iconRes(1))
+    }
+
+    @Test
+    fun emptyBuilder_buildsEmptyStore() {
+        assertEquals(0, CarUiListItemStore.Builder().build().size)
+    }
+
+    @Test
+    fun rowsAddedAfterBuild_doNotChangeTheBuiltStore() {
+        val builder = CarUiListItemStore.Builder().addContent(title = "first")
+        val store = builder.build()
+        builder.addContent(title = "second")
+
+        assertEquals(1, store.size)
+        assertEquals("first", store.title(0))
+    }
+
+    private fun randomRow(random: Random): Row {
+        val kind = CarUiListItemStore.Kind.values()[random.nextInt(3)]
+        val header = kind == CarUiListItemStore.Kind.HEADER
+        val title = randomText(random)
+        return Row(
+            kind = kind,
+            title = if (header || random.nextBoolean()) title else null,
+            body = randomText(random).takeIf { random.nextBoolean() },
+            iconRes = if (header) 0 else random.nextInt(0, 3),
+            enabled = header || random.nextBoolean(),
+            restricted = !header && random.nextBoolean()
+        )
+    }
+
+    private fun randomText(random: Random): String =
+        String(CharArray(random.nextInt(0, 80)) { 'a' + random.nextInt(26) })
+
+    private fun CarUiListItemStore.Builder.add(row: Row) {
+        when (row.kind) {
+            CarUiListItemStore.Kind.HEADER -> addHeader(row.title!!, row.body)
+            CarUiListItemStore.Kind.CONTENT ->
+                addContent(row.title, row.body, row.iconRes, row.enabled, row.restricted)
+            CarUiListItemStore.Kind.CHEVRON ->
+                addChevron(row.title, row.body, row.iconRes, row.enabled, row.restricted)
+        }
+    }
+
+    private fun CarUiListItemStore.row(index: Int) = Row(
+        kind = kind(index),
+        title = title(index),
+        body = body(index),
+        iconRes = iconRes(index),
+        enabled = isEnabled(index),
+        restricted = isRestricted(index)
+    )
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.android.car.ui.recyclerview
+
+import androidx.compose.ui.text.TextMeasurer
+import androidx.compose.ui.text.TextStyle
+import androidx.compose.ui.text.font.createFontFamilyResolver
+import androidx.compose.ui.unit.Constraints
+import androidx.compose.ui.unit.Density
+import androidx.compose.ui.unit.LayoutDirection
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.android.car.ui.widget.CarUiTextLayoutCache
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(AndroidJUnit4::class)
+class CarUiListItemTextPrefetcherTest {
+
+    private open class Album(val name: String) : CarUiListItemData()
+    private class Single(name: String) : Album(name)
+    private class Playlist : CarUiListItemData()
+
+    private val prefetched = ArrayList<String>()
+    private val registry = CarUiListItemRendererRegistry.Default
+        .withRenderer<Album>(prefetch = { item, _ -> prefetched.add(item.name) }) {}
+        .withRenderer<Playlist> {}
+
+    private val measurer = TextMeasurer(
+        createFontFamilyResolver(ApplicationProvider.getApplicationContext()),
+        Density(1f),
+        LayoutDirection.Ltr,
+        cacheSize = 0
+    )
+
+    // Unconfined runs each prefetch to completion inside the call that starts it.
+    private val cache = CarUiTextLayoutCache(
+        textMeasurer = measurer,
+        backgroundTextMeasurer = measurer,
+        maxSize = 16,
+        scope = CoroutineScope(Dispatchers.Unconfined),
+        backgroundDispatcher = Dispatchers.Unconfined
+    )
+
+    @Test
+    fun appDefinedRows_arePrefetchedThroughTheirRenderer() {
+        val prefetcher = prefetcher(cache)
+
+        prefetcher.prefetch(Album("Abbey Road"))
+        prefetcher.prefetch(Single("Something"))
+        prefetcher.prefetch(Playlist())
+
+        assertEquals(listOf("Abbey Road", "Something"), prefetched)
+    }
+
+    @Test
+    fun builtInRows_arePrefetchedThroughTheDefaultRenderers() {
+        layoutTitle("Title")
+
+        prefetcher(cache).prefetch(CarUiListItemData.ActionSwitch(title = "Bluetooth"))
+
+        layoutTitle("Bluetooth")
+        assertEquals(1L, cache.stats.hits)
+    }
+
+    @Test
+    fun withoutACache_nothingIsPrefetched() {
+        prefetcher(cache = null).prefetch(Album("Abbey Road"))
+
+        assertEquals(emptyList<String>(), prefetched)
+    }
+
+    private fun layoutTitle(text: String) = cache.layout(
+        text,
+        STYLE,
+        Constraints(maxWidth = 200),
+        maxLines = Int.MAX_VALUE,
+        slot = CarUiListItemTextSlot.CONTENT_TITLE
+    )
+
+    private fun prefetcher(cache: CarUiTextLayoutCache?) =
+        CarUiListItemTextPrefetcher(cache, registry, STYLE, STYLE, STYLE)
+
+    private companion object {
+        val STYLE = TextStyle.Default
+    }
+}
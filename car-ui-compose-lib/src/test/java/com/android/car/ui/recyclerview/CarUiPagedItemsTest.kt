@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.android.car.ui.recyclerview
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.awaitCancellation
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertThrows
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class CarUiPagedItemsTest {
+
+    // Unconfined runs each load to completion inside the call that starts it.
+    private val scope = CoroutineScope(Dispatchers.Unconfined)
+    private val failure = IllegalStateException("offline")
+    private val requests = ArrayList<Int>()
+    private var failing = true
+
+    private val items = CarUiPagedItems(
+        itemCount = 100,
+        pageSize = 10,
+        maxPages = 4,
+        prefetchPages = 1,
+        loader = { start, count ->
+            requests.add(start)
+            if (failing) throw failure
+            List(count) { "Item ${start + it}" }
+        },
+        scope = scope,
+        dispatcher = Dispatchers.Unconfined
+    )
+
+    @Test
+    fun failedLoad_reportsTheErrorForThePageRows() {
+        items.onVisibleRangeChanged(0, 5)
+
+        assertNull(items[3])
+        assertSame(failure, items.errorAt(3))
+        assertSame(failure, items.errorAt(19))
+        assertNull(items.errorAt(20))
+    }
+
+    @Test
+    fun failedPage_isNotRequestedAgainByScrolling() {
+        items.onVisibleRangeChanged(0, 5)
+        items.onVisibleRangeChanged(1, 6)
+
+        assertEquals(listOf(0, 10), requests)
+    }
+
+    @Test
+    fun retry_loadsTheFailedPage() {
+        items.onVisibleRangeChanged(0, 5)
+        failing = false
+
+        items.retry(3)
+
+        assertEquals("Item 3", items[3])
+        assertNull(items.errorAt(3))
+        assertEquals(listOf(0, 10, 0), requests)
+    }
+
+    @Test
+    fun retryOfAPageThatDidNotFail_doesNothing() {
+        failing = false
+        items.onVisibleRangeChanged(0, 5)
+
+        items.retry(3)
+
+        assertEquals(listOf(0, 10), requests)
+    }
+
+    @Test
+    fun retryThatFailsAgain_reportsTheNewError() {
+        items.onVisibleRangeChanged(0, 5)
+
+        items.retry(3)
+
+        assertSame(failure, items.errorAt(3))
+        assertEquals(listOf(0, 10, 0), requests)
+    }
+
+    @Test
+    fun scrollingThroughTheList_keepsAtMostMaxPagesAndEveryVisiblePage() {
+        failing = false
+
+        for (first in (0..90 step 3) + (90 downTo 0 step 7)) {
+            items.onVisibleRangeChanged(first, first + 9)
+
+            assertTrue("at $first", loadedPages().size <= 4)
+            for (index in first..first + 9) assertNotNull("row $index", items[index])
+        }
+    }
+
+    @Test
+    fun scrollingForward_prefetchesThePagesAfterTheViewport() {
+        failing = false
+
+        items.onVisibleRangeChanged(0, 9)
+        items.onVisibleRangeChanged(10, 19)
+
+        assertEquals(listOf(0, 10, 20), requests)
+    }
+
+    @Test
+    fun scrollingBackward_prefetchesThePagesBeforeTheViewport() {
+        failing = false
+        items.onVisibleRangeChanged(50, 59)
+
+        items.onVisibleRangeChanged(40, 49)
+
+        assertEquals(listOf(50, 60, 30, 40), requests)
+        assertEquals(listOf(3, 4, 5, 6), loadedPages())
+    }
+
+    @Test
+    fun prefetchedPages_areNotDroppedWhenTheWindowIsFull() {
+        val requests = ArrayList<Int>()
+        val items = pagedItems(maxPages = 3, prefetchPages = 1) { start, count ->
+            requests.add(start)
+            List(count) { "Item ${start + it}" }
+        }
+
+        items.onVisibleRangeChanged(5, 14)
+        items.onVisibleRangeChanged(15, 24)
+        items.onVisibleRangeChanged(16, 25)
+
+        // Page 0 left the window, the prefetched page 3 stayed and was not requested again.
+        assertEquals(listOf(0, 10, 20, 30), requests)
+        assertNull(items[0])
+        assertEquals("Item 30", items[30])
+    }
+
+    @Test
+    fun loadsThatLeaveTheWantedRange_areCancelled() {
+        val cancelled = ArrayList<Int>()
+        val items = pagedItems(maxPages = 4, prefetchPages = 1) { start, _ ->
+            try {
+                awaitCancellation()
+            } finally {
+                cancelled.add(start)
+            }
+        }
+
+        items.onVisibleRangeChanged(0, 9)
+        items.onVisibleRangeChanged(50, 59)
+
+        assertEquals(listOf(0, 10), cancelled)
+        assertNull(items.errorAt(0))
+    }
+
+    @Test
+    fun maxPagesBelowTheVisibleAndPrefetchedPages_throws() {
+        failing = false
+
+        assertThrows(IllegalStateException::class.java) { items.onVisibleRangeChanged(0, 39) }
+    }
+
+    private fun loadedPages() = (0 until 10).filter { items[it * 10] != null }
+
+    private fun pagedItems(maxPages: Int, prefetchPages: Int, loader: CarUiPagedLoader<String>) =
+        CarUiPagedItems(
+            itemCount = 100,
+            pageSize = 10,
+            maxPages = maxPages,
+            prefetchPages = prefetchPages,
+            loader = loader,
+            scope = scope,
+            dispatcher = Dispatchers.Unconfined
+        )
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.android.car.ui.recyclerview
+
+import androidx.compose.material.Text
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.mutableStateListOf
+import androidx.compose.ui.test.junit4.createComposeRule
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.android.car.ui.testing.CompositionCounter
+import com.android.car.ui.testing.Count
+import com.android.car.ui.theme.CarUiTheme
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(AndroidJUnit4::class)
+class CarUiRecyclerViewKeyTest {
+
+    @get:Rule
+    val composeRule = createComposeRule()
+
+    @Test
+    fun insertWithKey_composesOnlyTheInsertedRow() {
+        val compositions = insertFirstRow(keyed = true)
+
+        assertEquals(mapOf<Any, Int>("new" to 1), compositions)
+    }
+
+    @Test
+    fun insertWithoutKey_recomposesTheShiftedRows() {
+        val compositions = insertFirstRow(keyed = false)
+
+        // Rows are matched by index, so every visible row now shows a different item.
+        assertTrue("compositions: $compositions", compositions.keys.containsAll(ITEMS))
+        assertEquals(1, compositions["new"])
+    }
+
+    /** Inserts a row above [ITEMS] and returns the rows composed by the insert. */
+    private fun insertFirstRow(keyed: Boolean): Map<Any, Int> {
+        val items = mutableStateListOf(*ITEMS.toTypedArray())
+        val counter = CompositionCounter()
+        composeRule.setContent {
+            CarUiTheme {
+                CarUiRecyclerView(
+                    items = items.toList(),
+                    key = if (keyed) { item: String -> item } else null
+                ) { item ->
+                    CountedRow(item, counter)
+                }
+            }
+        }
+        composeRule.waitForIdle()
+        assertEquals(ITEMS.associateWith { 1 }, counter.counts())
+
+        counter.reset()
+        composeRule.runOnIdle { items.add(0, "new") }
+        composeRule.waitForIdle()
+        return counter.counts()
+    }
+
+    private companion object {
+        val ITEMS = listOf("a", "b", "c", "d")
+    }
+}
+
+@Composable
+private fun CountedRow(item: String, counter: CompositionCounter) {
+    counter.Count(item)
+    Text(item)
+}
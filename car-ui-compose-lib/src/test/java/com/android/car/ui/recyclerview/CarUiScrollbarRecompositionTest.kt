@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.android.car.ui.recyclerview
+
+import androidx.compose.material.Text
+import androidx.compose.ui.test.assertIsDisplayed
+import androidx.compose.ui.test.junit4.createComposeRule
+import androidx.compose.ui.test.onNodeWithContentDescription
+import androidx.compose.ui.test.onNodeWithText
+import androidx.compose.ui.test.performScrollToIndex
+import androidx.compose.ui.test.performTouchInput
+import androidx.compose.ui.test.swipeUp
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.android.car.ui.instrumentation.CarUiInstrumentation
+import com.android.car.ui.theme.CarUiTheme
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/** The scrollbar thumb is read in the draw phase, so scrolling must not recompose it. */
+@RunWith(AndroidJUnit4::class)
+class CarUiScrollbarRecompositionTest {
+
+    @get:Rule
+    val composeRule = createComposeRule()
+
+    @Before
+    fun setUp() {
+        CarUiInstrumentation.reset()
+    }
+
+    @Test
+    fun scrollingAwayFromTheTop_recomposesScrollbarAtMostOnce() {
+        setContent(ITEMS)
+        // Only the page up button being enabled changes what the scrollbar composes.
+        list().performScrollToIndex(50)
+        composeRule.waitForIdle()
+
+        composeRule.onNodeWithText("Item 50").assertIsDisplayed()
+        assertTrue(scrollbarCompositions() <= 1)
+    }
+
+    @Test
+    fun scrollingInTheMiddle_doesNotRecomposeScrollbar() {
+        setContent(ITEMS)
+        list().performScrollToIndex(20)
+        composeRule.waitForIdle()
+        CarUiInstrumentation.reset()
+
+        repeat(5) {
+            list().performTouchInput { swipeUp() }
+            composeRule.waitForIdle()
+        }
+        list().performScrollToIndex(60)
+        composeRule.waitForIdle()
+
+        composeRule.onNodeWithText("Item 60").assertIsDisplayed()
+        assertEquals(0, scrollbarCompositions())
+    }
+
+    @Test
+    fun listThatCannotScroll_countsTheHiddenScrollbarAsComposed() {
+        setContent(ITEMS.take(3), resetCounters = false)
+
+        val counters = CarUiInstrumentation.counters(CarUiInstrumentation.SCROLLBAR)
+        assertEquals(0, counters.skips)
+        assertEquals(counters.offers, counters.compositions - counters.invalidations)
+    }
+
+    private fun setContent(items: List<String>, resetCounters: Boolean = true) {
+        composeRule.setContent {
+            CarUiTheme {
+                CarUiRecyclerView(items = items) { item -> Text(item) }
+            }
+        }
+        composeRule.waitForIdle()
+        if (resetCounters) CarUiInstrumentation.reset()
+    }
+
+    private fun list() = composeRule.onNodeWithContentDescription("car_ui_compose_lazy_list")
+
+    private fun scrollbarCompositions() =
+        CarUiInstrumentation.counters(CarUiInstrumentation.SCROLLBAR).compositions
+
+    private companion object {
+        val ITEMS = (0 until 100).map { "Item $it" }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.android.car.ui.recyclerview
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import java.util.Random
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/** Checks [CarUiSearchIndex] against a scan of every row with [String.contains]. */
+@RunWith(AndroidJUnit4::class)
+class CarUiSearchIndexTest {
+
+    @Test
+    fun emptyQuery_matchesAllRows() {
+        val index = index(CONTACTS)
+
+        assertEquals(CONTACTS.indices.toList(), index.search("").toList())
+        assertSame(index.search(""), index.search("", index.search("ann")))
+    }
+
+    @Test
+    fun queriesShorterThanATrigram_scanTheText() {
+        val index = index(CONTACTS)
+
+        for (query in listOf("a", "N", " ", "5", "nn", "er", "-1", "zq")) {
+            assertEquals(query, naiveSearch(CONTACTS, query), index.search(query).toList())
+        }
+    }
+
+    @Test
+    fun longerQueries_matchTheNaiveScan() {
+        val index = index(CONTACTS)
+
+        for (query in listOf("ann", "ANNA", "erss", "555-01", "becker anna", "zzz", "a b")) {
+            assertEquals(query, naiveSearch(CONTACTS, query), index.search(query).toList())
+        }
+    }
+
+    @Test
+    fun matches_neverSpanTitleAndBody() {
+        val index = index(listOf("abc" to "def", "abcdef" to null))
+
+        assertEquals(listOf(1), index.search("cd").toList())
+        assertEquals(listOf(1), index.search("bcde").toList())
+        assertEquals(listOf<Int>(), index.search("c d").toList())
+    }
+
+    @Test
+    fun unicode_isFoldedCharByChar() {
+        val rows = listOf(
+            "Émile Zola" to "Straße 5",
+            "ÉMILE" to null,
+            "Σοφία" to "ΣΟΦΊΑ",
+            "東京タワー" to "日本",
+            "Party 😀🎉" to null,
+            null to "café",
+        )
+        val index = index(rows)
+
+        val queries = listOf(
+            "émile", "ÉMI", "STRASSE", "straße", "σοφ", "ΊΑ",
+            "京タ", "😀", "🎉", "y 😀", "CAFÉ", "é"
+        )
+        for (query in queries) {
+            assertEquals(query, naiveSearch(rows, query), index.search(query).toList())
+        }
+    }
+
+    @Test
+    fun typingAndDeleting_narrowsLikeAFreshSearch() {
+        val random = Random(21)
+        repeat(100) {
+            val rows = List(random.nextInt(300)) { randomText(random) to randomText(random) }
+            val index = index(rows)
+            var previous: CarUiSearchResults? = null
+            var query = ""
+            repeat(12) {
+                query = if (random.nextInt(4) == 0 && query.isNotEmpty()) {
+                    query.dropLast(1)
+                } else {
+                    query + ALPHABET[random.nextInt(ALPHABET.length)]
+                }
+                val results = index.search(query, previous)
+                assertEquals(
+                    "[$query] after [${previous?.query}]",
+                    naiveSearch(rows, query),
+                    results.toList()
+                )
+                previous = results
+            }
+        }
+    }
+
+    @Test
+    fun resultsOfAnotherIndex_areNotNarrowed() {
+        val index = index(CONTACTS)
+        val other = index(listOf("anna" to null))
+
+        val results = index.search("anna", other.search("ann"))
+
+        assertEquals(naiveSearch(CONTACTS, "anna"), results.toList())
+    }
+
+    @Test
+    fun cancelledSearch_stopsAtTheNextCheck() {
+        val rows = List(5000) { "row $it" to null }
+        val index = index(rows)
+        var checks = 0
+
+        val cancelledAtOnce = index.search("ro", null, isCancelled = { true })
+        val cancelledLater = index.search("ro", null, isCancelled = { ++checks > 2 })
+
+        assertEquals(0, cancelledAtOnce.size)
+        // Checked before rows 0, 1024 and 2048, so only the first 2048 rows were scanned.
+        assertEquals((0 until 2048).toList(), cancelledLater.toList())
+        assertEquals(rows.size, index.search("ro", null, isCancelled = { false }).size)
+    }
+
+    @Test
+    fun indexOfItems_readsTheirText() {
+        val items = listOf(
+            CarUiListItemData.Header(text = "Favorites", body = "Pinned"),
+            CarUiListItemData.Content(title = "Anna", body = "Mobile"),
+            CarUiListItemData.Content(title = null, body = "Favorite color"),
+        )
+
+        assertEquals(listOf(0, 2), CarUiSearchIndex.of(items).search("favorite").toList())
+        assertEquals(listOf(0), CarUiSearchIndex.of(items).search("pinned").toList())
+    }
+
+    private fun index(rows: List<Pair<String?, String?>>): CarUiSearchIndex {
+        val builder = CarUiSearchIndex.Builder(1)
+        for ((title, body) in rows) builder.add(title, body)
+        return builder.build()
+    }
+
+    private fun naiveSearch(rows: List<Pair<String?, String?>>, query: String): List<Int> {
+        val folded = fold(query)
+        if (folded.isEmpty()) return rows.indices.toList()
+        return rows.indices.filter { i ->
+            val (title, body) = rows[i]
+            title != null && fold(title).contains(folded) ||
+                body != null && fold(body).contains(folded)
+        }
+    }
+
+    // The index folds each char on its own, which differs from String.lowercase for a few chars.
+    private fun fold(text: String): String = String(CharArray(text.length) { i ->
+        Character.toLowerCase(text[i])
+    })
+
+    private fun randomText(random: Random): String? =
+        if (random.nextInt(5) == 0) {
+            null
+        } else {
+            String(CharArray(random.nextInt(12)) { ALPHABET[random.nextInt(ALPHABET.length)] })
+        }
+
+    private fun CarUiSearchResults.toList(): List<Int> = List(size) { this[it] }
+
+    private companion object {
+        const val ALPHABET = "abcAB -é"
+
+        val CONTACTS = listOf(
+            "Anna Andersson" to "Mobile 555-0100",
+            "Bert Becker" to "Work 555-0101",
+            "Hanna Schmidt" to null,
+            null to "Unknown 555-0199",
+            "Becker Anna" to "Home",
+            "" to "",
+        )
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.android.car.ui.testing
+
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.SideEffect
+import androidx.compose.runtime.Stable
+
+/**
+ * Counts the compositions of test content by key, for tests that assert which rows recompose.
+ *
+ * The class is stable, so a composable that takes it alongside other stable parameters still
+ * skips, and only its own compositions are counted.
+ */
+@Stable
+class CompositionCounter {
+    private val counts = HashMap<Any, Int>()
+
+    fun record(key: Any) {
+        counts[key] = (counts[key] ?: 0) + 1
+    }
+
+    operator fun get(key: Any): Int = counts[key] ?: 0
+
+    /** Keys composed since the last [reset] and how often. */
+    fun counts(): Map<Any, Int> = HashMap(counts)
+
+    fun reset() {
+        counts.clear()
+    }
+}
+
+/** Records one composition of [key] each time the calling composable's composition is applied. */
+@Composable
+fun CompositionCounter.Count(key: Any) {
+    SideEffect { record(key) }
+}
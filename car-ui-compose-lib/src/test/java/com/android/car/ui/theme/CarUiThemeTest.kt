@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.android.car.ui.theme
+
+import androidx.compose.foundation.layout.Column
+import androidx.compose.material.MaterialTheme
+import androidx.compose.runtime.mutableStateOf
+import androidx.compose.ui.test.assertIsDisplayed
+import androidx.compose.ui.test.junit4.createComposeRule
+import androidx.compose.ui.test.onNodeWithText
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.android.car.ui.recyclerview.CarUiHeaderListItem
+import com.android.car.ui.toolbar.CarUiToolbar
+import com.android.car.ui.toolbar.CarUiToolbarNavIconType
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(AndroidJUnit4::class)
+class CarUiThemeTest {
+
+    @get:Rule
+    val composeRule = createComposeRule()
+
+    @Test
+    fun componentOutsideCarUiTheme_usesTokensFromResources() {
+        composeRule.setContent {
+            CarUiHeaderListItem(text = "Header")
+        }
+
+        composeRule.onNodeWithText("Header").assertIsDisplayed()
+    }
+
+    @Test
+    fun componentsOutsideCarUiTheme_resolveTheTokensOnce() {
+        val title = mutableStateOf("Title")
+        val builds = CarUiTokens.builds
+        composeRule.setContent {
+            Column {
+                CarUiToolbar(title = title.value, navIconType = CarUiToolbarNavIconType.Back)
+                CarUiHeaderListItem(text = "Header")
+                CarUiHeaderListItem(text = "Other header")
+            }
+        }
+        composeRule.runOnIdle { title.value = "Other title" }
+        composeRule.waitForIdle()
+
+        assertEquals(1, CarUiTokens.builds - builds)
+    }
+
+    @Test
+    fun tokensInsideCarUiTheme_areTheProvidedOnes() {
+        var provided: CarUiTokens? = null
+        var read: CarUiTokens? = null
+        composeRule.setContent {
+            CarUiTheme {
+                provided = LocalCarUiTokens.current
+                read = CarUiTheme.tokens
+            }
+        }
+
+        composeRule.runOnIdle { assertSame(provided, read) }
+    }
+
+    @Suppress("DEPRECATION")
+    @Test
+    fun deprecatedBuilders_matchTheTokenBuilders() {
+        var tokens: CarUiTokens? = null
+        var typographyBody1Size = 0f
+        composeRule.setContent {
+            MaterialTheme(
+                colors = buildCarUiColors(),
+                typography = buildCarUiTypography(),
+                shapes = buildCarUiShapes()
+            ) {
+                tokens = CarUiTheme.tokens
+                typographyBody1Size = MaterialTheme.typography.body1.fontSize.value
+            }
+        }
+
+        composeRule.runOnIdle {
+            assertEquals(tokens!!.body1Size.value, typographyBody1Size, 0f)
+        }
+    }
+}
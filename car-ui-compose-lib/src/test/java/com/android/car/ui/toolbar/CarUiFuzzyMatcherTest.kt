@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.android.car.ui.toolbar
+
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import java.util.Random
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/** Checks [CarUiFuzzyMatcher] against the edit distance worked out with a full DP table. */
+@RunWith(AndroidJUnit4::class)
+class CarUiFuzzyMatcherTest {
+
+    @Test
+    fun emptyQuery_matchesEveryRowInOrder() {
+        val matcher = CarUiFuzzyMatcher("")
+
+        assertEquals(CarUiFuzzyMatch(3, 2, 0, 0, 0), matcher.match("Anna", index = 3))
+        assertEquals(
+            listOf(0, 2, 3),
+            matcher.top(4, k = 10) { listOf("b", null, "a", "")[it] }.map { it.index }
+        )
+        assertEquals("Anna", matcher.highlight("Anna").text)
+        assertEquals(0, matcher.highlight("Anna").spanStyles.size)
+    }
+
+    @Test
+    fun shortQueries_onlyMatchExactly() {
+        val one = CarUiFuzzyMatcher("b")
+        val two = CarUiFuzzyMatcher("Ab")
+
+        assertEquals(0, two.maxErrors)
+        assertEquals(CarUiFuzzyMatch(0, 1, 0, 4, 5), one.match("Ann bert"))
+        assertNull(one.match("Anna"))
+        assertEquals(CarUiFuzzyMatch(0, 2, 0, 0, 2), two.match("abba"))
+        assertNull(two.match("a b"))
+        assertNull(two.match(""))
+    }
+
+    @Test
+    fun maxErrors_staysBelowTheQueryLength() {
+        assertEquals(1, CarUiFuzzyMatcher("ab", maxErrors = 5).maxErrors)
+        assertEquals(0, CarUiFuzzyMatcher("a", maxErrors = 5).maxErrors)
+        assertEquals(0, CarUiFuzzyMatcher("", maxErrors = 5).maxErrors)
+        assertEquals(2, CarUiFuzzyMatcher("schmidt").maxErrors)
+    }
+
+    @Test
+    fun typos_areFoundWithTheirErrors() {
+        val matcher = CarUiFuzzyMatcher("schmdit")
+
+        val match = matcher.match("Emma Schmidt", index = 7)
+
+        assertNotNull(match)
+        assertEquals(7, match!!.index)
+        assertEquals(2, match.errors)
+        assertEquals("Schmidt", "Emma Schmidt".substring(match.start, match.end))
+        assertNull(matcher.match("Emma Weber"))
+    }
+
+    @Test
+    fun randomTexts_matchTheDpDistance() {
+        val random = Random(22)
+        repeat(3000) {
+            val query = randomText(random, 1 + random.nextInt(7))
+            val text = randomText(random, random.nextInt(20))
+            val matcher = CarUiFuzzyMatcher(query)
+            val expected = bestSubstringDistance(fold(query), fold(text))
+
+            val match = matcher.match(text)
+
+            if (expected > matcher.maxErrors) {
+                assertNull("[$query] in [$text]", match)
+            } else {
+                assertNotNull("[$query] in [$text]", match)
+                assertEquals("[$query] in [$text]", expected, match!!.errors)
+                // The reported range is itself that many edits from the query.
+                val matched = text.substring(match.start, match.end)
+                assertEquals("[$query] in [$text]", expected, distance(fold(query), fold(matched)))
+            }
+        }
+    }
+
+    @Test
+    fun unicode_isFoldedCharByChar() {
+        assertEquals(0, CarUiFuzzyMatcher("ÉMILE").match("Rue émile zola")?.errors)
+        assertEquals(0, CarUiFuzzyMatcher("σοφία").match("ΣΟΦΊΑ")?.errors)
+        assertEquals(1, CarUiFuzzyMatcher("東京タワ").match("東京スワ")?.errors)
+        // Characters outside the BMP are two chars, so one emoji for another is one substitution
+        // of the low surrogate.
+        assertEquals(CarUiFuzzyMatch(0, 1, 0, 6, 8), CarUiFuzzyMatcher("😀").match("Party 😀"))
+        assertEquals(1, CarUiFuzzyMatcher("ab😀").match("ab😁")?.errors)
+    }
+
+    @Test
+    fun longQueries_areCut() {
+        val query = "a".repeat(CarUiFuzzyMatcher.MAX_QUERY_LENGTH) + "bcd"
+        val matcher = CarUiFuzzyMatcher(query)
+
+        assertEquals(CarUiFuzzyMatcher.MAX_QUERY_LENGTH, matcher.query.length)
+        assertEquals(0, matcher.match("a".repeat(100))?.errors)
+    }
+
+    @Test
+    fun top_matchesSortingEveryMatch() {
+        val random = Random(23)
+        repeat(300) {
+            val matcher = CarUiFuzzyMatcher(randomText(random, 1 + random.nextInt(6)))
+            val rows = List(200) { randomText(random, random.nextInt(15)) }
+            val k = 1 + random.nextInt(10)
+
+            val top = matcher.top(rows.size, k) { rows[it] }
+
+            val expected = rows.indices.mapNotNull { matcher.match(rows[it], it) }
+                .sortedWith(compareBy({ -it.score }, { it.index }))
+                .take(k)
+            assertEquals(matcher.query, expected, top)
+        }
+    }
+
+    @Test
+    fun cancelledTop_stopsAtTheNextCheck() {
+        val rows = List(5000) { "row $it" }
+        val matcher = CarUiFuzzyMatcher("row")
+        var checks = 0
+
+        val cancelledAtOnce = matcher.top(rows.size, k = rows.size, isCancelled = { true }) {
+            rows[it]
+        }
+        val cancelledLater = matcher.top(rows.size, k = rows.size, isCancelled = { ++checks > 2 }) {
+            rows[it]
+        }
+
+        assertEquals(listOf<CarUiFuzzyMatch>(), cancelledAtOnce)
+        // Checked before rows 0, 1024 and 2048, so only the first 2048 rows were matched.
+        assertEquals(2 * CarUiFuzzyMatcher.CANCEL_CHECK_INTERVAL, cancelledLater.size)
+        assertEquals((0 until 2048).toList(), cancelledLater.map { it.index })
+    }
+
+    @Test
+    fun highlight_marksTheMatchedCharsAndIsCached() {
+        val matcher = CarUiFuzzyMatcher("schmdit")
+        val text = "Emma Schmidt"
+
+        val highlighted = matcher.highlight(text)
+
+        val marked = highlighted.spanStyles.joinToString("") { text.substring(it.start, it.end) }
+        assertTrue(marked, marked.length >= 5 && marked.all { fold(it.toString()) in "schmdit" })
+        assertTrue(highlighted.spanStyles.all { it.item == matcher.highlightStyle })
+        assertSame(highlighted, matcher.highlight(text))
+        assertEquals(
+            listOf("Anna" to (0 until 4)),
+            CarUiFuzzyMatcher("anna").highlight("Anna B").spanStyles.map {
+                "Anna B".substring(it.start, it.end) to (it.start until it.end)
+            }
+        )
+    }
+
+    private fun randomText(random: Random, length: Int): String =
+        String(CharArray(length) { ALPHABET[random.nextInt(ALPHABET.length)] })
+
+    private fun fold(text: String): String =
+        String(CharArray(text.length) { Character.toLowerCase(text[it]) })
+
+    /** Fewest edits between [query] and any substring of [text]. */
+    private fun bestSubstringDistance(query: String, text: String): Int {
+        var best = Int.MAX_VALUE
+        for (start in 0..text.length) {
+            for (end in start..text.length) {
+                best = minOf(best, distance(query, text.substring(start, end)))
+            }
+        }
+        return best
+    }
+
+    private fun distance(a: String, b: String): Int {
+        val dp = Array(a.length + 1) { IntArray(b.length + 1) }
+        for (i in 0..a.length) dp[i][0] = i
+        for (j in 0..b.length) dp[0][j] = j
+        for (i in 1..a.length) {
+            for (j in 1..b.length) {
+                dp[i][j] = minOf(
+                    dp[i - 1][j - 1] + if (a[i - 1] == b[j - 1]) 0 else 1,
+                    dp[i - 1][j] + 1,
+                    dp[i][j - 1] + 1
+                )
+            }
+        }
+        return dp[a.length][b.length]
+    }
+
+    private companion object {
+        const val ALPHABET = "abcdAB éÉ"
+    }
+}
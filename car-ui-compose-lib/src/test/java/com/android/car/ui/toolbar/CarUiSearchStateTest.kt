@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.android.car.ui.toolbar
+
+import androidx.compose.ui.test.junit4.StateRestorationTester
+import androidx.compose.ui.test.junit4.createComposeRule
+import androidx.compose.ui.text.TextRange
+import androidx.compose.ui.text.input.TextFieldValue
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotSame
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(AndroidJUnit4::class)
+class CarUiSearchStateTest {
+
+    @get:Rule
+    val composeRule = createComposeRule()
+
+    @Test
+    fun textAndSelection_surviveRecreation() {
+        val tester = StateRestorationTester(composeRule)
+        var state: CarUiSearchState? = null
+        tester.setContent {
+            state = rememberCarUiSearchState(initialQuery = "ann", debounceMillis = 300L)
+        }
+        val before = state!!
+        composeRule.runOnIdle {
+            before.textFieldValue = TextFieldValue("anna b", TextRange(2, 4))
+        }
+
+        tester.emulateSavedInstanceStateRestore()
+
+        composeRule.runOnIdle {
+            val after = state!!
+            assertNotSame(before, after)
+            assertEquals(TextFieldValue("anna b", TextRange(2, 4)), after.textFieldValue)
+            assertEquals(300L, after.debounceMillis)
+        }
+    }
+
+    @Test
+    fun initialQuery_startsWithTheCursorAtItsEnd() {
+        var state: CarUiSearchState? = null
+        composeRule.setContent {
+            state = rememberCarUiSearchState(initialQuery = "ann")
+        }
+
+        composeRule.runOnIdle {
+            assertEquals(TextFieldValue("ann", TextRange(3)), state!!.textFieldValue)
+        }
+    }
+}
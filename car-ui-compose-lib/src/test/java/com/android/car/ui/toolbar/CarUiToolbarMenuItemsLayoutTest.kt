@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.android.car.ui.toolbar
+
+import androidx.compose.foundation.layout.Box
+import androidx.compose.foundation.layout.size
+import androidx.compose.foundation.layout.width
+import androidx.compose.runtime.mutableStateOf
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.platform.testTag
+import androidx.compose.ui.semantics.SemanticsProperties
+import androidx.compose.ui.semantics.getOrNull
+import androidx.compose.ui.test.SemanticsMatcher
+import androidx.compose.ui.test.junit4.createComposeRule
+import androidx.compose.ui.test.onNodeWithContentDescription
+import androidx.compose.ui.test.onNodeWithText
+import androidx.compose.ui.test.performClick
+import androidx.compose.ui.unit.dp
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.android.car.ui.testing.CompositionCounter
+import com.android.car.ui.testing.Count
+import com.android.car.ui.theme.CarUiTheme
+import com.android.car.ui.toolbar.CarUiMenuItemDisplayBehavior.Always
+import com.android.car.ui.toolbar.CarUiMenuItemDisplayBehavior.IfRoom
+import com.android.car.ui.toolbar.CarUiMenuItemDisplayBehavior.Never
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Lays out 2 to 20 menu items of [ITEM_SIZE] in a toolbar of [TOOLBAR_WIDTH], whose menu may use
+ * two thirds of it, and checks which items are shown against the rules of
+ * [CarUiToolbarMenuItems].
+ */
+@RunWith(AndroidJUnit4::class)
+class CarUiToolbarMenuItemsLayoutTest {
+
+    @get:Rule
+    val composeRule = createComposeRule()
+
+    private val menuItems = mutableStateOf(emptyList<CarUiToolbarMenuItem>())
+    private val counter = CompositionCounter()
+
+    @Before
+    fun setUp() {
+        composeRule.setContent {
+            CarUiTheme {
+                Box(Modifier.width(TOOLBAR_WIDTH.dp)) {
+                    CarUiToolbarMenuItems(
+                        menuItems = menuItems.value,
+                        overflowMenuItems = emptyList(),
+                        iconSize = ITEM_SIZE.dp,
+                        itemSpacing = SPACING.dp
+                    ) { item ->
+                        counter.Count(item.title!!)
+                        Box(Modifier.size(ITEM_SIZE.dp).testTag(item.title))
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    fun alwaysItems_areAllShownWithoutOverflow() {
+        for (count in 2..20) checkLayout(List(count) { Always })
+    }
+
+    @Test
+    fun neverItems_allGoToTheOverflowMenu() {
+        for (count in 2..20) checkLayout(List(count) { Never })
+    }
+
+    @Test
+    fun ifRoomItems_fillTheRowThenOverflow() {
+        for (count in 2..20) checkLayout(List(count) { IfRoom })
+    }
+
+    @Test
+    fun mixedItems_keepAlwaysItemsAndOverflowTheRest() {
+        val pattern = listOf(IfRoom, Always, IfRoom, Never)
+        for (count in 2..20) checkLayout(List(count) { pattern[it % pattern.size] })
+    }
+
+    @Test
+    fun overflowMenu_listsTheHiddenItemsInOrder() {
+        setItems(List(9) { if (it == 1) Never else IfRoom })
+
+        composeRule.onNodeWithContentDescription("More").performClick()
+        composeRule.waitForIdle()
+
+        // Four items and the overflow button fill the row; item1 is never shown.
+        val hidden = listOf(1, 5, 6, 7, 8).map(::title)
+        for (title in hidden) composeRule.onNodeWithText(title).assertExists()
+        composeRule.onNodeWithText(title(0)).assertDoesNotExist()
+    }
+
+    @Test
+    fun itemsThatDoNotFit_areNotComposedAgainWhenTheListIsRebuilt() {
+        counter.reset()
+        setItems(List(9) { IfRoom })
+        // Measuring item5 shows that it does not fit, the items after it are never composed.
+        assertEquals((0..5).map(::title).toSet(), counter.counts().keys)
+
+        counter.reset()
+        setItems(List(9) { IfRoom }, onClick = {})
+        // The cached widths place the same items, so only the shown ones are composed.
+        assertEquals((0..3).map(::title).toSet(), counter.counts().keys)
+        assertEquals((0..3).map(::title), placedItems())
+    }
+
+    private fun checkLayout(behaviors: List<CarUiMenuItemDisplayBehavior>) {
+        setItems(behaviors)
+        val (shown, overflow) = expectedLayout(behaviors)
+
+        assertEquals("$behaviors", shown.map(::title), placedItems())
+        val overflowButtons = composeRule.onAllNodes(hasContentDescription("More"))
+            .fetchSemanticsNodes()
+            .count { it.layoutInfo.isPlaced }
+        assertEquals("$behaviors", if (overflow) 1 else 0, overflowButtons)
+    }
+
+    private fun setItems(
+        behaviors: List<CarUiMenuItemDisplayBehavior>,
+        onClick: (() -> Unit)? = null
+    ) {
+        composeRule.runOnIdle {
+            menuItems.value = behaviors.mapIndexed { i, behavior ->
+                CarUiToolbarMenuItem(
+                    title = title(i),
+                    displayBehavior = behavior,
+                    onClick = onClick
+                )
+            }
+        }
+        composeRule.waitForIdle()
+    }
+
+    private fun placedItems(): List<String> =
+        composeRule.onAllNodes(isMenuItem)
+            .fetchSemanticsNodes()
+            .filter { it.layoutInfo.isPlaced }
+            .sortedBy { it.boundsInRoot.left }
+            .map { it.config[SemanticsProperties.TestTag] }
+
+    /** The shown items and whether the overflow button is shown, worked out as the KDoc says. */
+    private fun expectedLayout(
+        behaviors: List<CarUiMenuItemDisplayBehavior>
+    ): Pair<List<Int>, Boolean> {
+        val limit = TOOLBAR_WIDTH * 2 / 3
+        fun rowWidth(count: Int) = count * ITEM_SIZE + (count - 1).coerceAtLeast(0) * SPACING
+
+        val always = behaviors.indices.filter { behaviors[it] == Always }
+        var count = always.size
+        var overflow = Never in behaviors
+        val ifRoom = ArrayList<Int>()
+        for (i in behaviors.indices) {
+            if (behaviors[i] != IfRoom) continue
+            if (rowWidth(count + 1) > limit) {
+                overflow = true
+                break
+            }
+            count++
+            ifRoom += i
+        }
+        if (overflow) {
+            while (ifRoom.isNotEmpty() && rowWidth(count + 1) > limit) {
+                ifRoom.removeAt(ifRoom.size - 1)
+                count--
+            }
+        }
+        return (always + ifRoom).sorted() to overflow
+    }
+
+    private fun hasContentDescription(description: String) =
+        SemanticsMatcher("ContentDescription = $description") { node ->
+            node.config.getOrNull(SemanticsProperties.ContentDescription)
+                ?.contains(description) == true
+        }
+
+    private fun title(index: Int) = "item$index"
+
+    private companion object {
+        // The menu may use 220dp, room for five items or four and the overflow button.
+        const val TOOLBAR_WIDTH = 330
+        const val ITEM_SIZE = 40
+        const val SPACING = 4
+
+        val isMenuItem = SemanticsMatcher("Menu item") { node ->
+            node.config.getOrNull(SemanticsProperties.TestTag)?.startsWith("item") == true
+        }
+    }
+}
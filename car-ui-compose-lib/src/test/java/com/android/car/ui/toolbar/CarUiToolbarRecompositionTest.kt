@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.android.car.ui.toolbar
+
+import androidx.compose.runtime.mutableStateOf
+import androidx.compose.ui.test.junit4.createComposeRule
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.android.car.ui.instrumentation.CarUiInstrumentation
+import com.android.car.ui.theme.CarUiTheme
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/** Recomposition budgets of [CarUiToolbar], read from [CarUiInstrumentation]. */
+@RunWith(AndroidJUnit4::class)
+class CarUiToolbarRecompositionTest {
+
+    @get:Rule
+    val composeRule = createComposeRule()
+
+    private val generation = mutableStateOf(0)
+    private val title = mutableStateOf("Title")
+    private val showProgressBar = mutableStateOf(false)
+
+    @Before
+    fun setUp() {
+        composeRule.setContent {
+            CarUiTheme {
+                // Recomposes the toolbar's caller whenever the generation changes.
+                generation.value
+                CarUiToolbar(
+                    title = title.value,
+                    navIconType = CarUiToolbarNavIconType.Back,
+                    showProgressBar = showProgressBar.value
+                )
+            }
+        }
+        composeRule.waitForIdle()
+        CarUiInstrumentation.reset()
+    }
+
+    @Test
+    fun togglingProgressBar_recomposesToolbarAtMostOnce() {
+        composeRule.runOnIdle { showProgressBar.value = true }
+        composeRule.waitForIdle()
+
+        assertTrue(compositions(CarUiInstrumentation.TOOLBAR) <= 1)
+        assertEquals(1, compositions(CarUiInstrumentation.TOOLBAR_PROGRESS_BAR))
+        assertEquals(0, compositions(CarUiInstrumentation.TOOLBAR_NAV))
+        assertEquals(0, compositions(CarUiInstrumentation.TOOLBAR_TITLE))
+        assertEquals(0, compositions(CarUiInstrumentation.TOOLBAR_MENU))
+        assertEquals(1, CarUiInstrumentation.counters(CarUiInstrumentation.TOOLBAR_TITLE).skips)
+    }
+
+    @Test
+    fun changingTitle_recomposesOnlyTheTitle() {
+        composeRule.runOnIdle { title.value = "Other title" }
+        composeRule.waitForIdle()
+
+        assertTrue(compositions(CarUiInstrumentation.TOOLBAR) <= 1)
+        assertEquals(1, compositions(CarUiInstrumentation.TOOLBAR_TITLE))
+        assertEquals(0, compositions(CarUiInstrumentation.TOOLBAR_NAV))
+        assertEquals(0, compositions(CarUiInstrumentation.TOOLBAR_MENU))
+        assertEquals(0, compositions(CarUiInstrumentation.TOOLBAR_PROGRESS_BAR))
+    }
+
+    @Test
+    fun callerRecomposesWithEqualParameters_toolbarSkips() {
+        composeRule.runOnIdle { generation.value++ }
+        composeRule.waitForIdle()
+
+        assertEquals(0, compositions(CarUiInstrumentation.TOOLBAR))
+        assertEquals(0, compositions(CarUiInstrumentation.TOOLBAR_TITLE))
+    }
+
+    private fun compositions(id: String) = CarUiInstrumentation.counters(id).compositions
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.android.car.ui.widget
+
+import androidx.compose.ui.text.TextMeasurer
+import androidx.compose.ui.text.TextStyle
+import androidx.compose.ui.text.font.createFontFamilyResolver
+import androidx.compose.ui.text.style.TextOverflow
+import androidx.compose.ui.unit.Constraints
+import androidx.compose.ui.unit.Density
+import androidx.compose.ui.unit.LayoutDirection
+import androidx.compose.ui.unit.sp
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotSame
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(AndroidJUnit4::class)
+class CarUiTextLayoutCacheTest {
+
+    private val measurer = TextMeasurer(
+        createFontFamilyResolver(ApplicationProvider.getApplicationContext()),
+        Density(1f),
+        LayoutDirection.Ltr,
+        cacheSize = 0
+    )
+
+    // Unconfined runs each prefetch to completion inside the call that starts it.
+    private val cache = CarUiTextLayoutCache(
+        textMeasurer = measurer,
+        backgroundTextMeasurer = measurer,
+        maxSize = 16,
+        scope = CoroutineScope(Dispatchers.Unconfined),
+        backgroundDispatcher = Dispatchers.Unconfined
+    )
+
+    @Test
+    fun sameTextStyleWidthAndOverflow_isAHit() {
+        val first = layout("Bluetooth")
+        val second = layout("Bluetooth")
+
+        assertSame(first, second)
+        assertEquals(1L, cache.stats.hits)
+        assertEquals(1L, cache.stats.misses)
+    }
+
+    @Test
+    fun differentWidth_isAMiss() {
+        val first = layout("Bluetooth", constraints = Constraints(maxWidth = 200))
+
+        assertNotSame(first, layout("Bluetooth", constraints = Constraints(maxWidth = 300)))
+        assertNotSame(
+            first,
+            layout("Bluetooth", constraints = Constraints(minWidth = 100, maxWidth = 200))
+        )
+        assertEquals(3L, cache.stats.misses)
+        // The height is not part of the key.
+        assertSame(
+            first,
+            layout("Bluetooth", constraints = Constraints(maxWidth = 200, maxHeight = 50))
+        )
+    }
+
+    @Test
+    fun differentStyle_isAMiss() {
+        val first = layout("Bluetooth")
+
+        assertNotSame(first, layout("Bluetooth", style = TextStyle(fontSize = 30.sp)))
+        assertEquals(2L, cache.stats.misses)
+    }
+
+    @Test
+    fun differentOverflow_isAMiss() {
+        val first = layout("Bluetooth")
+
+        assertNotSame(first, layout("Bluetooth", overflow = TextOverflow.Ellipsis))
+        assertEquals(2L, cache.stats.misses)
+    }
+
+    @Test
+    fun prefetchBeforeTheSlotWasLaidOut_isSkipped() {
+        cache.prefetch("Bluetooth", STYLE, slot = TITLE, maxLines = 1)
+
+        layout("Bluetooth", slot = TITLE)
+
+        assertEquals(0L, cache.stats.hits)
+        assertEquals(1L, cache.stats.misses)
+    }
+
+    @Test
+    fun prefetch_usesTheWidthLastLaidOutInItsSlot() {
+        layout("Title", constraints = Constraints(maxWidth = 200), slot = TITLE)
+        layout("Body", constraints = Constraints(maxWidth = 300), slot = BODY)
+
+        cache.prefetch("Wi-Fi", STYLE, slot = BODY, maxLines = 1)
+
+        layout("Wi-Fi", constraints = Constraints(maxWidth = 300), slot = BODY)
+        assertEquals(1L, cache.stats.hits)
+        layout("Wi-Fi", constraints = Constraints(maxWidth = 200), slot = TITLE)
+        assertEquals(1L, cache.stats.hits)
+        // Measuring in the background is not counted as a miss.
+        assertEquals(3L, cache.stats.misses)
+    }
+
+    @Test
+    fun stats_countHitsAndMisses() {
+        assertEquals(0f, cache.stats.hitRate, 0f)
+        assertEquals(0L, cache.stats.averageMissNanos)
+
+        layout("Bluetooth")
+        layout("Bluetooth")
+        layout("Bluetooth")
+        layout("Wi-Fi")
+
+        val stats = cache.stats
+        assertEquals(2L, stats.hits)
+        assertEquals(2L, stats.misses)
+        assertEquals(0.5f, stats.hitRate, 0f)
+        assertTrue(stats.missNanos > 0)
+        assertEquals(stats.missNanos / 2, stats.averageMissNanos)
+    }
+
+    private fun layout(
+        text: String,
+        style: TextStyle = STYLE,
+        constraints: Constraints = Constraints(maxWidth = 200),
+        overflow: TextOverflow = TextOverflow.Clip,
+        slot: Any? = null
+    ) = cache.layout(text, style, constraints, maxLines = 1, overflow = overflow, slot = slot)
+
+    private companion object {
+        val STYLE = TextStyle(fontSize = 20.sp)
+        const val TITLE = "title"
+        const val BODY = "body"
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.android.car.ui.widget
+
+import androidx.compose.foundation.layout.Box
+import androidx.compose.foundation.layout.Column
+import androidx.compose.foundation.layout.width
+import androidx.compose.material.Text
+import androidx.compose.runtime.CompositionLocalProvider
+import androidx.compose.runtime.mutableStateOf
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.graphics.Color
+import androidx.compose.ui.platform.testTag
+import androidx.compose.ui.test.getUnclippedBoundsInRoot
+import androidx.compose.ui.test.junit4.createComposeRule
+import androidx.compose.ui.test.onNodeWithTag
+import androidx.compose.ui.text.TextStyle
+import androidx.compose.ui.unit.dp
+import androidx.compose.ui.unit.sp
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/** [CarUiText] laid out through a [CarUiTextLayoutCache] must look like the plain [Text]. */
+@RunWith(AndroidJUnit4::class)
+class CarUiTextTest {
+
+    @get:Rule
+    val composeRule = createComposeRule()
+
+    private val text = mutableStateOf("Bluetooth")
+
+    @Test
+    fun cachedText_isAsWideAsPlainText() {
+        setContent()
+
+        val cached = composeRule.onNodeWithTag("cached").getUnclippedBoundsInRoot()
+        val plain = composeRule.onNodeWithTag("plain").getUnclippedBoundsInRoot()
+        assertEquals(plain.width, cached.width)
+        assertEquals(plain.height, cached.height)
+        assertTrue(cached.width < WIDTH.dp)
+    }
+
+    @Test
+    fun changedText_isLaidOutAgain() {
+        setContent()
+        val before = composeRule.onNodeWithTag("cached").getUnclippedBoundsInRoot()
+
+        text.value = "Wi-Fi"
+        composeRule.waitForIdle()
+
+        val cached = composeRule.onNodeWithTag("cached").getUnclippedBoundsInRoot()
+        val plain = composeRule.onNodeWithTag("plain").getUnclippedBoundsInRoot()
+        assertEquals(plain.width, cached.width)
+        assertTrue(cached.width < before.width)
+    }
+
+    private fun setContent() {
+        composeRule.setContent {
+            val cache = rememberCarUiTextLayoutCache()
+            CompositionLocalProvider(LocalCarUiTextLayoutCache provides cache) {
+                Box(Modifier.width(WIDTH.dp)) {
+                    Column {
+                        CarUiText(text.value, STYLE, Color.Black, Modifier.testTag("cached"))
+                        CompositionLocalProvider(LocalCarUiTextLayoutCache provides null) {
+                            CarUiText(text.value, STYLE, Color.Black, Modifier.testTag("plain"))
+                        }
+                    }
+                }
+            }
+        }
+        composeRule.waitForIdle()
+    }
+
+    private companion object {
+        const val WIDTH = 400
+        val STYLE = TextStyle(fontSize = 20.sp)
+    }
+}
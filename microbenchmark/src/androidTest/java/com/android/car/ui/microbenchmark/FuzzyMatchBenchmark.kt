@@ -0,0 +1,78 @@
+package com.android.car.ui.microbenchmark
+
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import com.android.car.ui.toolbar.CarUiFuzzyMatcher
+import org.junit.Assume.assumeTrue
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.Parameterized
+
+/**
+ * Time to rank a contact list for each keystroke of a query with a typo, at 1,000, 10,000 and
+ * 100,000 rows. Divide the row count by the reported time for the match throughput. Highlighting
+ * the visible rows does not depend on the list size and runs once per query.
+ */
+@RunWith(Parameterized::class)
+class FuzzyMatchBenchmark(private val rowCount: Int, private val query: String) {
+
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    private val names = List(rowCount) { i ->
+        FIRST_NAMES[i % FIRST_NAMES.size] + " " + LAST_NAMES[i / FIRST_NAMES.size % LAST_NAMES.size]
+    }
+
+    @Test
+    fun top() = benchmarkRule.measureRepeated {
+        CarUiFuzzyMatcher(query).top(names.size, VISIBLE_ROWS) { names[it] }
+    }
+
+    @Test
+    fun highlightVisibleRows() {
+        assumeTrue(rowCount == HIGHLIGHT_ROW_COUNT)
+        val matches = CarUiFuzzyMatcher(query).top(names.size, VISIBLE_ROWS) { names[it] }
+        benchmarkRule.measureRepeated {
+            val matcher = runWithTimingDisabled { CarUiFuzzyMatcher(query) }
+            for (match in matches) matcher.highlight(names[match.index])
+        }
+    }
+
+    @Test
+    fun highlightVisibleRowsCached() {
+        assumeTrue(rowCount == HIGHLIGHT_ROW_COUNT)
+        val matcher = CarUiFuzzyMatcher(query)
+        val matches = matcher.top(names.size, VISIBLE_ROWS) { names[it] }
+        for (match in matches) matcher.highlight(names[match.index])
+        benchmarkRule.measureRepeated {
+            for (match in matches) matcher.highlight(names[match.index])
+        }
+    }
+
+    companion object {
+        private const val VISIBLE_ROWS = 20
+        private const val HIGHLIGHT_ROW_COUNT = 1_000
+
+        // "Schmidt" typed with "i" and "d" swapped, one keystroke at a time.
+        private val KEYSTROKES = "schmdit".indices.map { "schmdit".substring(0, it + 1) }
+
+        private val FIRST_NAMES = listOf(
+            "Anna", "Ben", "Carla", "David", "Emma", "Felix", "Greta", "Hannah", "Isaac", "Julia",
+            "Karl", "Lena", "Max", "Nora", "Oscar", "Paula", "Quentin", "Rosa", "Simon", "Tara"
+        )
+        private val LAST_NAMES = listOf(
+            "Andersson", "Becker", "Castillo", "Dubois", "Eriksen", "Fischer", "Garcia", "Hoffmann",
+            "Ivanova", "Jensen", "Kowalski", "Lindqvist", "Mueller", "Nakamura", "Okafor", "Petrov",
+            "Quinn", "Rossi", "Schmidt", "Tanaka", "Underwood", "Varga", "Weber", "Yilmaz",
+            "Zimmermann"
+        )
+
+        @JvmStatic
+        @Parameterized.Parameters(name = "rows={0},query={1}")
+        fun parameters(): List<Array<Any>> =
+            listOf(1_000, 10_000, 100_000).flatMap { rowCount ->
+                KEYSTROKES.map { arrayOf<Any>(rowCount, it) }
+            }
+    }
+}
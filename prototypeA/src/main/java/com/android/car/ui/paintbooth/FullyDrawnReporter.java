@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.car.ui.paintbooth;
+
+import android.app.Activity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Calls {@link Activity#reportFullyDrawn()}, which {@code StartupTimingMetric} records as the time
+ * to full display, on the first frame in which the activity's list shows its first page. This
+ * matches what {@code CarUiFullyDrawn} waits for in the Compose app.
+ */
+public final class FullyDrawnReporter implements ViewTreeObserver.OnPreDrawListener {
+    private final Activity mActivity;
+    private final View mDecorView;
+
+    private FullyDrawnReporter(Activity activity) {
+        mActivity = activity;
+        mDecorView = activity.getWindow().getDecorView();
+    }
+
+    /**
+     * Reports {@code activity} fully drawn once the first {@link RecyclerView} in its content has
+     * an adapter and has laid out rows, or its adapter is empty. Call at the end of
+     * {@code onCreate}.
+     */
+    public static void reportWhenListLaidOut(Activity activity) {
+        FullyDrawnReporter reporter = new FullyDrawnReporter(activity);
+        reporter.mDecorView.getViewTreeObserver().addOnPreDrawListener(reporter);
+    }
+
+    @Override
+    public boolean onPreDraw() {
+        RecyclerView list = findRecyclerView(mActivity.findViewById(android.R.id.content));
+        if (list == null || !isFirstPageLaidOut(list)) {
+            return true;
+        }
+        mDecorView.getViewTreeObserver().removeOnPreDrawListener(this);
+        mActivity.reportFullyDrawn();
+        return true;
+    }
+
+    private static boolean isFirstPageLaidOut(RecyclerView list) {
+        RecyclerView.Adapter<?> adapter = list.getAdapter();
+        return adapter != null && (adapter.getItemCount() == 0 || list.getChildCount() > 0);
+    }
+
+    @Nullable
+    private static RecyclerView findRecyclerView(@Nullable View view) {
+        if (view instanceof RecyclerView) {
+            return (RecyclerView) view;
+        }
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                RecyclerView list = findRecyclerView(group.getChildAt(i));
+                if (list != null) {
+                    return list;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -101,6 +101,7 @@ public class MainActivity extends Activity implements InsetsChangedListener {
         CarUiRecyclerView prv = findViewById(R.id.list);
         prv.setAdapter(mAdapter);
 
+        FullyDrawnReporter.reportWhenListLaidOut(this);
     }
 
     @Override
@@ -28,6 +28,7 @@ import com.android.car.ui.FocusArea;
 import com.android.car.ui.baselayout.Insets;
 import com.android.car.ui.baselayout.InsetsChangedListener;
 import com.android.car.ui.core.CarUi;
+import com.android.car.ui.paintbooth.FullyDrawnReporter;
 import com.android.car.ui.paintbooth.R;
 import com.android.car.ui.recyclerview.CarUiContentListItem;
 import com.android.car.ui.recyclerview.CarUiHeaderListItem;
@@ -58,6 +59,8 @@ public class CarUiListItemActivity extends Activity implements InsetsChangedList
         CarUiRecyclerView recyclerView = findViewById(R.id.list);
         mAdapter = CarUi.createListItemAdapter(this, generateSampleData());
         recyclerView.setAdapter(mAdapter);
+
+        FullyDrawnReporter.reportWhenListLaidOut(this);
     }
 
     private ArrayList<CarUiListItem> generateSampleData() {
@@ -17,6 +17,7 @@
 package com.android.car.ui.paintbooth.caruirecyclerview;
 
 import android.app.Activity;
+import android.content.Intent;
 import android.os.Bundle;
 
 import androidx.annotation.NonNull;
@@ -26,18 +27,18 @@ import com.android.car.ui.FocusArea;
 import com.android.car.ui.baselayout.Insets;
 import com.android.car.ui.baselayout.InsetsChangedListener;
 import com.android.car.ui.core.CarUi;
+import com.android.car.ui.paintbooth.FullyDrawnReporter;
 import com.android.car.ui.paintbooth.R;
 import com.android.car.ui.recyclerview.CarUiRecyclerView;
 import com.android.car.ui.toolbar.NavButtonMode;
 import com.android.car.ui.toolbar.ToolbarController;
 
-import java.util.ArrayList;
-
 /**
- * Activity that shows CarUiRecyclerView example with sample data.
+ * Activity that shows CarUiRecyclerView example with sample data. The data is shaped by the
+ * {@link SampleData} intent extras.
  */
 public class CarUiRecyclerViewActivity extends Activity implements InsetsChangedListener {
-    private final ArrayList<String> mData = new ArrayList<>();
+    private static final int DEFAULT_ITEM_COUNT = 101;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -51,15 +52,19 @@ public class CarUiRecyclerViewActivity extends Activity implements InsetsChanged
         CarUiRecyclerView recyclerView = findViewById(R.id.list);
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
 
-        RecyclerViewAdapter adapter = new RecyclerViewAdapter(this, generateSampleData());
-        recyclerView.setAdapter(adapter);
-    }
-
-    private ArrayList<String> generateSampleData() {
-        for (int i = 0; i <= 100; i++) {
-            mData.add(getString(R.string.test_data) + i);
+        Intent intent = getIntent();
+        int itemCount = intent.getIntExtra(SampleData.EXTRA_ITEM_COUNT, DEFAULT_ITEM_COUNT);
+        String rowMix = SampleData.getRowMix(intent);
+        if (SampleData.ROW_MIX_TEXT.equals(rowMix)) {
+            recyclerView.setAdapter(new RecyclerViewAdapter(this,
+                    SampleData.generateText(getString(R.string.test_data), 0, itemCount)));
+        } else {
+            boolean icons = intent.getBooleanExtra(SampleData.EXTRA_ICONS, false);
+            recyclerView.setAdapter(CarUi.createListItemAdapter(this,
+                    SampleData.generateListItems(this, itemCount, rowMix, icons)));
         }
-        return mData;
+
+        FullyDrawnReporter.reportWhenListLaidOut(this);
     }
 
     @Override
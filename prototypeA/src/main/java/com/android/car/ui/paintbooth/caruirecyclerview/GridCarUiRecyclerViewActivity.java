@@ -17,6 +17,7 @@
 package com.android.car.ui.paintbooth.caruirecyclerview;
 
 import android.app.Activity;
+import android.content.Intent;
 import android.os.Bundle;
 
 import androidx.annotation.NonNull;
@@ -25,20 +26,21 @@ import com.android.car.ui.FocusArea;
 import com.android.car.ui.baselayout.Insets;
 import com.android.car.ui.baselayout.InsetsChangedListener;
 import com.android.car.ui.core.CarUi;
+import com.android.car.ui.paintbooth.FullyDrawnReporter;
 import com.android.car.ui.paintbooth.R;
+import com.android.car.ui.recyclerview.CarUiGridLayoutStyle;
 import com.android.car.ui.recyclerview.CarUiRecyclerView;
 import com.android.car.ui.toolbar.NavButtonMode;
 import com.android.car.ui.toolbar.ToolbarController;
 
-import java.util.ArrayList;
-
 /**
- * Activity that shows GridCarUiRecyclerView example with sample data.
+ * Activity that shows GridCarUiRecyclerView example with sample data. The data is shaped by the
+ * {@link SampleData} intent extras; the layout's four columns are used unless
+ * {@link SampleData#EXTRA_COLUMNS} is set.
  */
 public class GridCarUiRecyclerViewActivity extends Activity implements
         InsetsChangedListener {
-    private final ArrayList<String> mData = new ArrayList<>();
-    private final int mDataToGenerate = 300;
+    private static final int DEFAULT_ITEM_COUNT = 300;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -51,15 +53,25 @@ public class GridCarUiRecyclerViewActivity extends Activity implements
 
         CarUiRecyclerView recyclerView = findViewById(R.id.list);
 
-        RecyclerViewAdapter adapter = new RecyclerViewAdapter(this, generateSampleData());
-        recyclerView.setAdapter(adapter);
-    }
+        Intent intent = getIntent();
+        if (intent.hasExtra(SampleData.EXTRA_COLUMNS)) {
+            CarUiGridLayoutStyle layoutStyle = new CarUiGridLayoutStyle();
+            layoutStyle.setSpanCount(intent.getIntExtra(SampleData.EXTRA_COLUMNS, 1));
+            recyclerView.setLayoutStyle(layoutStyle);
+        }
 
-    private ArrayList<String> generateSampleData() {
-        for (int i = 1; i <= mDataToGenerate; i++) {
-            mData.add("data" + i);
+        int itemCount = intent.getIntExtra(SampleData.EXTRA_ITEM_COUNT, DEFAULT_ITEM_COUNT);
+        String rowMix = SampleData.getRowMix(intent);
+        if (SampleData.ROW_MIX_TEXT.equals(rowMix)) {
+            recyclerView.setAdapter(new RecyclerViewAdapter(this,
+                    SampleData.generateText("data", 1, itemCount)));
+        } else {
+            boolean icons = intent.getBooleanExtra(SampleData.EXTRA_ICONS, false);
+            recyclerView.setAdapter(CarUi.createListItemAdapter(this,
+                    SampleData.generateListItems(this, itemCount, rowMix, icons)));
         }
-        return mData;
+
+        FullyDrawnReporter.reportWhenListLaidOut(this);
     }
 
     @Override
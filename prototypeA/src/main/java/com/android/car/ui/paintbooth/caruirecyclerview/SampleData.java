@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.car.ui.paintbooth.caruirecyclerview;
+
+import android.content.Context;
+import android.content.Intent;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.Nullable;
+
+import com.android.car.ui.paintbooth.R;
+import com.android.car.ui.recyclerview.CarUiContentListItem;
+import com.android.car.ui.recyclerview.CarUiHeaderListItem;
+import com.android.car.ui.recyclerview.CarUiListItem;
+
+import java.util.ArrayList;
+
+/**
+ * Sample rows of the {@link com.android.car.ui.recyclerview.CarUiRecyclerView} activities, sized
+ * and shaped by intent extras so that benchmarks can scale them, e.g.
+ * {@code adb shell am start ... --ei item_count 100000 --es row_mix mixed --ez icons true}.
+ */
+final class SampleData {
+
+    /** Number of rows. */
+    static final String EXTRA_ITEM_COUNT = "item_count";
+    /** Row types: {@link #ROW_MIX_TEXT}, {@link #ROW_MIX_CONTENT} or {@link #ROW_MIX_MIXED}. */
+    static final String EXTRA_ROW_MIX = "row_mix";
+    /** Whether list item rows have a leading icon. Text rows never have one. */
+    static final String EXTRA_ICONS = "icons";
+    /** Number of grid columns. */
+    static final String EXTRA_COLUMNS = "columns";
+
+    /** A single line of text per row, as in the original samples. */
+    static final String ROW_MIX_TEXT = "text";
+    /** A {@link CarUiContentListItem} with title and body per row. */
+    static final String ROW_MIX_CONTENT = "content";
+    /** Rows cycling through {@link #MIXED_ROW_TYPES} list item types. */
+    static final String ROW_MIX_MIXED = "mixed";
+
+    private static final int MIXED_ROW_TYPES = 7;
+
+    private SampleData() {
+    }
+
+    static String getRowMix(Intent intent) {
+        String rowMix = intent.getStringExtra(EXTRA_ROW_MIX);
+        return rowMix != null ? rowMix : ROW_MIX_TEXT;
+    }
+
+    static ArrayList<String> generateText(String prefix, int first, int itemCount) {
+        ArrayList<String> data = new ArrayList<>(itemCount);
+        for (int i = first; i < first + itemCount; i++) {
+            data.add(prefix + i);
+        }
+        return data;
+    }
+
+    /**
+     * {@link CarUiListItem} rows for {@link #ROW_MIX_CONTENT} and {@link #ROW_MIX_MIXED}. The
+     * order of the mixed row types matches the Compose app.
+     */
+    static ArrayList<CarUiListItem> generateListItems(Context context, int itemCount,
+            String rowMix, boolean icons) {
+        String header = context.getString(R.string.first_header);
+        String title = context.getString(R.string.test_title);
+        String body = context.getString(R.string.test_body);
+        // One drawable for all rows, as the Compose app loads its icon resource once.
+        Drawable icon = context.getDrawable(R.drawable.ic_launcher);
+        Drawable leadingIcon = icons ? icon : null;
+
+        ArrayList<CarUiListItem> data = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            if (ROW_MIX_MIXED.equals(rowMix)) {
+                data.add(mixedItem(i, header, title, body, icon, leadingIcon));
+            } else {
+                data.add(contentItem(CarUiContentListItem.Action.NONE, title + " " + i, body,
+                        leadingIcon));
+            }
+        }
+        return data;
+    }
+
+    private static CarUiListItem mixedItem(int index, String header, String title, String body,
+            Drawable icon, @Nullable Drawable leadingIcon) {
+        String indexedTitle = title + " " + index;
+        switch (index % MIXED_ROW_TYPES) {
+            case 0:
+                return new CarUiHeaderListItem(header + " " + index);
+            case 1:
+                return contentItem(CarUiContentListItem.Action.NONE, indexedTitle, body,
+                        leadingIcon);
+            case 2:
+                return contentItem(CarUiContentListItem.Action.CHECK_BOX, indexedTitle, body,
+                        leadingIcon);
+            case 3:
+                return contentItem(CarUiContentListItem.Action.CHEVRON, indexedTitle, body, null);
+            case 4: {
+                CarUiContentListItem item = contentItem(CarUiContentListItem.Action.ICON,
+                        indexedTitle, body, leadingIcon);
+                item.setSupplementalIcon(icon);
+                return item;
+            }
+            case 5:
+                return contentItem(CarUiContentListItem.Action.RADIO_BUTTON, indexedTitle, null,
+                        null);
+            default:
+                return contentItem(CarUiContentListItem.Action.SWITCH, indexedTitle, body, null);
+        }
+    }
+
+    private static CarUiContentListItem contentItem(CarUiContentListItem.Action action,
+            String title, @Nullable String body, @Nullable Drawable icon) {
+        CarUiContentListItem item = new CarUiContentListItem(action);
+        item.setTitle(title);
+        if (body != null) {
+            item.setBody(body);
+        }
+        if (icon != null) {
+            item.setIcon(icon);
+        }
+        return item;
+    }
+}
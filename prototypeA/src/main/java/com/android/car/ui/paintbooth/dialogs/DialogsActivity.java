@@ -36,6 +36,7 @@ import com.android.car.ui.FocusArea;
 import com.android.car.ui.baselayout.Insets;
 import com.android.car.ui.baselayout.InsetsChangedListener;
 import com.android.car.ui.core.CarUi;
+import com.android.car.ui.paintbooth.FullyDrawnReporter;
 import com.android.car.ui.paintbooth.R;
 import com.android.car.ui.recyclerview.CarUiContentListItem;
 import com.android.car.ui.recyclerview.CarUiListItemAdapter;
@@ -111,6 +112,8 @@ public class DialogsActivity extends Activity implements InsetsChangedListener {
 
         CarUiRecyclerView recyclerView = requireViewById(R.id.list);
         recyclerView.setAdapter(mAdapter);
+
+        FullyDrawnReporter.reportWhenListLaidOut(this);
     }
 
     private void showDialog() {
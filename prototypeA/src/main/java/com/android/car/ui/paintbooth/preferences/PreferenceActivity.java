@@ -20,6 +20,8 @@ import android.os.Bundle;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.android.car.ui.paintbooth.FullyDrawnReporter;
+
 /**
  * Displays samples of all types of Preferences to help with verifying style changes.
  */
@@ -34,5 +36,7 @@ public class PreferenceActivity extends AppCompatActivity {
                     .replace(android.R.id.content, new PreferenceDemoFragment())
                     .commitNow();
         }
+
+        FullyDrawnReporter.reportWhenListLaidOut(this);
     }
 }
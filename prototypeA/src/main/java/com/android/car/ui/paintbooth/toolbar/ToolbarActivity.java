@@ -32,6 +32,7 @@ import com.android.car.ui.FocusArea;
 import com.android.car.ui.baselayout.Insets;
 import com.android.car.ui.baselayout.InsetsChangedListener;
 import com.android.car.ui.core.CarUi;
+import com.android.car.ui.paintbooth.FullyDrawnReporter;
 import com.android.car.ui.paintbooth.R;
 import com.android.car.ui.recyclerview.CarUiRecyclerView;
 import com.android.car.ui.toolbar.MenuItem;
@@ -214,6 +215,8 @@ public class ToolbarActivity extends AppCompatActivity implements InsetsChangedL
 
         CarUiRecyclerView prv = requireViewById(R.id.list);
         prv.setAdapter(mAdapter);
+
+        FullyDrawnReporter.reportWhenListLaidOut(this);
     }
 
     @Override
@@ -44,9 +44,14 @@ import androidx.compose.ui.unit.dp
 import com.android.car.compose.ui.paintbooth.caruirecyclerview.CarUiListItemActivity
 import com.android.car.compose.ui.paintbooth.caruirecyclerview.CarUiRecyclerViewActivity
 import com.android.car.compose.ui.paintbooth.caruirecyclerview.GridCarUiRecyclerViewActivity
+import com.android.car.compose.ui.paintbooth.caruirecyclerview.LargeCarUiListItemActivity
+import com.android.car.compose.ui.paintbooth.caruirecyclerview.MixedCarUiListItemActivity
+import com.android.car.compose.ui.paintbooth.caruirecyclerview.PagedCarUiRecyclerViewActivity
+import com.android.car.compose.ui.paintbooth.caruirecyclerview.SearchCarUiListItemActivity
 import com.android.car.compose.ui.paintbooth.dialogs.DialogsActivity
 import com.android.car.compose.ui.paintbooth.preferences.PreferenceActivity
 import com.android.car.compose.ui.paintbooth.toolbar.ToolbarActivity
+import com.android.car.ui.CarUiFullyDrawn
 import com.android.car.ui.recyclerview.CarUiRecyclerView
 import com.android.car.ui.theme.CarUiTheme
 import com.android.car.ui.toolbar.CarUiToolbar
@@ -60,6 +65,10 @@ class MainActivity : ComponentActivity() {
         ActivityEntry("List sample", CarUiRecyclerViewActivity::class.java),
         ActivityEntry("Grid sample", GridCarUiRecyclerViewActivity::class.java),
         ActivityEntry("ListItem sample", CarUiListItemActivity::class.java),
+        ActivityEntry("Mixed ListItem sample", MixedCarUiListItemActivity::class.java),
+        ActivityEntry("Paged list sample", PagedCarUiRecyclerViewActivity::class.java),
+        ActivityEntry("Large ListItem sample", LargeCarUiListItemActivity::class.java),
+        ActivityEntry("Search sample", SearchCarUiListItemActivity::class.java),
         ActivityEntry("Preferences sample", PreferenceActivity::class.java),
         ActivityEntry("Toolbar sample", ToolbarActivity::class.java),
         ActivityEntry("Dialogs sample", DialogsActivity::class.java),
@@ -69,11 +78,13 @@ class MainActivity : ComponentActivity() {
         super.onCreate(savedInstanceState)
         setContent {
             CarUiTheme {
-                Surface(
-                    modifier = Modifier
-                        .fillMaxSize()
-                ) {
-                    MainScreen(activities)
+                CarUiFullyDrawn {
+                    Surface(
+                        modifier = Modifier
+                            .fillMaxSize()
+                    ) {
+                        MainScreen(activities)
+                    }
                 }
             }
         }
@@ -91,6 +102,7 @@ fun MainScreen(activities: List<ActivityEntry>) {
         )
         CarUiRecyclerView(
             items = activities,
+            key = { it.label },
             itemContent = { entry ->
                 ActivityButton(entry, context)
             }
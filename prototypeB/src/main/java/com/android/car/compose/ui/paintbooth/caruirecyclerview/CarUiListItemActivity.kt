@@ -34,16 +34,18 @@ import androidx.compose.runtime.remember
 import androidx.compose.runtime.setValue
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.platform.LocalContext
-import androidx.compose.ui.res.painterResource
 import androidx.compose.ui.res.stringResource
 import com.android.car.compose.ui.paintbooth.R
+import com.android.car.ui.CarUiFullyDrawn
 import com.android.car.ui.recyclerview.CarUiContentListItemIconType
 import com.android.car.ui.recyclerview.CarUiListItemData
 import com.android.car.ui.recyclerview.CarUiListItemDispatcher
 import com.android.car.ui.recyclerview.CarUiRecyclerView
+import com.android.car.ui.recyclerview.LocalCarUiListItemRendererRegistry
 import com.android.car.ui.theme.CarUiTheme
 import com.android.car.ui.toolbar.CarUiToolbar
 import com.android.car.ui.toolbar.CarUiToolbarNavIconType
+import com.android.car.ui.widget.CarUiImage
 
 
 class CarUiListItemActivity : ComponentActivity() {
@@ -52,10 +54,12 @@ class CarUiListItemActivity : ComponentActivity() {
         super.onCreate(savedInstanceState)
         setContent {
             CarUiTheme {
-                Surface(
-                    modifier = Modifier.fillMaxSize()
-                ) {
-                    CarUiListItemActivityScreen()
+                CarUiFullyDrawn {
+                    Surface(
+                        modifier = Modifier.fillMaxSize()
+                    ) {
+                        CarUiListItemActivityScreen()
+                    }
                 }
             }
         }
@@ -69,6 +73,14 @@ fun CarUiListItemActivityScreen() {
     var disabledCheckBoxChecked by remember { mutableStateOf(false) }
     var selectedCheckBoxChecked by remember { mutableStateOf(true) }
     var switchChecked by remember { mutableStateOf(false) }
+    val registry = LocalCarUiListItemRendererRegistry.current
+    val onCheckBoxCheckedChange: (Boolean) -> Unit = remember { { checkBoxChecked = it } }
+    val onDisabledCheckBoxCheckedChange: (Boolean) -> Unit =
+        remember { { disabledCheckBoxChecked = it } }
+    val onSelectedCheckBoxCheckedChange: (Boolean) -> Unit =
+        remember { { selectedCheckBoxChecked = it } }
+    val onSwitchCheckedChange: (Boolean) -> Unit = remember { { switchChecked = it } }
+    val onRadioChanged: (Int) -> Unit = remember { { radioSelectedIndex = it } }
 
     Column(modifier = Modifier.fillMaxSize()) {
         CarUiToolbar(
@@ -78,17 +90,18 @@ fun CarUiListItemActivityScreen() {
         CarUiRecyclerView(
             items = getTestData(
                 LocalContext.current, radioSelectedIndex, checkBoxChecked,
-                onCheckBoxCheckedChange = { checkBoxChecked = it },
+                onCheckBoxCheckedChange,
                 disabledCheckBoxChecked,
-                onDisabledCheckBoxCheckedChange = { disabledCheckBoxChecked = it },
+                onDisabledCheckBoxCheckedChange,
                 selectedCheckBoxChecked,
-                onSelectedCheckBoxCheckedChange = { selectedCheckBoxChecked = it },
+                onSelectedCheckBoxCheckedChange,
                 switchChecked,
-                onSwitchCheckedChange = { switchChecked = it }
-            ) { idx ->
-                radioSelectedIndex = idx
-            }, itemContent = { item ->
-                CarUiListItemDispatcher(item)
+                onSwitchCheckedChange,
+                onRadioChanged
+            ),
+            contentType = registry::contentTypeOf,
+            itemContent = { item ->
+                CarUiListItemDispatcher(item, registry)
             })
     }
 }
@@ -106,6 +119,41 @@ fun getTestData(
     onSwitchCheckedChange: (Boolean) -> Unit,
     onRadioChanged: (Int) -> Unit
 ): List<CarUiListItemData> {
+    // Callbacks are remembered, so the items are equal across recompositions and rows with
+    // unchanged data skip recomposition.
+    val showToast: (String) -> Unit = remember(context) {
+        { message -> Toast.makeText(context, message, Toast.LENGTH_SHORT).show() }
+    }
+    val onItemClick: () -> Unit = remember(showToast) { { showToast("Item clicked") } }
+    val onCheckBoxChange: (Boolean) -> Unit = remember(onCheckBoxCheckedChange, showToast) {
+        { isChecked ->
+            onCheckBoxCheckedChange(isChecked)
+            showToast("Item checked state is: " + isChecked)
+        }
+    }
+    val onDisabledCheckBoxChange: (Boolean) -> Unit =
+        remember(onDisabledCheckBoxCheckedChange, showToast) {
+            { isChecked ->
+                onDisabledCheckBoxCheckedChange(isChecked)
+                showToast("Item checked state is: " + isChecked)
+            }
+        }
+    val onSwitchChange: (Boolean) -> Unit = remember(onSwitchCheckedChange, showToast) {
+        { isChecked ->
+            onSwitchCheckedChange(isChecked)
+            showToast("Click on item with switch")
+        }
+    }
+    val onFirstRadioChange: (Boolean) -> Unit = remember(onRadioChanged) {
+        { isSelected -> if (isSelected) onRadioChanged(0) }
+    }
+    val onSecondRadioChange: (Boolean) -> Unit = remember(onRadioChanged) {
+        { isSelected -> if (isSelected) onRadioChanged(1) }
+    }
+    val onIconItemClick: () -> Unit = remember(showToast) { { showToast("Clicked item") } }
+    val onSupplementalIconClick: () -> Unit = remember(showToast) {
+        { showToast("Clicked supplemental icon") }
+    }
     val data = mutableListOf<CarUiListItemData>()
 
     data.add(CarUiListItemData.Header(stringResource(R.string.first_header)))
@@ -137,7 +185,7 @@ fun getTestData(
     data.add(
         CarUiListItemData.Content(
             title = stringResource(R.string.test_title),
-            icon = painterResource(R.drawable.ic_launcher)
+            icon = CarUiImage.Resource(R.drawable.ic_launcher)
         )
     )
 
@@ -145,14 +193,14 @@ fun getTestData(
         CarUiListItemData.Content(
             title = stringResource(R.string.test_title),
             body = stringResource(R.string.test_body),
-            icon = painterResource(R.drawable.ic_launcher)
+            icon = CarUiImage.Resource(R.drawable.ic_launcher)
         )
     )
 
     data.add(
         CarUiListItemData.Content(
             title = stringResource(R.string.title_with_content_icon),
-            icon = painterResource(R.drawable.ic_sample_logo),
+            icon = CarUiImage.Resource(R.drawable.ic_sample_logo),
             iconType = CarUiContentListItemIconType.CONTENT
         )
     )
@@ -161,7 +209,7 @@ fun getTestData(
         CarUiListItemData.Content(
             title = stringResource(R.string.test_title),
             body = stringResource(R.string.with_avatar_icon),
-            icon = painterResource(R.drawable.ic_sample_logo),
+            icon = CarUiImage.Resource(R.drawable.ic_sample_logo),
             iconType = CarUiContentListItemIconType.AVATAR
         )
     )
@@ -170,63 +218,49 @@ fun getTestData(
         CarUiListItemData.Content(
             title = stringResource(R.string.test_title),
             body = stringResource(R.string.display_toast_on_click),
-            icon = painterResource(R.drawable.ic_launcher),
-            onClick = {
-                Toast.makeText(context, "Item clicked", Toast.LENGTH_SHORT).show()
-            })
+            icon = CarUiImage.Resource(R.drawable.ic_launcher),
+            onClick = onItemClick
+        )
     )
 
     data.add(
         CarUiListItemData.ActionCheckBox(
             title = stringResource(R.string.title_item_with_checkbox),
             body = stringResource(R.string.toast_on_selection_changed),
-            icon = painterResource(R.drawable.ic_launcher),
+            icon = CarUiImage.Resource(R.drawable.ic_launcher),
             checked = checkBoxChecked,
-            onCheckedChange = { isChecked ->
-                onCheckBoxCheckedChange(isChecked)
-                Toast.makeText(
-                    context, "Item checked state is: " + isChecked, Toast.LENGTH_SHORT
-                ).show()
-            })
+            onCheckedChange = onCheckBoxChange
+        )
     )
 
     data.add(
         CarUiListItemData.ActionCheckBox(
             title = stringResource(R.string.title_with_disabled_checkbox),
             body = stringResource(R.string.click_should_have_no_effect),
-            icon = painterResource(R.drawable.ic_launcher),
+            icon = CarUiImage.Resource(R.drawable.ic_launcher),
             enabled = false,
             checked = disabledCheckBoxChecked,
-            onCheckedChange = { isChecked ->
-                onDisabledCheckBoxCheckedChange(isChecked)
-                Toast.makeText(
-                    context, "Item checked state is: " + isChecked, Toast.LENGTH_SHORT
-                ).show()
-            })
+            onCheckedChange = onDisabledCheckBoxChange
+        )
     )
 
     data.add(
         CarUiListItemData.ActionSwitch(
             body = stringResource(R.string.body_item_with_switch),
-            icon = painterResource(R.drawable.ic_launcher),
+            icon = CarUiImage.Resource(R.drawable.ic_launcher),
             checked = switchChecked,
-            onCheckedChange = { isChecked ->
-                onSwitchCheckedChange(isChecked)
-                Toast.makeText(
-                    context, "Click on item with switch", Toast.LENGTH_SHORT
-                ).show()
-            })
+            onCheckedChange = onSwitchChange
+        )
     )
 
     data.add(
         CarUiListItemData.ActionCheckBox(
             title = stringResource(R.string.title_item_with_checkbox),
             body = stringResource(R.string.item_initially_checked),
-            icon = painterResource(R.drawable.ic_launcher),
+            icon = CarUiImage.Resource(R.drawable.ic_launcher),
             checked = selectedCheckBoxChecked,
-            onCheckedChange = { isChecked ->
-                onSelectedCheckBoxCheckedChange(isChecked)
-            })
+            onCheckedChange = onSelectedCheckBoxCheckedChange
+        )
     )
 
     data.add(
@@ -234,40 +268,26 @@ fun getTestData(
             title = stringResource(R.string.title_item_with_radio_button),
             body = stringResource(R.string.item_initially_checked),
             selected = radioSelectedIndex == 0,
-            onSelectedChange = { isSelected ->
-                if (isSelected) onRadioChanged(0)
-            }
+            onSelectedChange = onFirstRadioChange
         ))
 
     data.add(
         CarUiListItemData.ActionRadioButton(
             title = stringResource(R.string.item_mutually_exclusive_with_item_above),
-            icon = painterResource(R.drawable.ic_launcher),
+            icon = CarUiImage.Resource(R.drawable.ic_launcher),
             selected = radioSelectedIndex == 1,
-            onSelectedChange = { isSelected ->
-                if (isSelected) onRadioChanged(1)
-            }
+            onSelectedChange = onSecondRadioChange
         ))
 
     data.add(
         CarUiListItemData.ActionIcon(
             title = stringResource(R.string.supplemental_icon_with_listener),
             body = stringResource(R.string.test_body),
-            icon = painterResource(R.drawable.ic_launcher),
+            icon = CarUiImage.Resource(R.drawable.ic_launcher),
             iconType = CarUiContentListItemIconType.CONTENT,
-            trailingIcon = painterResource(R.drawable.ic_launcher),
-            onClick = {
-                Toast.makeText(
-                    context, "Clicked item",
-                    Toast.LENGTH_SHORT
-                ).show()
-            },
-            onSupplementalIconClick = {
-                Toast.makeText(
-                    context, "Clicked supplemental icon",
-                    Toast.LENGTH_SHORT
-                ).show()
-            }
+            trailingIcon = CarUiImage.Resource(R.drawable.ic_launcher),
+            onClick = onIconItemClick,
+            onSupplementalIconClick = onSupplementalIconClick
         ))
 
     data.add(
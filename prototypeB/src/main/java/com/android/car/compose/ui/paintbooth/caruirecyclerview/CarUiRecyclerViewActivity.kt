@@ -31,29 +31,35 @@ import androidx.compose.material.MaterialTheme
 import androidx.compose.material.Surface
 import androidx.compose.material.Text
 import androidx.compose.runtime.Composable
-import androidx.compose.runtime.remember
 import androidx.compose.ui.Modifier
-import androidx.compose.ui.platform.LocalContext
 import androidx.compose.ui.res.stringResource
 import androidx.compose.ui.unit.dp
 import com.android.car.compose.ui.paintbooth.R
-import com.android.car.ui.recyclerview.CarUiRecyclerView
+import com.android.car.ui.CarUiFullyDrawn
 import com.android.car.ui.theme.CarUiTheme
 import com.android.car.ui.toolbar.CarUiToolbar
 import com.android.car.ui.toolbar.CarUiToolbarNavIconType
 
 
+private const val DEFAULT_ITEM_COUNT = 101
+
+/** Reads [EXTRA_ITEM_COUNT], [EXTRA_ROW_MIX] and [EXTRA_ICONS]. */
 class CarUiRecyclerViewActivity : ComponentActivity() {
 
     override fun onCreate(savedInstanceState: Bundle?) {
         super.onCreate(savedInstanceState)
+        val itemCount = intent.getIntExtra(EXTRA_ITEM_COUNT, DEFAULT_ITEM_COUNT)
+        val rowMix = SampleRowMix.fromIntent(intent)
+        val icons = intent.getBooleanExtra(EXTRA_ICONS, false)
         setContent {
             CarUiTheme {
-                Surface(
-                    modifier = Modifier
-                        .fillMaxSize()
-                ) {
-                    CarUiRecyclerViewScreen()
+                CarUiFullyDrawn {
+                    Surface(
+                        modifier = Modifier
+                            .fillMaxSize()
+                    ) {
+                        CarUiRecyclerViewScreen(itemCount, rowMix, icons)
+                    }
                 }
             }
         }
@@ -61,21 +67,21 @@ class CarUiRecyclerViewActivity : ComponentActivity() {
 }
 
 @Composable
-fun CarUiRecyclerViewScreen() {
-    val context = LocalContext.current
-    val data = remember {
-        List(101) { i -> "${context.getString(R.string.test_data)}$i" }
-    }
+fun CarUiRecyclerViewScreen(
+    itemCount: Int = DEFAULT_ITEM_COUNT,
+    rowMix: SampleRowMix = SampleRowMix.TEXT,
+    icons: Boolean = false
+) {
     Column(modifier = Modifier.fillMaxSize()) {
         CarUiToolbar(
             title = stringResource(R.string.app_name),
             navIconType = CarUiToolbarNavIconType.Back,
         )
-        CarUiRecyclerView(
-            items = data,
-            itemContent = { item ->
-                TextView(item)
-            }
+        SampleRowsRecyclerView(
+            itemCount = itemCount,
+            rowMix = rowMix,
+            icons = icons,
+            textPrefix = stringResource(R.string.test_data)
         )
     }
 }
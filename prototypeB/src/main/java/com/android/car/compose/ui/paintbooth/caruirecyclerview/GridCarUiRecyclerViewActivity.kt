@@ -25,28 +25,37 @@ import androidx.compose.foundation.layout.Column
 import androidx.compose.foundation.layout.fillMaxSize
 import androidx.compose.material.Surface
 import androidx.compose.runtime.Composable
-import androidx.compose.runtime.remember
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.res.stringResource
 import com.android.car.compose.ui.paintbooth.R
-import com.android.car.ui.recyclerview.CarUiRecyclerView
+import com.android.car.ui.CarUiFullyDrawn
 import com.android.car.ui.recyclerview.CarUiRecyclerViewLayoutStyle
 import com.android.car.ui.theme.CarUiTheme
 import com.android.car.ui.toolbar.CarUiToolbar
 import com.android.car.ui.toolbar.CarUiToolbarNavIconType
 
 
+private const val DEFAULT_GRID_ITEM_COUNT = 301
+private const val DEFAULT_COLUMNS = 4
+
+/** Reads [EXTRA_ITEM_COUNT], [EXTRA_COLUMNS], [EXTRA_ROW_MIX] and [EXTRA_ICONS]. */
 class GridCarUiRecyclerViewActivity : ComponentActivity() {
 
     override fun onCreate(savedInstanceState: Bundle?) {
         super.onCreate(savedInstanceState)
+        val itemCount = intent.getIntExtra(EXTRA_ITEM_COUNT, DEFAULT_GRID_ITEM_COUNT)
+        val columns = intent.getIntExtra(EXTRA_COLUMNS, DEFAULT_COLUMNS)
+        val rowMix = SampleRowMix.fromIntent(intent)
+        val icons = intent.getBooleanExtra(EXTRA_ICONS, false)
         setContent {
             CarUiTheme {
-                Surface(
-                    modifier = Modifier
-                        .fillMaxSize()
-                ) {
-                    GridCarUiRecyclerViewScreen()
+                CarUiFullyDrawn {
+                    Surface(
+                        modifier = Modifier
+                            .fillMaxSize()
+                    ) {
+                        GridCarUiRecyclerViewScreen(itemCount, columns, rowMix, icons)
+                    }
                 }
             }
         }
@@ -54,22 +63,24 @@ class GridCarUiRecyclerViewActivity : ComponentActivity() {
 }
 
 @Composable
-fun GridCarUiRecyclerViewScreen() {
-    val data = remember {
-        List(301) { i -> "data$i" }
-    }
+fun GridCarUiRecyclerViewScreen(
+    itemCount: Int = DEFAULT_GRID_ITEM_COUNT,
+    columns: Int = DEFAULT_COLUMNS,
+    rowMix: SampleRowMix = SampleRowMix.TEXT,
+    icons: Boolean = false
+) {
     Column(modifier = Modifier.fillMaxSize()) {
         CarUiToolbar(
             title = stringResource(R.string.app_name),
             navIconType = CarUiToolbarNavIconType.Back,
         )
-        CarUiRecyclerView(
-            items = data,
+        SampleRowsRecyclerView(
+            itemCount = itemCount,
+            rowMix = rowMix,
+            icons = icons,
+            textPrefix = "data",
             layoutStyle = CarUiRecyclerViewLayoutStyle.GRID,
-            numOfColumns = 4,
-            itemContent = { item ->
-                TextView(item)
-            }
+            numOfColumns = columns
         )
     }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.compose.ui.paintbooth.caruirecyclerview
+
+import android.os.Bundle
+import androidx.activity.ComponentActivity
+import androidx.activity.compose.setContent
+import androidx.compose.foundation.layout.Column
+import androidx.compose.foundation.layout.fillMaxSize
+import androidx.compose.material.Surface
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.remember
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.res.stringResource
+import com.android.car.compose.ui.paintbooth.R
+import com.android.car.ui.CarUiFullyDrawn
+import com.android.car.ui.recyclerview.CarUiListItemData
+import com.android.car.ui.recyclerview.CarUiListItemDispatcher
+import com.android.car.ui.recyclerview.CarUiListItemStore
+import com.android.car.ui.recyclerview.CarUiRecyclerView
+import com.android.car.ui.recyclerview.LocalCarUiListItemRendererRegistry
+import com.android.car.ui.theme.CarUiTheme
+import com.android.car.ui.toolbar.CarUiToolbar
+import com.android.car.ui.toolbar.CarUiToolbarNavIconType
+import com.android.car.ui.widget.CarUiImage
+
+/** Which list model backs the screen: [MODEL_STORE] (default) or [MODEL_OBJECTS]. */
+const val EXTRA_LIST_MODEL = "list_model"
+const val MODEL_STORE = "store"
+const val MODEL_OBJECTS = "objects"
+private const val DEFAULT_LARGE_ITEM_COUNT = 100_000
+private const val HEADER_INTERVAL = 10
+
+/**
+ * Shows a large text list held either in a [CarUiListItemStore] or as [CarUiListItemData] objects,
+ * so the heap footprint of the two models can be compared.
+ */
+class LargeCarUiListItemActivity : ComponentActivity() {
+
+    override fun onCreate(savedInstanceState: Bundle?) {
+        super.onCreate(savedInstanceState)
+        val itemCount = intent.getIntExtra(EXTRA_ITEM_COUNT, DEFAULT_LARGE_ITEM_COUNT)
+        val useStore = intent.getStringExtra(EXTRA_LIST_MODEL) != MODEL_OBJECTS
+        setContent {
+            CarUiTheme {
+                CarUiFullyDrawn {
+                    Surface(
+                        modifier = Modifier
+                            .fillMaxSize()
+                    ) {
+                        LargeCarUiListItemScreen(itemCount, useStore)
+                    }
+                }
+            }
+        }
+    }
+}
+
+@Composable
+fun LargeCarUiListItemScreen(itemCount: Int, useStore: Boolean) {
+    val header = stringResource(R.string.first_header)
+    val title = stringResource(R.string.test_title)
+    val body = stringResource(R.string.test_body)
+    Column(modifier = Modifier.fillMaxSize()) {
+        CarUiToolbar(
+            title = stringResource(R.string.app_name),
+            navIconType = CarUiToolbarNavIconType.Back,
+        )
+        if (useStore) {
+            val store = remember(itemCount) {
+                val builder = CarUiListItemStore.Builder(itemCount)
+                for (i in 0 until itemCount) {
+                    if (i % HEADER_INTERVAL == 0) {
+                        builder.addHeader("$header $i")
+                    } else {
+                        builder.addContent("$title $i", "$body $i", R.drawable.ic_launcher)
+                    }
+                }
+                builder.build()
+            }
+            CarUiRecyclerView(store = store)
+        } else {
+            val items = remember(itemCount) {
+                val icon = CarUiImage.Resource(R.drawable.ic_launcher)
+                List(itemCount) { i ->
+                    if (i % HEADER_INTERVAL == 0) {
+                        CarUiListItemData.Header(text = "$header $i")
+                    } else {
+                        CarUiListItemData.Content(title = "$title $i", body = "$body $i", icon = icon)
+                    }
+                }
+            }
+            val registry = LocalCarUiListItemRendererRegistry.current
+            CarUiRecyclerView(
+                items = items,
+                contentType = registry::contentTypeOf,
+                itemContent = { item ->
+                    CarUiListItemDispatcher(item, registry)
+                }
+            )
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.android.car.compose.ui.paintbooth.caruirecyclerview
+
+import android.os.Bundle
+import android.util.Log
+import androidx.activity.ComponentActivity
+import androidx.activity.compose.setContent
+import androidx.compose.foundation.layout.Column
+import androidx.compose.foundation.layout.fillMaxSize
+import androidx.compose.material.Surface
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.CompositionLocalProvider
+import androidx.compose.runtime.DisposableEffect
+import androidx.compose.runtime.mutableStateMapOf
+import androidx.compose.runtime.remember
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.res.stringResource
+import com.android.car.compose.ui.paintbooth.R
+import com.android.car.ui.CarUiFullyDrawn
+import com.android.car.ui.recyclerview.CarUiListItemData
+import com.android.car.ui.recyclerview.CarUiListItemDispatcher
+import com.android.car.ui.recyclerview.CarUiRecyclerView
+import com.android.car.ui.recyclerview.LocalCarUiListItemRendererRegistry
+import com.android.car.ui.recyclerview.rememberCarUiListItemTextPrefetcher
+import com.android.car.ui.theme.CarUiTheme
+import com.android.car.ui.toolbar.CarUiToolbar
+import com.android.car.ui.toolbar.CarUiToolbarNavIconType
+import com.android.car.ui.widget.CarUiImage
+import com.android.car.ui.widget.LocalCarUiTextLayoutCache
+import com.android.car.ui.widget.rememberCarUiTextLayoutCache
+
+internal const val MIXED_ROW_TYPES = 7
+private const val MIXED_ITEM_COUNT = 350
+
+/** Set to `true` to lay row text out through a prefetched text layout cache. */
+const val EXTRA_TEXT_CACHE = "text_cache"
+private const val TAG = "MixedCarUiListItem"
+
+private class MixedRow(val index: Int)
+
+class MixedCarUiListItemActivity : ComponentActivity() {
+
+    override fun onCreate(savedInstanceState: Bundle?) {
+        super.onCreate(savedInstanceState)
+        val useTextCache = intent.getBooleanExtra(EXTRA_TEXT_CACHE, false)
+        setContent {
+            CarUiTheme {
+                CarUiFullyDrawn {
+                    Surface(
+                        modifier = Modifier.fillMaxSize()
+                    ) {
+                        if (useTextCache) {
+                            val textLayoutCache = rememberCarUiTextLayoutCache()
+                            DisposableEffect(textLayoutCache) {
+                                onDispose {
+                                    Log.i(TAG, "Text layout cache: ${textLayoutCache.stats}")
+                                }
+                            }
+                            CompositionLocalProvider(
+                                LocalCarUiTextLayoutCache provides textLayoutCache
+                            ) {
+                                MixedCarUiListItemScreen()
+                            }
+                        } else {
+                            MixedCarUiListItemScreen()
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
+
+@Composable
+fun MixedCarUiListItemScreen() {
+    val rows = remember { List(MIXED_ITEM_COUNT) { MixedRow(it) } }
+    val checkedStates = remember { mutableStateMapOf<Int, Boolean>() }
+    val icon = remember { CarUiImage.Resource(R.drawable.ic_launcher) }
+    val title = stringResource(R.string.test_title)
+    val body = stringResource(R.string.test_body)
+    val header = stringResource(R.string.first_header)
+    val registry = LocalCarUiListItemRendererRegistry.current
+    val textPrefetcher = rememberCarUiListItemTextPrefetcher()
+    val prefetch: (MixedRow) -> Unit = remember(textPrefetcher, header, title, body) {
+        { row ->
+            textPrefetcher.prefetch(mixedItem(row.index, header, title, body, icon, icon, false) {})
+        }
+    }
+
+    Column(modifier = Modifier.fillMaxSize()) {
+        CarUiToolbar(
+            title = stringResource(R.string.app_name),
+            navIconType = CarUiToolbarNavIconType.Back,
+        )
+        CarUiRecyclerView(
+            items = rows,
+            key = { it.index },
+            contentType = { it.index % MIXED_ROW_TYPES },
+            prefetch = if (textPrefetcher.isEnabled) prefetch else null,
+            itemContent = { row ->
+                val onCheckedChange: (Boolean) -> Unit = remember(row.index) {
+                    { checkedStates[row.index] = it }
+                }
+                val checked = checkedStates[row.index] ?: false
+                CarUiListItemDispatcher(
+                    mixedItem(row.index, header, title, body, icon, icon, checked, onCheckedChange),
+                    registry
+                )
+            })
+    }
+}
+
+/**
+ * Row [index] of a list that cycles through [MIXED_ROW_TYPES] row types. [icon] is the trailing
+ * icon of icon rows, [leadingIcon] the icon in front of the rows that support one.
+ */
+internal fun mixedItem(
+    index: Int,
+    header: String,
+    title: String,
+    body: String,
+    icon: CarUiImage,
+    leadingIcon: CarUiImage?,
+    checked: Boolean,
+    onCheckedChange: (Boolean) -> Unit
+): CarUiListItemData = when (index % MIXED_ROW_TYPES) {
+    0 -> CarUiListItemData.Header(text = "$header $index")
+    1 -> CarUiListItemData.Content(title = "$title $index", body = body, icon = leadingIcon)
+    2 -> CarUiListItemData.ActionCheckBox(
+        title = "$title $index",
+        body = body,
+        icon = leadingIcon,
+        checked = checked,
+        onCheckedChange = onCheckedChange
+    )
+
+    3 -> CarUiListItemData.ActionChevron(title = "$title $index", body = body)
+    4 -> CarUiListItemData.ActionIcon(
+        title = "$title $index",
+        body = body,
+        icon = leadingIcon,
+        trailingIcon = icon
+    )
+
+    5 -> CarUiListItemData.ActionRadioButton(
+        title = "$title $index",
+        selected = checked,
+        onSelectedChange = onCheckedChange
+    )
+
+    else -> CarUiListItemData.ActionSwitch(
+        title = "$title $index",
+        body = body,
+        checked = checked,
+        onCheckedChange = onCheckedChange
+    )
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.compose.ui.paintbooth.caruirecyclerview
+
+import android.os.Bundle
+import androidx.activity.ComponentActivity
+import androidx.activity.compose.setContent
+import androidx.compose.foundation.layout.Column
+import androidx.compose.foundation.layout.fillMaxSize
+import androidx.compose.material.Surface
+import androidx.compose.runtime.Composable
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.res.stringResource
+import com.android.car.compose.ui.paintbooth.R
+import com.android.car.ui.CarUiFullyDrawn
+import com.android.car.ui.recyclerview.CarUiRecyclerView
+import com.android.car.ui.recyclerview.rememberCarUiPagedItems
+import com.android.car.ui.theme.CarUiTheme
+import com.android.car.ui.toolbar.CarUiToolbar
+import com.android.car.ui.toolbar.CarUiToolbarNavIconType
+
+/** Number of rows to show, e.g. `adb shell am start ... --ei item_count 100000`. */
+const val EXTRA_ITEM_COUNT = "item_count"
+private const val DEFAULT_ITEM_COUNT = 10_000
+
+class PagedCarUiRecyclerViewActivity : ComponentActivity() {
+
+    override fun onCreate(savedInstanceState: Bundle?) {
+        super.onCreate(savedInstanceState)
+        val itemCount = intent.getIntExtra(EXTRA_ITEM_COUNT, DEFAULT_ITEM_COUNT)
+        setContent {
+            CarUiTheme {
+                CarUiFullyDrawn {
+                    Surface(
+                        modifier = Modifier
+                            .fillMaxSize()
+                    ) {
+                        PagedCarUiRecyclerViewScreen(itemCount)
+                    }
+                }
+            }
+        }
+    }
+}
+
+@Composable
+fun PagedCarUiRecyclerViewScreen(itemCount: Int) {
+    val prefix = stringResource(R.string.test_data)
+    // Stands in for a media or contacts source; each page is built off the main thread.
+    val items = rememberCarUiPagedItems(itemCount = itemCount) { start, count ->
+        List(count) { i -> "$prefix${start + i}" }
+    }
+    Column(modifier = Modifier.fillMaxSize()) {
+        CarUiToolbar(
+            title = stringResource(R.string.app_name),
+            navIconType = CarUiToolbarNavIconType.Back,
+        )
+        CarUiRecyclerView(
+            items = items,
+            itemContent = { item ->
+                TextView(item)
+            }
+        )
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.compose.ui.paintbooth.caruirecyclerview
+
+import android.content.Intent
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.mutableStateMapOf
+import androidx.compose.runtime.remember
+import androidx.compose.ui.res.stringResource
+import com.android.car.compose.ui.paintbooth.R
+import com.android.car.ui.recyclerview.CarUiListItemData
+import com.android.car.ui.recyclerview.CarUiListItemDispatcher
+import com.android.car.ui.recyclerview.CarUiRecyclerView
+import com.android.car.ui.recyclerview.CarUiRecyclerViewLayoutStyle
+import com.android.car.ui.recyclerview.LocalCarUiListItemRendererRegistry
+import com.android.car.ui.widget.CarUiImage
+
+/** Row types of the sample lists: `text`, `content` or `mixed`, e.g. `--es row_mix mixed`. */
+const val EXTRA_ROW_MIX = "row_mix"
+
+/** Set to `true` to give list item rows a leading icon. Text rows never have one. */
+const val EXTRA_ICONS = "icons"
+
+/** Number of grid columns, e.g. `--ei columns 6`. */
+const val EXTRA_COLUMNS = "columns"
+
+/** Row types of the sample lists, chosen with [EXTRA_ROW_MIX]. */
+enum class SampleRowMix {
+    /** A single line of text per row, as in the original sample. */
+    TEXT,
+
+    /** A content list item with title and body per row. */
+    CONTENT,
+
+    /** Rows cycling through the list item types of [MixedCarUiListItemActivity]. */
+    MIXED;
+
+    companion object {
+        fun fromIntent(intent: Intent): SampleRowMix {
+            val value = intent.getStringExtra(EXTRA_ROW_MIX) ?: return TEXT
+            return values().firstOrNull { it.name.equals(value, ignoreCase = true) } ?: TEXT
+        }
+    }
+}
+
+/**
+ * [CarUiRecyclerView] with [itemCount] sample rows of the given [rowMix], shared by the sample
+ * activities so the benchmarks can scale the same screen.
+ */
+@Composable
+internal fun SampleRowsRecyclerView(
+    itemCount: Int,
+    rowMix: SampleRowMix,
+    icons: Boolean,
+    textPrefix: String,
+    layoutStyle: CarUiRecyclerViewLayoutStyle = CarUiRecyclerViewLayoutStyle.LIST,
+    numOfColumns: Int = 1
+) {
+    val rows = remember(itemCount) { List(itemCount) { it } }
+    val checkedStates = remember { mutableStateMapOf<Int, Boolean>() }
+    val icon = remember { CarUiImage.Resource(R.drawable.ic_launcher) }
+    val leadingIcon = if (icons) icon else null
+    val title = stringResource(R.string.test_title)
+    val body = stringResource(R.string.test_body)
+    val header = stringResource(R.string.first_header)
+    val registry = LocalCarUiListItemRendererRegistry.current
+
+    CarUiRecyclerView(
+        items = rows,
+        layoutStyle = layoutStyle,
+        numOfColumns = numOfColumns,
+        key = { it },
+        contentType = { index ->
+            when (rowMix) {
+                SampleRowMix.MIXED -> index % MIXED_ROW_TYPES
+                else -> rowMix
+            }
+        },
+        itemContent = { index ->
+            when (rowMix) {
+                SampleRowMix.TEXT -> TextView("$textPrefix$index")
+                SampleRowMix.CONTENT -> CarUiListItemDispatcher(
+                    CarUiListItemData.Content(
+                        title = "$title $index",
+                        body = body,
+                        icon = leadingIcon
+                    ),
+                    registry
+                )
+                SampleRowMix.MIXED -> {
+                    val onCheckedChange: (Boolean) -> Unit = remember(index) {
+                        { checkedStates[index] = it }
+                    }
+                    CarUiListItemDispatcher(
+                        mixedItem(
+                            index,
+                            header,
+                            title,
+                            body,
+                            icon,
+                            leadingIcon,
+                            checkedStates[index] ?: false,
+                            onCheckedChange
+                        ),
+                        registry
+                    )
+                }
+            }
+        }
+    )
+}
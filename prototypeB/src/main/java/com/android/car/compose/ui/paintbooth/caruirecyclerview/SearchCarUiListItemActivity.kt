@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * This file is a Kotlin Compose port/adaptation of AOSP car-ui-lib code:
+ * https://android.googlesource.com/platform/packages/apps/Car/libs/+/refs/heads/main/car-ui-lib
+ */
+package com.android.car.compose.ui.paintbooth.caruirecyclerview
+
+import android.os.Bundle
+import androidx.activity.ComponentActivity
+import androidx.activity.compose.setContent
+import androidx.compose.foundation.layout.Column
+import androidx.compose.foundation.layout.fillMaxSize
+import androidx.compose.material.Surface
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.getValue
+import androidx.compose.runtime.produceState
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.res.stringResource
+import com.android.car.compose.ui.paintbooth.R
+import com.android.car.ui.CarUiFullyDrawn
+import com.android.car.ui.CarUiFullyDrawnWhen
+import com.android.car.ui.recyclerview.CarUiListItemData
+import com.android.car.ui.recyclerview.CarUiListItemDispatcher
+import com.android.car.ui.recyclerview.CarUiListItemStore
+import com.android.car.ui.recyclerview.CarUiRecyclerView
+import com.android.car.ui.recyclerview.CarUiSearchIndex
+import com.android.car.ui.recyclerview.LocalCarUiListItemRendererRegistry
+import com.android.car.ui.recyclerview.rememberCarUiSearchResults
+import com.android.car.ui.theme.CarUiTheme
+import com.android.car.ui.toolbar.CarUiToolbar
+import com.android.car.ui.toolbar.CarUiToolbarNavIconType
+import com.android.car.ui.toolbar.SearchMode
+import com.android.car.ui.toolbar.rememberCarUiSearchState
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.withContext
+
+private const val DEFAULT_CONTACT_COUNT = 10_000
+
+private val FIRST_NAMES = listOf(
+    "Anna", "Ben", "Carla", "David", "Emma", "Felix", "Greta", "Hannah", "Isaac", "Julia",
+    "Karl", "Lena", "Max", "Nora", "Oscar", "Paula", "Quentin", "Rosa", "Simon", "Tara"
+)
+private val LAST_NAMES = listOf(
+    "Andersson", "Becker", "Castillo", "Dubois", "Eriksen", "Fischer", "Garcia", "Hoffmann",
+    "Ivanova", "Jensen", "Kowalski", "Lindqvist", "Mueller", "Nakamura", "Okafor", "Petrov",
+    "Quinn", "Rossi", "Schmidt", "Tanaka", "Underwood", "Varga", "Weber", "Yilmaz", "Zimmermann"
+)
+
+/**
+ * Shows a searchable contact list held either in a [CarUiListItemStore] or as
+ * [CarUiListItemData] objects, filtered through a [CarUiSearchIndex] each time typing pauses.
+ * Reads [EXTRA_ITEM_COUNT] and [EXTRA_LIST_MODEL].
+ */
+class SearchCarUiListItemActivity : ComponentActivity() {
+
+    override fun onCreate(savedInstanceState: Bundle?) {
+        super.onCreate(savedInstanceState)
+        val itemCount = intent.getIntExtra(EXTRA_ITEM_COUNT, DEFAULT_CONTACT_COUNT)
+        val useStore = intent.getStringExtra(EXTRA_LIST_MODEL) != MODEL_OBJECTS
+        setContent {
+            CarUiTheme {
+                CarUiFullyDrawn {
+                    Surface(
+                        modifier = Modifier
+                            .fillMaxSize()
+                    ) {
+                        SearchCarUiListItemScreen(itemCount, useStore)
+                    }
+                }
+            }
+        }
+    }
+}
+
+@Composable
+fun SearchCarUiListItemScreen(itemCount: Int, useStore: Boolean) {
+    val searchState = rememberCarUiSearchState()
+    Column(modifier = Modifier.fillMaxSize()) {
+        CarUiToolbar(
+            title = stringResource(R.string.app_name),
+            navIconType = CarUiToolbarNavIconType.Back,
+            searchMode = SearchMode.SEARCH,
+            searchState = searchState,
+        )
+        if (useStore) {
+            // The list and its index are built off the main thread, like a real contact list.
+            val contacts by produceState<Pair<CarUiListItemStore, CarUiSearchIndex>?>(
+                null,
+                itemCount
+            ) {
+                value = withContext(Dispatchers.Default) {
+                    val builder = CarUiListItemStore.Builder(itemCount)
+                    for (i in 0 until itemCount) {
+                        builder.addContent(contactName(i), contactNumber(i))
+                    }
+                    val store = builder.build()
+                    store to CarUiSearchIndex.of(store)
+                }
+            }
+            CarUiFullyDrawnWhen { contacts != null }
+            contacts?.let { (store, index) ->
+                CarUiRecyclerView(
+                    store = store,
+                    results = rememberCarUiSearchResults(index, searchState)
+                )
+            }
+        } else {
+            val contacts by produceState<Pair<List<CarUiListItemData>, CarUiSearchIndex>?>(
+                null,
+                itemCount
+            ) {
+                value = withContext(Dispatchers.Default) {
+                    val items = List(itemCount) { i ->
+                        CarUiListItemData.Content(title = contactName(i), body = contactNumber(i))
+                    }
+                    items to CarUiSearchIndex.of(items)
+                }
+            }
+            CarUiFullyDrawnWhen { contacts != null }
+            contacts?.let { (items, index) ->
+                val registry = LocalCarUiListItemRendererRegistry.current
+                CarUiRecyclerView(
+                    items = items,
+                    results = rememberCarUiSearchResults(index, searchState),
+                    contentType = registry::contentTypeOf,
+                    itemContent = { item ->
+                        CarUiListItemDispatcher(item, registry)
+                    }
+                )
+            }
+        }
+    }
+}
+
+private fun contactName(i: Int): String =
+    FIRST_NAMES[i % FIRST_NAMES.size] + " " + LAST_NAMES[i / FIRST_NAMES.size % LAST_NAMES.size]
+
+private fun contactNumber(i: Int): String =
+    "+1 555 " + (i / 10_000 % 1_000).toString().padStart(3, '0') + " " +
+        (i % 10_000).toString().padStart(4, '0')
@@ -47,6 +47,7 @@ import androidx.compose.ui.unit.dp
 import com.android.car.compose.ui.paintbooth.R
 import com.android.car.ui.CarUiAlertDialog
 import com.android.car.ui.CarUiAlertDialogParams
+import com.android.car.ui.CarUiFullyDrawn
 import com.android.car.ui.recyclerview.CarUiCheckBoxListItem
 import com.android.car.ui.recyclerview.CarUiRecyclerView
 import com.android.car.ui.theme.CarUiTheme
@@ -58,11 +59,13 @@ class DialogsActivity : ComponentActivity() {
         super.onCreate(savedInstanceState)
         setContent {
             CarUiTheme {
-                Surface(
-                    modifier = Modifier
-                        .fillMaxSize()
-                ) {
-                    DialogsActivityScreen()
+                CarUiFullyDrawn {
+                    Surface(
+                        modifier = Modifier
+                            .fillMaxSize()
+                    ) {
+                        DialogsActivityScreen()
+                    }
                 }
             }
         }
@@ -45,6 +45,8 @@ import androidx.datastore.preferences.core.edit
 import androidx.datastore.preferences.core.stringPreferencesKey
 import androidx.datastore.preferences.preferencesDataStore
 import com.android.car.compose.ui.paintbooth.R
+import com.android.car.ui.CarUiFullyDrawn
+import com.android.car.ui.CarUiFullyDrawnWhen
 import com.android.car.ui.preference.CarUiCheckboxPreference
 import com.android.car.ui.preference.CarUiEditTextPreference
 import com.android.car.ui.preference.CarUiListPreference
@@ -65,10 +67,12 @@ class PreferenceActivity : ComponentActivity() {
         super.onCreate(savedInstanceState)
         setContent {
             CarUiTheme {
-                Surface(
-                    modifier = Modifier.fillMaxSize()
-                ) {
-                    PreferenceDemoScreen()
+                CarUiFullyDrawn {
+                    Surface(
+                        modifier = Modifier.fillMaxSize()
+                    ) {
+                        PreferenceDemoScreen()
+                    }
                 }
             }
         }
@@ -126,7 +130,8 @@ fun PreferenceDemoScreen() {
         }
     }
 
-    // Wait for preferences to load before rendering
+    // Wait for preferences to load before rendering, and report full display only after that
+    CarUiFullyDrawnWhen { prefsLoaded }
     if (!prefsLoaded) return
 
     val prefItems = listOf<@Composable () -> Unit>(
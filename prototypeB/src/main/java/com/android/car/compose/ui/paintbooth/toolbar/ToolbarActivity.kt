@@ -28,26 +28,39 @@ import androidx.compose.ui.semantics.contentDescription
 import androidx.compose.ui.semantics.semantics
 import androidx.compose.ui.unit.dp
 import com.android.car.compose.ui.paintbooth.R
+import com.android.car.ui.CarUiFullyDrawn
+import com.android.car.ui.instrumentation.CarUiInstrumentation
 import com.android.car.ui.recyclerview.CarUiRecyclerView
 import com.android.car.ui.theme.CarUiTheme
+import com.android.car.ui.toolbar.CarUiMenuItemDisplayBehavior
 import com.android.car.ui.toolbar.CarUiToolbar
 import com.android.car.ui.toolbar.CarUiToolbarMenuItem
 import com.android.car.ui.toolbar.CarUiToolbarNavIconType
 import com.android.car.ui.toolbar.SearchMode
+import com.android.car.ui.toolbar.rememberCarUiSearchState
 
 class ToolbarActivity : ComponentActivity() {
     override fun onCreate(savedInstanceState: Bundle?) {
         super.onCreate(savedInstanceState)
         setContent {
             CarUiTheme {
-                Surface(
-                    modifier = Modifier.fillMaxSize()
-                ) {
-                    ToolbarActivityDemoScreen()
+                CarUiFullyDrawn {
+                    Surface(
+                        modifier = Modifier.fillMaxSize()
+                    ) {
+                        ToolbarActivityDemoScreen()
+                    }
                 }
             }
         }
     }
+
+    override fun onStop() {
+        super.onStop()
+        // No-op unless this is a debug build or car-ui-compose-lib is built with
+        // -PcarUiInstrumentation=true.
+        CarUiInstrumentation.log()
+    }
 }
 
 @Composable
@@ -65,10 +78,14 @@ fun ToolbarActivityDemoScreen() {
     var customSearchIcon by remember { mutableStateOf(false) }
     var switchChecked by remember { mutableStateOf(false) }
     var activatableOn by remember { mutableStateOf(false) }
-    var searchQuery by remember { mutableStateOf("") }
+    val searchState = rememberCarUiSearchState()
 
     fun toast(msg: String) = Toast.makeText(context, msg, Toast.LENGTH_SHORT).show()
 
+    // Added items move into the overflow menu once the toolbar is full.
+    fun addMenuItem(menuItem: CarUiToolbarMenuItem) =
+        menuItemsList.add(menuItem.copy(displayBehavior = CarUiMenuItemDisplayBehavior.IfRoom))
+
     val demoButtons: List<Pair<String, () -> Unit>> = listOf(
         "Toggle progress bar" to {
             showProgressBar = !showProgressBar
@@ -105,13 +122,13 @@ fun ToolbarActivityDemoScreen() {
         },
 
         context.getString(R.string.toolbar_add_icon) to {
-            menuItemsList.add(
+            addMenuItem(
                 CarUiToolbarMenuItem.settings(
                     onClick = { toast("Settings icon clicked") })
             )
         },
         context.getString(R.string.toolbar_add_switch) to {
-            menuItemsList.add(
+            addMenuItem(
                 CarUiToolbarMenuItem.checkable(
                     checked = switchChecked,
                     onCheckedChange = {
@@ -121,13 +138,13 @@ fun ToolbarActivityDemoScreen() {
             )
         },
         context.getString(R.string.toolbar_add_text) to {
-            menuItemsList.add(
+            addMenuItem(
                 CarUiToolbarMenuItem(
                     title = "Baz", onClick = { toast("Baz clicked") })
             )
         },
         context.getString(R.string.toolbar_add_icon_text) to {
-            menuItemsList.add(
+            addMenuItem(
                 CarUiToolbarMenuItem(
                     iconRes = R.drawable.ic_tracklist,
                     title = "Bar",
@@ -136,7 +153,7 @@ fun ToolbarActivityDemoScreen() {
             )
         },
         context.getString(R.string.toolbar_add_activatable) to {
-            menuItemsList.add(
+            addMenuItem(
                 CarUiToolbarMenuItem.activatable(
                     iconRes = R.drawable.ic_tracklist,
                     activated = activatableOn,
@@ -175,8 +192,7 @@ fun ToolbarActivityDemoScreen() {
             searchMode = searchMode,
             searchHint = searchHint,
             menuItems = menuItems,
-            searchQuery = searchQuery,
-            onSearchQueryChanged = { searchQuery = it },
+            searchState = searchState,
             onSearchModeChanged = { searchMode = it },
         )
         CarUiRecyclerView(
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2025 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.android.car.compose.ui.paintbooth.toolbar
+
+import android.content.Context
+import androidx.annotation.StringRes
+import androidx.compose.ui.test.hasText
+import androidx.compose.ui.test.junit4.createComposeRule
+import androidx.compose.ui.test.onNodeWithContentDescription
+import androidx.compose.ui.test.onNodeWithText
+import androidx.compose.ui.test.performClick
+import androidx.compose.ui.test.performScrollToNode
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.android.car.compose.ui.paintbooth.R
+import com.android.car.ui.instrumentation.CarUiInstrumentation
+import com.android.car.ui.theme.CarUiTheme
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Clicks each demo button of [ToolbarActivity] once and checks, through [CarUiInstrumentation],
+ * that only the toolbar sections reading the changed parameter recompose.
+ */
+@RunWith(AndroidJUnit4::class)
+class ToolbarActivityRecompositionTest {
+
+    @get:Rule
+    val composeRule = createComposeRule()
+
+    private val context = ApplicationProvider.getApplicationContext<Context>()
+
+    @Before
+    fun setUp() {
+        composeRule.setContent {
+            CarUiTheme {
+                ToolbarActivityDemoScreen()
+            }
+        }
+        composeRule.waitForIdle()
+    }
+
+    @Test
+    fun toggleProgressBar_recomposesOnlyTheProgressBar() {
+        clickDemoButton("Toggle progress bar")
+
+        assertRecomposed(CarUiInstrumentation.TOOLBAR_PROGRESS_BAR)
+        assertEquals(1, CarUiInstrumentation.counters(CarUiInstrumentation.TOOLBAR_TITLE).skips)
+    }
+
+    @Test
+    fun changeTitle_recomposesOnlyTheTitle() {
+        clickDemoButton("Change title")
+
+        assertRecomposed(CarUiInstrumentation.TOOLBAR_TITLE)
+    }
+
+    @Test
+    fun changeSubtitle_recomposesOnlyTheTitle() {
+        clickDemoButton("Add/Change subtitle")
+
+        assertRecomposed(CarUiInstrumentation.TOOLBAR_TITLE)
+    }
+
+    @Test
+    fun cycleNavButton_recomposesOnlyTheNavButton() {
+        clickDemoButton(R.string.toolbar_cycle_nav_button)
+
+        assertRecomposed(CarUiInstrumentation.TOOLBAR_NAV)
+    }
+
+    @Test
+    fun toggleLogo_recomposesOnlyTheLogo() {
+        clickDemoButton(R.string.toolbar_toggle_logo)
+        // Hiding the logo removes its section without recomposing the others.
+        assertRecomposed()
+
+        clickDemoButton(R.string.toolbar_toggle_logo)
+        assertRecomposed(CarUiInstrumentation.TOOLBAR_LOGO)
+    }
+
+    @Test
+    fun toggleSearchHint_recomposesNoSectionOutsideSearch() {
+        clickDemoButton(R.string.toolbar_toggle_search_hint)
+
+        // The hint is only read by the search field, which is not shown.
+        assertRecomposed()
+        assertEquals(1, compositions(CarUiInstrumentation.TOOLBAR))
+    }
+
+    @Test
+    fun toggleSearchIcon_recomposesOnlyTheSearchItem() {
+        clickDemoButton(R.string.toolbar_toggle_search_icon)
+
+        assertRecomposed(CarUiInstrumentation.TOOLBAR_MENU)
+        assertEquals(1, compositions(CarUiInstrumentation.TOOLBAR_MENU_ITEM))
+    }
+
+    @Test
+    fun addIcon_recomposesOnlyTheMenu() = checkAddMenuItem(R.string.toolbar_add_icon)
+
+    @Test
+    fun addSwitch_recomposesOnlyTheMenu() = checkAddMenuItem(R.string.toolbar_add_switch)
+
+    @Test
+    fun addText_recomposesOnlyTheMenu() = checkAddMenuItem(R.string.toolbar_add_text)
+
+    @Test
+    fun addIconAndText_recomposesOnlyTheMenu() = checkAddMenuItem(R.string.toolbar_add_icon_text)
+
+    @Test
+    fun addActivatable_recomposesOnlyTheMenu() =
+        checkAddMenuItem(R.string.toolbar_add_activatable)
+
+    private fun checkAddMenuItem(@StringRes label: Int) {
+        clickDemoButton(label)
+
+        assertRecomposed(CarUiInstrumentation.TOOLBAR_MENU)
+        // Only the new item composes, the search item is offered again and skips.
+        assertEquals(1, compositions(CarUiInstrumentation.TOOLBAR_MENU_ITEM))
+        assertEquals(1, CarUiInstrumentation.counters(CarUiInstrumentation.TOOLBAR_MENU_ITEM).skips)
+    }
+
+    private fun clickDemoButton(@StringRes label: Int) = clickDemoButton(context.getString(label))
+
+    /** Scrolls to the button labelled [label] and clicks it, counting only what the click does. */
+    private fun clickDemoButton(label: String) {
+        composeRule.onNodeWithContentDescription("car_ui_compose_lazy_list")
+            .performScrollToNode(hasText(label))
+        composeRule.waitForIdle()
+        CarUiInstrumentation.reset()
+
+        composeRule.onNodeWithText(label).performClick()
+        composeRule.waitForIdle()
+    }
+
+    /** Asserts that [sections] composed once and the other toolbar sections did not compose. */
+    private fun assertRecomposed(vararg sections: String) {
+        for (section in TOOLBAR_SECTIONS) {
+            assertEquals(section, if (section in sections) 1L else 0L, compositions(section))
+        }
+    }
+
+    private fun compositions(id: String) = CarUiInstrumentation.counters(id).compositions
+
+    private companion object {
+        val TOOLBAR_SECTIONS = listOf(
+            CarUiInstrumentation.TOOLBAR_NAV,
+            CarUiInstrumentation.TOOLBAR_LOGO,
+            CarUiInstrumentation.TOOLBAR_TITLE,
+            CarUiInstrumentation.TOOLBAR_SEARCH,
+            CarUiInstrumentation.TOOLBAR_MENU,
+            CarUiInstrumentation.TOOLBAR_PROGRESS_BAR,
+        )
+    }
+}